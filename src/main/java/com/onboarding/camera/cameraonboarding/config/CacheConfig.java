@@ -0,0 +1,40 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables the Spring cache abstraction with Caffeine caches configured by the spring.cache properties,
+ * every cache is decorated so evictions can be propagated to other replicas
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String CAMERA_CACHE = "cameras";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties, ApplicationEventPublisher eventPublisher) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        if (StringUtils.hasText(cacheProperties.getCaffeine().getSpec())) {
+            caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new CoherentCacheManager(caffeineCacheManager, eventPublisher);
+    }
+
+    @Bean
+    public CoherentCacheMeterBinderProvider coherentCacheMeterBinderProvider() {
+        return new CoherentCacheMeterBinderProvider();
+    }
+}
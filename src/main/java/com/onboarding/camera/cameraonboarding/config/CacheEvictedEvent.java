@@ -0,0 +1,14 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published after a key was evicted from a local cache, so the eviction can be propagated to other replicas
+ */
+@Data
+@AllArgsConstructor
+public class CacheEvictedEvent {
+    private String cacheName;
+    private Object key;
+}
@@ -0,0 +1,77 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator publishing a {@link CacheEvictedEvent} for every evicted key, reads and writes go straight
+ * to the local delegate, evictions received from other replicas are applied to the delegate directly
+ */
+@RequiredArgsConstructor
+public class CoherentCache implements Cache {
+
+    @Getter
+    private final Cache delegate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        eventPublisher.publishEvent(new CacheEvictedEvent(getName(), key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        eventPublisher.publishEvent(new CacheEvictedEvent(getName(), key));
+        return evicted;
+    }
+
+    /**
+     * Clears the local cache only, clearing is not propagated to other replicas
+     */
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager wrapping every cache of the delegate manager in a {@link CoherentCache}
+ */
+@RequiredArgsConstructor
+public class CoherentCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<String, CoherentCache> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new CoherentCache(cache, eventPublisher));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
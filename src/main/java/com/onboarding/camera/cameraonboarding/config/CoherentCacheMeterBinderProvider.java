@@ -0,0 +1,22 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Binds the Caffeine statistics of the cache behind a {@link CoherentCache}, so hit, miss and eviction
+ * metrics are published for the decorated caches as well
+ */
+public class CoherentCacheMeterBinderProvider implements CacheMeterBinderProvider<CoherentCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(CoherentCache cache, Iterable<Tag> tags) {
+        if (cache.getDelegate() instanceof CaffeineCache caffeineCache) {
+            return new CaffeineCacheMetrics<>(caffeineCache.getNativeCache(), cache.getName(), tags);
+        }
+        return null;
+    }
+}
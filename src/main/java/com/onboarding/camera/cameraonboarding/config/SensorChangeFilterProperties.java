@@ -0,0 +1,41 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Deadband of every sensor type, updates of a type without a deadband are always written
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sensor.change-filter")
+public class SensorChangeFilterProperties {
+
+    private Map<SensorType, Deadband> types = new EnumMap<>(SensorType.class);
+
+    @Data
+    public static class Deadband {
+
+        /**
+         * change of the value that is written regardless of the percent delta, 0 leaves it unconfigured
+         */
+        private double absoluteDelta;
+
+        /**
+         * change of the value in percent of the last written value that is written regardless of the absolute delta,
+         * 0 leaves it unconfigured
+         */
+        private double percentDelta;
+
+        /**
+         * time after the last write when an unchanged update is written anyway
+         */
+        private Duration maxSilence = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,108 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.util.SensorPayload;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Derives the typed columns of sensors written before the columns existed. The data is parsed with
+ * {@link SensorPayloadSchema} like every later write, so units are converted the same way on every database. Sensors
+ * are read in pages by id, data that does not follow the schema keeps null typed columns until the sensor is updated
+ */
+public class SensorPayloadBackfillChange implements CustomTaskChange {
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final String SELECT_FIRST_PAGE = "select id, sensor_type, data from sensor_metadata "
+            + "where data is not null order by id";
+
+    private static final String SELECT_NEXT_PAGE = "select id, sensor_type, data from sensor_metadata "
+            + "where data is not null and id > ? order by id";
+
+    private static final String UPDATE_PAYLOAD = "update sensor_metadata set reading_value = ?, reading_unit = ?, "
+            + "confidence = ? where id = ?";
+
+    private int backfilled;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (PreparedStatement firstPage = connection.prepareStatement(SELECT_FIRST_PAGE);
+             PreparedStatement nextPage = connection.prepareStatement(SELECT_NEXT_PAGE);
+             PreparedStatement update = connection.prepareStatement(UPDATE_PAYLOAD)) {
+            firstPage.setMaxRows(PAGE_SIZE);
+            nextPage.setMaxRows(PAGE_SIZE);
+            Object lastId = null;
+            int read;
+            do {
+                PreparedStatement page = firstPage;
+                if (lastId != null) {
+                    nextPage.setObject(1, lastId);
+                    page = nextPage;
+                }
+                read = 0;
+                int batched = 0;
+                try (ResultSet rows = page.executeQuery()) {
+                    while (rows.next()) {
+                        read++;
+                        lastId = rows.getObject("id");
+                        SensorPayload payload = SensorPayloadSchema.toPayload(toSensorType(rows.getString("sensor_type")),
+                                rows.getString("data"));
+                        if (payload != SensorPayload.EMPTY) {
+                            update.setObject(1, payload.getValue(), Types.DOUBLE);
+                            update.setString(2, payload.getUnit());
+                            update.setObject(3, payload.getConfidence(), Types.DOUBLE);
+                            update.setObject(4, lastId);
+                            update.addBatch();
+                            batched++;
+                        }
+                    }
+                }
+                if (batched > 0) {
+                    update.executeBatch();
+                    backfilled += batched;
+                }
+            } while (read == PAGE_SIZE);
+        } catch (SQLException ex) {
+            throw new CustomChangeException(String.format("Failed to backfill sensor payloads: %s", ex.getMessage()), ex);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return String.format("Backfilled typed columns of %d sensors", backfilled);
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+
+    private static SensorType toSensorType(String sensorType) {
+        return Arrays.stream(SensorType.values())
+                .filter(type -> type.name().equals(sensorType))
+                .findFirst()
+                .orElse(null);
+    }
+}
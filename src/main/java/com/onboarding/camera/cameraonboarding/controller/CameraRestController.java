@@ -1,14 +1,27 @@
 package com.onboarding.camera.cameraonboarding.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
 import com.onboarding.camera.cameraonboarding.converter.LocationDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeResponse;
 import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraImageMetadata;
+import com.onboarding.camera.cameraonboarding.dto.CameraPageResponse;
 import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
 import com.onboarding.camera.cameraonboarding.dto.LocationDto;
 import com.onboarding.camera.cameraonboarding.dto.LocationResponse;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.Location;
+import com.onboarding.camera.cameraonboarding.service.CameraBatchService;
+import com.onboarding.camera.cameraonboarding.service.CameraExportService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.util.ByteRange;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -25,11 +38,18 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -44,6 +64,12 @@ public class CameraRestController {
 
     private final LocationDtoConverter locationDtoConverter;
 
+    private final CameraBatchService cameraBatchService;
+
+    private final CameraExportService cameraExportService;
+
+    private final ObjectMapper objectMapper;
+
     @PostMapping("/onboard")
     @Operation(
             description = "Saves a new camera and returns the saved camera details",
@@ -75,6 +101,62 @@ public class CameraRestController {
         return new ResponseEntity<>(cameraResponse, HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/onboard/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            description = "Saves a JSON array of cameras with batched inserts and returns a result for every item",
+            summary = "This is an endpoint for Save cameras in batch",
+            responses = {
+                    @ApiResponse(
+                            description = "Batch processed, see per item results",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = CameraBatchResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<CameraBatchResponse> saveCameras(@RequestBody List<CameraDto> cameraDtos) {
+
+        CameraBatchResponse batchResponse = cameraBatchService.handleSaveCameras(cameraDtos);
+
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    @PostMapping(path = "/onboard/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            description = "Saves newline delimited camera JSON objects with batched inserts and returns a result for every item",
+            summary = "This is an endpoint for Save cameras in batch from NDJSON",
+            responses = {
+                    @ApiResponse(
+                            description = "Batch processed, see per item results",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = CameraBatchResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<CameraBatchResponse> saveCamerasFromNdjson(InputStream requestBody) throws IOException {
+
+        List<CameraDto> cameraDtos;
+        try (MappingIterator<CameraDto> iterator = objectMapper.readerFor(CameraDto.class).readValues(requestBody)) {
+            cameraDtos = iterator.readAll();
+        } catch (JsonProcessingException | RuntimeJsonMappingException ex) {
+            throw new IllegalArgumentException(String.format("Malformed NDJSON camera batch: %s", ex.getMessage()));
+        }
+        CameraBatchResponse batchResponse = cameraBatchService.handleSaveCameras(cameraDtos);
+
+        return ResponseEntity.ok(batchResponse);
+    }
+
     @PatchMapping("/{camera_id}/initialize")
     @Operation(
             description = "Initializes the camera",
@@ -105,6 +187,32 @@ public class CameraRestController {
         return ResponseEntity.ok().build();
     }
 
+    @PatchMapping("/cameras/initialize")
+    @Operation(
+            description = "Initializes the given cameras, or the not yet initialized cameras with the given firmware version, "
+                    + "with one conditional update per chunk",
+            summary = "This is an endpoint for Initialize cameras in bulk",
+            responses = {
+                    @ApiResponse(
+                            description = "Bulk initialization processed, see initialized, already initialized, not found and failed ids",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = CameraBulkInitializeResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<CameraBulkInitializeResponse> initializeCameras(@RequestBody CameraBulkInitializeDto bulkInitializeDto) {
+
+        CameraBulkInitializeResponse bulkInitializeResponse = cameraBatchService.handleInitializeCameras(bulkInitializeDto);
+
+        return ResponseEntity.ok(bulkInitializeResponse);
+    }
+
     @GetMapping("/camera/{camera_id}")
     @Operation(
             description = "Retrieves the metadata of a camera",
@@ -129,16 +237,68 @@ public class CameraRestController {
     )
     public ResponseEntity<CameraResponse> getCameraMetadata(@Valid @PathVariable UUID camera_id) {
 
-        Camera camera = cameraService.getCameraById(camera_id);
-        CameraResponse cameraResponse = cameraDtoConverter.toCameraResponse(camera);
+        CameraResponse cameraResponse = cameraService.getCameraResponseById(camera_id);
 
         return new ResponseEntity<>(cameraResponse, HttpStatus.OK);
     }
 
+    @GetMapping("/cameras")
+    @Operation(
+            description = "Lists cameras ordered by creation time with cursor based (keyset) pagination",
+            summary = "This is an endpoint for List cameras",
+            responses = {
+                    @ApiResponse(
+                            description = "Camera page",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = CameraPageResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<CameraPageResponse> getCameras(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "initialized", required = false) Boolean initialized,
+            @RequestParam(value = "onboarded", required = false) Boolean onboarded,
+            @RequestParam(value = "firmwareVersion", required = false) String firmwareVersion) {
+
+        CameraFilter filter = new CameraFilter(initialized, onboarded, firmwareVersion);
+        CameraPageResponse cameraPage = cameraService.getCameras(filter, cursor, limit);
+
+        return ResponseEntity.ok(cameraPage);
+    }
+
+    @GetMapping(path = "/cameras/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            description = "Streams every camera with its location and sensors as newline delimited JSON",
+            summary = "This is an endpoint for Export cameras",
+            responses = {
+                    @ApiResponse(
+                            description = "Camera export stream",
+                            responseCode = "200"
+                    )
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportCameras() {
+
+        StreamingResponseBody responseBody = cameraExportService::exportCameras;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
     @PostMapping(value = "/camera/{camera_id}/upload_image")
     @Operation(
-            description = "Uploads an image for a specific camera",
+            description = "Uploads a base64 encoded image for a specific camera, the image is held in memory several "
+                    + "times, prefer /camera/{camera_id}/image",
             summary = "This is an endpoint for Upload an image",
+            deprecated = true,
             responses = {
                     @ApiResponse(
                             description = "Uploaded image",
@@ -167,15 +327,93 @@ public class CameraRestController {
         return ResponseEntity.ok().body("Uploaded");
     }
 
+    @PostMapping(path = "/camera/{camera_id}/image", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+    @Operation(
+            description = "Uploads the raw request body as the image of a specific camera, the body is streamed to the "
+                    + "blob storage block by block without being buffered as a whole",
+            summary = "This is an endpoint for Upload an image as a stream",
+            responses = {
+                    @ApiResponse(
+                            description = "Uploaded image",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid, empty or too large",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Image already uploaded",
+                            responseCode = "409"
+                    ),
+                    @ApiResponse(
+                            description = "Image not uploaded",
+                            responseCode = "500"
+                    )
+            }
+    )
+    public ResponseEntity<String> uploadImageStream(@PathVariable UUID camera_id,
+                                                    @RequestParam("imageId") UUID imageId,
+                                                    InputStream requestBody) {
+
+        cameraService.handleUploadImageStream(camera_id, imageId, requestBody);
+
+        return ResponseEntity.ok().body("Uploaded");
+    }
+
+    @PostMapping(path = "/camera/{camera_id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            description = "Uploads the file part of a multipart request as the image of a specific camera, the part is "
+                    + "streamed to the blob storage block by block without being buffered as a whole",
+            summary = "This is an endpoint for Upload an image file",
+            responses = {
+                    @ApiResponse(
+                            description = "Uploaded image",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid, empty or too large",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Image already uploaded",
+                            responseCode = "409"
+                    ),
+                    @ApiResponse(
+                            description = "Image not uploaded",
+                            responseCode = "500"
+                    )
+            }
+    )
+    public ResponseEntity<String> uploadImageFile(@PathVariable UUID camera_id,
+                                                  @RequestParam("imageId") UUID imageId,
+                                                  @RequestPart("file") MultipartFile file) throws IOException {
+
+        try (InputStream imageData = file.getInputStream()) {
+            cameraService.handleUploadImageStream(camera_id, imageId, imageData);
+        }
+
+        return ResponseEntity.ok().body("Uploaded");
+    }
+
     @GetMapping(path = "/camera/{cameraId}/download_image", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     @Operation(
-            description = "Downloads an image associated with a specific camera",
+            description = "Streams the image associated with a specific camera, the length is sent up front and the "
+                    + "image is not buffered in memory. A single Range, optionally guarded by If-Range, is served as "
+                    + "206 Partial Content reading only that range from the blob storage",
             summary = "This is an endpoint for Download an image",
             responses = {
                     @ApiResponse(
                             description = "Downloaded image",
                             responseCode = "200"
                     ),
+                    @ApiResponse(
+                            description = "Downloaded range of the image",
+                            responseCode = "206"
+                    ),
+                    @ApiResponse(
+                            description = "Range starts after the end of the image",
+                            responseCode = "416"
+                    ),
                     @ApiResponse(
                             description = "Bad request, The request is invalid",
                             responseCode = "400"
@@ -198,14 +436,38 @@ public class CameraRestController {
                     )
             }
     )
-    public ResponseEntity<byte[]> downloadImage(@PathVariable UUID cameraId) {
+    public ResponseEntity<StreamingResponseBody> downloadImage(
+            @PathVariable UUID cameraId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) {
 
-        byte[] imageData = cameraService.handleDownloadImage(cameraId);
-        Camera camera = cameraService.getCameraById(cameraId);
+        CameraImageMetadata imageMetadata = cameraService.handleGetImageMetadata(cameraId);
+        ByteRange byteRange = ByteRange.resolve(range, ifRange, imageMetadata.getETag(),
+                imageMetadata.getLastModified(), imageMetadata.getContentLength());
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + camera.getImageId() + ".png")
-                .body(imageData);
+        ResponseEntity.BodyBuilder response;
+        StreamingResponseBody responseBody;
+        if (byteRange == null) {
+            response = ResponseEntity.ok()
+                    .contentLength(imageMetadata.getContentLength());
+            responseBody = outputStream -> cameraService.handleStreamImage(imageMetadata, outputStream);
+        } else {
+            response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, byteRange.toContentRange(imageMetadata.getContentLength()))
+                    .contentLength(byteRange.getLength());
+            responseBody = outputStream -> cameraService.handleStreamImageRange(imageMetadata, byteRange.getStart(),
+                    byteRange.getLength(), outputStream);
+        }
+        if (imageMetadata.getLastModified() != null) {
+            response.lastModified(imageMetadata.getLastModified().toInstant());
+        }
+
+        return response
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + imageMetadata.getImageId() + ".png")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(imageMetadata.getETag())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(responseBody);
     }
 
     @PostMapping("/camera/{cameraId}/location")
@@ -1,5 +1,6 @@
 package com.onboarding.camera.cameraonboarding.controller;
 
+import com.onboarding.camera.cameraonboarding.exception.AlertRuleNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.CameraAlreadyInitializedException;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
@@ -9,11 +10,13 @@ import com.onboarding.camera.cameraonboarding.exception.ImageAlreadyUploadedExce
 import com.onboarding.camera.cameraonboarding.exception.ImageNotDownloadedException;
 import com.onboarding.camera.cameraonboarding.exception.ImageNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.ImageNotUploadedException;
+import com.onboarding.camera.cameraonboarding.exception.ImageRangeNotSatisfiableException;
 import com.onboarding.camera.cameraonboarding.exception.LocationNotAddedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -147,6 +150,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ImageRangeNotSatisfiableException.class)
+    @ResponseStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleImageRangeNotSatisfiableException(ImageRangeNotSatisfiableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+
+        errorResponse.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        errorResponse.setMessage(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getContentLength())
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(ImageNotDownloadedException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ResponseBody
@@ -218,5 +235,16 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
-}
 
+    @ExceptionHandler(AlertRuleNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleAlertRuleNotFoundException(AlertRuleNotFoundException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+
+        errorResponse.setStatusCode(HttpStatus.NOT_FOUND.value());
+        errorResponse.setMessage(ex.getMessage());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+}
@@ -5,6 +5,7 @@ import com.onboarding.camera.cameraonboarding.dto.SensorDto;
 import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
 import com.onboarding.camera.cameraonboarding.service.impl.MotionSensorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -37,6 +39,8 @@ public class MotionSensorController {
 
     private final SensorDtoConverter sensorDtoConverter;
 
+    private final MotionEventService motionEventService;
+
     @PostMapping
     @Operation(
             description = "Add motion sensor to the related camera",
@@ -188,4 +192,27 @@ public class MotionSensorController {
         motionSensorService.handleDeleteSensor(cameraId, sensorId);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/events")
+    @Operation(
+            description = "Streams motion events of the motion sensors of the related camera as Server-Sent Events, "
+                    + "a lag event carries the number of events missed by a slow client",
+            summary = "This is an endpoint for Stream motion events",
+            responses = {
+                    @ApiResponse(
+                            description = "Event stream",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Camera not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public SseEmitter streamMotionEvents(@PathVariable UUID cameraId) {
+
+        SseEmitter emitter = new SseEmitter();
+        motionEventService.handleSubscribeCamera(cameraId, emitter);
+        return emitter;
+    }
 }
@@ -0,0 +1,175 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.CameraSensorService;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
+import com.onboarding.camera.cameraonboarding.service.SensorBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("${api.version}")
+@RequiredArgsConstructor
+@Tag(name = "Sensor Controller")
+public class SensorController {
+
+    private final CameraSensorService cameraSensorService;
+
+    private final SensorBatchService sensorBatchService;
+
+    private final MotionEventService motionEventService;
+
+    @GetMapping("/camera/{cameraId}/sensors")
+    @Operation(
+            description = "Get sensors of every type of the related camera, optionally filtered by type",
+            summary = "This is an endpoint for Get camera sensors",
+            responses = {
+                    @ApiResponse(
+                            description = "Get sensors",
+                            responseCode = "200",
+                            content = @Content(
+                                    array = @ArraySchema(schema = @Schema(implementation = SensorResponse.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Camera not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<List<SensorResponse>> getSensors(
+            @PathVariable UUID cameraId,
+            @RequestParam(name = "type", required = false) SensorType sensorType) {
+
+        List<SensorResponse> sensors = cameraSensorService.handleGetSensorsByCameraId(cameraId, sensorType);
+        return ResponseEntity.ok(sensors);
+    }
+
+    @GetMapping("/sensors")
+    @Operation(
+            description = "Get sensors of a type whose current value is within a range across every camera, e.g. every "
+                    + "temperature sensor above 60 degrees Celsius. Values are in Celsius for temperature, lux for light "
+                    + "and 1 for detected or 0 for cleared motion",
+            summary = "This is an endpoint for Get sensors by value",
+            responses = {
+                    @ApiResponse(
+                            description = "Get sensors, highest value first",
+                            responseCode = "200",
+                            content = @Content(
+                                    array = @ArraySchema(schema = @Schema(implementation = SensorResponse.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<List<SensorResponse>> getSensorsByValue(
+            @RequestParam(name = "type") SensorType sensorType,
+            @RequestParam(name = "min", required = false) Double min,
+            @RequestParam(name = "max", required = false) Double max,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+
+        List<SensorResponse> sensors = cameraSensorService.handleGetSensorsByValue(sensorType, min, max, limit);
+        return ResponseEntity.ok(sensors);
+    }
+
+    @PostMapping("/camera/{cameraId}/sensors/batch")
+    @Operation(
+            description = "Adds sensors of mixed types to the related camera with batched inserts and returns a result for every item",
+            summary = "This is an endpoint for Add camera sensors in batch",
+            responses = {
+                    @ApiResponse(
+                            description = "Batch processed, see per item results",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = SensorBatchResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<SensorBatchResponse> addCameraSensors(
+            @PathVariable UUID cameraId,
+            @RequestBody List<SensorDto> sensorDtos) {
+
+        SensorBatchResponse batchResponse = sensorBatchService.handleCreateSensors(cameraId, sensorDtos);
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    @PostMapping("/sensors/batch")
+    @Operation(
+            description = "Adds sensors of mixed types to many cameras with batched inserts and returns a result for every item",
+            summary = "This is an endpoint for Add sensors in batch",
+            responses = {
+                    @ApiResponse(
+                            description = "Batch processed, see per item results",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = SensorBatchResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public ResponseEntity<SensorBatchResponse> addSensors(@RequestBody List<SensorBatchItemDto> sensorBatchItems) {
+
+        SensorBatchResponse batchResponse = sensorBatchService.handleCreateSensors(sensorBatchItems);
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    @GetMapping("/sensors/motion/events")
+    @Operation(
+            description = "Streams motion events of the given cameras, or of every camera when none is given, "
+                    + "as Server-Sent Events, a lag event carries the number of events missed by a slow client",
+            summary = "This is an endpoint for Stream motion events of many cameras",
+            responses = {
+                    @ApiResponse(
+                            description = "Event stream",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, Too many cameras",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public SseEmitter streamMotionEvents(@RequestParam(name = "cameraId", required = false) List<UUID> cameraIds) {
+
+        SseEmitter emitter = new SseEmitter();
+        motionEventService.handleSubscribeCameras(cameraIds, emitter);
+        return emitter;
+    }
+}
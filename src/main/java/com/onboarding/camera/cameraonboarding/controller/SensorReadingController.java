@@ -0,0 +1,195 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingHistoryResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingIngestResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingRollupService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("${api.version}/camera/{cameraId}")
+@RequiredArgsConstructor
+@Tag(name = "Sensor Reading Controller")
+public class SensorReadingController {
+
+    private final SensorReadingService sensorReadingService;
+
+    private final SensorReadingRollupService sensorReadingRollupService;
+
+    private final SensorLatestReadingService sensorLatestReadingService;
+
+    @PostMapping("/readings")
+    @Operation(
+            description = "Ingests a batch of readings of the sensors of the related camera, readings are persisted asynchronously",
+            summary = "This is an endpoint for Ingest sensor readings",
+            responses = {
+                    @ApiResponse(
+                            description = "Readings accepted, see accepted, invalid, unknown sensor and dropped counts",
+                            responseCode = "202",
+                            content = @Content(
+                                    schema = @Schema(implementation = SensorReadingIngestResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Camera not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<SensorReadingIngestResponse> ingestReadings(
+            @PathVariable UUID cameraId,
+            @RequestBody List<SensorReadingDto> readings) {
+
+        SensorReadingIngestResponse ingestResponse = sensorReadingService.handleIngestReadings(cameraId, readings);
+        return new ResponseEntity<>(ingestResponse, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/sensor/{sensorId}/rollups")
+    @Operation(
+            description = "Gets minute, hour or day count, min, max, sum and average buckets of a temperature or light sensor "
+                    + "of the related camera, buckets without readings are omitted",
+            summary = "This is an endpoint for Get sensor reading rollups",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The range is invalid or too wide for the resolution",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Sensor not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<List<SensorReadingRollupResponse>> getRollups(
+            @PathVariable UUID cameraId,
+            @PathVariable UUID sensorId,
+            @RequestParam RollupResolution resolution,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        List<SensorReadingRollupResponse> rollups = sensorReadingRollupService.handleGetRollups(cameraId, sensorId,
+                resolution, from, to);
+        return new ResponseEntity<>(rollups, HttpStatus.OK);
+    }
+
+    @GetMapping("/sensor/{type}/{sensorId}/readings")
+    @Operation(
+            description = "Gets the readings of a sensor of the related camera in a time range, downsampled with LTTB "
+                    + "to at most maxPoints points, timestamps are epoch millis",
+            summary = "This is an endpoint for Get sensor reading history",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = SensorReadingHistoryResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The range or maxPoints is invalid",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Sensor not found",
+                            responseCode = "404"
+                    ),
+                    @ApiResponse(
+                            description = "Sensor is of another type",
+                            responseCode = "409"
+                    )
+            }
+    )
+    public ResponseEntity<SensorReadingHistoryResponse> getReadings(
+            @PathVariable UUID cameraId,
+            @PathVariable("type") SensorType sensorType,
+            @PathVariable UUID sensorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer maxPoints) {
+
+        SensorReadingHistoryResponse history = sensorReadingService.handleGetReadings(cameraId, sensorType, sensorId,
+                from, to, maxPoints);
+        return new ResponseEntity<>(history, HttpStatus.OK);
+    }
+
+    @GetMapping("/sensor/{sensorId}/latest")
+    @Operation(
+            description = "Gets the latest reading of a sensor of the related camera from memory, recordedAt is empty "
+                    + "when the value comes from the sensor data and value is empty when the sensor has no numeric data",
+            summary = "This is an endpoint for Get latest sensor reading",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = @Content(
+                                    schema = @Schema(implementation = SensorLatestReadingResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Sensor not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<SensorLatestReadingResponse> getLatestReading(
+            @PathVariable UUID cameraId,
+            @PathVariable UUID sensorId) {
+
+        SensorLatestReadingResponse latestReading = sensorLatestReadingService.handleGetLatestReading(cameraId, sensorId);
+        return new ResponseEntity<>(latestReading, HttpStatus.OK);
+    }
+
+    @GetMapping("/sensors/latest")
+    @Operation(
+            description = "Gets the latest reading of every sensor of the related camera",
+            summary = "This is an endpoint for Get latest readings of camera sensors",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Camera not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<List<SensorLatestReadingResponse>> getLatestReadings(@PathVariable UUID cameraId) {
+
+        List<SensorLatestReadingResponse> latestReadings = sensorLatestReadingService.handleGetLatestReadings(cameraId);
+        return new ResponseEntity<>(latestReadings, HttpStatus.OK);
+    }
+}
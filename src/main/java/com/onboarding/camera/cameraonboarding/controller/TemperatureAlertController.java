@@ -0,0 +1,142 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.onboarding.camera.cameraonboarding.converter.TemperatureAlertRuleDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertRuleDto;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertRuleResponse;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("${api.version}/alerts/temperature")
+@RequiredArgsConstructor
+@Tag(name = "Temperature Alert Controller")
+public class TemperatureAlertController {
+
+    private final TemperatureAlertService temperatureAlertService;
+
+    private final TemperatureAlertStreamService temperatureAlertStreamService;
+
+    private final TemperatureAlertRuleDtoConverter temperatureAlertRuleDtoConverter;
+
+    @PostMapping("/rules")
+    @Operation(
+            description = "Add a temperature alert rule for a sensor, a camera or the whole fleet",
+            summary = "This is an endpoint for Add temperature alert rule",
+            responses = {
+                    @ApiResponse(
+                            description = "Created rule",
+                            responseCode = "201",
+                            content = @Content(
+                                    schema = @Schema(implementation = TemperatureAlertRuleResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, The request is invalid",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Camera or sensor not found",
+                            responseCode = "404"
+                    ),
+                    @ApiResponse(
+                            description = "Sensor is not a temperature sensor",
+                            responseCode = "409"
+                    )
+            }
+    )
+    public ResponseEntity<TemperatureAlertRuleResponse> addRule(@Valid @RequestBody TemperatureAlertRuleDto ruleDto) {
+
+        TemperatureAlertRule rule = temperatureAlertService.handleCreateRule(temperatureAlertRuleDtoConverter.toEntity(ruleDto));
+        return new ResponseEntity<>(temperatureAlertRuleDtoConverter.toResponse(rule), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/rules")
+    @Operation(
+            description = "Get every temperature alert rule",
+            summary = "This is an endpoint for Get temperature alert rules",
+            responses = {
+                    @ApiResponse(
+                            description = "Get rules",
+                            responseCode = "200",
+                            content = @Content(
+                                    array = @ArraySchema(schema = @Schema(implementation = TemperatureAlertRuleResponse.class))
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<List<TemperatureAlertRuleResponse>> getRules() {
+
+        List<TemperatureAlertRuleResponse> rules = temperatureAlertService.handleGetRules().stream()
+                .map(temperatureAlertRuleDtoConverter::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(rules);
+    }
+
+    @DeleteMapping("/rules/{ruleId}")
+    @Operation(
+            description = "Delete a temperature alert rule",
+            summary = "This is an endpoint for Delete temperature alert rule",
+            responses = {
+                    @ApiResponse(
+                            description = "Rule deleted",
+                            responseCode = "204"
+                    ),
+                    @ApiResponse(
+                            description = "Rule not found",
+                            responseCode = "404"
+                    )
+            }
+    )
+    public ResponseEntity<Void> deleteRule(@PathVariable UUID ruleId) {
+
+        temperatureAlertService.handleDeleteRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/events")
+    @Operation(
+            description = "Streams raised and cleared temperature alerts of the given cameras, or of every camera when "
+                    + "none is given, as Server-Sent Events, a lag event carries the number of alerts missed by a slow client",
+            summary = "This is an endpoint for Stream temperature alerts",
+            responses = {
+                    @ApiResponse(
+                            description = "Event stream",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Bad request, Too many cameras",
+                            responseCode = "400"
+                    )
+            }
+    )
+    public SseEmitter streamAlerts(@RequestParam(name = "cameraId", required = false) List<UUID> cameraIds) {
+
+        SseEmitter emitter = new SseEmitter();
+        temperatureAlertStreamService.handleSubscribe(cameraIds, emitter);
+        return emitter;
+    }
+}
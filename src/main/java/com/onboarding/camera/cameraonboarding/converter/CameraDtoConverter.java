@@ -1,11 +1,17 @@
 package com.onboarding.camera.cameraonboarding.converter;
 
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
 import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraExportResponse;
 import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationResponse;
 import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -37,4 +43,42 @@ public class CameraDtoConverter {
                 .collect(Collectors.toList()));
         return response;
     }
+
+    public CameraResponse toCameraResponse(List<CameraDetailRow> cameraDetailRows) {
+        CameraDetailRow first = cameraDetailRows.get(0);
+        CameraResponse response = new CameraResponse();
+        response.setCameraId(first.getCameraId());
+        response.setCameraName(first.getCameraName());
+        response.setFirmwareVersion(first.getFirmwareVersion());
+        List<SensorResponse> sensors = new ArrayList<>(cameraDetailRows.size());
+        for (CameraDetailRow row : cameraDetailRows) {
+            if (row.getSensorId() == null) {
+                continue;
+            }
+            SensorResponse sensorResponse = new SensorResponse();
+            sensorResponse.setId(row.getSensorId());
+            sensorResponse.setName(row.getSensorName());
+            sensorResponse.setVersion(row.getSensorVersion());
+            sensorResponse.setSensorType(row.getSensorType());
+            sensorResponse.setData(row.getSensorData());
+            sensors.add(sensorResponse);
+        }
+        response.setSensors(sensors);
+        return response;
+    }
+
+    public CameraExportResponse toCameraExportResponse(CameraSummaryResponse camera, LocationResponse location,
+                                                       List<SensorResponse> sensors) {
+        CameraExportResponse response = new CameraExportResponse();
+        response.setCameraId(camera.getCameraId());
+        response.setCameraName(camera.getCameraName());
+        response.setFirmwareVersion(camera.getFirmwareVersion());
+        response.setImageId(camera.getImageId());
+        response.setCreatedAt(camera.getCreatedAt());
+        response.setOnboardedAt(camera.getOnboardedAt());
+        response.setInitializedAt(camera.getInitializedAt());
+        response.setLocation(location);
+        response.setSensors(sensors);
+        return response;
+    }
 }
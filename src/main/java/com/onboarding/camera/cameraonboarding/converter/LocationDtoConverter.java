@@ -1,6 +1,7 @@
 package com.onboarding.camera.cameraonboarding.converter;
 
 import com.onboarding.camera.cameraonboarding.dto.LocationResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationRow;
 import com.onboarding.camera.cameraonboarding.entity.Location;
 import org.springframework.stereotype.Component;
 
@@ -14,4 +15,12 @@ public class LocationDtoConverter {
         response.setAddress(location.getAddress());
         return response;
     }
+
+    public LocationResponse toLocationResponse(LocationRow locationRow) {
+        LocationResponse response = new LocationResponse();
+        response.setLatitude(locationRow.getLatitude());
+        response.setLongitude(locationRow.getLongitude());
+        response.setAddress(locationRow.getAddress());
+        return response;
+    }
 }
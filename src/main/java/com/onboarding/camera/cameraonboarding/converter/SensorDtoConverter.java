@@ -2,6 +2,7 @@ package com.onboarding.camera.cameraonboarding.converter;
 
 import com.onboarding.camera.cameraonboarding.dto.SensorDto;
 import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
 import com.onboarding.camera.cameraonboarding.entity.LightSensor;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.entity.Sensor;
@@ -9,6 +10,7 @@ import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -25,6 +27,7 @@ public class SensorDtoConverter {
         sensorMetadata.setName(sensorDto.getName());
         sensorMetadata.setVersion(sensorDto.getVersion());
         sensorMetadata.setSensorType(sensorDto.getSensorType());
+        SensorPayloadSchema.validate(sensorDto.getSensorType(), sensorDto.getData());
         sensorMetadata.setData(sensorDto.getData());
         return sensorMetadata;
     }
@@ -40,6 +43,7 @@ public class SensorDtoConverter {
         sensorMetadata.setName(sensorDto.getName());
         sensorMetadata.setVersion(sensorDto.getVersion());
         sensorMetadata.setSensorType(sensorDto.getSensorType());
+        SensorPayloadSchema.validate(sensorDto.getSensorType(), sensorDto.getData());
         sensorMetadata.setData(sensorDto.getData());
         return sensorMetadata;
     }
@@ -55,10 +59,26 @@ public class SensorDtoConverter {
         sensorMetadata.setName(sensorDto.getName());
         sensorMetadata.setVersion(sensorDto.getVersion());
         sensorMetadata.setSensorType(sensorDto.getSensorType());
+        SensorPayloadSchema.validate(sensorDto.getSensorType(), sensorDto.getData());
         sensorMetadata.setData(sensorDto.getData());
         return sensorMetadata;
     }
 
+    public Sensor toEntity(SensorDto sensorDto) {
+
+        validateSensorDto(sensorDto);
+        switch (sensorDto.getSensorType()) {
+            case MOTION:
+                return toMotionEntity(sensorDto);
+            case LIGHT:
+                return toLightEntity(sensorDto);
+            case TEMPERATURE:
+                return toTemperatureEntity(sensorDto);
+            default:
+                throw new SensorMismatchException(String.format("Unsupported sensor type: %s", sensorDto.getSensorType()));
+        }
+    }
+
     public SensorResponse toSensorResponse(Sensor sensor) {
         SensorResponse response = new SensorResponse();
         response.setId(sensor.getId());
@@ -69,6 +89,17 @@ public class SensorDtoConverter {
         return response;
     }
 
+    public SensorResponse toSensorResponse(SensorRow sensorRow) {
+        SensorResponse response = new SensorResponse();
+        response.setId(sensorRow.getId());
+        response.setCameraId(sensorRow.getCameraId());
+        response.setName(sensorRow.getName());
+        response.setVersion(sensorRow.getVersion());
+        response.setSensorType(sensorRow.getSensorType());
+        response.setData(sensorRow.getData());
+        return response;
+    }
+
     /**
      * Validates if the camera has been onboarded and initialized
      *
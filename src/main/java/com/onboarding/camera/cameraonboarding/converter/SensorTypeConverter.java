@@ -0,0 +1,24 @@
+package com.onboarding.camera.cameraonboarding.converter;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Binds sensor type path variables and request parameters case insensitively, so /sensor/temperature matches the
+ * lowercase paths of the sensor controllers as well as /sensor/TEMPERATURE
+ */
+@Component
+public class SensorTypeConverter implements Converter<String, SensorType> {
+
+    @Override
+    public SensorType convert(String source) {
+        String type = source.trim();
+        if (type.isEmpty()) {
+            return null;
+        }
+        return SensorType.valueOf(type.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,36 @@
+package com.onboarding.camera.cameraonboarding.converter;
+
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertRuleDto;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertRuleResponse;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TemperatureAlertRuleDtoConverter {
+
+    public TemperatureAlertRule toEntity(TemperatureAlertRuleDto ruleDto) {
+
+        TemperatureAlertRule rule = new TemperatureAlertRule();
+        rule.setScope(ruleDto.getScope());
+        rule.setCameraId(ruleDto.getCameraId());
+        rule.setSensorId(ruleDto.getSensorId());
+        rule.setThreshold(ruleDto.getThreshold());
+        rule.setHysteresis(ruleDto.getHysteresis());
+        rule.setCooldownSeconds(ruleDto.getCooldownSeconds());
+        return rule;
+    }
+
+    public TemperatureAlertRuleResponse toResponse(TemperatureAlertRule rule) {
+
+        TemperatureAlertRuleResponse ruleResponse = new TemperatureAlertRuleResponse();
+        ruleResponse.setId(rule.getId());
+        ruleResponse.setScope(rule.getScope());
+        ruleResponse.setCameraId(rule.getCameraId());
+        ruleResponse.setSensorId(rule.getSensorId());
+        ruleResponse.setThreshold(rule.getThreshold());
+        ruleResponse.setHysteresis(rule.getHysteresis());
+        ruleResponse.setCooldownSeconds(rule.getCooldownSeconds());
+        ruleResponse.setCreatedAt(rule.getCreatedAt());
+        return ruleResponse;
+    }
+}
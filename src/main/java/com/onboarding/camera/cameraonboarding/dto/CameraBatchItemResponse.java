@@ -0,0 +1,18 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraBatchItemResponse {
+    private int index;
+    private UUID cameraId;
+    private String cameraName;
+    private Integer statusCode;
+    private String message;
+}
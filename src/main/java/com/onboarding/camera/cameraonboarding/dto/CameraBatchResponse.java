@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CameraBatchResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private double camerasPerSecond;
+    private List<CameraBatchItemResponse> items;
+}
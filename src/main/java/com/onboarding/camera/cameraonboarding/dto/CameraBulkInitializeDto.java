@@ -0,0 +1,16 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraBulkInitializeDto {
+    private List<UUID> cameraIds;
+    private String firmwareVersion;
+}
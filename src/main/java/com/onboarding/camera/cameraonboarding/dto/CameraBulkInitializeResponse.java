@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class CameraBulkInitializeResponse {
+    private List<UUID> initialized = new ArrayList<>();
+    private List<UUID> alreadyInitialized = new ArrayList<>();
+    private List<UUID> notFound = new ArrayList<>();
+    private List<UUID> failed = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One row of the camera left join sensor read model, the sensor columns are null for a camera without sensors
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraDetailRow {
+    private UUID cameraId;
+    private String cameraName;
+    private String firmwareVersion;
+    private UUID sensorId;
+    private String sensorName;
+    private String sensorVersion;
+    private SensorType sensorType;
+    private String sensorData;
+}
@@ -0,0 +1,20 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class CameraExportResponse {
+    private UUID cameraId;
+    private String cameraName;
+    private String firmwareVersion;
+    private UUID imageId;
+    private LocalDateTime createdAt;
+    private LocalDateTime onboardedAt;
+    private LocalDateTime initializedAt;
+    private LocationResponse location;
+    private List<SensorResponse> sensors;
+}
@@ -0,0 +1,14 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraFilter {
+    private Boolean initialized;
+    private Boolean onboarded;
+    private String firmwareVersion;
+}
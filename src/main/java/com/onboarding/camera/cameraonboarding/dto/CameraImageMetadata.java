@@ -0,0 +1,19 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraImageMetadata {
+    private UUID cameraId;
+    private UUID imageId;
+    private long contentLength;
+    private String eTag;
+    private OffsetDateTime lastModified;
+}
@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraPageResponse {
+    private List<CameraSummaryResponse> items;
+    private String nextCursor;
+}
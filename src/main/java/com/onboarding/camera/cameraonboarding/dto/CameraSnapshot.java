@@ -0,0 +1,26 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable view of a camera held in the camera cache, callers share the cached instance so it has no setters
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CameraSnapshot {
+    private final UUID cameraId;
+    private final String cameraName;
+    private final String firmwareVersion;
+    private final UUID imageId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime onboardedAt;
+    private final LocalDateTime initializedAt;
+}
@@ -0,0 +1,21 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CameraSummaryResponse {
+    private UUID cameraId;
+    private String cameraName;
+    private String firmwareVersion;
+    private UUID imageId;
+    private LocalDateTime createdAt;
+    private LocalDateTime onboardedAt;
+    private LocalDateTime initializedAt;
+}
@@ -0,0 +1,17 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocationRow {
+    private UUID cameraId;
+    private Double latitude;
+    private Double longitude;
+    private String address;
+}
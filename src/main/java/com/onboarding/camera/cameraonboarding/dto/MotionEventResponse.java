@@ -0,0 +1,19 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MotionEventResponse {
+    private long sequence;
+    private UUID cameraId;
+    private UUID sensorId;
+    private LocalDateTime recordedAt;
+    private Double value;
+}
@@ -0,0 +1,22 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorBatchItemDto {
+
+    @NotNull(message = "Camera id cannot be null")
+    private UUID cameraId;
+
+    @Valid
+    @NotNull(message = "Sensor cannot be null")
+    private SensorDto sensor;
+}
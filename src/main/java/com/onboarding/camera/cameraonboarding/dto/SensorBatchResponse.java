@@ -0,0 +1,14 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SensorBatchResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private List<SensorBatchItemResponse> items;
+}
@@ -0,0 +1,20 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorLatestReadingResponse {
+    private UUID cameraId;
+    private UUID sensorId;
+    private SensorType sensorType;
+    private LocalDateTime recordedAt;
+    private Double value;
+}
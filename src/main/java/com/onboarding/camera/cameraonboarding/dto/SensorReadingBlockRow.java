@@ -0,0 +1,31 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorReadingBlockRow {
+    private UUID sensorId;
+    private LocalDateTime blockStart;
+    private int readingCount;
+    private LocalDateTime firstRecordedAt;
+    private LocalDateTime lastRecordedAt;
+    private Long version;
+    @ToString.Exclude
+    private byte[] payload;
+
+    /**
+     * Header of a block without its payload
+     */
+    public SensorReadingBlockRow(UUID sensorId, LocalDateTime blockStart, int readingCount,
+                                 LocalDateTime firstRecordedAt, LocalDateTime lastRecordedAt, Long version) {
+        this(sensorId, blockStart, readingCount, firstRecordedAt, lastRecordedAt, version, null);
+    }
+}
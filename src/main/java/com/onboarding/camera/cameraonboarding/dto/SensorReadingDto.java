@@ -0,0 +1,17 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorReadingDto {
+    private UUID sensorId;
+    private LocalDateTime recordedAt;
+    private Double value;
+}
@@ -0,0 +1,24 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Column oriented reading history, timestamps are epoch millis of the UTC recorded times and line up with values
+ */
+@Data
+@NoArgsConstructor
+public class SensorReadingHistoryResponse {
+    private UUID sensorId;
+    private SensorType sensorType;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long rawPoints;
+    private int points;
+    private long[] timestamps;
+    private double[] values;
+}
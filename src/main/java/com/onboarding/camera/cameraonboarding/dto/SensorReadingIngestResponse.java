@@ -0,0 +1,12 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+
+@Data
+public class SensorReadingIngestResponse {
+    private int total;
+    private int accepted;
+    private int invalid;
+    private int unknownSensor;
+    private int dropped;
+}
@@ -0,0 +1,26 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class SensorReadingRollupResponse {
+    private LocalDateTime bucketStart;
+    private long count;
+    private double min;
+    private double max;
+    private double sum;
+    private double average;
+
+    public SensorReadingRollupResponse(LocalDateTime bucketStart, long count, double min, double max, double sum) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.average = count == 0 ? 0 : sum / count;
+    }
+}
@@ -0,0 +1,40 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorReadingRollupRow {
+    private UUID sensorId;
+    private RollupResolution resolution;
+    private LocalDateTime bucketStart;
+    private long count;
+    private double min;
+    private double max;
+    private double sum;
+
+    public SensorReadingRollupRow(UUID sensorId, RollupResolution resolution, LocalDateTime bucketStart) {
+        this(sensorId, resolution, bucketStart, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0);
+    }
+
+    public void add(double value) {
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+    }
+
+    public void merge(SensorReadingRollupRow other) {
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+    }
+}
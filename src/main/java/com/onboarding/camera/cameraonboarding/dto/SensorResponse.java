@@ -8,6 +8,7 @@ import java.util.UUID;
 @Data
 public class SensorResponse {
     private UUID id;
+    private UUID cameraId;
     private String name;
     private String version;
     private SensorType sensorType;
@@ -0,0 +1,20 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorRow {
+    private UUID cameraId;
+    private UUID id;
+    private String name;
+    private String version;
+    private SensorType sensorType;
+    private String data;
+}
@@ -0,0 +1,23 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.AlertState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TemperatureAlertResponse {
+    private long sequence;
+    private UUID ruleId;
+    private UUID cameraId;
+    private UUID sensorId;
+    private AlertState state;
+    private double value;
+    private double threshold;
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,34 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemperatureAlertRuleDto {
+
+    @NotNull(message = "Scope cannot be null")
+    private AlertRuleScope scope;
+
+    private UUID cameraId;
+
+    private UUID sensorId;
+
+    @NotNull(message = "Threshold cannot be null")
+    private Double threshold;
+
+    @PositiveOrZero(message = "Hysteresis cannot be negative")
+    private double hysteresis;
+
+    @PositiveOrZero(message = "Cooldown cannot be negative")
+    @Max(value = 86400, message = "Cooldown cannot be longer than a day")
+    private int cooldownSeconds;
+}
@@ -0,0 +1,19 @@
+package com.onboarding.camera.cameraonboarding.dto;
+
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class TemperatureAlertRuleResponse {
+    private UUID id;
+    private AlertRuleScope scope;
+    private UUID cameraId;
+    private UUID sensorId;
+    private double threshold;
+    private double hysteresis;
+    private int cooldownSeconds;
+    private LocalDateTime createdAt;
+}
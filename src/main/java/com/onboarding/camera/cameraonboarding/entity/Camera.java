@@ -6,9 +6,11 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.ToString;
 import org.hibernate.annotations.UuidGenerator;
@@ -21,7 +23,10 @@ import java.util.UUID;
 @Data
 @ToString(exclude = "location")
 @Entity
-@Table(name = "camera_metadata")
+@Table(name = "camera_metadata", indexes = {
+        @Index(name = "idx_camera_created_at_cam_id", columnList = "created_at, cam_id"),
+        @Index(name = "idx_camera_firmware_created_at", columnList = "firmware_version, created_at, cam_id")
+})
 public class Camera {
 
     @Id
@@ -54,6 +59,10 @@ public class Camera {
     @Column(name = "initialized_at")
     private LocalDateTime initializedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne(mappedBy = "camera", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private Location location;
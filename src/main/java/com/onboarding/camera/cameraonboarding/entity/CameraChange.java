@@ -0,0 +1,35 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "camera_change_log", indexes = {
+        @Index(name = "idx_camera_change_log_changed_at", columnList = "changed_at")
+})
+public class CameraChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "camera_id", nullable = false)
+    private UUID cameraId;
+
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -2,6 +2,8 @@ package com.onboarding.camera.cameraonboarding.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.util.SensorPayload;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.DiscriminatorType;
@@ -15,6 +17,8 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.ToString;
@@ -25,7 +29,11 @@ import java.util.UUID;
 @Data
 @Entity
 @ToString(exclude = "camera")
-@Table(name = "sensor_metadata", indexes = @Index(name = "idx_camera_id", columnList = "camera_id"))
+@Table(name = "sensor_metadata", indexes = {
+        @Index(name = "idx_camera_id", columnList = "camera_id"),
+        @Index(name = "idx_sensor_camera_id_sensor_type", columnList = "camera_id, sensor_type"),
+        @Index(name = "idx_sensor_type_reading_value", columnList = "sensor_type, reading_value")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "sensor_type", discriminatorType = DiscriminatorType.STRING)
 public abstract class Sensor {
@@ -53,4 +61,28 @@ public abstract class Sensor {
     @Column(name = "sensor_type", nullable = false, updatable = false, insertable = false)
     @Enumerated(EnumType.STRING)
     private SensorType sensorType;
+
+    /**
+     * Typed columns of the data, see {@link SensorPayloadSchema}, derived from the data whenever the sensor is written
+     */
+    @Column(name = "reading_value")
+    private Double readingValue;
+
+    @Column(name = "reading_unit")
+    private String readingUnit;
+
+    @Column(name = "confidence")
+    private Double confidence;
+
+    /**
+     * Derives the typed columns from the data, also called for sensors returned before they are written
+     */
+    @PrePersist
+    @PreUpdate
+    public void applyPayload() {
+        SensorPayload payload = SensorPayloadSchema.toPayload(sensorType, data);
+        this.readingValue = payload.getValue();
+        this.readingUnit = payload.getUnit();
+        this.confidence = payload.getConfidence();
+    }
 }
@@ -0,0 +1,35 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "sensor_reading", indexes = {
+        @Index(name = "idx_sensor_reading_sensor_id_recorded_at", columnList = "sensor_id, recorded_at")
+})
+public class SensorReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "sensor_id", nullable = false)
+    private UUID sensorId;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "reading_value", nullable = false)
+    private double value;
+}
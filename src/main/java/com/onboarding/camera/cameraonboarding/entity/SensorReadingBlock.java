@@ -0,0 +1,50 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Readings of one sensor in one fixed time window, encoded with {@link com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder}
+ */
+@Data
+@Entity
+@Table(name = "sensor_reading_block")
+@IdClass(SensorReadingBlockId.class)
+public class SensorReadingBlock {
+
+    @Id
+    @Column(name = "sensor_id")
+    private UUID sensorId;
+
+    @Id
+    @Column(name = "block_start")
+    private LocalDateTime blockStart;
+
+    @Column(name = "reading_count", nullable = false)
+    private int readingCount;
+
+    @Column(name = "first_recorded_at", nullable = false)
+    private LocalDateTime firstRecordedAt;
+
+    @Column(name = "last_recorded_at", nullable = false)
+    private LocalDateTime lastRecordedAt;
+
+    @Lob
+    @ToString.Exclude
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorReadingBlockId implements Serializable {
+    private UUID sensorId;
+    private LocalDateTime blockStart;
+}
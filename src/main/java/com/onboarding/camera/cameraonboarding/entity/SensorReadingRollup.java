@@ -0,0 +1,46 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "sensor_reading_rollup")
+@IdClass(SensorReadingRollupId.class)
+public class SensorReadingRollup {
+
+    @Id
+    @Column(name = "sensor_id")
+    private UUID sensorId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", length = 10)
+    private RollupResolution resolution;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "reading_count", nullable = false)
+    private long readingCount;
+
+    @Column(name = "min_value", nullable = false)
+    private double minValue;
+
+    @Column(name = "max_value", nullable = false)
+    private double maxValue;
+
+    @Column(name = "sum_value", nullable = false)
+    private double sumValue;
+}
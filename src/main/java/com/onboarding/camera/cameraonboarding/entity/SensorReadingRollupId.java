@@ -0,0 +1,19 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorReadingRollupId implements Serializable {
+    private UUID sensorId;
+    private RollupResolution resolution;
+    private LocalDateTime bucketStart;
+}
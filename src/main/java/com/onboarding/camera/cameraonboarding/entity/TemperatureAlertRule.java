@@ -0,0 +1,47 @@
+package com.onboarding.camera.cameraonboarding.entity;
+
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "temperature_alert_rule")
+public class TemperatureAlertRule {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 16)
+    private AlertRuleScope scope;
+
+    @Column(name = "camera_id")
+    private UUID cameraId;
+
+    @Column(name = "sensor_id")
+    private UUID sensorId;
+
+    @Column(name = "threshold", nullable = false)
+    private double threshold;
+
+    @Column(name = "hysteresis", nullable = false)
+    private double hysteresis;
+
+    @Column(name = "cooldown_seconds", nullable = false)
+    private int cooldownSeconds;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
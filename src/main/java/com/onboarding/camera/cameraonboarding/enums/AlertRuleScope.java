@@ -0,0 +1,18 @@
+package com.onboarding.camera.cameraonboarding.enums;
+
+public enum AlertRuleScope {
+    /**
+     * SENSOR: The rule applies to one sensor.
+     */
+    SENSOR,
+
+    /**
+     * CAMERA: The rule applies to every temperature sensor of one camera.
+     */
+    CAMERA,
+
+    /**
+     * FLEET: The rule applies to every temperature sensor.
+     */
+    FLEET
+}
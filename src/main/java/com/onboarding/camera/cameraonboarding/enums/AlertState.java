@@ -0,0 +1,13 @@
+package com.onboarding.camera.cameraonboarding.enums;
+
+public enum AlertState {
+    /**
+     * RAISED: The value went above the threshold of the rule.
+     */
+    RAISED,
+
+    /**
+     * CLEARED: The value of a raised alert fell below the threshold minus the hysteresis of the rule.
+     */
+    CLEARED
+}
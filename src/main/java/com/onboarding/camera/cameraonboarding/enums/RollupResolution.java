@@ -0,0 +1,35 @@
+package com.onboarding.camera.cameraonboarding.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupResolution {
+    /**
+     * MINUTE: One bucket per sensor and minute, used for charts covering hours.
+     */
+    MINUTE(ChronoUnit.MINUTES),
+
+    /**
+     * HOUR: One bucket per sensor and hour, used for charts covering days or weeks.
+     */
+    HOUR(ChronoUnit.HOURS),
+
+    /**
+     * DAY: One bucket per sensor and day, used for charts covering months.
+     */
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupResolution(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime recordedAt) {
+        return recordedAt.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,7 @@
+package com.onboarding.camera.cameraonboarding.exception;
+
+public class AlertRuleNotFoundException extends RuntimeException {
+    public AlertRuleNotFoundException(String message) {
+        super(message);
+    }
+}
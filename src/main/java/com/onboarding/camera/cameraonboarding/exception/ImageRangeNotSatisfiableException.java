@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.exception;
+
+public class ImageRangeNotSatisfiableException extends RuntimeException {
+
+    private final long contentLength;
+
+    public ImageRangeNotSatisfiableException(String message, long contentLength) {
+        super(message);
+        this.contentLength = contentLength;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+}
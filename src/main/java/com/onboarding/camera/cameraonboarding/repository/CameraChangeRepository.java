@@ -0,0 +1,25 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.entity.CameraChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CameraChangeRepository extends JpaRepository<CameraChange, Long> {
+
+    List<CameraChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select coalesce(max(c.id), 0) from CameraChange c")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from CameraChange c where c.changedAt < :changedBefore")
+    int deleteChangesBefore(@Param("changedBefore") LocalDateTime changedBefore);
+}
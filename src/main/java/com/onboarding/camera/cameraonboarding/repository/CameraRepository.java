@@ -1,8 +1,74 @@
 package com.onboarding.camera.cameraonboarding.repository;
 
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationRow;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CameraRepository extends JpaRepository<Camera, UUID> {
+public interface CameraRepository extends JpaRepository<Camera, UUID>, CameraRepositoryCustom {
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.CameraSnapshot("
+            + "c.camId, c.cameraName, c.firmwareVersion, c.imageId, c.createdAt, c.onboardedAt, c.initializedAt) "
+            + "from Camera c where c.camId = :cameraId")
+    Optional<CameraSnapshot> findCameraSnapshot(@Param("cameraId") UUID cameraId);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.CameraDetailRow("
+            + "c.camId, c.cameraName, c.firmwareVersion, s.id, s.name, s.version, s.sensorType, s.data) "
+            + "from Camera c left join c.sensors s where c.camId = :cameraId")
+    List<CameraDetailRow> findCameraDetailRows(@Param("cameraId") UUID cameraId);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.LocationRow(l.camera.camId, l.latitude, l.longitude, l.address) "
+            + "from Location l where l.camera.camId in :cameraIds")
+    List<LocationRow> findLocationRowsByCameraIds(@Param("cameraIds") Collection<UUID> cameraIds);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse("
+            + "c.camId, c.cameraName, c.firmwareVersion, c.imageId, c.createdAt, c.onboardedAt, c.initializedAt) "
+            + "from Camera c where c.camId in :cameraIds")
+    List<CameraSummaryResponse> findCameraSummariesByIds(@Param("cameraIds") Collection<UUID> cameraIds);
+
+    @Query("select c.camId from Camera c where c.camId in :cameraIds")
+    List<UUID> findCameraIdsByIds(@Param("cameraIds") Collection<UUID> cameraIds);
+
+    @Query("select c.camId from Camera c where c.firmwareVersion = :firmwareVersion and c.initializedAt is null")
+    List<UUID> findUninitializedCameraIdsByFirmwareVersion(@Param("firmwareVersion") String firmwareVersion, Pageable pageable);
+
+    @Query("select c.camId from Camera c where c.camId in :cameraIds and c.initializedAt = :initializedAt")
+    List<UUID> findCameraIdsInitializedAt(@Param("cameraIds") Collection<UUID> cameraIds,
+                                          @Param("initializedAt") LocalDateTime initializedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Camera c set c.initializedAt = :initializedAt, c.version = c.version + 1 "
+            + "where c.camId in :cameraIds and c.initializedAt is null")
+    int initializeCameras(@Param("cameraIds") Collection<UUID> cameraIds, @Param("initializedAt") LocalDateTime initializedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Camera c set c.initializedAt = :initializedAt, c.version = c.version + 1 "
+            + "where c.camId = :cameraId and c.initializedAt is null")
+    int initializeCamera(@Param("cameraId") UUID cameraId, @Param("initializedAt") LocalDateTime initializedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Camera c set c.imageId = :imageId, c.version = c.version + 1 "
+            + "where c.camId = :cameraId and c.imageId is null and c.onboardedAt is not null and c.initializedAt is not null")
+    int claimImage(@Param("cameraId") UUID cameraId, @Param("imageId") UUID imageId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Camera c set c.imageId = null, c.version = c.version + 1 where c.camId = :cameraId and c.imageId = :imageId")
+    int releaseImage(@Param("cameraId") UUID cameraId, @Param("imageId") UUID imageId);
 }
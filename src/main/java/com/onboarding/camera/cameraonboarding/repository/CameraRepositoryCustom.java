@@ -0,0 +1,32 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CameraRepositoryCustom {
+
+    /**
+     * this method is used for reading one keyset page of cameras ordered by (created_at, cam_id),
+     * only the predicates of the filters that are set are added to the query
+     *
+     * @param filter optional camera filters
+     * @param after  cursor of the last row of the previous page, null for the first page
+     * @param limit  maximum number of rows to return
+     * @return camera summaries following the cursor
+     */
+    List<CameraSummaryResponse> findCameraPage(CameraFilter filter, CameraCursor after, int limit);
+
+    /**
+     * this method is used for reading one keyset page of legacy cameras without created_at ordered by cam_id,
+     * these cameras are left out of the (created_at, cam_id) pages
+     *
+     * @param afterCameraId cam_id of the last row of the previous page, null for the first page
+     * @param limit         maximum number of rows to return
+     * @return camera summaries following the cam_id
+     */
+    List<CameraSummaryResponse> findUndatedCameraPage(UUID afterCameraId, int limit);
+}
@@ -0,0 +1,96 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class CameraRepositoryCustomImpl implements CameraRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CameraSummaryResponse> findCameraPage(CameraFilter filter, CameraCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CameraSummaryResponse> query = cb.createQuery(CameraSummaryResponse.class);
+        Root<Camera> camera = query.from(Camera.class);
+        Path<LocalDateTime> createdAt = camera.get("createdAt");
+        Path<UUID> camId = camera.get("camId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isNotNull(createdAt));
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(createdAt, after.getCreatedAt()),
+                    cb.and(cb.equal(createdAt, after.getCreatedAt()), cb.greaterThan(camId, after.getCameraId()))));
+        }
+        if (filter != null) {
+            if (filter.getInitialized() != null) {
+                Path<LocalDateTime> initializedAt = camera.get("initializedAt");
+                predicates.add(filter.getInitialized() ? cb.isNotNull(initializedAt) : cb.isNull(initializedAt));
+            }
+            if (filter.getOnboarded() != null) {
+                Path<LocalDateTime> onboardedAt = camera.get("onboardedAt");
+                predicates.add(filter.getOnboarded() ? cb.isNotNull(onboardedAt) : cb.isNull(onboardedAt));
+            }
+            if (filter.getFirmwareVersion() != null) {
+                predicates.add(cb.equal(camera.get("firmwareVersion"), filter.getFirmwareVersion()));
+            }
+        }
+
+        query.select(summary(cb, camera))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(createdAt), cb.asc(camId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<CameraSummaryResponse> findUndatedCameraPage(UUID afterCameraId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CameraSummaryResponse> query = cb.createQuery(CameraSummaryResponse.class);
+        Root<Camera> camera = query.from(Camera.class);
+        Path<UUID> camId = camera.get("camId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isNull(camera.get("createdAt")));
+        if (afterCameraId != null) {
+            predicates.add(cb.greaterThan(camId, afterCameraId));
+        }
+
+        query.select(summary(cb, camera))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(camId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private CompoundSelection<CameraSummaryResponse> summary(CriteriaBuilder cb, Root<Camera> camera) {
+        return cb.construct(CameraSummaryResponse.class,
+                camera.get("camId"),
+                camera.get("cameraName"),
+                camera.get("firmwareVersion"),
+                camera.get("imageId"),
+                camera.get("createdAt"),
+                camera.get("onboardedAt"),
+                camera.get("initializedAt"));
+    }
+}
@@ -1,6 +1,5 @@
 package com.onboarding.camera.cameraonboarding.repository;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.LightSensor;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,5 +8,5 @@ import java.util.UUID;
 
 public interface LightSensorRepository extends JpaRepository<LightSensor, UUID> {
 
-    List<LightSensor> findLightSensorByCamera(Camera camera);
+    List<LightSensor> findLightSensorByCameraCamId(UUID cameraId);
 }
@@ -1,6 +1,5 @@
 package com.onboarding.camera.cameraonboarding.repository;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,5 +8,5 @@ import java.util.UUID;
 
 public interface MotionSensorRepository extends JpaRepository<MotionSensor, UUID> {
 
-    List<MotionSensor> findMotionSensorByCamera(Camera camera);
+    List<MotionSensor> findMotionSensorByCameraCamId(UUID cameraId);
 }
@@ -0,0 +1,60 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlock;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlockId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SensorReadingBlockRepository extends JpaRepository<SensorReadingBlock, SensorReadingBlockId> {
+
+    /**
+     * Headers of the blocks overlapping a range in order, without their payloads
+     */
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow(b.sensorId, b.blockStart, "
+            + "b.readingCount, b.firstRecordedAt, b.lastRecordedAt, b.version) from SensorReadingBlock b "
+            + "where b.sensorId = :sensorId "
+            + "and b.blockStart >= :fromBlockStart and b.blockStart < :to and b.lastRecordedAt >= :from order by b.blockStart")
+    List<SensorReadingBlockRow> findBlockHeaders(@Param("sensorId") UUID sensorId,
+                                                 @Param("fromBlockStart") LocalDateTime fromBlockStart,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * One page of the blocks overlapping a range in order with their payloads, read as rows so the payloads are not
+     * held by the persistence context
+     */
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow(b.sensorId, b.blockStart, "
+            + "b.readingCount, b.firstRecordedAt, b.lastRecordedAt, b.version, b.payload) from SensorReadingBlock b "
+            + "where b.sensorId = :sensorId "
+            + "and b.blockStart >= :fromBlockStart and b.blockStart < :to and b.lastRecordedAt >= :from order by b.blockStart")
+    List<SensorReadingBlockRow> findBlocks(@Param("sensorId") UUID sensorId,
+                                           @Param("fromBlockStart") LocalDateTime fromBlockStart,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow(b.sensorId, b.blockStart, "
+            + "b.readingCount, b.firstRecordedAt, b.lastRecordedAt, b.version, b.payload) from SensorReadingBlock b "
+            + "where b.sensorId = :sensorId "
+            + "and b.blockStart = :blockStart")
+    Optional<SensorReadingBlockRow> findBlock(@Param("sensorId") UUID sensorId,
+                                              @Param("blockStart") LocalDateTime blockStart);
+
+    /**
+     * Newest block of each sensor with its payload, used for sensors whose raw readings are all compacted
+     */
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow(b.sensorId, b.blockStart, "
+            + "b.readingCount, b.firstRecordedAt, b.lastRecordedAt, b.version, b.payload) from SensorReadingBlock b "
+            + "where b.sensorId in :sensorIds and b.blockStart = "
+            + "(select max(l.blockStart) from SensorReadingBlock l where l.sensorId = b.sensorId)")
+    List<SensorReadingBlockRow> findLatestBlocks(@Param("sensorIds") Collection<UUID> sensorIds);
+}
@@ -0,0 +1,18 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.entity.SensorReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface SensorReadingRepository extends JpaRepository<SensorReading, Long>, SensorReadingRepositoryCustom {
+
+    @Query("select count(r) from SensorReading r where r.sensorId = :sensorId "
+            + "and r.recordedAt >= :from and r.recordedAt < :to")
+    long countReadings(@Param("sensorId") UUID sensorId,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to);
+}
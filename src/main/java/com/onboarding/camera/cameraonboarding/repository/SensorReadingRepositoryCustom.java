@@ -0,0 +1,78 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorReadingRepositoryCustom {
+
+    /**
+     * Appends readings with a single JDBC batch, without creating entities or a persistence context entry per reading
+     *
+     * @param readings the readings to append
+     */
+    void insertReadings(List<SensorReadingRow> readings);
+
+    /**
+     * Streams the readings of a sensor in time order straight from the result set, without creating a row object per reading
+     *
+     * @param sensorId sensor id
+     * @param from     inclusive start of the range
+     * @param to       exclusive end of the range
+     * @param maxRows  maximum number of readings to read
+     * @param consumer receives the epoch millis and value of every reading
+     */
+    void streamReadings(UUID sensorId, LocalDateTime from, LocalDateTime to, long maxRows, ReadingConsumer consumer);
+
+    /**
+     * Reads the latest raw reading of each sensor, sensors whose readings are all compacted into blocks are skipped
+     *
+     * @param sensorIds sensor ids
+     * @param consumer  receives the sensor id, epoch millis and value of the latest reading of every sensor
+     */
+    void findLatestReadings(List<UUID> sensorIds, LatestReadingConsumer consumer);
+
+    /**
+     * Finds sensors having raw readings recorded before the given time, used to pick the sensors to compact into blocks
+     *
+     * @param before     exclusive upper bound of recorded at
+     * @param maxSensors maximum number of sensors to return
+     * @return sensor ids
+     */
+    List<UUID> findSensorIdsWithReadingsBefore(LocalDateTime before, int maxSensors);
+
+    /**
+     * Streams the raw readings of a sensor recorded before the given time in time order, with their row ids
+     *
+     * @param sensorId sensor id
+     * @param before   exclusive upper bound of recorded at
+     * @param maxRows  maximum number of readings to read
+     * @param consumer receives the id, epoch millis and value of every reading
+     */
+    void streamReadingsBefore(UUID sensorId, LocalDateTime before, int maxRows, RawReadingConsumer consumer);
+
+    /**
+     * Deletes raw readings by id with a single JDBC batch
+     *
+     * @param ids reading ids
+     * @return number of readings deleted, less than the number of ids when another replica deleted some of them
+     */
+    int deleteReadings(long[] ids);
+
+    @FunctionalInterface
+    interface ReadingConsumer {
+        void accept(long timestamp, double value);
+    }
+
+    @FunctionalInterface
+    interface LatestReadingConsumer {
+        void accept(UUID sensorId, long timestamp, double value);
+    }
+
+    @FunctionalInterface
+    interface RawReadingConsumer {
+        void accept(long id, long timestamp, double value);
+    }
+}
@@ -0,0 +1,139 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class SensorReadingRepositoryCustomImpl implements SensorReadingRepositoryCustom {
+
+    private static final String INSERT_READING =
+            "insert into sensor_reading (sensor_id, recorded_at, reading_value) values (?, ?, ?)";
+
+    private static final String SELECT_READINGS = "select recorded_at, reading_value from sensor_reading "
+            + "where sensor_id = ? and recorded_at >= ? and recorded_at < ? order by recorded_at";
+
+    private static final String SELECT_LATEST_READINGS = "select r.sensor_id, r.recorded_at, r.reading_value "
+            + "from sensor_reading r where r.sensor_id in (%s) and r.recorded_at = "
+            + "(select max(l.recorded_at) from sensor_reading l where l.sensor_id = r.sensor_id)";
+
+    private static final String SELECT_SENSORS_BEFORE =
+            "select distinct sensor_id from sensor_reading where recorded_at < ?";
+
+    private static final String SELECT_READINGS_BEFORE = "select id, recorded_at, reading_value from sensor_reading "
+            + "where sensor_id = ? and recorded_at < ? order by recorded_at, id";
+
+    private static final String DELETE_READING = "delete from sensor_reading where id = ?";
+
+    private static final int STREAM_FETCH_SIZE = 5000;
+
+    /**
+     * Keeps the in list below the 2100 parameter limit of SQL Server
+     */
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertReadings(List<SensorReadingRow> readings) {
+        jdbcTemplate.batchUpdate(INSERT_READING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                SensorReadingRow reading = readings.get(index);
+                ps.setObject(1, reading.getSensorId());
+                ps.setTimestamp(2, Timestamp.valueOf(reading.getRecordedAt()));
+                ps.setDouble(3, reading.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return readings.size();
+            }
+        });
+    }
+
+    @Override
+    public void streamReadings(UUID sensorId, LocalDateTime from, LocalDateTime to, long maxRows, ReadingConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_READINGS);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setMaxRows((int) Math.min(maxRows, Integer.MAX_VALUE));
+            ps.setObject(1, sensorId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            LocalDateTime recordedAt = rs.getTimestamp(1).toLocalDateTime();
+            consumer.accept(recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), rs.getDouble(2));
+        });
+    }
+
+    @Override
+    public void findLatestReadings(List<UUID> sensorIds, LatestReadingConsumer consumer) {
+        for (int from = 0; from < sensorIds.size(); from += MAX_IN_PARAMETERS) {
+            List<UUID> chunk = sensorIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, sensorIds.size()));
+            String sql = String.format(SELECT_LATEST_READINGS, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                LocalDateTime recordedAt = rs.getTimestamp(2).toLocalDateTime();
+                consumer.accept(rs.getObject(1, UUID.class), recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                        rs.getDouble(3));
+            }, chunk.toArray());
+        }
+    }
+
+    @Override
+    public List<UUID> findSensorIdsWithReadingsBefore(LocalDateTime before, int maxSensors) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_SENSORS_BEFORE);
+            ps.setMaxRows(maxSensors);
+            ps.setTimestamp(1, Timestamp.valueOf(before));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    public void streamReadingsBefore(UUID sensorId, LocalDateTime before, int maxRows, RawReadingConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_READINGS_BEFORE);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setMaxRows(maxRows);
+            ps.setObject(1, sensorId);
+            ps.setTimestamp(2, Timestamp.valueOf(before));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            LocalDateTime recordedAt = rs.getTimestamp(2).toLocalDateTime();
+            consumer.accept(rs.getLong(1), recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), rs.getDouble(3));
+        });
+    }
+
+    @Override
+    public int deleteReadings(long[] ids) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_READING, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                ps.setLong(1, ids[index]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+        return Arrays.stream(deleted).sum();
+    }
+}
@@ -0,0 +1,26 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingRollup;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingRollupId;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorReadingRollupRepository extends JpaRepository<SensorReadingRollup, SensorReadingRollupId>,
+        SensorReadingRollupRepositoryCustom {
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse("
+            + "r.bucketStart, r.readingCount, r.minValue, r.maxValue, r.sumValue) "
+            + "from SensorReadingRollup r where r.sensorId = :sensorId and r.resolution = :resolution "
+            + "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart")
+    List<SensorReadingRollupResponse> findRollups(@Param("sensorId") UUID sensorId,
+                                                  @Param("resolution") RollupResolution resolution,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+}
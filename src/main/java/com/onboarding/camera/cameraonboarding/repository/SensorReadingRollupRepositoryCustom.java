@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupRow;
+
+import java.util.Collection;
+
+public interface SensorReadingRollupRepositoryCustom {
+
+    /**
+     * Adds the partial aggregates to the stored buckets, buckets that are not stored yet are inserted
+     *
+     * @param rollups partial aggregates, at most one per bucket
+     */
+    void mergeRollups(Collection<SensorReadingRollupRow> rollups);
+}
@@ -0,0 +1,74 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SensorReadingRollupRepositoryCustomImpl implements SensorReadingRollupRepositoryCustom {
+
+    // CASE instead of LEAST/GREATEST, which SQL Server only supports from 2022 on
+    private static final String UPDATE_ROLLUP = "update sensor_reading_rollup set reading_count = reading_count + ?, "
+            + "min_value = case when min_value < ? then min_value else ? end, "
+            + "max_value = case when max_value > ? then max_value else ? end, "
+            + "sum_value = sum_value + ? "
+            + "where sensor_id = ? and resolution = ? and bucket_start = ?";
+
+    private static final String INSERT_ROLLUP = "insert into sensor_reading_rollup "
+            + "(sensor_id, resolution, bucket_start, reading_count, min_value, max_value, sum_value) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void mergeRollups(Collection<SensorReadingRollupRow> rollups) {
+        List<SensorReadingRollupRow> rows = new ArrayList<>(rollups);
+        if (rows.isEmpty()) {
+            return;
+        }
+        // a single batch, so the update counts of the first and only batch line up with the rows
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_ROLLUP, rows, rows.size(), this::setUpdateValues)[0];
+
+        List<SensorReadingRollupRow> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            // a bucket inserted concurrently by another replica fails the batch with a DuplicateKeyException,
+            // the caller keeps the aggregates and merges them again on its next flush
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP, missing, missing.size(), this::setInsertValues);
+        }
+    }
+
+    private void setUpdateValues(PreparedStatement ps, SensorReadingRollupRow row) throws SQLException {
+        ps.setLong(1, row.getCount());
+        ps.setDouble(2, row.getMin());
+        ps.setDouble(3, row.getMin());
+        ps.setDouble(4, row.getMax());
+        ps.setDouble(5, row.getMax());
+        ps.setDouble(6, row.getSum());
+        ps.setObject(7, row.getSensorId());
+        ps.setString(8, row.getResolution().name());
+        ps.setTimestamp(9, Timestamp.valueOf(row.getBucketStart()));
+    }
+
+    private void setInsertValues(PreparedStatement ps, SensorReadingRollupRow row) throws SQLException {
+        ps.setObject(1, row.getSensorId());
+        ps.setString(2, row.getResolution().name());
+        ps.setTimestamp(3, Timestamp.valueOf(row.getBucketStart()));
+        ps.setLong(4, row.getCount());
+        ps.setDouble(5, row.getMin());
+        ps.setDouble(6, row.getMax());
+        ps.setDouble(7, row.getSum());
+    }
+}
@@ -0,0 +1,63 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.entity.Sensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.util.SensorPayload;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SensorRepository extends JpaRepository<Sensor, UUID>, SensorRepositoryCustom {
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorRow(s.camera.camId, s.id, s.name, s.version, s.sensorType, s.data) "
+            + "from Sensor s where s.camera.camId in :cameraIds")
+    List<SensorRow> findSensorRowsByCameraIds(@Param("cameraIds") Collection<UUID> cameraIds);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorRow(s.camera.camId, s.id, s.name, s.version, s.sensorType, s.data) "
+            + "from Sensor s where s.camera.camId = :cameraId and (:sensorType is null or s.sensorType = :sensorType)")
+    List<SensorRow> findSensorRowsByCameraId(@Param("cameraId") UUID cameraId, @Param("sensorType") SensorType sensorType);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorRow(s.camera.camId, s.id, s.name, s.version, s.sensorType, s.data) "
+            + "from Sensor s where s.id = :sensorId")
+    Optional<SensorRow> findSensorRowById(@Param("sensorId") UUID sensorId);
+
+    @Query("select new com.onboarding.camera.cameraonboarding.dto.SensorRow(s.camera.camId, s.id, s.name, s.version, s.sensorType, s.data) "
+            + "from Sensor s where s.sensorType = :sensorType and s.readingValue >= :min and s.readingValue <= :max "
+            + "order by s.readingValue desc, s.id")
+    List<SensorRow> findSensorRowsByReadingValue(@Param("sensorType") SensorType sensorType, @Param("min") double min,
+                                                 @Param("max") double max, Pageable pageable);
+
+    /**
+     * Updates a sensor with the typed columns derived from its data
+     */
+    default int updateSensor(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data) {
+        SensorPayload payload = SensorPayloadSchema.toPayload(sensorType, data);
+        return updateSensor(cameraId, sensorId, sensorType, name, version, data,
+                payload.getValue(), payload.getUnit(), payload.getConfidence());
+    }
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Sensor s set s.name = :name, s.version = :version, s.data = :data, "
+            + "s.readingValue = :readingValue, s.readingUnit = :readingUnit, s.confidence = :confidence "
+            + "where s.id = :sensorId and s.camera.camId = :cameraId and s.sensorType = :sensorType")
+    int updateSensor(@Param("cameraId") UUID cameraId, @Param("sensorId") UUID sensorId, @Param("sensorType") SensorType sensorType,
+                     @Param("name") String name, @Param("version") String version, @Param("data") String data,
+                     @Param("readingValue") Double readingValue, @Param("readingUnit") String readingUnit,
+                     @Param("confidence") Double confidence);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Sensor s where s.id = :sensorId and s.camera.camId = :cameraId and s.sensorType = :sensorType")
+    int deleteSensor(@Param("cameraId") UUID cameraId, @Param("sensorId") UUID sensorId, @Param("sensorType") SensorType sensorType);
+}
@@ -0,0 +1,17 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+
+import java.util.List;
+
+public interface SensorRepositoryCustom {
+
+    /**
+     * Updates the name, version, data and the typed columns derived from the data of sensors with a single JDBC
+     * batch, a row is only updated if the sensor still belongs to the camera and has the type of the given row
+     *
+     * @param sensors the sensor rows to write
+     * @return number of updated rows per sensor, in the order of the given rows
+     */
+    int[] updateSensors(List<SensorRow> sensors);
+}
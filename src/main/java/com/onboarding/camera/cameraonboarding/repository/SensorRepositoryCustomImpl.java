@@ -0,0 +1,47 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.util.SensorPayload;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SensorRepositoryCustomImpl implements SensorRepositoryCustom {
+
+    private static final String UPDATE_SENSOR = "update sensor_metadata set name = ?, version = ?, data = ?, "
+            + "reading_value = ?, reading_unit = ?, confidence = ? where id = ? and camera_id = ? and sensor_type = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] updateSensors(List<SensorRow> sensors) {
+        return jdbcTemplate.batchUpdate(UPDATE_SENSOR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                SensorRow sensor = sensors.get(index);
+                SensorPayload payload = SensorPayloadSchema.toPayload(sensor.getSensorType(), sensor.getData());
+                ps.setString(1, sensor.getName());
+                ps.setString(2, sensor.getVersion());
+                ps.setString(3, sensor.getData());
+                ps.setObject(4, payload.getValue(), Types.DOUBLE);
+                ps.setString(5, payload.getUnit());
+                ps.setObject(6, payload.getConfidence(), Types.DOUBLE);
+                ps.setObject(7, sensor.getId());
+                ps.setObject(8, sensor.getCameraId());
+                ps.setString(9, sensor.getSensorType().name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return sensors.size();
+            }
+        });
+    }
+}
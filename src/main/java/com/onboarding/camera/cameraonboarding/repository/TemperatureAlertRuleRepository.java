@@ -0,0 +1,9 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface TemperatureAlertRuleRepository extends JpaRepository<TemperatureAlertRule, UUID> {
+}
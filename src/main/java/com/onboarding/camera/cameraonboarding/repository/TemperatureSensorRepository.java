@@ -1,6 +1,5 @@
 package com.onboarding.camera.cameraonboarding.repository;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,5 +8,5 @@ import java.util.UUID;
 
 public interface TemperatureSensorRepository extends JpaRepository<TemperatureSensor, UUID> {
 
-    List<TemperatureSensor> findTemperatureSensorByCamera(Camera camera);
+    List<TemperatureSensor> findTemperatureSensorByCameraCamId(UUID cameraId);
 }
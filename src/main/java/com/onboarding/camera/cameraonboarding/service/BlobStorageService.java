@@ -1,5 +1,9 @@
 package com.onboarding.camera.cameraonboarding.service;
 
+import com.azure.storage.blob.models.BlobProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 public interface BlobStorageService {
@@ -13,6 +17,20 @@ public interface BlobStorageService {
      */
     void uploadFile(String container, String blobName, byte[] data);
 
+    /**
+     * this method is used for streaming files to the azure blob storage, the stream is read into one reused buffer
+     * of a block size and every block is staged before the next one is read, so memory use does not depend on the
+     * file size. The blob is visible only after every block is committed
+     *
+     * @param container the container
+     * @param blobName  the blob name
+     * @param data      the data, read until its end but not closed
+     * @return number of bytes uploaded
+     * @throws IllegalArgumentException if the stream is empty or longer than the upload limit
+     * @throws IOException              if the stream cannot be read
+     */
+    long uploadStream(String container, String blobName, InputStream data) throws IOException;
+
     /**
      * this method is used get container name
      *
@@ -28,4 +46,26 @@ public interface BlobStorageService {
      * @param blobName     the blob name
      */
     void getBlob(OutputStream outputStream, String container, String blobName);
+
+    /**
+     * this method is used to download a range of a blob, the download fails if the blob no longer has the given
+     * entity tag so a resumed download never mixes two versions of the blob
+     *
+     * @param outputStream the output stream
+     * @param container    the container name
+     * @param blobName     the blob name
+     * @param offset       first byte to download
+     * @param count        number of bytes to download, null to download until the end of the blob
+     * @param eTag         entity tag the blob must still have, null to skip the check
+     */
+    void getBlob(OutputStream outputStream, String container, String blobName, long offset, Long count, String eTag);
+
+    /**
+     * this method is used to get the properties of a blob, such as its size and entity tag, without downloading it
+     *
+     * @param container the container name
+     * @param blobName  the blob name
+     * @return blob properties
+     */
+    BlobProperties getBlobProperties(String container, String blobName);
 }
@@ -0,0 +1,32 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+
+import java.util.List;
+
+public interface CameraBatchService {
+
+    /**
+     * this method is used for onboarding many cameras in one request,
+     * every item is validated on its own and valid items are inserted in JDBC batches
+     *
+     * @param cameraDtos cameras to onboard, in request order
+     * @return per item results together with the batch throughput
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum
+     */
+    CameraBatchResponse handleSaveCameras(List<CameraDto> cameraDtos);
+
+    /**
+     * this method is used for initializing many cameras at once, either the given camera ids or up to the
+     * configured maximum of not yet initialized cameras with the given firmware version,
+     * each chunk is initialized by a single conditional update
+     *
+     * @param bulkInitializeDto camera ids or firmware version filter
+     * @return initialized, already initialized, unknown and failed camera ids
+     * @throws IllegalArgumentException if neither or both of camera ids and filter are given, or too many ids are given
+     */
+    CameraBulkInitializeResponse handleInitializeCameras(CameraBulkInitializeDto bulkInitializeDto);
+}
@@ -0,0 +1,23 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CameraCacheEvictor {
+
+    /**
+     * this method is used for evicting a changed camera from the camera cache, after the current transaction commits
+     * if there is one so a concurrent lookup cannot cache the camera as it was before the change
+     *
+     * @param cameraId the changed camera id
+     */
+    void evict(UUID cameraId);
+
+    /**
+     * this method is used for evicting changed cameras from the camera cache, after the current transaction commits
+     * if there is one
+     *
+     * @param cameraIds the changed camera ids
+     */
+    void evictAll(Collection<UUID> cameraIds);
+}
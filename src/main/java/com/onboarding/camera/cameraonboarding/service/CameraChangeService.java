@@ -0,0 +1,30 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import java.util.UUID;
+
+public interface CameraChangeService {
+
+    /**
+     * this method is used for recording a camera change in the change log in its own transaction, so other
+     * replicas evict the camera
+     *
+     * @param cameraId id of the changed camera
+     */
+    void recordChange(UUID cameraId);
+
+    /**
+     * this method is used for reading the changes recorded by other replicas since the last poll with one query
+     * per page and evicting the changed cameras from the local cache, recent ids are read again so changes that
+     * commit late are not skipped
+     *
+     * @return number of cameras evicted
+     */
+    int pollChanges();
+
+    /**
+     * this method is used for deleting changes older than the configured retention
+     *
+     * @return number of deleted changes
+     */
+    int purgeChanges();
+}
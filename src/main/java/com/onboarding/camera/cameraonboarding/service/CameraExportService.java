@@ -0,0 +1,16 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CameraExportService {
+
+    /**
+     * this method is used for exporting every camera with its location and sensors as NDJSON,
+     * cameras are read in keyset pages of the chunk size and written page by page so memory stays constant
+     *
+     * @param outputStream the output stream, it is flushed per chunk and left open
+     * @throws IOException if writing to the output stream fails
+     */
+    void exportCameras(OutputStream outputStream) throws IOException;
+}
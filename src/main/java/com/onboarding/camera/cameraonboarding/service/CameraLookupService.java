@@ -0,0 +1,18 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+
+import java.util.UUID;
+
+public interface CameraLookupService {
+
+    /**
+     * this method is used for finding a camera by id through the camera cache, the cached value is an immutable
+     * snapshot so callers cannot change what other callers read
+     *
+     * @param cameraId camera id
+     * @return camera snapshot
+     * @throws com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException if camera is not found with id
+     */
+    CameraSnapshot getCamera(UUID cameraId);
+}
@@ -1,5 +1,10 @@
 package com.onboarding.camera.cameraonboarding.service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
 public interface CameraMetricService {
 
     /**
@@ -22,6 +27,20 @@ public interface CameraMetricService {
      */
     void incrementCameraInitializationFailure();
 
+    /**
+     * Increments the counter for successful camera initialization by the number of cameras initialized at once.
+     *
+     * @param count the number of initialized cameras
+     */
+    void incrementCameraInitializationSuccess(int count);
+
+    /**
+     * Increments the counter for failed camera initialization by the number of cameras that failed at once.
+     *
+     * @param count the number of cameras that could not be initialized
+     */
+    void incrementCameraInitializationFailure(int count);
+
     /**
      * Increments the counter for successful image uploads.
      */
@@ -93,4 +112,211 @@ public interface CameraMetricService {
      * @param sensorType the type of the sensor
      */
     void incrementSensorDeleteFailure(String sensorType);
+
+    /**
+     * Records the duration and size of a batch onboarding request, so batch throughput
+     * can be compared with the per camera timings of the single onboarding endpoint.
+     *
+     * @param batchSize    the number of cameras in the batch
+     * @param elapsedNanos the time spent handling the batch in nanoseconds
+     */
+    void recordCameraBatchOnboarding(int batchSize, long elapsedNanos);
+
+    /**
+     * Increments the counter for lifecycle transitions rejected by their compare-and-set condition.
+     *
+     * @param transition the rejected transition, such as initialize or image_claim
+     */
+    void incrementCameraTransitionConflict(String transition);
+
+    /**
+     * Records one poll of the camera change log and the number of cameras evicted by it.
+     *
+     * @param elapsedNanos   the time spent polling in nanoseconds
+     * @param evictedCameras the number of cameras changed by other replicas and evicted locally
+     */
+    void recordCameraCacheCoherencePoll(long elapsedNanos, int evictedCameras);
+
+    /**
+     * Records how long a camera changed by another replica stayed stale in the local cache.
+     *
+     * @param staleness the time between the change and its local eviction
+     */
+    void recordCameraCacheStaleness(Duration staleness);
+
+    /**
+     * Increments the counter for readings accepted into the write buffer.
+     *
+     * @param sensorType the type of the sensors
+     * @param count      the number of accepted readings
+     */
+    void incrementSensorReadingIngested(String sensorType, int count);
+
+    /**
+     * Increments the counter for readings that were not persisted.
+     *
+     * @param reason why the readings were rejected, such as invalid, unknown_sensor, buffer_full or flush_failure
+     * @param count  the number of rejected readings
+     */
+    void incrementSensorReadingRejected(String reason, int count);
+
+    /**
+     * Records one batched insert of buffered readings.
+     *
+     * @param readings     the number of readings inserted
+     * @param elapsedNanos the time spent inserting in nanoseconds
+     */
+    void recordSensorReadingFlush(int readings, long elapsedNanos);
+
+    /**
+     * Registers a gauge reporting the number of readings waiting in the write buffer.
+     *
+     * @param buffer the write buffer
+     */
+    void registerSensorReadingBuffer(Collection<?> buffer);
+
+    /**
+     * Records one merge of pending rollup buckets into the rollup table.
+     *
+     * @param buckets      the number of buckets merged
+     * @param elapsedNanos the time spent merging in nanoseconds
+     */
+    void recordSensorReadingRollupFlush(int buckets, long elapsedNanos);
+
+    /**
+     * Increments the counter for failed rollup merges, the buckets are kept for the next merge.
+     */
+    void incrementSensorReadingRollupFlushFailure();
+
+    /**
+     * Registers a gauge reporting the number of rollup buckets waiting to be merged.
+     *
+     * @param pending the pending buckets
+     */
+    void registerSensorReadingRollupBuffer(Map<?, ?> pending);
+
+    /**
+     * Increments the counter for readings left out of a rollup bucket because the pending buckets are full.
+     *
+     * @param count the number of dropped readings
+     */
+    void incrementSensorReadingRollupDropped(int count);
+
+    /**
+     * Records the compaction of the raw readings of one sensor into blocks.
+     *
+     * @param readings     the number of readings compacted
+     * @param payloadBytes the size of the written block payloads in bytes
+     * @param elapsedNanos the time spent compacting in nanoseconds
+     */
+    void recordSensorReadingBlockCompaction(int readings, long payloadBytes, long elapsedNanos);
+
+    /**
+     * Increments the counter for failed sensor compactions, the readings stay raw until the next run.
+     */
+    void incrementSensorReadingBlockCompactionFailure();
+
+    /**
+     * Registers gauges reporting the number of sensors and the off-heap memory of the latest reading cache.
+     *
+     * @param entries      supplies the number of cached sensors
+     * @param offHeapBytes supplies the off-heap memory held by the cache in bytes
+     */
+    void registerSensorLatestReadingCache(Supplier<Number> entries, Supplier<Number> offHeapBytes);
+
+    /**
+     * Increments the counter for readings that could not be cached because the latest reading cache is full.
+     *
+     * @param count the number of rejected readings
+     */
+    void incrementSensorLatestReadingRejected(int count);
+
+    /**
+     * Registers a gauge reporting the number of motion event stream subscribers.
+     *
+     * @param subscribers supplies the number of subscribers
+     */
+    void registerSensorMotionSubscribers(Supplier<Number> subscribers);
+
+    /**
+     * Increments the counter for motion events dropped because the buffer of a slow subscriber was full.
+     *
+     * @param count the number of dropped events
+     */
+    void incrementSensorMotionEventDropped(int count);
+
+    /**
+     * Records the time spent evaluating the alert rules of one temperature value.
+     *
+     * @param elapsedNanos the evaluation time in nanoseconds
+     */
+    void recordTemperatureAlertEvaluation(long elapsedNanos);
+
+    /**
+     * Increments the counter for temperature alerts, tagged by state.
+     *
+     * @param state the alert state, RAISED or CLEARED
+     */
+    void incrementTemperatureAlert(String state);
+
+    /**
+     * Increments the counter for temperature alerts a sink failed to deliver, tagged by sink.
+     *
+     * @param sink the name of the sink
+     */
+    void incrementTemperatureAlertSinkFailure(String sink);
+
+    /**
+     * Increments the counter for sensor updates checked by the change filter, tagged by sensor type and outcome,
+     * the suppressed share of a type is its suppression ratio.
+     *
+     * @param sensorType the type of the sensor
+     * @param outcome    written or suppressed
+     */
+    void incrementSensorChangeFilter(String sensorType, String outcome);
+
+    /**
+     * Increments the counter for received sensor reading datagrams, its rate is the packet rate.
+     */
+    void incrementSensorReadingDatagram();
+
+    /**
+     * Increments the counter for sensor reading datagrams that could not be decoded.
+     */
+    void incrementSensorReadingDatagramDecodeError();
+
+    /**
+     * Registers a gauge reporting the number of sensors with an acknowledged update waiting to be written.
+     *
+     * @param pending the pending updates by sensor
+     */
+    void registerSensorWriteBehindPending(Map<?, ?> pending);
+
+    /**
+     * Records one batched write of pending sensor updates.
+     *
+     * @param updates      the number of sensors written
+     * @param elapsedNanos the time spent writing in nanoseconds
+     */
+    void recordSensorWriteBehindFlush(int updates, long elapsedNanos);
+
+    /**
+     * Records the time a sensor update waited between its acknowledgement and its write, the window in which an
+     * acknowledged update is lost if the replica stops.
+     *
+     * @param elapsedNanos the waiting time in nanoseconds
+     */
+    void recordSensorWriteBehindLag(long elapsedNanos);
+
+    /**
+     * Increments the counter for sensor updates that replaced a pending update of the same sensor.
+     */
+    void incrementSensorWriteBehindCoalesced();
+
+    /**
+     * Increments the counter for pending sensor updates whose write failed, they are retried with the next flush.
+     *
+     * @param count the number of failed updates
+     */
+    void incrementSensorWriteBehindFlushFailure(int count);
 }
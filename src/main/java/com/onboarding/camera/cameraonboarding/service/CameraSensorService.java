@@ -0,0 +1,31 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CameraSensorService {
+
+    /**
+     * this method is used for getting sensors of every type of a camera with one query on camera id
+     *
+     * @param cameraId   camera id
+     * @param sensorType sensor type to filter by, null returns every type
+     * @return List of SensorResponse
+     */
+    List<SensorResponse> handleGetSensorsByCameraId(UUID cameraId, SensorType sensorType);
+
+    /**
+     * this method is used for finding sensors of a type whose current value is within a range across every camera,
+     * e.g. every temperature sensor above 60 degrees Celsius, with one index range scan on the typed value
+     *
+     * @param sensorType sensor type
+     * @param min        inclusive lower bound in the unit of the type, null for no lower bound
+     * @param max        inclusive upper bound in the unit of the type, null for no upper bound
+     * @param limit      maximum number of sensors, null for the default
+     * @return List of SensorResponse with camera ids, highest value first
+     */
+    List<SensorResponse> handleGetSensorsByValue(SensorType sensorType, Double min, Double max, Integer limit);
+}
@@ -1,5 +1,9 @@
 package com.onboarding.camera.cameraonboarding.service;
 
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraImageMetadata;
+import com.onboarding.camera.cameraonboarding.dto.CameraPageResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
 import com.onboarding.camera.cameraonboarding.dto.LocationDto;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.exception.CameraAlreadyInitializedException;
@@ -11,6 +15,8 @@ import com.onboarding.camera.cameraonboarding.exception.ImageNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.ImageNotUploadedException;
 import com.onboarding.camera.cameraonboarding.exception.LocationNotAddedException;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 public interface CameraService {
@@ -37,7 +43,8 @@ public interface CameraService {
     void handleInitializeCamera(UUID cameraId);
 
     /**
-     * this method is used for find camera by id
+     * this method is used for loading the camera entity by id from the database, it is not cached, reads that only
+     * check the camera should use CameraLookupService
      *
      * @param cameraId camera id
      * @return cameraWithFoundId
@@ -47,6 +54,28 @@ public interface CameraService {
 
     Camera getCameraById(UUID cameraId);
 
+    /**
+     * this method is used for referencing an existing camera from a new row, the existence is checked through
+     * CameraLookupService and the camera itself is not loaded
+     *
+     * @param cameraId camera id
+     * @return cameraReference
+     * @throws CameraNotFoundException if camera is not found with id
+     */
+
+    Camera getCameraReference(UUID cameraId);
+
+    /**
+     * this method is used for reading the camera metadata with its sensors in a single query,
+     * the rows are projected straight into the response without loading entities
+     *
+     * @param cameraId camera id
+     * @return cameraResponse
+     * @throws CameraNotFoundException if camera is not found with id
+     */
+
+    CameraResponse getCameraResponseById(UUID cameraId);
+
     /**
      * this method is used for uploading camera images to the azure blob storage
      *
@@ -61,17 +90,58 @@ public interface CameraService {
     void handleUploadImage(UUID cameraId, UUID imageId, byte[] imageData);
 
     /**
-     * this method is used for downloading camera image from the azure blob storage
+     * this method is used for streaming camera images to the azure blob storage, the image is staged block by block
+     * while it is read so it is never held in memory as a whole
+     *
+     * @param cameraId  camera id
+     * @param imageId   image id
+     * @param imageData image data to be uploaded, read until its end
+     * @throws CameraNotFoundException       if camera is not onboarded
+     * @throws CameraNotInitializedException if camera is not initialized
+     * @throws IllegalArgumentException      if the image is empty or exceeds the upload limit
+     * @throws ImageNotUploadedException     if unexpected error occurs while uploading image
+     */
+
+    void handleUploadImageStream(UUID cameraId, UUID imageId, InputStream imageData);
+
+    /**
+     * this method is used for resolving the image of a camera before it is streamed, the camera is loaded once and
+     * the image size, entity tag and modification time are read from the blob properties so the response headers
+     * and ranges are known up front
      *
      * @param cameraId camera id
-     * @return byte[] image as bytes
+     * @return image metadata
      * @throws CameraNotFoundException       if camera is not onboarded
      * @throws CameraNotInitializedException if camera is not initialized
      * @throws ImageNotFoundException        if camera has no image
-     * @throws ImageNotDownloadedException   if unexpected error occurs while downloading image
+     * @throws ImageNotDownloadedException   if unexpected error occurs while reading the image properties
+     */
+
+    CameraImageMetadata handleGetImageMetadata(UUID cameraId);
+
+    /**
+     * this method is used for streaming camera image from the azure blob storage into the given output stream, the
+     * blob is written as it is downloaded without being buffered as a whole
+     *
+     * @param imageMetadata image resolved by {@link #handleGetImageMetadata(UUID)}
+     * @param outputStream  the output stream
+     * @throws ImageNotDownloadedException if unexpected error occurs while downloading image
+     */
+
+    void handleStreamImage(CameraImageMetadata imageMetadata, OutputStream outputStream);
+
+    /**
+     * this method is used for streaming a byte range of camera image from the azure blob storage, only the range is
+     * read from the blob storage and it is read only if the image still has the entity tag of the metadata
+     *
+     * @param imageMetadata image resolved by {@link #handleGetImageMetadata(UUID)}
+     * @param offset        first byte to stream
+     * @param count         number of bytes to stream
+     * @param outputStream  the output stream
+     * @throws ImageNotDownloadedException if unexpected error occurs while downloading image
      */
 
-    byte[] handleDownloadImage(UUID cameraId);
+    void handleStreamImageRange(CameraImageMetadata imageMetadata, long offset, long count, OutputStream outputStream);
 
     /**
      * this method is used for add location information to camera
@@ -84,4 +154,16 @@ public interface CameraService {
      */
 
     Camera handleAddLocation(UUID cameraId, LocationDto locationDto);
+
+    /**
+     * this method is used for listing cameras page by page with keyset pagination on (created_at, cam_id)
+     *
+     * @param filter optional initialized, onboarded and firmware version filters
+     * @param cursor cursor returned with the previous page, null for the first page
+     * @param limit  page size
+     * @return camera page with the cursor of the next page, next cursor is null on the last page
+     * @throws IllegalArgumentException if cursor is malformed or limit is out of range
+     */
+
+    CameraPageResponse getCameras(CameraFilter filter, String cursor, int limit);
 }
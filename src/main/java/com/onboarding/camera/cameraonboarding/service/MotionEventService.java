@@ -0,0 +1,41 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface MotionEventService {
+
+    /**
+     * this method is used for streaming the motion events of the sensors of a camera to an emitter
+     *
+     * @param cameraId camera id
+     * @param emitter  emitter of the subscribing request
+     * @throws com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException if the camera does not exist
+     */
+    void handleSubscribeCamera(UUID cameraId, SseEmitter emitter);
+
+    /**
+     * this method is used for streaming the motion events of the sensors of many cameras to an emitter
+     *
+     * @param cameraIds camera ids, all cameras if empty
+     * @param emitter   emitter of the subscribing request
+     * @throws IllegalArgumentException if too many cameras are given
+     */
+    void handleSubscribeCameras(List<UUID> cameraIds, SseEmitter emitter);
+
+    /**
+     * this method is used for publishing the data of an updated motion sensor to the subscribers of its camera
+     *
+     * @param cameraId camera id
+     * @param sensorId sensor id
+     * @param data     sensor data
+     */
+    void publishSensorUpdated(UUID cameraId, UUID sensorId, String data);
+
+    /**
+     * this method is used for sending a heartbeat to idle subscribers so closed connections are detected
+     */
+    void heartbeat();
+}
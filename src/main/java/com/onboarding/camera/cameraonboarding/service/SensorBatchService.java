@@ -0,0 +1,31 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorBatchService {
+
+    /**
+     * this method is used for adding sensors of mixed types to many cameras in one request,
+     * the whole list is validated before any insert, every camera is resolved once and sensors are inserted in JDBC batches
+     *
+     * @param sensorBatchItems camera id and sensor pairs, in request order
+     * @return per item results of the batch
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum
+     */
+    SensorBatchResponse handleCreateSensors(List<SensorBatchItemDto> sensorBatchItems);
+
+    /**
+     * this method is used for adding sensors of mixed types to one camera in one request
+     *
+     * @param cameraId   camera id
+     * @param sensorDtos sensors to add, in request order
+     * @return per item results of the batch
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum
+     */
+    SensorBatchResponse handleCreateSensors(UUID cameraId, List<SensorDto> sensorDtos);
+}
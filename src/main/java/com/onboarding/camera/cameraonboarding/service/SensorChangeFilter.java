@@ -0,0 +1,50 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.util.UUID;
+
+public interface SensorChangeFilter {
+
+    /**
+     * this method is used for checking whether an update only repeats the last written update of a sensor, the data
+     * may differ within the deadband of the sensor type until the max silence has passed
+     *
+     * @param cameraId   camera id
+     * @param sensorId   sensor id
+     * @param sensorType sensor type
+     * @param name       updated name
+     * @param version    updated version
+     * @param data       updated data
+     * @return true if the update can be skipped
+     */
+    boolean isUnchanged(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data);
+
+    /**
+     * this method is used for remembering a written update as the base of the following checks
+     *
+     * @param cameraId   camera id
+     * @param sensorId   sensor id
+     * @param sensorType sensor type
+     * @param name       written name
+     * @param version    written version
+     * @param data       written data
+     */
+    void recordWritten(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data);
+
+    /**
+     * this method is used for reading the data of the last written update of a sensor, so a skipped update can be
+     * answered without reading the database
+     *
+     * @param sensorId sensor id
+     * @return last written data, null if no update of the sensor was remembered
+     */
+    String getWrittenData(UUID sensorId);
+
+    /**
+     * this method is used for forgetting a deleted sensor
+     *
+     * @param sensorId sensor id
+     */
+    void evict(UUID sensorId);
+}
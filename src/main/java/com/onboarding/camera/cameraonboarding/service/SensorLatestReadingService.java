@@ -0,0 +1,47 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorLatestReadingService {
+
+    /**
+     * this method is used for recording the data of an updated sensor as its latest reading, data that is not a number
+     * or a boolean removes the sensor from the cache
+     *
+     * @param cameraId   camera id
+     * @param sensorId   sensor id
+     * @param sensorType sensor type
+     * @param data       sensor data
+     */
+    void handleSensorUpdated(UUID cameraId, UUID sensorId, SensorType sensorType, String data);
+
+    /**
+     * this method is used for removing a deleted sensor from the cache
+     *
+     * @param sensorId sensor id
+     */
+    void handleSensorDeleted(UUID sensorId);
+
+    /**
+     * this method is used for getting the latest reading of a sensor of a camera, served from memory when cached
+     *
+     * @param cameraId camera id
+     * @param sensorId sensor id
+     * @return latest reading, value and recordedAt are null if the sensor has no reading yet
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException if the sensor does not belong to the camera
+     */
+    SensorLatestReadingResponse handleGetLatestReading(UUID cameraId, UUID sensorId);
+
+    /**
+     * this method is used for getting the latest reading of every sensor of a camera
+     *
+     * @param cameraId camera id
+     * @return latest readings
+     * @throws com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException if the camera does not exist
+     */
+    List<SensorLatestReadingResponse> handleGetLatestReadings(UUID cameraId);
+}
@@ -0,0 +1,21 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+
+import java.util.UUID;
+
+public interface SensorLookupService {
+
+    /**
+     * this method is used for finding out why a direct sensor statement affected no rows, only called on the failure
+     * path
+     *
+     * @param cameraId   the camera the sensor was addressed with
+     * @param sensorId   the addressed sensor
+     * @param sensorType the type the sensor was addressed with
+     * @return SensorMismatchException if the sensor belongs to the camera with another type, SensorNotFoundException otherwise
+     * @throws CameraNotFoundException if the camera does not exist
+     */
+    RuntimeException toSensorLookupException(UUID cameraId, UUID sensorId, SensorType sensorType);
+}
@@ -0,0 +1,29 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.util.LttbDownsampler;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface SensorReadingBlockService {
+
+    /**
+     * this method is used for compacting the raw readings of closed time windows into one encoded block per sensor and window
+     *
+     * @return number of readings compacted
+     */
+    int compact();
+
+    /**
+     * this method is used for downsampling the readings of a sensor in a range, compacted blocks and raw readings
+     * not compacted yet are merged in time order while they are streamed, the range is read again when a compaction
+     * changes its blocks in between
+     *
+     * @param sensorId  sensor id
+     * @param from      inclusive start of the range
+     * @param to        exclusive end of the range
+     * @param maxPoints maximum number of points to keep
+     * @return downsampler holding the kept points
+     */
+    LttbDownsampler downsampleReadings(UUID sensorId, LocalDateTime from, LocalDateTime to, int maxPoints);
+}
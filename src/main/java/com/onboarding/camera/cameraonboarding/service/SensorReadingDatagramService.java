@@ -0,0 +1,15 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import java.nio.ByteBuffer;
+
+public interface SensorReadingDatagramService {
+
+    /**
+     * this method is used for ingesting the readings of one UDP datagram, readings are validated against the sensors
+     * of the camera of the datagram and handed to the same write buffer as readings sent over REST
+     *
+     * @param datagram received datagram in the format of {@link com.onboarding.camera.cameraonboarding.util.SensorReadingDatagram}
+     * @return number of accepted readings, 0 if the datagram could not be decoded
+     */
+    int handleDatagram(ByteBuffer datagram);
+}
@@ -0,0 +1,16 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+
+import java.util.List;
+
+public interface SensorReadingListener {
+
+    /**
+     * this method is used for reacting to readings once they are persisted, it runs on the flushing thread
+     * so implementations must not block
+     *
+     * @param readings the persisted readings of one batch
+     */
+    void onReadingsPersisted(List<SensorReadingRow> readings);
+}
@@ -0,0 +1,33 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorReadingRollupService {
+
+    /**
+     * this method is used for adding the pending in memory aggregates to the rollup table
+     *
+     * @return number of buckets written
+     */
+    int flush();
+
+    /**
+     * this method is used for getting pre-aggregated buckets of a temperature or light sensor of a camera
+     *
+     * @param cameraId   camera id
+     * @param sensorId   sensor id
+     * @param resolution bucket size
+     * @param from       inclusive start of the range
+     * @param to         exclusive end of the range
+     * @return buckets in time order, empty buckets are omitted
+     * @throws IllegalArgumentException if the range is empty or spans more than the configured maximum of buckets
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException if the sensor does not belong to the camera
+     */
+    List<SensorReadingRollupResponse> handleGetRollups(UUID cameraId, UUID sensorId, RollupResolution resolution,
+                                                       LocalDateTime from, LocalDateTime to);
+}
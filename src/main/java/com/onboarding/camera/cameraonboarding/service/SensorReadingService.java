@@ -0,0 +1,43 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingHistoryResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingIngestResponse;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SensorReadingService {
+
+    /**
+     * this method is used for ingesting a batch of readings of the sensors of one camera,
+     * readings are validated against the sensors of the camera and buffered, they are persisted asynchronously
+     *
+     * @param cameraId camera id
+     * @param readings readings to ingest
+     * @return number of accepted, invalid, unknown sensor and dropped readings
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum
+     * @throws com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException if the camera does not exist
+     */
+    SensorReadingIngestResponse handleIngestReadings(UUID cameraId, List<SensorReadingDto> readings);
+
+    /**
+     * this method is used for getting the reading history of a sensor of a camera, downsampled with LTTB to at most
+     * maxPoints points so the response size does not depend on the raw density of the range
+     *
+     * @param cameraId   camera id
+     * @param sensorType sensor type
+     * @param sensorId   sensor id
+     * @param from       inclusive start of the range
+     * @param to         exclusive end of the range
+     * @param maxPoints  maximum number of points to return, the configured default when null
+     * @return readings in time order
+     * @throws IllegalArgumentException if the range is empty or maxPoints is out of bounds
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException if the sensor does not belong to the camera
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorMismatchException if the sensor is of another type
+     */
+    SensorReadingHistoryResponse handleGetReadings(UUID cameraId, SensorType sensorType, UUID sensorId,
+                                                   LocalDateTime from, LocalDateTime to, Integer maxPoints);
+}
@@ -0,0 +1,23 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+
+import java.util.List;
+
+public interface SensorReadingWriter {
+
+    /**
+     * this method is used for handing readings to the bounded write buffer, readings are persisted later by the flusher
+     *
+     * @param readings readings to buffer
+     * @return number of leading readings that fit into the buffer, the rest is dropped
+     */
+    int offer(List<SensorReadingRow> readings);
+
+    /**
+     * this method is used for persisting every buffered reading in batched inserts
+     *
+     * @return number of readings persisted
+     */
+    int flush();
+}
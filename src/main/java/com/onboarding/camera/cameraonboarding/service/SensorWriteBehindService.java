@@ -0,0 +1,37 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.util.UUID;
+
+public interface SensorWriteBehindService {
+
+    /**
+     * this method is used for buffering a sensor update instead of writing it, a pending update of the same sensor is
+     * replaced so only the latest one is written with the next flush
+     *
+     * @param cameraId   camera id the sensor was addressed with
+     * @param sensorId   sensor id
+     * @param sensorType sensor type the sensor was addressed with
+     * @param name       sensor name
+     * @param version    sensor version
+     * @param data       sensor data
+     * @return false if write-behind is disabled for the type, the sensor is not a sensor of the camera with the type or
+     * the buffer is full, the caller has to write the update itself then
+     */
+    boolean offer(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data);
+
+    /**
+     * this method is used for dropping the pending update of a deleted sensor
+     *
+     * @param sensorId sensor id
+     */
+    void handleSensorDeleted(UUID sensorId);
+
+    /**
+     * this method is used for writing the pending updates in batches
+     *
+     * @return number of sensors written
+     */
+    int flush();
+}
@@ -0,0 +1,50 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TemperatureAlertService {
+
+    /**
+     * this method is used for creating an alert rule, it is evaluated from the next update or reading on
+     *
+     * @param rule rule to create
+     * @return created rule
+     * @throws IllegalArgumentException if the ids do not match the scope of the rule
+     * @throws com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException if the camera does not exist
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException if the sensor does not exist
+     * @throws com.onboarding.camera.cameraonboarding.exception.SensorMismatchException if the sensor is not a temperature sensor
+     */
+    TemperatureAlertRule handleCreateRule(TemperatureAlertRule rule);
+
+    /**
+     * this method is used for getting every alert rule
+     *
+     * @return alert rules
+     */
+    List<TemperatureAlertRule> handleGetRules();
+
+    /**
+     * this method is used for deleting an alert rule, raised alerts of the rule are dropped without a clear
+     *
+     * @param ruleId rule id
+     * @throws com.onboarding.camera.cameraonboarding.exception.AlertRuleNotFoundException if the rule does not exist
+     */
+    void handleDeleteRule(UUID ruleId);
+
+    /**
+     * this method is used for evaluating the rules of a temperature sensor against its updated data
+     *
+     * @param cameraId camera id
+     * @param sensorId sensor id
+     * @param data     sensor data, ignored if it is not a number
+     */
+    void handleSensorUpdated(UUID cameraId, UUID sensorId, String data);
+
+    /**
+     * this method is used for reloading the rules, so rules changed on other replicas are picked up
+     */
+    void refreshRules();
+}
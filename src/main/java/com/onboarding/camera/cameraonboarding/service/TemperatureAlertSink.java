@@ -0,0 +1,17 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+
+/**
+ * Receives raised and cleared temperature alerts. Sinks are called on the thread evaluating the rules, so they must
+ * hand the alert off without blocking
+ */
+public interface TemperatureAlertSink {
+
+    /**
+     * this method is used for delivering an alert
+     *
+     * @param alert raised or cleared alert
+     */
+    void send(TemperatureAlertResponse alert);
+}
@@ -0,0 +1,23 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TemperatureAlertStreamService {
+
+    /**
+     * this method is used for streaming the temperature alerts of many cameras to an emitter
+     *
+     * @param cameraIds camera ids, all cameras if empty
+     * @param emitter   emitter of the subscribing request
+     * @throws IllegalArgumentException if too many cameras are given
+     */
+    void handleSubscribe(List<UUID> cameraIds, SseEmitter emitter);
+
+    /**
+     * this method is used for sending a heartbeat to idle subscribers so closed connections are detected
+     */
+    void heartbeat();
+}
@@ -7,8 +7,12 @@ import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.DownloadRetryOptions;
 import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
 import com.onboarding.camera.cameraonboarding.service.BlobStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +20,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +39,12 @@ public class BlobStorageServiceImpl implements BlobStorageService {
     @Value("${spring.cloud.azure.storage.blob.container-name}")
     public String azureStorageContainerName;
 
+    @Value("${image.upload.stage-block-size:4194304}")
+    private int stageBlockSize;
+
+    @Value("${image.upload.max-bytes:67108864}")
+    private long maxUploadBytes;
+
     private final BlobServiceAsyncClient blobServiceAsyncClient;
 
     private final BlobServiceClient blobServiceClient;
@@ -53,6 +69,35 @@ public class BlobStorageServiceImpl implements BlobStorageService {
                         () -> log.info("Upload process completed"));
     }
 
+    @Override
+    public long uploadStream(String container, String blobName, InputStream data) throws IOException {
+        BlockBlobAsyncClient blockBlobAsyncClient = blobServiceAsyncClient.getBlobContainerAsyncClient(container)
+                .getBlobAsyncClient(blobName)
+                .getBlockBlobAsyncClient();
+
+        byte[] buffer = new byte[stageBlockSize];
+        List<String> blockIds = new ArrayList<>();
+        long uploaded = 0;
+        int read = data.readNBytes(buffer, 0, buffer.length);
+        while (read > 0) {
+            uploaded += read;
+            if (uploaded > maxUploadBytes) {
+                throw new IllegalArgumentException(String.format("File exceeds the upload limit of %d bytes", maxUploadBytes));
+            }
+            String blockId = toBlockId(blockIds.size());
+            blockBlobAsyncClient.stageBlock(blockId, Flux.just(ByteBuffer.wrap(buffer, 0, read)), read).block();
+            blockIds.add(blockId);
+            read = data.readNBytes(buffer, 0, buffer.length);
+        }
+        if (uploaded == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+
+        blockBlobAsyncClient.commitBlockList(blockIds, true).block();
+        log.info("File successfully uploaded, blob:{}, blocks:{}, bytes:{}", blobName, blockIds.size(), uploaded);
+        return uploaded;
+    }
+
     @Override
     public String getContainerName() {
         return azureStorageContainerName;
@@ -67,6 +112,20 @@ public class BlobStorageServiceImpl implements BlobStorageService {
                 null, false, null, Context.NONE);
     }
 
+    @Override
+    public void getBlob(OutputStream outputStream, String container, String blobName, long offset, Long count, String eTag) {
+        BlobClient blobClient = getBlobClient(container, blobName);
+
+        blobClient.downloadStreamWithResponse(outputStream, new BlobRange(offset, count),
+                new DownloadRetryOptions().setMaxRetryRequests(5),
+                new BlobRequestConditions().setIfMatch(eTag), false, null, Context.NONE);
+    }
+
+    @Override
+    public BlobProperties getBlobProperties(String container, String blobName) {
+        return getBlobClient(container, blobName).getProperties();
+    }
+
     private BlobContainerClient getBlobContainerClient(String container) {
         return blobServiceClient.getBlobContainerClient(container);
     }
@@ -86,6 +145,16 @@ public class BlobStorageServiceImpl implements BlobStorageService {
         return Flux.just(ByteBuffer.wrap(byteArray));
     }
 
+    /**
+     * Block ids of a blob must have the same length, so the index is zero padded before it is encoded
+     *
+     * @param index position of the block in the blob
+     * @return base64 encoded block id
+     */
+    private String toBlockId(int index) {
+        return Base64.getEncoder().encodeToString(String.format("%08d", index).getBytes(StandardCharsets.US_ASCII));
+    }
+
     /**
      * Returns transfer options for uploading files to blob storage.
      *
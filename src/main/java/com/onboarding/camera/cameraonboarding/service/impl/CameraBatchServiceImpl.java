@@ -0,0 +1,279 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchItemResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraBatchService;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CameraBatchServiceImpl implements CameraBatchService {
+
+    private final CameraRepository cameraRepository;
+
+    private final CameraDtoConverter cameraDtoConverter;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    @Value("${camera.onboarding.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${camera.onboarding.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Override
+    public CameraBatchResponse handleSaveCameras(List<CameraDto> cameraDtos) {
+        if (cameraDtos == null || cameraDtos.isEmpty()) {
+            throw new IllegalArgumentException("Camera batch cannot be empty");
+        }
+        if (cameraDtos.size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Camera batch cannot contain more than %d cameras", maxBatchSize));
+        }
+
+        long start = System.nanoTime();
+        CameraBatchItemResponse[] results = new CameraBatchItemResponse[cameraDtos.size()];
+        List<Camera> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        LocalDateTime now = dateTimeFactory.now();
+
+        for (int i = 0; i < cameraDtos.size(); i++) {
+            CameraDto cameraDto = cameraDtos.get(i);
+            String violations = validate(cameraDto);
+            if (violations != null) {
+                results[i] = new CameraBatchItemResponse(i, null, cameraDto == null ? null : cameraDto.getCameraName(),
+                        HttpStatus.BAD_REQUEST.value(), violations);
+                cameraMetricService.incrementCameraOnboardingFailure();
+                continue;
+            }
+
+            Camera camera = cameraDtoConverter.toEntity(cameraDto);
+            camera.setCreatedAt(now);
+            camera.setOnboardedAt(now);
+            chunk.add(camera);
+            chunkIndexes.add(i);
+
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, chunkIndexes, results);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, chunkIndexes, results);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        cameraMetricService.recordCameraBatchOnboarding(cameraDtos.size(), elapsedNanos);
+        CameraBatchResponse response = toBatchResponse(results, elapsedNanos);
+        log.info("Camera batch onboarded, total:{}, succeeded:{}, failed:{}, elapsedMillis:{}",
+                response.getTotal(), response.getSucceeded(), response.getFailed(), response.getElapsedMillis());
+        return response;
+    }
+
+    @Override
+    public CameraBulkInitializeResponse handleInitializeCameras(CameraBulkInitializeDto bulkInitializeDto) {
+        List<UUID> cameraIds = resolveCameraIdsToInitialize(bulkInitializeDto);
+        CameraBulkInitializeResponse response = new CameraBulkInitializeResponse();
+        LocalDateTime now = dateTimeFactory.now();
+
+        for (int from = 0; from < cameraIds.size(); from += chunkSize) {
+            List<UUID> chunk = cameraIds.subList(from, Math.min(from + chunkSize, cameraIds.size()));
+            initializeChunk(chunk, now, response);
+        }
+
+        cameraCacheEvictor.evictAll(response.getInitialized());
+        cameraMetricService.incrementCameraInitializationSuccess(response.getInitialized().size());
+        cameraMetricService.incrementCameraInitializationFailure(response.getFailed().size());
+        log.info("Cameras initialized in bulk, initialized:{}, alreadyInitialized:{}, notFound:{}, failed:{}",
+                response.getInitialized().size(), response.getAlreadyInitialized().size(),
+                response.getNotFound().size(), response.getFailed().size());
+        return response;
+    }
+
+    /**
+     * Resolves the cameras to initialize, either the given distinct camera ids or the not yet initialized cameras
+     * matching the firmware version, which are capped by the maximum batch size so callers repeat the request
+     * until nothing is left to initialize
+     *
+     * @param bulkInitializeDto camera ids or firmware version filter
+     * @return distinct camera ids in request order
+     * @throws IllegalArgumentException if neither or both of camera ids and filter are given, or too many ids are given
+     */
+    private List<UUID> resolveCameraIdsToInitialize(CameraBulkInitializeDto bulkInitializeDto) {
+        boolean hasIds = bulkInitializeDto != null && bulkInitializeDto.getCameraIds() != null
+                && !bulkInitializeDto.getCameraIds().isEmpty();
+        boolean hasFilter = bulkInitializeDto != null && bulkInitializeDto.getFirmwareVersion() != null
+                && !bulkInitializeDto.getFirmwareVersion().isBlank();
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Either cameraIds or firmwareVersion must be given");
+        }
+        if (hasFilter) {
+            return cameraRepository.findUninitializedCameraIdsByFirmwareVersion(
+                    bulkInitializeDto.getFirmwareVersion(), PageRequest.of(0, maxBatchSize));
+        }
+        if (bulkInitializeDto.getCameraIds().size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Camera batch cannot contain more than %d cameras", maxBatchSize));
+        }
+        if (bulkInitializeDto.getCameraIds().contains(null)) {
+            throw new IllegalArgumentException("Camera ids cannot contain null");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(bulkInitializeDto.getCameraIds()));
+    }
+
+    /**
+     * Initializes one chunk of cameras with a single select classifying the ids and a single conditional update,
+     * cameras initialized concurrently between the two statements are reported as already initialized
+     *
+     * @param chunk    camera ids of the chunk
+     * @param now      initialization time written to the cameras
+     * @param response response to fill
+     */
+    private void initializeChunk(List<UUID> chunk, LocalDateTime now, CameraBulkInitializeResponse response) {
+        try {
+            Map<UUID, CameraSummaryResponse> existing = new HashMap<>();
+            cameraRepository.findCameraSummariesByIds(chunk).forEach(summary -> existing.put(summary.getCameraId(), summary));
+
+            List<UUID> candidates = new ArrayList<>(chunk.size());
+            for (UUID cameraId : chunk) {
+                CameraSummaryResponse summary = existing.get(cameraId);
+                if (summary == null) {
+                    response.getNotFound().add(cameraId);
+                } else if (summary.getInitializedAt() != null) {
+                    response.getAlreadyInitialized().add(cameraId);
+                } else {
+                    candidates.add(cameraId);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            int updated = cameraRepository.initializeCameras(candidates, now);
+            if (updated == candidates.size()) {
+                response.getInitialized().addAll(candidates);
+                return;
+            }
+            Set<UUID> initialized = new HashSet<>(cameraRepository.findCameraIdsInitializedAt(candidates, now));
+            for (UUID cameraId : candidates) {
+                if (initialized.contains(cameraId)) {
+                    response.getInitialized().add(cameraId);
+                } else {
+                    response.getAlreadyInitialized().add(cameraId);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Exception occurred while initializing camera chunk of size {}: {}", chunk.size(), ex.getMessage());
+            for (UUID cameraId : chunk) {
+                if (!response.getNotFound().contains(cameraId) && !response.getAlreadyInitialized().contains(cameraId)) {
+                    response.getFailed().add(cameraId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Persists one chunk of cameras in its own transaction, so the inserts are flushed as a single JDBC batch
+     * and a failing chunk does not roll back the chunks that were already committed
+     *
+     * @param chunk        cameras to insert
+     * @param chunkIndexes request positions of the cameras in the chunk
+     * @param results      per item results to fill
+     */
+    private void persistChunk(List<Camera> chunk, List<Integer> chunkIndexes, CameraBatchItemResponse[] results) {
+        try {
+            List<Camera> savedCameras = transactionTemplate.execute(status -> cameraRepository.saveAll(chunk));
+            for (int i = 0; i < chunkIndexes.size(); i++) {
+                Camera savedCamera = savedCameras.get(i);
+                int index = chunkIndexes.get(i);
+                results[index] = new CameraBatchItemResponse(index, savedCamera.getCamId(), savedCamera.getCameraName(),
+                        HttpStatus.CREATED.value(), null);
+                cameraMetricService.incrementCameraOnboardingSuccess();
+            }
+        } catch (Exception ex) {
+            log.error("Exception occurred while saving camera batch chunk of size {}: {}", chunk.size(), ex.getMessage());
+            for (int i = 0; i < chunkIndexes.size(); i++) {
+                int index = chunkIndexes.get(i);
+                results[index] = new CameraBatchItemResponse(index, null, chunk.get(i).getCameraName(),
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        String.format("Error occurred while saving camera: %s", ex.getMessage()));
+                cameraMetricService.incrementCameraOnboardingFailure();
+            }
+        }
+    }
+
+    /**
+     * Validates a single batch item with the same constraints as the single camera endpoint
+     *
+     * @param cameraDto the camera dto to check
+     * @return the joined violation messages, or null if the item is valid
+     */
+    private String validate(CameraDto cameraDto) {
+        if (cameraDto == null) {
+            return "Camera cannot be null";
+        }
+        Set<ConstraintViolation<CameraDto>> violations = validator.validate(cameraDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private CameraBatchResponse toBatchResponse(CameraBatchItemResponse[] results, long elapsedNanos) {
+        int succeeded = (int) Arrays.stream(results)
+                .filter(result -> result.getStatusCode() == HttpStatus.CREATED.value())
+                .count();
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        CameraBatchResponse response = new CameraBatchResponse();
+        response.setTotal(results.length);
+        response.setSucceeded(succeeded);
+        response.setFailed(results.length - succeeded);
+        response.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        response.setCamerasPerSecond(elapsedSeconds > 0 ? succeeded / elapsedSeconds : 0);
+        response.setItems(Arrays.asList(results));
+        return response;
+    }
+}
@@ -0,0 +1,59 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Service
+public class CameraCacheEvictorImpl implements CameraCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void evict(UUID cameraId) {
+        evictAll(List.of(cameraId));
+    }
+
+    @Override
+    public void evictAll(Collection<UUID> cameraIds) {
+        if (cameraIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(cameraIds);
+            return;
+        }
+        // copied, callers may reuse the collection before the transaction commits
+        List<UUID> changedCameraIds = new ArrayList<>(cameraIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            /**
+             * Runs once synchronization is cleared, so the eviction event is handled as outside a transaction
+             * instead of being deferred to a transaction that already completed
+             */
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    evictNow(changedCameraIds);
+                }
+            }
+        });
+    }
+
+    private void evictNow(Collection<UUID> cameraIds) {
+        Cache cameraCache = cacheManager.getCache(CacheConfig.CAMERA_CACHE);
+        if (cameraCache != null) {
+            cameraIds.forEach(cameraCache::evict);
+        }
+    }
+}
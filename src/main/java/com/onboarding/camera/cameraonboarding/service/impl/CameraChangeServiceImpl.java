@@ -0,0 +1,164 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.config.CacheEvictedEvent;
+import com.onboarding.camera.cameraonboarding.config.CoherentCache;
+import com.onboarding.camera.cameraonboarding.entity.CameraChange;
+import com.onboarding.camera.cameraonboarding.repository.CameraChangeRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraChangeService;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "camera.cache.coherence.enabled", havingValue = "true", matchIfMissing = true)
+public class CameraChangeServiceImpl implements CameraChangeService {
+
+    private final CameraChangeRepository cameraChangeRepository;
+
+    private final CacheManager cacheManager;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Identifies the changes recorded by this instance, they are already evicted locally and skipped while polling
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * Identity ids are assigned at insert but become visible at commit, so a change committed late can land below
+     * ids already read. Polling re-scans every id above settledId and skips the ids in seenIds, an id older than
+     * the late commit window is settled and the ids below it are not read again
+     */
+    private long settledId;
+
+    private final NavigableMap<Long, LocalDateTime> seenIds = new TreeMap<>();
+
+    private TransactionTemplate requiresNewTransaction;
+
+    @Value("${camera.cache.coherence.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    @Value("${camera.cache.coherence.late-commit-window-ms:30000}")
+    private long lateCommitWindowMs;
+
+    @Value("${camera.cache.coherence.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @PostConstruct
+    public void init() {
+        settledId = cameraChangeRepository.findMaxId();
+        requiresNewTransaction = new TransactionTemplate(transactionManager);
+        requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        log.info("Camera cache coherence started, origin:{}, settledId:{}", origin, settledId);
+    }
+
+    /**
+     * Runs after the evicting transaction commits, so other replicas never reload a camera before its change is
+     * visible, and without a transaction it runs right away
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheEvicted(CacheEvictedEvent event) {
+        if (CacheConfig.CAMERA_CACHE.equals(event.getCacheName()) && event.getKey() instanceof UUID cameraId) {
+            recordChange(cameraId);
+        }
+    }
+
+    @Override
+    public void recordChange(UUID cameraId) {
+        CameraChange cameraChange = new CameraChange();
+        cameraChange.setCameraId(cameraId);
+        cameraChange.setOrigin(origin);
+        cameraChange.setChangedAt(dateTimeFactory.now());
+        try {
+            // a failed insert must not mark the caller's transaction rollback only
+            requiresNewTransaction.executeWithoutResult(status -> cameraChangeRepository.save(cameraChange));
+        } catch (Exception ex) {
+            log.error("Exception occurred while recording camera change, cameraId:{}:ex:{}", cameraId, ex.getMessage());
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${camera.cache.coherence.poll-interval-ms:2000}",
+            fixedDelayString = "${camera.cache.coherence.poll-interval-ms:2000}")
+    public synchronized int pollChanges() {
+        long start = System.nanoTime();
+        Cache cameraCache = cacheManager.getCache(CacheConfig.CAMERA_CACHE);
+        Cache localCache = cameraCache instanceof CoherentCache coherentCache ? coherentCache.getDelegate() : cameraCache;
+        LocalDateTime now = dateTimeFactory.now();
+        int evicted = 0;
+
+        long cursor = settledId;
+        List<CameraChange> changes;
+        do {
+            changes = cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, pollBatchSize));
+            for (CameraChange change : changes) {
+                cursor = change.getId();
+                if (seenIds.putIfAbsent(change.getId(), now) != null || origin.equals(change.getOrigin())) {
+                    continue;
+                }
+                if (localCache != null) {
+                    localCache.evict(change.getCameraId());
+                }
+                cameraMetricService.recordCameraCacheStaleness(Duration.between(change.getChangedAt(), now));
+                evicted++;
+            }
+        } while (changes.size() == pollBatchSize);
+        settleSeenIds(now);
+
+        cameraMetricService.recordCameraCacheCoherencePoll(System.nanoTime() - start, evicted);
+        if (evicted > 0) {
+            log.debug("Evicted cameras changed by other replicas: {}", evicted);
+        }
+        return evicted;
+    }
+
+    /**
+     * Advances settledId to the highest id seen before the late commit window and forgets the ids below it
+     */
+    private void settleSeenIds(LocalDateTime now) {
+        LocalDateTime settledBefore = now.minus(Duration.ofMillis(lateCommitWindowMs));
+        for (Map.Entry<Long, LocalDateTime> seen : seenIds.entrySet()) {
+            if (seen.getValue().isBefore(settledBefore)) {
+                settledId = Math.max(settledId, seen.getKey());
+            }
+        }
+        seenIds.headMap(settledId, true).clear();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${camera.cache.coherence.purge-interval-ms:600000}")
+    public int purgeChanges() {
+        int deleted = cameraChangeRepository.deleteChangesBefore(dateTimeFactory.now().minusMinutes(retentionMinutes));
+        log.info("Purged camera changes older than {} minutes: {}", retentionMinutes, deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,130 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.converter.LocationDtoConverter;
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraExportResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraExportService;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CameraExportServiceImpl implements CameraExportService {
+
+    private final CameraRepository cameraRepository;
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraDtoConverter cameraDtoConverter;
+
+    private final LocationDtoConverter locationDtoConverter;
+
+    private final SensorDtoConverter sensorDtoConverter;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${camera.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Cameras are read in keyset pages of the listing order, every page is read completely before the locations and
+     * sensors of it are loaded, so no result set stays open while the next query runs on the connection and memory
+     * is bounded by the chunk size. Legacy cameras without created_at are not part of the listing order, they are
+     * exported afterwards in pages ordered by cam_id
+     */
+    @Override
+    @Timed("camera.export")
+    public void exportCameras(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CameraExportResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            CameraCursor after = null;
+            List<CameraSummaryResponse> chunk;
+            do {
+                chunk = cameraRepository.findCameraPage(null, after, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                exported += writeChunk(generator, writer, chunk);
+                CameraSummaryResponse last = chunk.get(chunk.size() - 1);
+                after = new CameraCursor(last.getCreatedAt(), last.getCameraId());
+            } while (chunk.size() == chunkSize);
+
+            UUID afterCameraId = null;
+            do {
+                chunk = cameraRepository.findUndatedCameraPage(afterCameraId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                exported += writeChunk(generator, writer, chunk);
+                afterCameraId = chunk.get(chunk.size() - 1).getCameraId();
+            } while (chunk.size() == chunkSize);
+        }
+        log.info("Camera export completed, exported cameras:{}", exported);
+    }
+
+    /**
+     * Loads locations and sensors of a chunk of cameras with one query each and writes the chunk as NDJSON lines
+     *
+     * @param generator the generator writing to the response
+     * @param writer    the writer used for each camera line
+     * @param chunk     the cameras of the chunk
+     * @return number of cameras written
+     * @throws IOException if writing to the response fails
+     */
+    private int writeChunk(JsonGenerator generator, ObjectWriter writer, List<CameraSummaryResponse> chunk) throws IOException {
+        List<UUID> cameraIds = new ArrayList<>(chunk.size());
+        chunk.forEach(camera -> cameraIds.add(camera.getCameraId()));
+
+        Map<UUID, LocationResponse> locations = new HashMap<>();
+        for (LocationRow locationRow : cameraRepository.findLocationRowsByCameraIds(cameraIds)) {
+            locations.put(locationRow.getCameraId(), locationDtoConverter.toLocationResponse(locationRow));
+        }
+        Map<UUID, List<SensorResponse>> sensors = new HashMap<>();
+        for (SensorRow sensorRow : sensorRepository.findSensorRowsByCameraIds(cameraIds)) {
+            sensors.computeIfAbsent(sensorRow.getCameraId(), id -> new ArrayList<>())
+                    .add(sensorDtoConverter.toSensorResponse(sensorRow));
+        }
+
+        for (CameraSummaryResponse camera : chunk) {
+            CameraExportResponse exportResponse = cameraDtoConverter.toCameraExportResponse(camera,
+                    locations.get(camera.getCameraId()),
+                    sensors.getOrDefault(camera.getCameraId(), Collections.emptyList()));
+            writer.writeValue(generator, exportResponse);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return chunk.size();
+    }
+}
@@ -0,0 +1,30 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Kept apart from CameraServiceImpl, so its own lookups go through the caching proxy
+ */
+@RequiredArgsConstructor
+@Service
+public class CameraLookupServiceImpl implements CameraLookupService {
+
+    private final CameraRepository cameraRepository;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CAMERA_CACHE, key = "#cameraId")
+    public CameraSnapshot getCamera(UUID cameraId) {
+
+        return cameraRepository.findCameraSnapshot(cameraId)
+                .orElseThrow(() -> new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId)));
+    }
+}
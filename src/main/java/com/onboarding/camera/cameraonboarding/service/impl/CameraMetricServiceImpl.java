@@ -2,13 +2,21 @@ package com.onboarding.camera.cameraonboarding.service.impl;
 
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -31,12 +39,48 @@ public class CameraMetricServiceImpl implements CameraMetricService {
     private Counter locationAddSuccessCounter;
     private Counter locationAddFailureCounter;
 
+    private Timer cameraBatchOnboardingTimer;
+    private DistributionSummary cameraBatchOnboardingSizeSummary;
+
+    private Timer cameraCacheCoherencePollTimer;
+    private Counter cameraCacheCoherenceEvictionCounter;
+    private Timer cameraCacheStalenessTimer;
+
+    private Timer sensorReadingFlushTimer;
+    private DistributionSummary sensorReadingFlushSizeSummary;
+
+    private Timer sensorReadingRollupFlushTimer;
+    private DistributionSummary sensorReadingRollupFlushSizeSummary;
+    private Counter sensorReadingRollupFlushFailureCounter;
+    private Counter sensorReadingRollupDroppedCounter;
+
+    private Timer sensorReadingBlockCompactionTimer;
+    private Counter sensorReadingBlockCompactedCounter;
+    private Counter sensorReadingBlockBytesCounter;
+    private Counter sensorReadingBlockCompactionFailureCounter;
+    private Counter sensorLatestReadingRejectedCounter;
+    private Counter sensorMotionEventDroppedCounter;
+    private Timer temperatureAlertEvaluationTimer;
+    private Counter sensorReadingDatagramCounter;
+    private Counter sensorReadingDatagramDecodeErrorCounter;
+    private Timer sensorWriteBehindFlushTimer;
+    private DistributionSummary sensorWriteBehindFlushSizeSummary;
+    private Timer sensorWriteBehindLagTimer;
+    private Counter sensorWriteBehindCoalescedCounter;
+    private Counter sensorWriteBehindFlushFailureCounter;
+
     private final Map<String, Counter> sensorCreateSuccessCounters = new HashMap<>();
     private final Map<String, Counter> sensorCreateFailureCounters = new HashMap<>();
     private final Map<String, Counter> sensorUpdateSuccessCounters = new HashMap<>();
     private final Map<String, Counter> sensorUpdateFailureCounters = new HashMap<>();
     private final Map<String, Counter> sensorDeleteSuccessCounters = new HashMap<>();
     private final Map<String, Counter> sensorDeleteFailureCounters = new HashMap<>();
+    private final Map<String, Counter> cameraTransitionConflictCounters = new HashMap<>();
+    private final Map<String, Counter> sensorReadingIngestedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sensorReadingRejectedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> temperatureAlertCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> temperatureAlertSinkFailureCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sensorChangeFilterCounters = new ConcurrentHashMap<>();
 
 
     @PostConstruct
@@ -75,6 +119,92 @@ public class CameraMetricServiceImpl implements CameraMetricService {
         locationAddFailureCounter = Counter.builder("location.add.failure")
                 .description("Number of failed location add operations")
                 .register(meterRegistry);
+
+        cameraBatchOnboardingTimer = Timer.builder("camera.onboarding.batch")
+                .description("Time spent handling batch camera onboarding requests")
+                .register(meterRegistry);
+        cameraBatchOnboardingSizeSummary = DistributionSummary.builder("camera.onboarding.batch.size")
+                .description("Number of cameras per batch onboarding request")
+                .register(meterRegistry);
+
+        cameraCacheCoherencePollTimer = Timer.builder("camera.cache.coherence.poll")
+                .description("Time spent polling the camera change log")
+                .register(meterRegistry);
+        cameraCacheCoherenceEvictionCounter = Counter.builder("camera.cache.coherence.evictions")
+                .description("Number of cameras evicted because another replica changed them")
+                .register(meterRegistry);
+        cameraCacheStalenessTimer = Timer.builder("camera.cache.coherence.staleness")
+                .description("Time between a camera change on another replica and its local eviction")
+                .register(meterRegistry);
+
+        sensorReadingFlushTimer = Timer.builder("sensor.reading.flush")
+                .description("Time spent inserting one batch of buffered sensor readings")
+                .register(meterRegistry);
+        sensorReadingFlushSizeSummary = DistributionSummary.builder("sensor.reading.flush.size")
+                .description("Number of sensor readings per batched insert")
+                .register(meterRegistry);
+
+        sensorReadingRollupFlushTimer = Timer.builder("sensor.reading.rollup.flush")
+                .description("Time spent merging pending rollup buckets into the rollup table")
+                .register(meterRegistry);
+        sensorReadingRollupFlushSizeSummary = DistributionSummary.builder("sensor.reading.rollup.flush.size")
+                .description("Number of rollup buckets per merge")
+                .register(meterRegistry);
+        sensorReadingRollupFlushFailureCounter = Counter.builder("sensor.reading.rollup.flush.failure")
+                .description("Number of failed rollup merges")
+                .register(meterRegistry);
+        sensorReadingRollupDroppedCounter = Counter.builder("sensor.reading.rollup.dropped")
+                .description("Number of readings left out of a rollup bucket because the pending buckets are full")
+                .register(meterRegistry);
+
+        sensorReadingBlockCompactionTimer = Timer.builder("sensor.reading.block.compaction")
+                .description("Time spent compacting the raw readings of one sensor into blocks")
+                .register(meterRegistry);
+        sensorReadingBlockCompactedCounter = Counter.builder("sensor.reading.block.compacted")
+                .description("Number of raw sensor readings compacted into blocks")
+                .register(meterRegistry);
+        sensorReadingBlockBytesCounter = Counter.builder("sensor.reading.block.bytes")
+                .description("Size of the written block payloads, divided by compacted readings it gives bytes per reading")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        sensorReadingBlockCompactionFailureCounter = Counter.builder("sensor.reading.block.compaction.failure")
+                .description("Number of failed sensor compactions")
+                .register(meterRegistry);
+        sensorLatestReadingRejectedCounter = Counter.builder("sensor.reading.latest.rejected")
+                .description("Number of readings not cached because the latest reading cache is full")
+                .register(meterRegistry);
+        sensorMotionEventDroppedCounter = Counter.builder("sensor.motion.events.dropped")
+                .description("Number of motion events dropped for slow stream subscribers")
+                .register(meterRegistry);
+
+        temperatureAlertEvaluationTimer = Timer.builder("temperature.alert.evaluation")
+                .description("Time spent evaluating the alert rules of one temperature value")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        sensorReadingDatagramCounter = Counter.builder("sensor.reading.udp.packets")
+                .description("Number of received sensor reading datagrams")
+                .register(meterRegistry);
+        sensorReadingDatagramDecodeErrorCounter = Counter.builder("sensor.reading.udp.decode.errors")
+                .description("Number of sensor reading datagrams that could not be decoded")
+                .register(meterRegistry);
+
+        sensorWriteBehindFlushTimer = Timer.builder("sensor.update.buffer.flush")
+                .description("Time spent writing one batch of buffered sensor updates")
+                .register(meterRegistry);
+        sensorWriteBehindFlushSizeSummary = DistributionSummary.builder("sensor.update.buffer.flush.size")
+                .description("Number of sensor updates per batched write")
+                .register(meterRegistry);
+        sensorWriteBehindLagTimer = Timer.builder("sensor.update.buffer.lag")
+                .description("Time between acknowledging a buffered sensor update and writing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        sensorWriteBehindCoalescedCounter = Counter.builder("sensor.update.buffer.coalesced")
+                .description("Number of sensor updates that replaced a pending update of the same sensor")
+                .register(meterRegistry);
+        sensorWriteBehindFlushFailureCounter = Counter.builder("sensor.update.buffer.flush.failure")
+                .description("Number of buffered sensor updates whose write failed and is retried")
+                .register(meterRegistry);
     }
 
     @Override
@@ -97,6 +227,16 @@ public class CameraMetricServiceImpl implements CameraMetricService {
         cameraInitializationFailureCounter.increment();
     }
 
+    @Override
+    public void incrementCameraInitializationSuccess(int count) {
+        cameraInitializationSuccessCounter.increment(count);
+    }
+
+    @Override
+    public void incrementCameraInitializationFailure(int count) {
+        cameraInitializationFailureCounter.increment(count);
+    }
+
     @Override
     public void incrementImageUploadSuccess() {
         imageUploadSuccessCounter.increment();
@@ -174,4 +314,189 @@ public class CameraMetricServiceImpl implements CameraMetricService {
                 .description("Number of failed sensor deletion operations")
                 .register(meterRegistry)).increment();
     }
+
+    @Override
+    public void recordCameraBatchOnboarding(int batchSize, long elapsedNanos) {
+        cameraBatchOnboardingTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        cameraBatchOnboardingSizeSummary.record(batchSize);
+    }
+
+    @Override
+    public void incrementCameraTransitionConflict(String transition) {
+        cameraTransitionConflictCounters.computeIfAbsent(transition, k -> Counter.builder("camera.transition.conflict")
+                .tag("transition", k)
+                .description("Number of camera lifecycle transitions rejected by their compare-and-set condition")
+                .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void recordCameraCacheCoherencePoll(long elapsedNanos, int evictedCameras) {
+        cameraCacheCoherencePollTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        cameraCacheCoherenceEvictionCounter.increment(evictedCameras);
+    }
+
+    @Override
+    public void recordCameraCacheStaleness(Duration staleness) {
+        cameraCacheStalenessTimer.record(staleness);
+    }
+
+    @Override
+    public void incrementSensorReadingIngested(String sensorType, int count) {
+        sensorReadingIngestedCounters.computeIfAbsent(sensorType, k -> Counter.builder("sensor.reading.ingested")
+                .tag("sensor.type", k)
+                .description("Number of sensor readings accepted into the write buffer")
+                .register(meterRegistry)).increment(count);
+    }
+
+    @Override
+    public void incrementSensorReadingRejected(String reason, int count) {
+        sensorReadingRejectedCounters.computeIfAbsent(reason, k -> Counter.builder("sensor.reading.rejected")
+                .tag("reason", k)
+                .description("Number of sensor readings that were not persisted")
+                .register(meterRegistry)).increment(count);
+    }
+
+    @Override
+    public void recordSensorReadingFlush(int readings, long elapsedNanos) {
+        sensorReadingFlushTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sensorReadingFlushSizeSummary.record(readings);
+    }
+
+    @Override
+    public void registerSensorReadingBuffer(Collection<?> buffer) {
+        Gauge.builder("sensor.reading.buffer.size", buffer, Collection::size)
+                .description("Number of sensor readings waiting to be persisted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordSensorReadingRollupFlush(int buckets, long elapsedNanos) {
+        sensorReadingRollupFlushTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sensorReadingRollupFlushSizeSummary.record(buckets);
+    }
+
+    @Override
+    public void incrementSensorReadingRollupFlushFailure() {
+        sensorReadingRollupFlushFailureCounter.increment();
+    }
+
+    @Override
+    public void registerSensorReadingRollupBuffer(Map<?, ?> pending) {
+        Gauge.builder("sensor.reading.rollup.pending", pending, Map::size)
+                .description("Number of rollup buckets waiting to be merged")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void incrementSensorReadingRollupDropped(int count) {
+        sensorReadingRollupDroppedCounter.increment(count);
+    }
+
+    @Override
+    public void recordSensorReadingBlockCompaction(int readings, long payloadBytes, long elapsedNanos) {
+        sensorReadingBlockCompactionTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sensorReadingBlockCompactedCounter.increment(readings);
+        sensorReadingBlockBytesCounter.increment(payloadBytes);
+    }
+
+    @Override
+    public void incrementSensorReadingBlockCompactionFailure() {
+        sensorReadingBlockCompactionFailureCounter.increment();
+    }
+
+    @Override
+    public void registerSensorLatestReadingCache(Supplier<Number> entries, Supplier<Number> offHeapBytes) {
+        Gauge.builder("sensor.reading.latest.entries", entries)
+                .description("Number of sensors in the latest reading cache")
+                .register(meterRegistry);
+        Gauge.builder("sensor.reading.latest.off.heap", offHeapBytes)
+                .description("Off-heap memory held by the latest reading cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void incrementSensorLatestReadingRejected(int count) {
+        sensorLatestReadingRejectedCounter.increment(count);
+    }
+
+    @Override
+    public void registerSensorMotionSubscribers(Supplier<Number> subscribers) {
+        Gauge.builder("sensor.motion.subscribers", subscribers)
+                .description("Number of motion event stream subscribers")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void incrementSensorMotionEventDropped(int count) {
+        sensorMotionEventDroppedCounter.increment(count);
+    }
+
+    @Override
+    public void recordTemperatureAlertEvaluation(long elapsedNanos) {
+        temperatureAlertEvaluationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void incrementTemperatureAlert(String state) {
+        temperatureAlertCounters.computeIfAbsent(state, k -> Counter.builder("temperature.alert")
+                .tag("state", k)
+                .description("Number of raised and cleared temperature alerts")
+                .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void incrementTemperatureAlertSinkFailure(String sink) {
+        temperatureAlertSinkFailureCounters.computeIfAbsent(sink, k -> Counter.builder("temperature.alert.sink.failure")
+                .tag("sink", k)
+                .description("Number of temperature alerts a sink failed to deliver")
+                .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void incrementSensorChangeFilter(String sensorType, String outcome) {
+        sensorChangeFilterCounters.computeIfAbsent(sensorType + ":" + outcome, k -> Counter.builder("sensor.update.filter")
+                .tag("sensor.type", sensorType)
+                .tag("outcome", outcome)
+                .description("Number of sensor updates checked by the change filter")
+                .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public void incrementSensorReadingDatagram() {
+        sensorReadingDatagramCounter.increment();
+    }
+
+    @Override
+    public void incrementSensorReadingDatagramDecodeError() {
+        sensorReadingDatagramDecodeErrorCounter.increment();
+    }
+
+    @Override
+    public void registerSensorWriteBehindPending(Map<?, ?> pending) {
+        Gauge.builder("sensor.update.buffer.pending", pending, Map::size)
+                .description("Number of sensors with a buffered update waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordSensorWriteBehindFlush(int updates, long elapsedNanos) {
+        sensorWriteBehindFlushTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sensorWriteBehindFlushSizeSummary.record(updates);
+    }
+
+    @Override
+    public void recordSensorWriteBehindLag(long elapsedNanos) {
+        sensorWriteBehindLagTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void incrementSensorWriteBehindCoalesced() {
+        sensorWriteBehindCoalescedCounter.increment();
+    }
+
+    @Override
+    public void incrementSensorWriteBehindFlushFailure(int count) {
+        sensorWriteBehindFlushFailureCounter.increment(count);
+    }
 }
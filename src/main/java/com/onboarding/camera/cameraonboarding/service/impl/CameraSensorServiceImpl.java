@@ -0,0 +1,77 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraSensorService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CameraSensorServiceImpl implements CameraSensorService {
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraRepository cameraRepository;
+
+    private final SensorDtoConverter sensorDtoConverter;
+
+    @Value("${sensor.search.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${sensor.search.max-limit:1000}")
+    private int maxLimit;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed("sensor.list")
+    public List<SensorResponse> handleGetSensorsByCameraId(UUID cameraId, SensorType sensorType) {
+        List<SensorRow> sensorRows = sensorRepository.findSensorRowsByCameraId(cameraId, sensorType);
+        // an empty result is the only case that needs to tell an unknown camera from a camera without sensors
+        if (sensorRows.isEmpty() && !cameraRepository.existsById(cameraId)) {
+            log.error("Camera not found, cameraId:{}", cameraId);
+            throw new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId));
+        }
+        log.info("Getting sensors by camera id: {}, type: {}", cameraId, sensorType);
+        return sensorRows.stream()
+                .map(sensorDtoConverter::toSensorResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed("sensor.search")
+    public List<SensorResponse> handleGetSensorsByValue(SensorType sensorType, Double min, Double max, Integer limit) {
+        if (sensorType == null) {
+            throw new IllegalArgumentException("Sensor type is required");
+        }
+        double lower = min == null ? -Double.MAX_VALUE : min;
+        double upper = max == null ? Double.MAX_VALUE : max;
+        if (lower > upper) {
+            throw new IllegalArgumentException("Min cannot be greater than max");
+        }
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", maxLimit));
+        }
+        log.info("Getting sensors by value, type: {}, min: {}, max: {}", sensorType, min, max);
+        return sensorRepository.findSensorRowsByReadingValue(sensorType, lower, upper, PageRequest.of(0, size)).stream()
+                .map(sensorDtoConverter::toSensorResponse)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,15 @@
 package com.onboarding.camera.cameraonboarding.service.impl;
 
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraImageMetadata;
+import com.onboarding.camera.cameraonboarding.dto.CameraPageResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
 import com.onboarding.camera.cameraonboarding.dto.LocationDto;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.Location;
@@ -14,16 +24,23 @@ import com.onboarding.camera.cameraonboarding.exception.ImageNotUploadedExceptio
 import com.onboarding.camera.cameraonboarding.exception.LocationNotAddedException;
 import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
 import com.onboarding.camera.cameraonboarding.service.BlobStorageService;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
 import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +57,19 @@ public class CameraServiceImpl implements CameraService {
 
     private final CameraMetricService cameraMetricService;
 
+    private final CameraDtoConverter cameraDtoConverter;
+
+    private final CameraLookupService cameraLookupService;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    private static final String TRANSITION_INITIALIZE = "initialize";
+
+    private static final String TRANSITION_IMAGE_CLAIM = "image_claim";
+
+    @Value("${camera.listing.max-page-size:500}")
+    private int maxPageSize;
+
     @Override
     @Timed("camera.onboarding")
     public Camera handleSaveCamera(Camera camera) {
@@ -61,84 +91,142 @@ public class CameraServiceImpl implements CameraService {
     @Override
     @Timed("camera.initialization")
     public void handleInitializeCamera(UUID cameraId) {
-        Camera camera = getCameraById(cameraId);
-        if (camera.getInitializedAt() != null && !camera.getInitializedAt().toString().isBlank()) {
-            throw new CameraAlreadyInitializedException("Camera already initialized");
-        }
-
+        int updated;
         try {
-            camera.setInitializedAt(dateTimeFactory.now());
-            cameraRepository.save(camera);
-            log.info("Camera initialized with ID: {}", cameraId);
-            cameraMetricService.incrementCameraInitializationSuccess();
+            updated = cameraRepository.initializeCamera(cameraId, dateTimeFactory.now());
         } catch (Exception ex) {
             log.error("Exception occurred while initializing camera with ID: {}", cameraId, ex);
             cameraMetricService.incrementCameraInitializationFailure();
             throw new CameraNotInitializedException(String.format("Error occurred while initializing camera: %s", ex.getMessage()));
         }
+
+        if (updated == 0) {
+            if (!cameraRepository.existsById(cameraId)) {
+                throw new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId));
+            }
+            cameraMetricService.incrementCameraTransitionConflict(TRANSITION_INITIALIZE);
+            throw new CameraAlreadyInitializedException("Camera already initialized");
+        }
+        cameraCacheEvictor.evict(cameraId);
+        log.info("Camera initialized with ID: {}", cameraId);
+        cameraMetricService.incrementCameraInitializationSuccess();
     }
 
+    @Override
     public Camera getCameraById(UUID cameraId) {
 
         return cameraRepository.findById(cameraId)
                 .orElseThrow(() -> new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId)));
     }
 
+    @Override
+    public Camera getCameraReference(UUID cameraId) {
+        cameraLookupService.getCamera(cameraId);
+        return cameraRepository.getReferenceById(cameraId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CameraResponse getCameraResponseById(UUID cameraId) {
+        List<CameraDetailRow> cameraDetailRows = cameraRepository.findCameraDetailRows(cameraId);
+        if (cameraDetailRows.isEmpty()) {
+            throw new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId));
+        }
+        return cameraDtoConverter.toCameraResponse(cameraDetailRows);
+    }
+
     @Override
     @Timed("image.upload")
     public void handleUploadImage(UUID cameraId, UUID imageId, byte[] imageData) {
-        Camera camera = getCameraById(cameraId);
-        validateCameraImage(camera);
+        if (imageId == null) {
+            cameraMetricService.incrementImageUploadFailure();
+            throw new ImageNotUploadedException("Error occurred while uploading image: image id cannot be null");
+        }
+        claimImage(cameraId, imageId);
 
         log.info("Received file:{}", imageId);
         try {
-            if (camera.getImageId() != null) {
-                throw new ImageAlreadyUploadedException(String.format("Camera already have image with id: %s", camera.getImageId()));
-            }
-            camera.setImageId(imageId);
             log.info("Uploading image with ID: {}", imageId);
             blobStorageService.uploadFile(blobStorageService.getContainerName(), imageId.toString(), imageData);
-            cameraRepository.save(camera);
             cameraMetricService.incrementImageUploadSuccess();
-        } catch (ImageAlreadyUploadedException ex) {
-            log.error("Exception occurred while uploading image");
-            cameraMetricService.incrementImageUploadFailure();
-            throw new ImageAlreadyUploadedException(String.format("Camera already have image with id: %s", camera.getImageId()));
         } catch (Exception ex) {
             log.error("Exception occurred while uploading image:{}:ex:{}", imageId, ex.getMessage());
+            releaseImage(cameraId, imageId);
             cameraMetricService.incrementImageUploadFailure();
             throw new ImageNotUploadedException(String.format("Error occurred while uploading image: %s", ex.getMessage()));
         }
     }
 
     @Override
-    @Timed("image.download")
-    public byte[] handleDownloadImage(UUID cameraId) {
-        Camera camera = getCameraById(cameraId);
-        validateCameraImage(camera);
+    @Timed("image.upload")
+    public void handleUploadImageStream(UUID cameraId, UUID imageId, InputStream imageData) {
+        if (imageId == null) {
+            cameraMetricService.incrementImageUploadFailure();
+            throw new ImageNotUploadedException("Error occurred while uploading image: image id cannot be null");
+        }
+        claimImage(cameraId, imageId);
 
         try {
-            if (camera.getImageId() == null) {
-                throw new ImageNotFoundException(String.format("Image is not found by given cameraId: %s", cameraId));
-            }
+            log.info("Streaming image with ID: {}", imageId);
+            long uploaded = blobStorageService.uploadStream(blobStorageService.getContainerName(), imageId.toString(), imageData);
+            log.info("Uploaded image:{}, bytes:{}", imageId, uploaded);
+            cameraMetricService.incrementImageUploadSuccess();
+        } catch (IllegalArgumentException ex) {
+            log.error("Image is rejected:{}:ex:{}", imageId, ex.getMessage());
+            releaseImage(cameraId, imageId);
+            cameraMetricService.incrementImageUploadFailure();
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception occurred while uploading image:{}:ex:{}", imageId, ex.getMessage());
+            releaseImage(cameraId, imageId);
+            cameraMetricService.incrementImageUploadFailure();
+            throw new ImageNotUploadedException(String.format("Error occurred while uploading image: %s", ex.getMessage()));
+        }
+    }
 
-            log.info("Downloading image with ID: {}", camera.getImageId());
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            blobStorageService.getBlob(outputStream, blobStorageService.getContainerName(), camera.getImageId().toString());
+    @Override
+    public CameraImageMetadata handleGetImageMetadata(UUID cameraId) {
+        CameraSnapshot camera = cameraLookupService.getCamera(cameraId);
+        validateCameraImage(camera);
 
-            cameraMetricService.incrementImageDownloadSuccess();
-            return outputStream.toByteArray();
-        } catch (ImageNotFoundException ex) {
+        if (camera.getImageId() == null) {
             log.error("Image is not found by given cameraId: '{}'", cameraId);
             cameraMetricService.incrementImageDownloadFailure();
             throw new ImageNotFoundException(String.format("Image is not found by given cameraId: %s", cameraId));
+        }
+
+        try {
+            BlobProperties blobProperties = blobStorageService.getBlobProperties(blobStorageService.getContainerName(), camera.getImageId().toString());
+            return new CameraImageMetadata(cameraId, camera.getImageId(), blobProperties.getBlobSize(),
+                    toStrongETag(blobProperties.getETag()), blobProperties.getLastModified());
+        } catch (BlobStorageException ex) {
+            cameraMetricService.incrementImageDownloadFailure();
+            // the camera still references an image that was deleted from the container
+            if (ex.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                log.error("Image is not found in blob storage by given cameraId: '{}'", cameraId);
+                throw new ImageNotFoundException(String.format("Image is not found by given cameraId: %s", cameraId));
+            }
+            log.error("Exception occurred while reading image properties, camera:{}:ex:{}", cameraId, ex.getMessage());
+            throw new ImageNotDownloadedException(String.format("Error occurred while downloading image: %s", ex.getMessage()));
         } catch (Exception ex) {
-            log.error("Exception occurred while downloading image, camera:{}:ex:{}", cameraId, ex.getMessage());
+            log.error("Exception occurred while reading image properties, camera:{}:ex:{}", cameraId, ex.getMessage());
             cameraMetricService.incrementImageDownloadFailure();
             throw new ImageNotDownloadedException(String.format("Error occurred while downloading image: %s", ex.getMessage()));
         }
     }
 
+    @Override
+    @Timed("image.download")
+    public void handleStreamImage(CameraImageMetadata imageMetadata, OutputStream outputStream) {
+        streamImage(imageMetadata, 0, null, outputStream);
+    }
+
+    @Override
+    @Timed("image.download")
+    public void handleStreamImageRange(CameraImageMetadata imageMetadata, long offset, long count, OutputStream outputStream) {
+        streamImage(imageMetadata, offset, count, outputStream);
+    }
+
     @Override
     @Transactional
     @Timed("location.add")
@@ -155,6 +243,7 @@ public class CameraServiceImpl implements CameraService {
             camera.setLocation(location);
 
             cameraRepository.save(camera);
+            cameraCacheEvictor.evict(cameraId);
             log.info("Location added/updated successfully for Camera ID: {}", cameraId);
             cameraMetricService.incrementLocationAddSuccess();
             return camera;
@@ -165,6 +254,95 @@ public class CameraServiceImpl implements CameraService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CameraPageResponse getCameras(CameraFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", maxPageSize));
+        }
+        CameraCursor after = cursor == null || cursor.isBlank() ? null : CameraCursor.decode(cursor);
+
+        List<CameraSummaryResponse> cameras = cameraRepository.findCameraPage(filter, after, limit + 1);
+        String nextCursor = null;
+        if (cameras.size() > limit) {
+            cameras = cameras.subList(0, limit);
+            CameraSummaryResponse last = cameras.get(limit - 1);
+            nextCursor = new CameraCursor(last.getCreatedAt(), last.getCameraId()).encode();
+        }
+        return new CameraPageResponse(cameras, nextCursor);
+    }
+
+    /**
+     * Streams the image from the blob storage, the read is conditional on the entity tag of the metadata so a range
+     * of a replaced image is never appended to a download of the previous one
+     *
+     * @param imageMetadata image to stream
+     * @param offset        first byte to stream
+     * @param count         number of bytes to stream, null to stream until the end of the image
+     * @param outputStream  the output stream
+     * @throws ImageNotDownloadedException if unexpected error occurs while downloading image
+     */
+    private void streamImage(CameraImageMetadata imageMetadata, long offset, Long count, OutputStream outputStream) {
+        try {
+            log.info("Streaming image with ID: {}, offset:{}, count:{}", imageMetadata.getImageId(), offset, count);
+            blobStorageService.getBlob(outputStream, blobStorageService.getContainerName(), imageMetadata.getImageId().toString(),
+                    offset, count, imageMetadata.getETag());
+            cameraMetricService.incrementImageDownloadSuccess();
+        } catch (Exception ex) {
+            log.error("Exception occurred while streaming image, camera:{}:ex:{}", imageMetadata.getCameraId(), ex.getMessage());
+            cameraMetricService.incrementImageDownloadFailure();
+            throw new ImageNotDownloadedException(String.format("Error occurred while downloading image: %s", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Blob storage entity tags are strong, they are quoted here if the client did not keep the quotes so they can be
+     * compared with the If-Range header as they are
+     */
+    private String toStrongETag(String eTag) {
+        if (eTag == null || eTag.startsWith("\"")) {
+            return eTag;
+        }
+        return "\"" + eTag + "\"";
+    }
+
+    /**
+     * Claims the image slot of the camera with a single conditional update, so only one of concurrent uploads
+     * can win the slot, the camera is read from the database only when the claim is rejected to report the reason,
+     * the cached snapshot may still miss the image of the upload that won the slot
+     *
+     * @param cameraId the camera to claim the image slot of
+     * @param imageId  the image id to store
+     * @throws CameraNotFoundException        if the camera does not exist or is not onboarded
+     * @throws CameraNotInitializedException  if the camera is not initialized
+     * @throws ImageAlreadyUploadedException  if the camera already has an image
+     */
+    private void claimImage(UUID cameraId, UUID imageId) {
+        if (cameraRepository.claimImage(cameraId, imageId) == 1) {
+            cameraCacheEvictor.evict(cameraId);
+            return;
+        }
+        CameraSnapshot camera = cameraRepository.findCameraSnapshot(cameraId)
+                .orElseThrow(() -> new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId)));
+        validateCameraImage(camera);
+
+        log.error("Exception occurred while uploading image");
+        cameraMetricService.incrementCameraTransitionConflict(TRANSITION_IMAGE_CLAIM);
+        cameraMetricService.incrementImageUploadFailure();
+        throw new ImageAlreadyUploadedException(String.format("Camera already have image with id: %s", camera.getImageId()));
+    }
+
+    /**
+     * Gives the image slot claimed by a failed upload back and evicts the camera that cached the claimed image
+     *
+     * @param cameraId the camera of the failed upload
+     * @param imageId  the claimed image id
+     */
+    private void releaseImage(UUID cameraId, UUID imageId) {
+        cameraRepository.releaseImage(cameraId, imageId);
+        cameraCacheEvictor.evict(cameraId);
+    }
+
     /**
      * Validates if the camera has been onboarded and initialized
      *
@@ -172,11 +350,11 @@ public class CameraServiceImpl implements CameraService {
      * @throws CameraNotFoundException       if the camera is not onboarded
      * @throws CameraNotInitializedException if the camera is not initialized
      */
-    private void validateCameraImage(Camera camera) {
+    private void validateCameraImage(CameraSnapshot camera) {
         if (camera.getOnboardedAt() == null || camera.getOnboardedAt().toString().isBlank()) {
-            throw new CameraNotFoundException(String.format("Camera is not onboarded with id: %s", camera.getCamId()));
+            throw new CameraNotFoundException(String.format("Camera is not onboarded with id: %s", camera.getCameraId()));
         } else if (camera.getInitializedAt() == null || camera.getInitializedAt().toString().isBlank()) {
-            throw new CameraNotInitializedException(String.format("Camera is not initialized with id: %s", camera.getCamId()));
+            throw new CameraNotInitializedException(String.format("Camera is not initialized with id: %s", camera.getCameraId()));
         }
     }
 }
@@ -1,23 +1,31 @@
 package com.onboarding.camera.cameraonboarding.service.impl;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.LightSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
 import com.onboarding.camera.cameraonboarding.repository.LightSensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
 import com.onboarding.camera.cameraonboarding.service.SensorService;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -27,17 +35,32 @@ public class LightSensorService implements SensorService<LightSensor> {
 
     private final LightSensorRepository lightSensorRepository;
 
+    private final SensorRepository sensorRepository;
+
     private final CameraService cameraService;
 
+    private final CameraLookupService cameraLookupService;
+
     private final CameraMetricService cameraMetricService;
 
+    private final SensorLatestReadingService sensorLatestReadingService;
+
+    private final SensorChangeFilter sensorChangeFilter;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    private final SensorLookupService sensorLookupService;
+
+    private final TransactionTemplate transactionTemplate;
+
     @Override
     @Transactional
     @Timed("sensor.create")
     public LightSensor handleCreateSensor(UUID cameraId, LightSensor sensor) {
         try {
-            sensor.setCamera(cameraService.getCameraById(cameraId));
+            sensor.setCamera(cameraService.getCameraReference(cameraId));
             LightSensor createdSensor = lightSensorRepository.save(sensor);
+            cameraCacheEvictor.evict(cameraId);
             log.info("Creating sensor: {}", createdSensor);
             cameraMetricService.incrementSensorCreateSuccess(SensorType.LIGHT.name());
             return createdSensor;
@@ -55,9 +78,9 @@ public class LightSensorService implements SensorService<LightSensor> {
     @Override
     public List<LightSensor> handleGetSensorsByCameraId(UUID cameraId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
+            cameraLookupService.getCamera(cameraId);
             log.info("Getting sensors by camera id: {}", cameraId);
-            return lightSensorRepository.findLightSensorByCamera(camera);
+            return lightSensorRepository.findLightSensorByCameraCamId(cameraId);
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
             throw ex;
@@ -67,30 +90,37 @@ public class LightSensorService implements SensorService<LightSensor> {
         }
     }
 
+    /**
+     * Updates repeating the last written values within the deadband are skipped before the transaction starts and
+     * return the last written values without reading the database. Written updates return the sensor as it is
+     * persisted and evict the camera through {@link CameraCacheEvictor}, which defers the eviction until the
+     * transaction commits
+     */
     @Override
-    @Transactional
     @Timed("sensor.update")
     public LightSensor handleUpdateSensor(UUID cameraId, UUID sensorId, LightSensor sensor) {
+        if (sensorChangeFilter.isUnchanged(cameraId, sensorId, SensorType.LIGHT,
+                sensor.getName(), sensor.getVersion(), sensor.getData())) {
+            log.debug("Skipped unchanged sensor update, sensorId:{}", sensorId);
+            return toWrittenSensor(sensorId, sensor);
+        }
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            LightSensor existingSensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.LIGHT))
-                    .map(s -> (LightSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            existingSensor.setName(sensor.getName());
-            existingSensor.setVersion(sensor.getVersion());
-            existingSensor.setData(sensor.getData());
-            log.info("Updating sensor: {}", existingSensor);
+            LightSensor updatedSensor = transactionTemplate.execute(status -> updateSensor(cameraId, sensorId, sensor));
+            // remembered once committed, so a rolled back update is not taken as the base of the deadband
+            sensorChangeFilter.recordWritten(cameraId, sensorId, SensorType.LIGHT,
+                    sensor.getName(), sensor.getVersion(), sensor.getData());
             cameraMetricService.incrementSensorUpdateSuccess(SensorType.LIGHT.name());
-            return lightSensorRepository.save(existingSensor);
+            return updatedSensor;
+        } catch (CameraNotFoundException ex) {
+            log.error("Camera not found, cameraId:{}", cameraId);
+            cameraMetricService.incrementSensorUpdateFailure(SensorType.LIGHT.name());
+            throw ex;
         } catch (SensorNotFoundException ex) {
             log.error("Sensor not found while updating, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.LIGHT.name());
             throw ex;
-        } catch (CameraNotFoundException ex) {
-            log.error("Camera not found, cameraId:{}", cameraId);
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while updating, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.LIGHT.name());
             throw ex;
         } catch (Exception ex) {
@@ -108,19 +138,18 @@ public class LightSensorService implements SensorService<LightSensor> {
     }
 
     @Override
+    @Transactional
     @Timed("sensor.delete")
     public void handleDeleteSensor(UUID cameraId, UUID sensorId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            LightSensor sensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.LIGHT))
-                    .map(s -> (LightSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            camera.getSensors().remove(sensor);
-            lightSensorRepository.delete(sensor);
+            int deleted = sensorRepository.deleteSensor(cameraId, sensorId, SensorType.LIGHT);
+            if (deleted == 0) {
+                throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.LIGHT);
+            }
+            cameraCacheEvictor.evict(cameraId);
             log.info("Deleted sensor: {}", sensorId);
+            sensorChangeFilter.evict(sensorId);
+            sensorLatestReadingService.handleSensorDeleted(sensorId);
             cameraMetricService.incrementSensorDeleteSuccess(SensorType.LIGHT.name());
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
@@ -130,10 +159,39 @@ public class LightSensorService implements SensorService<LightSensor> {
             log.error("Sensor not found while deleting, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.LIGHT.name());
             throw ex;
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while deleting, sensorId: {}", sensorId);
+            cameraMetricService.incrementSensorDeleteFailure(SensorType.LIGHT.name());
+            throw ex;
         } catch (Exception ex) {
             log.error("Exception occurred while deleting sensor, sensorId:{}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.LIGHT.name());
             throw new SensorNotUpdatedException(String.format("Error occurred while deleting sensor: %s", ex.getMessage()));
         }
     }
+
+    private LightSensor updateSensor(UUID cameraId, UUID sensorId, LightSensor sensor) {
+        int updated = sensorRepository.updateSensor(cameraId, sensorId, SensorType.LIGHT,
+                sensor.getName(), sensor.getVersion(), sensor.getData());
+        if (updated == 0) {
+            throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.LIGHT);
+        }
+        cameraCacheEvictor.evict(cameraId);
+        LightSensor updatedSensor = getSensorById(sensorId);
+
+        log.info("Updated sensor: {}", updatedSensor);
+        sensorLatestReadingService.handleSensorUpdated(cameraId, sensorId, SensorType.LIGHT, updatedSensor.getData());
+        return updatedSensor;
+    }
+
+    /**
+     * Returns the given sensor with the last written data, a skipped update does not read the database
+     */
+    private LightSensor toWrittenSensor(UUID sensorId, LightSensor sensor) {
+        sensor.setId(sensorId);
+        sensor.setSensorType(SensorType.LIGHT);
+        Optional.ofNullable(sensorChangeFilter.getWrittenData(sensorId)).ifPresent(sensor::setData);
+        sensor.applyPayload();
+        return sensor;
+    }
 }
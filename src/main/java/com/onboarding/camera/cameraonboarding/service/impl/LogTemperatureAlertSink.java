@@ -0,0 +1,19 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "alert.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LogTemperatureAlertSink implements TemperatureAlertSink {
+
+    @Override
+    public void send(TemperatureAlertResponse alert) {
+        log.warn("Temperature alert {}, ruleId:{}, cameraId:{}, sensorId:{}, value:{}, threshold:{}", alert.getState(),
+                alert.getRuleId(), alert.getCameraId(), alert.getSensorId(), alert.getValue(), alert.getThreshold());
+    }
+}
@@ -0,0 +1,113 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.MotionEventResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.SensorDataParser;
+import com.onboarding.camera.cameraonboarding.util.SseBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class MotionEventServiceImpl implements MotionEventService, SensorReadingListener {
+
+    static final String MOTION_EVENT = "motion";
+
+    private final CameraLookupService cameraLookupService;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final SseBroadcaster<MotionEventResponse> broadcaster;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${sensor.motion.stream.max-cameras-per-subscription:1000}")
+    private int maxCamerasPerSubscription;
+
+    public MotionEventServiceImpl(CameraLookupService cameraLookupService,
+                                  CameraMetricService cameraMetricService,
+                                  DateTimeFactory dateTimeFactory,
+                                  @Value("${sensor.motion.stream.buffer-size:256}") int bufferSize,
+                                  @Value("${sensor.motion.stream.sender-threads:4}") int senderThreads) {
+        this.cameraLookupService = cameraLookupService;
+        this.cameraMetricService = cameraMetricService;
+        this.dateTimeFactory = dateTimeFactory;
+        this.broadcaster = new SseBroadcaster<>("motion", bufferSize, senderThreads);
+        cameraMetricService.registerSensorMotionSubscribers(broadcaster::size);
+    }
+
+    @Override
+    public void handleSubscribeCamera(UUID cameraId, SseEmitter emitter) {
+        cameraLookupService.getCamera(cameraId);
+        broadcaster.subscribe(Set.of(cameraId), emitter);
+    }
+
+    @Override
+    public void handleSubscribeCameras(List<UUID> cameraIds, SseEmitter emitter) {
+        Set<UUID> filter = cameraIds == null ? Set.of() : new HashSet<>(cameraIds);
+        if (filter.size() > maxCamerasPerSubscription) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot subscribe to more than %d cameras, subscribe without cameras to get all", maxCamerasPerSubscription));
+        }
+        broadcaster.subscribe(filter, emitter);
+    }
+
+    @Override
+    public void publishSensorUpdated(UUID cameraId, UUID sensorId, String data) {
+        if (!broadcaster.hasSubscribers()) {
+            return;
+        }
+        publish(new MotionEventResponse(sequence.incrementAndGet(), cameraId, sensorId, dateTimeFactory.now(),
+                SensorDataParser.toValue(SensorType.MOTION, data)));
+    }
+
+    @Override
+    public void onReadingsPersisted(List<SensorReadingRow> readings) {
+        if (!broadcaster.hasSubscribers()) {
+            return;
+        }
+        for (SensorReadingRow reading : readings) {
+            if (reading.getSensorType() == SensorType.MOTION) {
+                publish(new MotionEventResponse(sequence.incrementAndGet(), reading.getCameraId(), reading.getSensorId(),
+                        reading.getRecordedAt(), reading.getValue()));
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sensor.motion.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+        log.info("Motion event stream stopped");
+    }
+
+    private void publish(MotionEventResponse event) {
+        int dropped = broadcaster.publish(event.getCameraId(), event.getSequence(), MOTION_EVENT, event);
+        if (dropped > 0) {
+            cameraMetricService.incrementSensorMotionEventDropped(dropped);
+        }
+    }
+}
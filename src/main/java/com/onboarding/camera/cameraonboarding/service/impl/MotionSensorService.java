@@ -1,23 +1,33 @@
 package com.onboarding.camera.cameraonboarding.service.impl;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
 import com.onboarding.camera.cameraonboarding.repository.MotionSensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
 import com.onboarding.camera.cameraonboarding.service.SensorService;
+import com.onboarding.camera.cameraonboarding.service.SensorWriteBehindService;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -27,17 +37,36 @@ public class MotionSensorService implements SensorService<MotionSensor> {
 
     private final MotionSensorRepository motionSensorRepository;
 
+    private final SensorRepository sensorRepository;
+
     private final CameraService cameraService;
 
+    private final CameraLookupService cameraLookupService;
+
     private final CameraMetricService cameraMetricService;
 
+    private final SensorLatestReadingService sensorLatestReadingService;
+
+    private final MotionEventService motionEventService;
+
+    private final SensorWriteBehindService sensorWriteBehindService;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    private final SensorLookupService sensorLookupService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SensorChangeFilter sensorChangeFilter;
+
     @Override
     @Transactional
     @Timed("sensor.create")
     public MotionSensor handleCreateSensor(UUID cameraId, MotionSensor sensor) {
         try {
-            sensor.setCamera(cameraService.getCameraById(cameraId));
+            sensor.setCamera(cameraService.getCameraReference(cameraId));
             MotionSensor createdSensor = motionSensorRepository.save(sensor);
+            cameraCacheEvictor.evict(cameraId);
             log.info("Creating sensor: {}", createdSensor);
             cameraMetricService.incrementSensorCreateSuccess(SensorType.MOTION.name());
             return createdSensor;
@@ -55,9 +84,9 @@ public class MotionSensorService implements SensorService<MotionSensor> {
     @Override
     public List<MotionSensor> handleGetSensorsByCameraId(UUID cameraId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
+            cameraLookupService.getCamera(cameraId);
             log.info("Getting sensors by camera id: {}", cameraId);
-            return motionSensorRepository.findMotionSensorByCamera(camera);
+            return motionSensorRepository.findMotionSensorByCameraCamId(cameraId);
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
             throw ex;
@@ -67,24 +96,28 @@ public class MotionSensorService implements SensorService<MotionSensor> {
         }
     }
 
+    /**
+     * Updates repeating the last written values within the deadband of the type are skipped before the transaction
+     * starts and return the last written values without reading the database. Updates of types with write-behind
+     * enabled are acknowledged once buffered and written by its flusher, so they return the given sensor with the
+     * typed columns it will be written with, other updates are written and return the sensor as it was persisted,
+     * the camera is evicted once the transaction commits
+     */
     @Override
-    @Transactional
     @Timed("sensor.update")
     public MotionSensor handleUpdateSensor(UUID cameraId, UUID sensorId, MotionSensor sensor) {
+        if (sensorChangeFilter.isUnchanged(cameraId, sensorId, SensorType.MOTION,
+                sensor.getName(), sensor.getVersion(), sensor.getData())) {
+            log.debug("Skipped unchanged sensor update, sensorId:{}", sensorId);
+            return toWrittenSensor(sensorId, sensor);
+        }
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            MotionSensor existingSensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.MOTION))
-                    .map(s -> (MotionSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            existingSensor.setName(sensor.getName());
-            existingSensor.setVersion(sensor.getVersion());
-            existingSensor.setData(sensor.getData());
-            log.info("Updating sensor: {}", existingSensor);
+            MotionSensor updatedSensor = transactionTemplate.execute(status -> updateSensor(cameraId, sensorId, sensor));
+            // remembered once committed, so a rolled back update is not taken as the base of the deadband
+            sensorChangeFilter.recordWritten(cameraId, sensorId, SensorType.MOTION,
+                    sensor.getName(), sensor.getVersion(), sensor.getData());
             cameraMetricService.incrementSensorUpdateSuccess(SensorType.MOTION.name());
-            return motionSensorRepository.save(existingSensor);
+            return updatedSensor;
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.MOTION.name());
@@ -93,6 +126,10 @@ public class MotionSensorService implements SensorService<MotionSensor> {
             log.error("Sensor not found while updating, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.MOTION.name());
             throw ex;
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while updating, sensorId: {}", sensorId);
+            cameraMetricService.incrementSensorUpdateFailure(SensorType.MOTION.name());
+            throw ex;
         } catch (Exception ex) {
             log.error("Exception occurred while updating sensor, sensorId:{}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.MOTION.name());
@@ -108,19 +145,19 @@ public class MotionSensorService implements SensorService<MotionSensor> {
     }
 
     @Override
+    @Transactional
     @Timed("sensor.delete")
     public void handleDeleteSensor(UUID cameraId, UUID sensorId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            MotionSensor sensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.MOTION))
-                    .map(s -> (MotionSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            camera.getSensors().remove(sensor);
-            motionSensorRepository.delete(sensor);
+            int deleted = sensorRepository.deleteSensor(cameraId, sensorId, SensorType.MOTION);
+            if (deleted == 0) {
+                throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.MOTION);
+            }
+            cameraCacheEvictor.evict(cameraId);
             log.info("Deleted sensor: {}", sensorId);
+            sensorLatestReadingService.handleSensorDeleted(sensorId);
+            sensorWriteBehindService.handleSensorDeleted(sensorId);
+            sensorChangeFilter.evict(sensorId);
             cameraMetricService.incrementSensorDeleteSuccess(SensorType.MOTION.name());
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
@@ -130,10 +167,49 @@ public class MotionSensorService implements SensorService<MotionSensor> {
             log.error("Sensor not found while deleting, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.MOTION.name());
             throw ex;
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while deleting, sensorId: {}", sensorId);
+            cameraMetricService.incrementSensorDeleteFailure(SensorType.MOTION.name());
+            throw ex;
         } catch (Exception ex) {
             log.error("Exception occurred while deleting sensor, sensorId:{}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.MOTION.name());
             throw new SensorNotUpdatedException(String.format("Error occurred while deleting sensor: %s", ex.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private MotionSensor updateSensor(UUID cameraId, UUID sensorId, MotionSensor sensor) {
+        MotionSensor updatedSensor;
+        if (sensorWriteBehindService.offer(cameraId, sensorId, SensorType.MOTION,
+                sensor.getName(), sensor.getVersion(), sensor.getData())) {
+            sensor.setId(sensorId);
+            sensor.setSensorType(SensorType.MOTION);
+            sensor.applyPayload();
+            updatedSensor = sensor;
+        } else {
+            int updated = sensorRepository.updateSensor(cameraId, sensorId, SensorType.MOTION,
+                    sensor.getName(), sensor.getVersion(), sensor.getData());
+            if (updated == 0) {
+                throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.MOTION);
+            }
+            cameraCacheEvictor.evict(cameraId);
+            updatedSensor = getSensorById(sensorId);
+        }
+
+        log.info("Updated sensor: {}", updatedSensor);
+        sensorLatestReadingService.handleSensorUpdated(cameraId, sensorId, SensorType.MOTION, updatedSensor.getData());
+        motionEventService.publishSensorUpdated(cameraId, sensorId, updatedSensor.getData());
+        return updatedSensor;
+    }
+
+    /**
+     * Returns the given sensor with the last written data, a skipped update does not read the database
+     */
+    private MotionSensor toWrittenSensor(UUID sensorId, MotionSensor sensor) {
+        sensor.setId(sensorId);
+        sensor.setSensorType(SensorType.MOTION);
+        Optional.ofNullable(sensorChangeFilter.getWrittenData(sensorId)).ifPresent(sensor::setData);
+        sensor.applyPayload();
+        return sensor;
+    }
+}
@@ -0,0 +1,251 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorDto;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.Sensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorBatchService;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SensorBatchServiceImpl implements SensorBatchService {
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraRepository cameraRepository;
+
+    private final SensorDtoConverter sensorDtoConverter;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    @Value("${sensor.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${sensor.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Override
+    @Timed("sensor.batch.create")
+    public SensorBatchResponse handleCreateSensors(List<SensorBatchItemDto> sensorBatchItems) {
+        if (sensorBatchItems == null || sensorBatchItems.isEmpty()) {
+            throw new IllegalArgumentException("Sensor batch cannot be empty");
+        }
+        if (sensorBatchItems.size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Sensor batch cannot contain more than %d sensors", maxBatchSize));
+        }
+
+        long start = System.nanoTime();
+        SensorBatchItemResponse[] results = new SensorBatchItemResponse[sensorBatchItems.size()];
+
+        // every item is validated before the first statement runs
+        List<Integer> validIndexes = new ArrayList<>(sensorBatchItems.size());
+        Set<UUID> cameraIds = new LinkedHashSet<>();
+        for (int i = 0; i < sensorBatchItems.size(); i++) {
+            SensorBatchItemDto sensorBatchItem = sensorBatchItems.get(i);
+            String violations = validate(sensorBatchItem);
+            if (violations != null) {
+                results[i] = failedItem(i, sensorBatchItem, HttpStatus.BAD_REQUEST, violations);
+                continue;
+            }
+            validIndexes.add(i);
+            cameraIds.add(sensorBatchItem.getCameraId());
+        }
+
+        Set<UUID> existingCameraIds = findExistingCameraIds(cameraIds);
+        List<Sensor> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        Set<UUID> changedCameraIds = new HashSet<>();
+        for (int index : validIndexes) {
+            SensorBatchItemDto sensorBatchItem = sensorBatchItems.get(index);
+            if (!existingCameraIds.contains(sensorBatchItem.getCameraId())) {
+                results[index] = failedItem(index, sensorBatchItem, HttpStatus.NOT_FOUND,
+                        String.format("Camera not found with id: %s", sensorBatchItem.getCameraId()));
+                continue;
+            }
+
+            chunk.add(sensorDtoConverter.toEntity(sensorBatchItem.getSensor()));
+            chunkIndexes.add(index);
+            if (chunk.size() == chunkSize) {
+                persistChunk(sensorBatchItems, chunk, chunkIndexes, results, changedCameraIds);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(sensorBatchItems, chunk, chunkIndexes, results, changedCameraIds);
+        }
+
+        cameraCacheEvictor.evictAll(changedCameraIds);
+        SensorBatchResponse response = toBatchResponse(results, System.nanoTime() - start);
+        log.info("Sensor batch created, total:{}, succeeded:{}, failed:{}, cameras:{}, elapsedMillis:{}",
+                response.getTotal(), response.getSucceeded(), response.getFailed(), cameraIds.size(), response.getElapsedMillis());
+        return response;
+    }
+
+    @Override
+    public SensorBatchResponse handleCreateSensors(UUID cameraId, List<SensorDto> sensorDtos) {
+        if (sensorDtos == null) {
+            throw new IllegalArgumentException("Sensor batch cannot be empty");
+        }
+        List<SensorBatchItemDto> sensorBatchItems = sensorDtos.stream()
+                .map(sensorDto -> new SensorBatchItemDto(cameraId, sensorDto))
+                .collect(Collectors.toList());
+        return handleCreateSensors(sensorBatchItems);
+    }
+
+    /**
+     * Resolves which of the referenced cameras exist with one query per chunk of ids
+     *
+     * @param cameraIds distinct camera ids of the valid items
+     * @return the existing camera ids
+     */
+    private Set<UUID> findExistingCameraIds(Set<UUID> cameraIds) {
+        Set<UUID> existingCameraIds = new HashSet<>();
+        List<UUID> distinctCameraIds = new ArrayList<>(cameraIds);
+        for (int from = 0; from < distinctCameraIds.size(); from += chunkSize) {
+            existingCameraIds.addAll(cameraRepository.findCameraIdsByIds(
+                    distinctCameraIds.subList(from, Math.min(from + chunkSize, distinctCameraIds.size()))));
+        }
+        return existingCameraIds;
+    }
+
+    /**
+     * Persists one chunk of sensors in its own transaction, so the inserts are flushed as JDBC batches
+     * and a failing chunk does not roll back the chunks that were already committed,
+     * cameras are attached as references so no camera or sensor collection is loaded
+     *
+     * @param sensorBatchItems the request items
+     * @param chunk            sensors to insert
+     * @param chunkIndexes     request positions of the sensors in the chunk
+     * @param results          per item results to fill
+     * @param changedCameraIds cameras that got new sensors, to fill
+     */
+    private void persistChunk(List<SensorBatchItemDto> sensorBatchItems, List<Sensor> chunk, List<Integer> chunkIndexes,
+                              SensorBatchItemResponse[] results, Set<UUID> changedCameraIds) {
+        try {
+            List<Sensor> savedSensors = transactionTemplate.execute(status -> {
+                Map<UUID, Camera> cameras = new HashMap<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    UUID cameraId = sensorBatchItems.get(chunkIndexes.get(i)).getCameraId();
+                    chunk.get(i).setCamera(cameras.computeIfAbsent(cameraId, cameraRepository::getReferenceById));
+                }
+                return sensorRepository.saveAll(chunk);
+            });
+            for (int i = 0; i < chunkIndexes.size(); i++) {
+                Sensor savedSensor = savedSensors.get(i);
+                int index = chunkIndexes.get(i);
+                UUID cameraId = sensorBatchItems.get(index).getCameraId();
+                results[index] = new SensorBatchItemResponse(index, cameraId, savedSensor.getId(), savedSensor.getSensorType(),
+                        HttpStatus.CREATED.value(), null);
+                changedCameraIds.add(cameraId);
+                cameraMetricService.incrementSensorCreateSuccess(savedSensor.getSensorType().name());
+            }
+        } catch (Exception ex) {
+            log.error("Exception occurred while saving sensor batch chunk of size {}: {}", chunk.size(), ex.getMessage());
+            for (int index : chunkIndexes) {
+                results[index] = failedItem(index, sensorBatchItems.get(index), HttpStatus.INTERNAL_SERVER_ERROR,
+                        String.format("Failed to create sensor: %s", ex.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Builds the result of a failed item and records the create failure for its sensor type
+     *
+     * @param index           request position of the item
+     * @param sensorBatchItem the item, may be null
+     * @param status          the status of the item
+     * @param message         the failure message
+     * @return the item result
+     */
+    private SensorBatchItemResponse failedItem(int index, SensorBatchItemDto sensorBatchItem, HttpStatus status, String message) {
+        UUID cameraId = sensorBatchItem == null ? null : sensorBatchItem.getCameraId();
+        SensorType sensorType = sensorBatchItem == null || sensorBatchItem.getSensor() == null
+                ? null : sensorBatchItem.getSensor().getSensorType();
+        // items without a type cannot be attributed to a per type counter
+        if (sensorType != null) {
+            cameraMetricService.incrementSensorCreateFailure(sensorType.name());
+        }
+        return new SensorBatchItemResponse(index, cameraId, null, sensorType, status.value(), message);
+    }
+
+    /**
+     * Validates a single batch item with the same constraints and data schema as the single sensor endpoints
+     *
+     * @param sensorBatchItem the item to check
+     * @return the joined violation messages, or null if the item is valid
+     */
+    private String validate(SensorBatchItemDto sensorBatchItem) {
+        if (sensorBatchItem == null) {
+            return "Sensor cannot be null";
+        }
+        Set<ConstraintViolation<SensorBatchItemDto>> violations = validator.validate(sensorBatchItem);
+        if (violations.isEmpty()) {
+            return validateData(sensorBatchItem.getSensor());
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private String validateData(SensorDto sensorDto) {
+        try {
+            SensorPayloadSchema.validate(sensorDto.getSensorType(), sensorDto.getData());
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return "sensor.data: " + ex.getMessage();
+        }
+    }
+
+    private SensorBatchResponse toBatchResponse(SensorBatchItemResponse[] results, long elapsedNanos) {
+        int succeeded = (int) Arrays.stream(results)
+                .filter(result -> result.getStatusCode() == HttpStatus.CREATED.value())
+                .count();
+
+        SensorBatchResponse response = new SensorBatchResponse();
+        response.setTotal(results.length);
+        response.setSucceeded(succeeded);
+        response.setFailed(results.length - succeeded);
+        response.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        response.setItems(Arrays.asList(results));
+        return response;
+    }
+}
@@ -0,0 +1,130 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.SensorChangeFilterProperties;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.SensorDataParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SensorChangeFilterImpl implements SensorChangeFilter {
+
+    static final String WRITTEN = "written";
+
+    static final String SUPPRESSED = "suppressed";
+
+    private final SensorChangeFilterProperties sensorChangeFilterProperties;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    /**
+     * Last written update per sensor, the deadband is measured from it so slow drifts are still written
+     */
+    private final Map<UUID, WrittenUpdate> writtenUpdates = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isUnchanged(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data) {
+        SensorChangeFilterProperties.Deadband deadband = sensorChangeFilterProperties.getTypes().get(sensorType);
+        if (deadband == null) {
+            return false;
+        }
+        WrittenUpdate written = writtenUpdates.get(sensorId);
+        boolean unchanged = written != null
+                && written.isSameSensor(cameraId, sensorType, name, version)
+                && now() - written.writtenAt < deadband.getMaxSilence().toMillis()
+                && isWithinDeadband(deadband, written, data);
+        cameraMetricService.incrementSensorChangeFilter(sensorType.name(), unchanged ? SUPPRESSED : WRITTEN);
+        return unchanged;
+    }
+
+    @Override
+    public void recordWritten(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data) {
+        if (sensorChangeFilterProperties.getTypes().containsKey(sensorType)) {
+            writtenUpdates.put(sensorId, new WrittenUpdate(cameraId, sensorType, name, version, data, now()));
+        }
+    }
+
+    @Override
+    public String getWrittenData(UUID sensorId) {
+        WrittenUpdate written = writtenUpdates.get(sensorId);
+        return written == null ? null : written.data;
+    }
+
+    @Override
+    public void evict(UUID sensorId) {
+        writtenUpdates.remove(sensorId);
+    }
+
+    /**
+     * Numbers are within the deadband only while the change stays within every configured delta, a change past any of
+     * them is written. A delta of 0 is not configured, without any configured delta only repeated values are
+     * suppressed. Any other data must be equal
+     */
+    private static boolean isWithinDeadband(SensorChangeFilterProperties.Deadband deadband, WrittenUpdate written,
+                                            String data) {
+        Double value = SensorDataParser.toValue(written.sensorType, data);
+        if (value == null || written.value == null) {
+            return Objects.equals(written.data, data);
+        }
+        double delta = Math.abs(value - written.value);
+        boolean hasAbsoluteDelta = deadband.getAbsoluteDelta() > 0;
+        boolean hasPercentDelta = deadband.getPercentDelta() > 0;
+        if (!hasAbsoluteDelta && !hasPercentDelta) {
+            return delta == 0;
+        }
+        return (!hasAbsoluteDelta || delta <= deadband.getAbsoluteDelta())
+                && (!hasPercentDelta || delta <= Math.abs(written.value) * deadband.getPercentDelta() / 100);
+    }
+
+    private long now() {
+        return dateTimeFactory.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static final class WrittenUpdate {
+
+        private final UUID cameraId;
+
+        private final SensorType sensorType;
+
+        private final String name;
+
+        private final String version;
+
+        private final String data;
+
+        private final Double value;
+
+        private final long writtenAt;
+
+        private WrittenUpdate(UUID cameraId, SensorType sensorType, String name, String version, String data, long writtenAt) {
+            this.cameraId = cameraId;
+            this.sensorType = sensorType;
+            this.name = name;
+            this.version = version;
+            this.data = data;
+            this.value = SensorDataParser.toValue(sensorType, data);
+            this.writtenAt = writtenAt;
+        }
+
+        private boolean isSameSensor(UUID updateCameraId, SensorType updateSensorType, String updateName, String updateVersion) {
+            return cameraId.equals(updateCameraId)
+                    && sensorType == updateSensorType
+                    && Objects.equals(name, updateName)
+                    && Objects.equals(version, updateVersion);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingBlockRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockDecoder;
+import com.onboarding.camera.cameraonboarding.util.OffHeapLatestReadingTable;
+import com.onboarding.camera.cameraonboarding.util.SensorDataParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SensorLatestReadingServiceImpl implements SensorLatestReadingService, SensorReadingListener {
+
+    private static final int MAX_SENSORS_PER_QUERY = 1000;
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraRepository cameraRepository;
+
+    private final SensorReadingRepository sensorReadingRepository;
+
+    private final SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final OffHeapLatestReadingTable latestReadings;
+
+    /**
+     * Every replica keeps its own table and only sees the readings it ingested, so entries expire after the ttl and
+     * are reloaded from the database, the same bound the camera cache has
+     */
+    private final long ttlMillis;
+
+    public SensorLatestReadingServiceImpl(SensorRepository sensorRepository,
+                                          CameraRepository cameraRepository,
+                                          SensorReadingRepository sensorReadingRepository,
+                                          SensorReadingBlockRepository sensorReadingBlockRepository,
+                                          CameraMetricService cameraMetricService,
+                                          DateTimeFactory dateTimeFactory,
+                                          @Value("${sensor.reading.latest.initial-capacity:65536}") int initialCapacity,
+                                          @Value("${sensor.reading.latest.max-capacity:4194304}") int maxCapacity,
+                                          @Value("${sensor.reading.latest.ttl-ms:60000}") long ttlMillis) {
+        this.sensorRepository = sensorRepository;
+        this.cameraRepository = cameraRepository;
+        this.sensorReadingRepository = sensorReadingRepository;
+        this.sensorReadingBlockRepository = sensorReadingBlockRepository;
+        this.ttlMillis = ttlMillis;
+        this.cameraMetricService = cameraMetricService;
+        this.dateTimeFactory = dateTimeFactory;
+        this.latestReadings = new OffHeapLatestReadingTable(initialCapacity, maxCapacity);
+        cameraMetricService.registerSensorLatestReadingCache(latestReadings::size, latestReadings::offHeapBytes);
+    }
+
+    @Override
+    public void onReadingsPersisted(List<SensorReadingRow> readings) {
+        int rejected = latestReadings.putAll(readings, nowMillis());
+        if (rejected > 0) {
+            log.warn("Latest sensor reading cache is full, rejected readings:{}", rejected);
+            cameraMetricService.incrementSensorLatestReadingRejected(rejected);
+        }
+    }
+
+    @Override
+    public void handleSensorUpdated(UUID cameraId, UUID sensorId, SensorType sensorType, String data) {
+        Double value = SensorDataParser.toValue(sensorType, data);
+        if (value == null) {
+            latestReadings.remove(sensorId);
+            return;
+        }
+        long now = nowMillis();
+        if (!latestReadings.put(cameraId, sensorId, sensorType, now, value, now)) {
+            cameraMetricService.incrementSensorLatestReadingRejected(1);
+        }
+    }
+
+    @Override
+    public void handleSensorDeleted(UUID sensorId) {
+        latestReadings.remove(sensorId);
+    }
+
+    @Override
+    public SensorLatestReadingResponse handleGetLatestReading(UUID cameraId, UUID sensorId) {
+        long now = nowMillis();
+        SensorLatestReadingResponse cached = latestReadings.get(sensorId, now - ttlMillis);
+        if (cached != null) {
+            if (!cached.getCameraId().equals(cameraId)) {
+                throw new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId));
+            }
+            return cached;
+        }
+        // drops an expired entry, so the reload replaces it even when it is older, and a sensor deleted elsewhere
+        latestReadings.remove(sensorId);
+        SensorRow sensorRow = sensorRepository.findSensorRowById(sensorId)
+                .filter(row -> row.getCameraId().equals(cameraId))
+                .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
+        return loadLatestReadings(List.of(sensorRow), now).get(0);
+    }
+
+    @Override
+    public List<SensorLatestReadingResponse> handleGetLatestReadings(UUID cameraId) {
+        List<SensorRow> sensorRows = sensorRepository.findSensorRowsByCameraId(cameraId, null);
+        if (sensorRows.isEmpty() && !cameraRepository.existsById(cameraId)) {
+            throw new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId));
+        }
+        long now = nowMillis();
+        Map<UUID, SensorLatestReadingResponse> cached = new HashMap<>();
+        List<SensorRow> missed = new ArrayList<>();
+        for (SensorRow sensorRow : sensorRows) {
+            SensorLatestReadingResponse reading = latestReadings.get(sensorRow.getId(), now - ttlMillis);
+            if (reading != null) {
+                cached.put(sensorRow.getId(), reading);
+            } else {
+                latestReadings.remove(sensorRow.getId());
+                missed.add(sensorRow);
+            }
+        }
+        if (!missed.isEmpty()) {
+            for (SensorLatestReadingResponse reading : loadLatestReadings(missed, now)) {
+                cached.put(reading.getSensorId(), reading);
+            }
+        }
+        return sensorRows.stream().map(sensorRow -> cached.get(sensorRow.getId())).collect(Collectors.toList());
+    }
+
+    /**
+     * Serves cache misses from the latest raw reading of each sensor with one query, a sensor whose raw readings are
+     * all compacted falls back to the last reading of its newest block, a sensor without any reading falls back to its
+     * data whose time is unknown so any reading replaces it, and caches the result until the ttl
+     *
+     * @param sensorRows the sensors
+     * @param now        epoch millis the readings are cached at
+     * @return latest readings in the order of the sensors, the value is null if there is no reading and the data is
+     * not a number or a boolean
+     */
+    private List<SensorLatestReadingResponse> loadLatestReadings(List<SensorRow> sensorRows, long now) {
+        Map<UUID, SensorLatestReadingResponse> stored = new HashMap<>();
+        Map<UUID, SensorRow> sensorsById = sensorRows.stream().collect(Collectors.toMap(SensorRow::getId, row -> row));
+        sensorReadingRepository.findLatestReadings(new ArrayList<>(sensorsById.keySet()), (sensorId, timestamp, value) ->
+                stored.put(sensorId, cacheReading(sensorsById.get(sensorId), timestamp, value, now)));
+
+        List<UUID> compacted = sensorsById.keySet().stream()
+                .filter(sensorId -> !stored.containsKey(sensorId))
+                .collect(Collectors.toList());
+        for (int from = 0; from < compacted.size(); from += MAX_SENSORS_PER_QUERY) {
+            List<UUID> chunk = compacted.subList(from, Math.min(from + MAX_SENSORS_PER_QUERY, compacted.size()));
+            for (SensorReadingBlockRow block : sensorReadingBlockRepository.findLatestBlocks(chunk)) {
+                SensorLatestReadingResponse reading = lastReading(sensorsById.get(block.getSensorId()), block, now);
+                if (reading != null) {
+                    stored.put(block.getSensorId(), reading);
+                }
+            }
+        }
+
+        List<SensorLatestReadingResponse> latest = new ArrayList<>(sensorRows.size());
+        for (SensorRow sensorRow : sensorRows) {
+            SensorLatestReadingResponse reading = stored.get(sensorRow.getId());
+            latest.add(reading != null ? reading : fromSensorData(sensorRow, now));
+        }
+        return latest;
+    }
+
+    /**
+     * Decodes the last reading of a block, null if the block holds no reading
+     */
+    private SensorLatestReadingResponse lastReading(SensorRow sensorRow, SensorReadingBlockRow block, long now) {
+        GorillaBlockDecoder decoder = new GorillaBlockDecoder(block.getPayload());
+        if (!decoder.next()) {
+            return null;
+        }
+        long timestamp;
+        double value;
+        do {
+            timestamp = decoder.getTimestamp();
+            value = decoder.getValue();
+        } while (decoder.next());
+        return cacheReading(sensorRow, timestamp, value, now);
+    }
+
+    private SensorLatestReadingResponse cacheReading(SensorRow sensorRow, long timestamp, double value, long now) {
+        latestReadings.put(sensorRow.getCameraId(), sensorRow.getId(), sensorRow.getSensorType(),
+                timestamp, value, now);
+        return new SensorLatestReadingResponse(sensorRow.getCameraId(), sensorRow.getId(), sensorRow.getSensorType(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC), value);
+    }
+
+    private SensorLatestReadingResponse fromSensorData(SensorRow sensorRow, long now) {
+        Double value = SensorDataParser.toValue(sensorRow.getSensorType(), sensorRow.getData());
+        if (value != null) {
+            latestReadings.put(sensorRow.getCameraId(), sensorRow.getId(), sensorRow.getSensorType(),
+                    OffHeapLatestReadingTable.UNKNOWN_TIME, value, now);
+        }
+        return new SensorLatestReadingResponse(sensorRow.getCameraId(), sensorRow.getId(), sensorRow.getSensorType(),
+                null, value);
+    }
+
+    private long nowMillis() {
+        return dateTimeFactory.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,31 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Service
+public class SensorLookupServiceImpl implements SensorLookupService {
+
+    private final CameraLookupService cameraLookupService;
+
+    private final SensorRepository sensorRepository;
+
+    @Override
+    public RuntimeException toSensorLookupException(UUID cameraId, UUID sensorId, SensorType sensorType) {
+        cameraLookupService.getCamera(cameraId);
+        return sensorRepository.findSensorRowById(sensorId)
+                .filter(sensorRow -> sensorRow.getCameraId().equals(cameraId))
+                .<RuntimeException>map(sensorRow -> new SensorMismatchException(String.format(
+                        "Sensor with id: %s is a %s sensor, not %s", sensorId, sensorRow.getSensorType(), sensorType)))
+                .orElseGet(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
+    }
+}
@@ -0,0 +1,368 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlock;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlockId;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingBlockRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingBlockService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockDecoder;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder;
+import com.onboarding.camera.cameraonboarding.util.LttbDownsampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SensorReadingBlockServiceImpl implements SensorReadingBlockService {
+
+    private final SensorReadingRepository sensorReadingRepository;
+
+    private final SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_DOWNSAMPLE_ATTEMPTS = 3;
+
+    @Value("${sensor.reading.block.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sensor.reading.block.window-minutes:60}")
+    private int windowMinutes;
+
+    @Value("${sensor.reading.block.grace-minutes:5}")
+    private int graceMinutes;
+
+    @Value("${sensor.reading.block.max-sensors-per-run:100}")
+    private int maxSensorsPerRun;
+
+    @Value("${sensor.reading.block.max-readings-per-sensor:100000}")
+    private int maxReadingsPerSensor;
+
+    @Value("${sensor.reading.block.page-size:16}")
+    private int blockPageSize;
+
+    @Override
+    @Scheduled(fixedDelayString = "${sensor.reading.block.compaction-interval-ms:60000}")
+    public int compact() {
+        if (!enabled) {
+            return 0;
+        }
+        // only windows closed for the grace period are compacted, later readings are merged into their block on a next run
+        LocalDateTime cutoff = blockStart(dateTimeFactory.now().minusMinutes(graceMinutes));
+        int compacted = 0;
+        for (UUID sensorId : sensorReadingRepository.findSensorIdsWithReadingsBefore(cutoff, maxSensorsPerRun)) {
+            try {
+                Integer sensorCompacted = transactionTemplate.execute(status -> compactSensor(sensorId, cutoff));
+                compacted += sensorCompacted == null ? 0 : sensorCompacted;
+            } catch (Exception ex) {
+                // usually another replica compacting the same sensor, the readings stay raw until the next run
+                log.warn("Exception occurred while compacting sensor readings, sensorId:{}:ex:{}", sensorId, ex.getMessage());
+                cameraMetricService.incrementSensorReadingBlockCompactionFailure();
+            }
+        }
+        return compacted;
+    }
+
+    @Override
+    public LttbDownsampler downsampleReadings(UUID sensorId, LocalDateTime from, LocalDateTime to, int maxPoints) {
+        LocalDateTime fromBlockStart = blockStart(from);
+        List<SensorReadingBlockRow> headers = sensorReadingBlockRepository.findBlockHeaders(sensorId, fromBlockStart, from, to);
+        LttbDownsampler downsampler = null;
+        for (int attempt = 1; attempt <= MAX_DOWNSAMPLE_ATTEMPTS; attempt++) {
+            downsampler = downsample(sensorId, from, to, maxPoints, headers);
+            // a compaction committed between the reads moves readings from the raw table into a block and changes the
+            // block headers, the readings may then have been seen twice or not at all
+            List<SensorReadingBlockRow> current = sensorReadingBlockRepository.findBlockHeaders(sensorId, fromBlockStart, from, to);
+            if (current.equals(headers)) {
+                return downsampler;
+            }
+            headers = current;
+        }
+        log.warn("Sensor readings were compacted while downsampling, sensorId:{}:attempts:{}", sensorId, MAX_DOWNSAMPLE_ATTEMPTS);
+        return downsampler;
+    }
+
+    /**
+     * Downsamples the raw readings merged with the readings of the blocks, the block payloads are read one page at a
+     * time
+     *
+     * @param headers headers of the blocks overlapping the range, read before the raw readings are counted
+     */
+    private LttbDownsampler downsample(UUID sensorId, LocalDateTime from, LocalDateTime to, int maxPoints,
+                                       List<SensorReadingBlockRow> headers) {
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+
+        // the count fixes the LTTB buckets up front, only blocks crossing the range boundaries are decoded to count
+        long rawCount = sensorReadingRepository.countReadings(sensorId, from, to);
+        long total = rawCount;
+        for (SensorReadingBlockRow header : headers) {
+            if (!header.getFirstRecordedAt().isBefore(from) && header.getLastRecordedAt().isBefore(to)) {
+                total += header.getReadingCount();
+            } else {
+                Iterator<byte[]> payload = sensorReadingBlockRepository.findBlock(sensorId, header.getBlockStart())
+                        .map(SensorReadingBlockRow::getPayload)
+                        .stream()
+                        .iterator();
+                BlockCursor boundary = new BlockCursor(payload, fromMillis, toMillis);
+                while (boundary.valid) {
+                    total++;
+                    boundary.advance();
+                }
+            }
+        }
+
+        LttbDownsampler downsampler = new LttbDownsampler(total, maxPoints);
+        BlockCursor cursor = new BlockCursor(new BlockPayloads(sensorId, blockStart(from), from, to), fromMillis, toMillis);
+        long[] emitted = new long[1];
+        if (rawCount > 0) {
+            sensorReadingRepository.streamReadings(sensorId, from, to, rawCount, (timestamp, value) -> {
+                while (cursor.valid && cursor.timestamp <= timestamp) {
+                    emit(downsampler, emitted, total, cursor.timestamp, cursor.value);
+                    cursor.advance();
+                }
+                emit(downsampler, emitted, total, timestamp, value);
+            });
+        }
+        while (cursor.valid) {
+            emit(downsampler, emitted, total, cursor.timestamp, cursor.value);
+            cursor.advance();
+        }
+        downsampler.finish();
+        return downsampler;
+    }
+
+    /**
+     * Moves the raw readings of one sensor recorded before the cutoff into their blocks. The raw rows are deleted
+     * first, so a replica compacting the same rows concurrently deletes fewer rows than it read and rolls back,
+     * a concurrent update of the same block fails on its version
+     *
+     * @param sensorId sensor id
+     * @param cutoff   start of the oldest window that is still open
+     * @return number of readings compacted
+     */
+    private int compactSensor(UUID sensorId, LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        RawReadings readings = new RawReadings();
+        sensorReadingRepository.streamReadingsBefore(sensorId, cutoff, maxReadingsPerSensor, readings::add);
+        if (readings.size == 0) {
+            return 0;
+        }
+        int deleted = sensorReadingRepository.deleteReadings(Arrays.copyOf(readings.ids, readings.size));
+        if (deleted != readings.size) {
+            throw new IllegalStateException(String.format(
+                    "Readings of sensor %s were compacted concurrently, read:%d, deleted:%d", sensorId, readings.size, deleted));
+        }
+
+        long payloadBytes = 0;
+        int windowStart = 0;
+        while (windowStart < readings.size) {
+            LocalDateTime blockStart = blockStart(toLocalDateTime(readings.timestamps[windowStart]));
+            long windowEndMillis = toEpochMillis(blockStart.plusMinutes(windowMinutes));
+            int windowEnd = windowStart;
+            while (windowEnd < readings.size && readings.timestamps[windowEnd] < windowEndMillis) {
+                windowEnd++;
+            }
+            payloadBytes += writeBlock(sensorId, blockStart, readings, windowStart, windowEnd);
+            windowStart = windowEnd;
+        }
+        cameraMetricService.recordSensorReadingBlockCompaction(readings.size, payloadBytes, System.nanoTime() - start);
+        return readings.size;
+    }
+
+    /**
+     * Encodes the readings of one window, merged in time order with the readings of the existing block of the window
+     *
+     * @return size of the written payload in bytes
+     */
+    private int writeBlock(UUID sensorId, LocalDateTime blockStart, RawReadings readings, int startIndex, int endIndex) {
+        SensorReadingBlock block = sensorReadingBlockRepository.findById(new SensorReadingBlockId(sensorId, blockStart))
+                .orElseGet(SensorReadingBlock::new);
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        GorillaBlockDecoder existing = block.getPayload() == null ? null : new GorillaBlockDecoder(block.getPayload());
+        boolean hasExisting = existing != null && existing.next();
+        int index = startIndex;
+        while (hasExisting || index < endIndex) {
+            if (hasExisting && (index == endIndex || existing.getTimestamp() <= readings.timestamps[index])) {
+                encoder.add(existing.getTimestamp(), existing.getValue());
+                hasExisting = existing.next();
+            } else {
+                encoder.add(readings.timestamps[index], readings.values[index]);
+                index++;
+            }
+        }
+
+        block.setSensorId(sensorId);
+        block.setBlockStart(blockStart);
+        block.setReadingCount(encoder.getCount());
+        block.setFirstRecordedAt(toLocalDateTime(encoder.getFirstTimestamp()));
+        block.setLastRecordedAt(toLocalDateTime(encoder.getLastTimestamp()));
+        block.setPayload(encoder.toByteArray());
+        sensorReadingBlockRepository.save(block);
+        return block.getPayload().length;
+    }
+
+    private void emit(LttbDownsampler downsampler, long[] emitted, long total, long timestamp, double value) {
+        // readings compacted between the count and the stream could otherwise overflow the buckets
+        if (emitted[0] < total) {
+            downsampler.add(timestamp, value);
+            emitted[0]++;
+        }
+    }
+
+    private LocalDateTime blockStart(LocalDateTime recordedAt) {
+        long windowMillis = Duration.ofMinutes(windowMinutes).toMillis();
+        long epochMillis = toEpochMillis(recordedAt);
+        return toLocalDateTime(Math.floorDiv(epochMillis, windowMillis) * windowMillis);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Payloads of the blocks overlapping a range in order, read one page at a time so only one page of payloads is held
+     */
+    private final class BlockPayloads implements Iterator<byte[]> {
+
+        private final UUID sensorId;
+
+        private final LocalDateTime fromBlockStart;
+
+        private final LocalDateTime from;
+
+        private final LocalDateTime to;
+
+        private Iterator<SensorReadingBlockRow> page = Collections.emptyIterator();
+
+        private int nextPage;
+
+        private boolean lastPage;
+
+        private BlockPayloads(UUID sensorId, LocalDateTime fromBlockStart, LocalDateTime from, LocalDateTime to) {
+            this.sensorId = sensorId;
+            this.fromBlockStart = fromBlockStart;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !lastPage) {
+                List<SensorReadingBlockRow> rows = sensorReadingBlockRepository.findBlocks(sensorId, fromBlockStart, from, to,
+                        PageRequest.of(nextPage++, blockPageSize));
+                lastPage = rows.size() < blockPageSize;
+                page = rows.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next().getPayload();
+        }
+    }
+
+    /**
+     * Decodes the readings of consecutive blocks that fall into the range, one reading at a time
+     */
+    private static final class BlockCursor {
+
+        private final Iterator<byte[]> payloads;
+
+        private final long fromMillis;
+
+        private final long toMillis;
+
+        private GorillaBlockDecoder decoder;
+
+        private boolean valid;
+
+        private long timestamp;
+
+        private double value;
+
+        private BlockCursor(Iterator<byte[]> payloads, long fromMillis, long toMillis) {
+            this.payloads = payloads;
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            advance();
+        }
+
+        private void advance() {
+            while (true) {
+                if (decoder == null || !decoder.next()) {
+                    if (!payloads.hasNext()) {
+                        valid = false;
+                        return;
+                    }
+                    decoder = new GorillaBlockDecoder(payloads.next());
+                    continue;
+                }
+                if (decoder.getTimestamp() >= fromMillis && decoder.getTimestamp() < toMillis) {
+                    timestamp = decoder.getTimestamp();
+                    value = decoder.getValue();
+                    valid = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable primitive buffer of raw readings read for compaction
+     */
+    private static final class RawReadings {
+
+        private long[] ids = new long[1024];
+
+        private long[] timestamps = new long[1024];
+
+        private double[] values = new double[1024];
+
+        private int size;
+
+        private void add(long id, long timestamp, double value) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            ids[size] = id;
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingDatagramService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingWriter;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.SensorReadingDatagram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives sensor readings over UDP for devices that cannot afford TLS, HTTP and JSON for a single value. One thread
+ * receives into a reused direct buffer and decodes in place, the sensors of a camera are cached for a while so
+ * datagrams are validated without a query each. Datagrams are not authenticated, so cameras without sensors are
+ * cached apart from the known ones and the sensor queries of uncached cameras are limited per second
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "sensor.reading.udp.enabled", havingValue = "true")
+public class SensorReadingDatagramServiceImpl implements SensorReadingDatagramService {
+
+    private static final SensorType[] SENSOR_TYPES = SensorType.values();
+
+    private static final long LOOKUP_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SensorRepository sensorRepository;
+
+    private final SensorReadingWriter sensorReadingWriter;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final InetSocketAddress bindAddress;
+
+    private final int receiveBufferBytes;
+
+    private final long membershipTtlNanos;
+
+    private final int maxCachedCameras;
+
+    private final int maxLookupsPerSecond;
+
+    private final SensorReadingDatagram decoder = new SensorReadingDatagram();
+
+    private final Map<UUID, CameraSensors> cameraSensors = new ConcurrentHashMap<>();
+
+    private final Map<UUID, CameraSensors> unknownCameras = new ConcurrentHashMap<>();
+
+    // reused by every datagram, handleDatagram is synchronized and the writer copies the rows into its buffer
+    private final List<SensorReadingRow> rows = new ArrayList<>(SensorReadingDatagram.MAX_READINGS);
+
+    private final int[] acceptedByType = new int[SENSOR_TYPES.length];
+
+    private long lookupWindowStart;
+
+    private int lookupsInWindow;
+
+    private DatagramChannel channel;
+
+    private Thread receiver;
+
+    public SensorReadingDatagramServiceImpl(SensorRepository sensorRepository,
+                                            SensorReadingWriter sensorReadingWriter,
+                                            CameraMetricService cameraMetricService,
+                                            DateTimeFactory dateTimeFactory,
+                                            @Value("${sensor.reading.udp.bind-address:0.0.0.0}") String bindAddress,
+                                            @Value("${sensor.reading.udp.port:5684}") int port,
+                                            @Value("${sensor.reading.udp.receive-buffer-bytes:1048576}") int receiveBufferBytes,
+                                            @Value("${sensor.reading.udp.membership-ttl-ms:30000}") long membershipTtlMs,
+                                            @Value("${sensor.reading.udp.max-cached-cameras:10000}") int maxCachedCameras,
+                                            @Value("${sensor.reading.udp.max-lookups-per-second:200}") int maxLookupsPerSecond) {
+        this.sensorRepository = sensorRepository;
+        this.sensorReadingWriter = sensorReadingWriter;
+        this.cameraMetricService = cameraMetricService;
+        this.dateTimeFactory = dateTimeFactory;
+        this.bindAddress = new InetSocketAddress(bindAddress, port);
+        this.receiveBufferBytes = receiveBufferBytes;
+        this.membershipTtlNanos = TimeUnit.MILLISECONDS.toNanos(membershipTtlMs);
+        this.maxCachedCameras = maxCachedCameras;
+        this.maxLookupsPerSecond = maxLookupsPerSecond;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferBytes);
+        channel.bind(bindAddress);
+        receiver = new Thread(this::receive, "sensor-reading-udp");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Sensor reading UDP listener started, address:{}", channel.getLocalAddress());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.error("Exception occurred while closing sensor reading UDP listener:ex:{}", ex.getMessage());
+        }
+        receiver.join(TimeUnit.SECONDS.toMillis(5));
+        log.info("Sensor reading UDP listener stopped");
+    }
+
+    /**
+     * @return the bound port, useful when the configured port is 0
+     */
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public synchronized int handleDatagram(ByteBuffer datagram) {
+        cameraMetricService.incrementSensorReadingDatagram();
+        if (!decoder.reset(datagram)) {
+            cameraMetricService.incrementSensorReadingDatagramDecodeError();
+            return 0;
+        }
+
+        UUID cameraId = new UUID(decoder.getCameraMsb(), decoder.getCameraLsb());
+        CameraSensors sensors = findSensors(cameraId);
+        if (sensors == null) {
+            cameraMetricService.incrementSensorReadingRejected("lookup_throttled", decoder.getRemaining());
+            return 0;
+        }
+        LocalDateTime now = dateTimeFactory.now();
+        rows.clear();
+        int invalid = 0;
+        int unknownSensor = 0;
+        while (decoder.next()) {
+            if (decoder.getSensorType() == null || !Double.isFinite(decoder.getValue())) {
+                invalid++;
+                continue;
+            }
+            int sensor = sensors.indexOf(decoder.getSensorMsb(), decoder.getSensorLsb());
+            if (sensor < 0) {
+                unknownSensor++;
+                continue;
+            }
+            SensorType sensorType = sensors.sensorTypes[sensor];
+            if (sensorType != decoder.getSensorType()) {
+                invalid++;
+                continue;
+            }
+            LocalDateTime recordedAt = decoder.getRecordedAt() == 0 ? now
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(decoder.getRecordedAt()), ZoneOffset.UTC);
+            rows.add(new SensorReadingRow(cameraId, sensors.sensorIds[sensor], sensorType, recordedAt, decoder.getValue()));
+        }
+
+        int accepted = rows.isEmpty() ? 0 : sensorReadingWriter.offer(rows);
+        recordMetrics(accepted, invalid, unknownSensor, rows.size() - accepted);
+        return accepted;
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SensorReadingDatagram.MAX_BYTES + 1);
+        while (channel.isOpen()) {
+            buffer.clear();
+            try {
+                channel.receive(buffer);
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException ex) {
+                log.error("Exception occurred while receiving sensor reading datagram:ex:{}", ex.getMessage());
+                continue;
+            }
+            buffer.flip();
+            try {
+                handleDatagram(buffer);
+            } catch (Exception ex) {
+                log.error("Exception occurred while ingesting sensor reading datagram:ex:{}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sensors of a camera, loaded with one query and kept for the membership ttl. Cameras without sensors are kept in
+     * a cache of their own, so datagrams with made up camera ids neither query every time nor push known cameras out.
+     * Sensors added in the meantime are unknown until the ttl passes
+     *
+     * @param cameraId camera id
+     * @return sensors of the camera, null if the camera is not cached and the lookups of this second are used up
+     */
+    private CameraSensors findSensors(UUID cameraId) {
+        long now = System.nanoTime();
+        CameraSensors cached = cameraSensors.get(cameraId);
+        if (cached == null) {
+            cached = unknownCameras.get(cameraId);
+        }
+        if (cached != null && now - cached.loadedAt < membershipTtlNanos) {
+            return cached;
+        }
+        if (!tryLookup(now)) {
+            // a stale entry is still better than dropping the readings of a known camera
+            return cached;
+        }
+        List<SensorRow> sensorRows = sensorRepository.findSensorRowsByCameraId(cameraId, null);
+        CameraSensors loaded = new CameraSensors(sensorRows, now);
+        if (sensorRows.isEmpty()) {
+            cameraSensors.remove(cameraId);
+            cache(unknownCameras, cameraId, loaded);
+        } else {
+            unknownCameras.remove(cameraId);
+            cache(cameraSensors, cameraId, loaded);
+        }
+        return loaded;
+    }
+
+    private void cache(Map<UUID, CameraSensors> cache, UUID cameraId, CameraSensors sensors) {
+        if (!cache.containsKey(cameraId) && cache.size() >= maxCachedCameras) {
+            cache.clear();
+        }
+        cache.put(cameraId, sensors);
+    }
+
+    /**
+     * Counts the sensor queries in fixed windows of one second
+     *
+     * @param now current nano time
+     * @return false if the queries of the current window are used up
+     */
+    private boolean tryLookup(long now) {
+        if (now - lookupWindowStart >= LOOKUP_WINDOW_NANOS) {
+            lookupWindowStart = now;
+            lookupsInWindow = 0;
+        }
+        if (lookupsInWindow >= maxLookupsPerSecond) {
+            return false;
+        }
+        lookupsInWindow++;
+        return true;
+    }
+
+    private void recordMetrics(int accepted, int invalid, int unknownSensor, int dropped) {
+        for (int i = 0; i < accepted; i++) {
+            acceptedByType[rows.get(i).getSensorType().ordinal()]++;
+        }
+        for (int i = 0; i < acceptedByType.length; i++) {
+            if (acceptedByType[i] > 0) {
+                cameraMetricService.incrementSensorReadingIngested(SENSOR_TYPES[i].name(), acceptedByType[i]);
+                acceptedByType[i] = 0;
+            }
+        }
+        if (invalid > 0) {
+            cameraMetricService.incrementSensorReadingRejected("invalid", invalid);
+        }
+        if (unknownSensor > 0) {
+            cameraMetricService.incrementSensorReadingRejected("unknown_sensor", unknownSensor);
+        }
+        if (dropped > 0) {
+            cameraMetricService.incrementSensorReadingRejected("buffer_full", dropped);
+        }
+    }
+
+    /**
+     * Sensors of a camera in parallel arrays, cameras carry few sensors so a scan over the id bits finds one without
+     * creating an id per reading, and the rows share the cached ids
+     */
+    private static final class CameraSensors {
+
+        private final UUID[] sensorIds;
+
+        private final SensorType[] sensorTypes;
+
+        private final long loadedAt;
+
+        private CameraSensors(List<SensorRow> sensorRows, long loadedAt) {
+            this.sensorIds = new UUID[sensorRows.size()];
+            this.sensorTypes = new SensorType[sensorRows.size()];
+            for (int i = 0; i < sensorIds.length; i++) {
+                sensorIds[i] = sensorRows.get(i).getId();
+                sensorTypes[i] = sensorRows.get(i).getSensorType();
+            }
+            this.loadedAt = loadedAt;
+        }
+
+        private int indexOf(long sensorMsb, long sensorLsb) {
+            for (int i = 0; i < sensorIds.length; i++) {
+                if (sensorIds[i].getLeastSignificantBits() == sensorLsb && sensorIds[i].getMostSignificantBits() == sensorMsb) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
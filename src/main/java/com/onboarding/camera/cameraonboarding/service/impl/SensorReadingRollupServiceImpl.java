@@ -0,0 +1,170 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingRollupId;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRollupRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class SensorReadingRollupServiceImpl implements SensorReadingRollupService, SensorReadingListener {
+
+    /**
+     * Motion readings are events, count/min/max/sum buckets are only meaningful for measured values
+     */
+    private static final Set<SensorType> ROLLUP_SENSOR_TYPES = EnumSet.of(SensorType.TEMPERATURE, SensorType.LIGHT);
+
+    private final SensorReadingRollupRepository sensorReadingRollupRepository;
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraMetricService cameraMetricService;
+
+    /**
+     * Pending buckets are capped at max-pending-buckets, a reading that would open a bucket beyond the cap is left out
+     * of it and counted as dropped, the raw reading is persisted either way
+     */
+    private final Map<SensorReadingRollupId, SensorReadingRollupRow> pending = new ConcurrentHashMap<>();
+
+    @Value("${sensor.reading.rollup.max-buckets:10000}")
+    private long maxBuckets;
+
+    @Value("${sensor.reading.rollup.max-pending-buckets:100000}")
+    private int maxPendingBuckets;
+
+    public SensorReadingRollupServiceImpl(SensorReadingRollupRepository sensorReadingRollupRepository,
+                                          SensorRepository sensorRepository,
+                                          CameraMetricService cameraMetricService) {
+        this.sensorReadingRollupRepository = sensorReadingRollupRepository;
+        this.sensorRepository = sensorRepository;
+        this.cameraMetricService = cameraMetricService;
+        cameraMetricService.registerSensorReadingRollupBuffer(pending);
+    }
+
+    @Override
+    public void onReadingsPersisted(List<SensorReadingRow> readings) {
+        int dropped = 0;
+        for (SensorReadingRow reading : readings) {
+            if (!ROLLUP_SENSOR_TYPES.contains(reading.getSensorType())) {
+                continue;
+            }
+            for (RollupResolution resolution : RollupResolution.values()) {
+                LocalDateTime bucketStart = resolution.bucketStart(reading.getRecordedAt());
+                SensorReadingRollupId id = new SensorReadingRollupId(reading.getSensorId(), resolution, bucketStart);
+                if (isFull(id)) {
+                    dropped++;
+                    continue;
+                }
+                pending.compute(id, (key, rollup) -> {
+                    SensorReadingRollupRow bucket = rollup != null ? rollup
+                            : new SensorReadingRollupRow(key.getSensorId(), key.getResolution(), key.getBucketStart());
+                    bucket.add(reading.getValue());
+                    return bucket;
+                });
+            }
+        }
+        recordDropped(dropped);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sensor.reading.rollup.flush-interval-ms:5000}")
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // buckets are detached one by one, readings arriving meanwhile start a new partial bucket for the same key
+        List<SensorReadingRollupRow> rollups = new ArrayList<>(pending.size());
+        for (SensorReadingRollupId key : pending.keySet()) {
+            SensorReadingRollupRow rollup = pending.remove(key);
+            if (rollup != null) {
+                rollups.add(rollup);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            sensorReadingRollupRepository.mergeRollups(rollups);
+            cameraMetricService.recordSensorReadingRollupFlush(rollups.size(), System.nanoTime() - start);
+            return rollups.size();
+        } catch (Exception ex) {
+            log.error("Exception occurred while flushing sensor reading rollups, buckets:{}:ex:{}", rollups.size(), ex.getMessage());
+            cameraMetricService.incrementSensorReadingRollupFlushFailure();
+            // the aggregates are kept and merged again by the next flush as long as the pending buckets are not full
+            int dropped = 0;
+            for (SensorReadingRollupRow rollup : rollups) {
+                SensorReadingRollupId id = new SensorReadingRollupId(rollup.getSensorId(), rollup.getResolution(),
+                        rollup.getBucketStart());
+                if (isFull(id)) {
+                    dropped += (int) rollup.getCount();
+                    continue;
+                }
+                pending.merge(id, rollup, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+            }
+            recordDropped(dropped);
+            return 0;
+        }
+    }
+
+    /**
+     * Checks if a bucket would have to be opened beyond the cap, concurrent writers may overshoot it by one bucket each
+     */
+    private boolean isFull(SensorReadingRollupId id) {
+        return pending.size() >= maxPendingBuckets && !pending.containsKey(id);
+    }
+
+    private void recordDropped(int dropped) {
+        if (dropped > 0) {
+            log.warn("Sensor reading rollup buckets are full, dropped readings:{}", dropped);
+            cameraMetricService.incrementSensorReadingRollupDropped(dropped);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush();
+        log.info("Sensor reading rollups stopped, flushed buckets:{}, lost buckets:{}", flushed, pending.size());
+    }
+
+    @Override
+    public List<SensorReadingRollupResponse> handleGetRollups(UUID cameraId, UUID sensorId, RollupResolution resolution,
+                                                              LocalDateTime from, LocalDateTime to) {
+        if (resolution == null || from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Resolution, from and to are required and from must be before to");
+        }
+        if (resolution.getUnit().between(resolution.bucketStart(from), to) > maxBuckets) {
+            throw new IllegalArgumentException(String.format(
+                    "Range cannot span more than %d %s buckets, use a coarser resolution", maxBuckets, resolution));
+        }
+        sensorRepository.findSensorRowById(sensorId)
+                .filter(sensorRow -> sensorRow.getCameraId().equals(cameraId))
+                .filter(sensorRow -> ROLLUP_SENSOR_TYPES.contains(sensorRow.getSensorType()))
+                .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
+
+        return sensorReadingRollupRepository.findRollups(sensorId, resolution, resolution.bucketStart(from), to);
+    }
+}
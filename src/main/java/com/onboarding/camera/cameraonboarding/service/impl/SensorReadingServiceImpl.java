@@ -0,0 +1,164 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingHistoryResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingIngestResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingBlockService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingWriter;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.LttbDownsampler;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SensorReadingServiceImpl implements SensorReadingService {
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraRepository cameraRepository;
+
+    private final SensorReadingWriter sensorReadingWriter;
+
+    private final SensorReadingBlockService sensorReadingBlockService;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    @Value("${sensor.reading.max-batch-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${sensor.reading.history.default-max-points:1000}")
+    private int defaultMaxPoints;
+
+    @Value("${sensor.reading.history.max-points:10000}")
+    private int maxPointsLimit;
+
+    @Override
+    @Timed("sensor.reading.ingest")
+    public SensorReadingIngestResponse handleIngestReadings(UUID cameraId, List<SensorReadingDto> readings) {
+        if (readings == null || readings.isEmpty()) {
+            throw new IllegalArgumentException("Reading batch cannot be empty");
+        }
+        if (readings.size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Reading batch cannot contain more than %d readings", maxBatchSize));
+        }
+
+        Map<UUID, SensorType> sensorTypes = findSensorTypes(cameraId);
+        LocalDateTime now = dateTimeFactory.now();
+        SensorReadingIngestResponse response = new SensorReadingIngestResponse();
+        response.setTotal(readings.size());
+        List<SensorReadingRow> rows = new ArrayList<>(readings.size());
+        for (SensorReadingDto reading : readings) {
+            if (reading == null || reading.getSensorId() == null || reading.getValue() == null
+                    || !Double.isFinite(reading.getValue())) {
+                response.setInvalid(response.getInvalid() + 1);
+                continue;
+            }
+            SensorType sensorType = sensorTypes.get(reading.getSensorId());
+            if (sensorType == null) {
+                response.setUnknownSensor(response.getUnknownSensor() + 1);
+                continue;
+            }
+            LocalDateTime recordedAt = reading.getRecordedAt() == null ? now : reading.getRecordedAt();
+            rows.add(new SensorReadingRow(cameraId, reading.getSensorId(), sensorType, recordedAt, reading.getValue()));
+        }
+
+        int accepted = rows.isEmpty() ? 0 : sensorReadingWriter.offer(rows);
+        response.setAccepted(accepted);
+        response.setDropped(rows.size() - accepted);
+        recordMetrics(rows.subList(0, accepted), response);
+        if (response.getDropped() > 0) {
+            log.warn("Sensor reading buffer is full, cameraId:{}, dropped:{}", cameraId, response.getDropped());
+        }
+        return response;
+    }
+
+    @Override
+    @Timed("sensor.reading.history")
+    public SensorReadingHistoryResponse handleGetReadings(UUID cameraId, SensorType sensorType, UUID sensorId,
+                                                          LocalDateTime from, LocalDateTime to, Integer maxPoints) {
+        int threshold = maxPoints == null ? defaultMaxPoints : maxPoints;
+        if (threshold < 3 || threshold > maxPointsLimit) {
+            throw new IllegalArgumentException(String.format("maxPoints must be between 3 and %d", maxPointsLimit));
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("From and to are required and from must be before to");
+        }
+        SensorRow sensorRow = sensorRepository.findSensorRowById(sensorId)
+                .filter(row -> row.getCameraId().equals(cameraId))
+                .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
+        if (sensorRow.getSensorType() != sensorType) {
+            throw new SensorMismatchException(String.format("Sensor %s is not a %s sensor", sensorId, sensorType));
+        }
+
+        LttbDownsampler downsampler = sensorReadingBlockService.downsampleReadings(sensorId, from, to, threshold);
+
+        SensorReadingHistoryResponse response = new SensorReadingHistoryResponse();
+        response.setSensorId(sensorId);
+        response.setSensorType(sensorType);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setRawPoints(downsampler.getAdded());
+        response.setTimestamps(downsampler.timestamps());
+        response.setValues(downsampler.values());
+        response.setPoints(response.getValues().length);
+        return response;
+    }
+
+    /**
+     * Loads the sensors of the camera with one query, an empty camera is told apart from an unknown one only then
+     *
+     * @param cameraId camera id
+     * @return sensor types by sensor id
+     * @throws CameraNotFoundException if the camera does not exist
+     */
+    private Map<UUID, SensorType> findSensorTypes(UUID cameraId) {
+        Map<UUID, SensorType> sensorTypes = new HashMap<>();
+        for (SensorRow sensorRow : sensorRepository.findSensorRowsByCameraId(cameraId, null)) {
+            sensorTypes.put(sensorRow.getId(), sensorRow.getSensorType());
+        }
+        if (sensorTypes.isEmpty() && !cameraRepository.existsById(cameraId)) {
+            throw new CameraNotFoundException(String.format("Camera not found with id: %s", cameraId));
+        }
+        return sensorTypes;
+    }
+
+    private void recordMetrics(List<SensorReadingRow> acceptedRows, SensorReadingIngestResponse response) {
+        Map<SensorType, Integer> acceptedByType = new EnumMap<>(SensorType.class);
+        acceptedRows.forEach(row -> acceptedByType.merge(row.getSensorType(), 1, Integer::sum));
+        acceptedByType.forEach((sensorType, count) -> cameraMetricService.incrementSensorReadingIngested(sensorType.name(), count));
+        if (response.getInvalid() > 0) {
+            cameraMetricService.incrementSensorReadingRejected("invalid", response.getInvalid());
+        }
+        if (response.getUnknownSensor() > 0) {
+            cameraMetricService.incrementSensorReadingRejected("unknown_sensor", response.getUnknownSensor());
+        }
+        if (response.getDropped() > 0) {
+            cameraMetricService.incrementSensorReadingRejected("buffer_full", response.getDropped());
+        }
+    }
+}
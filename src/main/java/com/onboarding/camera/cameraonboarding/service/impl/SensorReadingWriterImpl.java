@@ -0,0 +1,114 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+@Slf4j
+@Service
+public class SensorReadingWriterImpl implements SensorReadingWriter {
+
+    private final SensorReadingRepository sensorReadingRepository;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final List<SensorReadingListener> sensorReadingListeners;
+
+    private final BlockingQueue<SensorReadingRow> buffer;
+
+    private final int batchSize;
+
+    public SensorReadingWriterImpl(SensorReadingRepository sensorReadingRepository,
+                                   CameraMetricService cameraMetricService,
+                                   List<SensorReadingListener> sensorReadingListeners,
+                                   @Value("${sensor.reading.buffer-capacity:100000}") int bufferCapacity,
+                                   @Value("${sensor.reading.flush-batch-size:1000}") int batchSize) {
+        this.sensorReadingRepository = sensorReadingRepository;
+        this.cameraMetricService = cameraMetricService;
+        this.sensorReadingListeners = sensorReadingListeners;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        cameraMetricService.registerSensorReadingBuffer(buffer);
+    }
+
+    @Override
+    public int offer(List<SensorReadingRow> readings) {
+        int accepted = 0;
+        for (SensorReadingRow reading : readings) {
+            if (!buffer.offer(reading)) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sensor.reading.flush-interval-ms:250}")
+    public int flush() {
+        int persisted = 0;
+        List<SensorReadingRow> batch = new ArrayList<>(batchSize);
+        // bounded by the readings buffered when the flush started, so a steady stream cannot keep one flush running
+        int pending = buffer.size();
+        while (pending > 0 && buffer.drainTo(batch, batchSize) > 0) {
+            pending -= batch.size();
+            persisted += writeBatch(batch);
+            batch.clear();
+        }
+        return persisted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int persisted = flush();
+        log.info("Sensor reading writer stopped, persisted:{}, dropped:{}", persisted, buffer.size());
+    }
+
+    /**
+     * Inserts one batch of readings, a failing batch is dropped instead of retried so the buffer stays bounded
+     *
+     * @param batch the readings to insert
+     * @return number of readings persisted
+     */
+    private int writeBatch(List<SensorReadingRow> batch) {
+        long start = System.nanoTime();
+        try {
+            sensorReadingRepository.insertReadings(batch);
+            cameraMetricService.recordSensorReadingFlush(batch.size(), System.nanoTime() - start);
+        } catch (Exception ex) {
+            log.error("Exception occurred while persisting sensor readings, dropped:{}:ex:{}", batch.size(), ex.getMessage());
+            cameraMetricService.incrementSensorReadingRejected("flush_failure", batch.size());
+            return 0;
+        }
+        notifyListeners(batch);
+        return batch.size();
+    }
+
+    /**
+     * Hands a persisted batch to the listeners, a failing listener does not affect the others or the persisted batch
+     *
+     * @param batch the persisted readings
+     */
+    private void notifyListeners(List<SensorReadingRow> batch) {
+        for (SensorReadingListener listener : sensorReadingListeners) {
+            try {
+                listener.onReadingsPersisted(batch);
+            } catch (Exception ex) {
+                log.error("Exception occurred while notifying sensor reading listener:{}:ex:{}",
+                        listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorWriteBehindService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers updates of sensors that report their state often, an update is acknowledged once it is in the slot of its
+ * sensor and a later update of the same sensor replaces it, so a sensor is written at most once per flush however
+ * often it reports. Acknowledged updates not yet written are lost if the replica stops without a shutdown, the
+ * flush interval bounds that window
+ */
+@Slf4j
+@Service
+public class SensorWriteBehindServiceImpl implements SensorWriteBehindService {
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final Set<SensorType> sensorTypes;
+
+    private final int maxPending;
+
+    private final int batchSize;
+
+    private final Map<UUID, PendingUpdate> pending = new ConcurrentHashMap<>();
+
+    private final Map<UUID, SensorRow> knownSensors = new ConcurrentHashMap<>();
+
+    public SensorWriteBehindServiceImpl(SensorRepository sensorRepository,
+                                        CameraCacheEvictor cameraCacheEvictor,
+                                        CameraMetricService cameraMetricService,
+                                        @Value("${sensor.write-behind.types:}") List<SensorType> sensorTypes,
+                                        @Value("${sensor.write-behind.max-pending:100000}") int maxPending,
+                                        @Value("${sensor.write-behind.flush-batch-size:500}") int batchSize) {
+        this.sensorRepository = sensorRepository;
+        this.cameraCacheEvictor = cameraCacheEvictor;
+        this.cameraMetricService = cameraMetricService;
+        this.sensorTypes = sensorTypes.isEmpty() ? EnumSet.noneOf(SensorType.class) : EnumSet.copyOf(sensorTypes);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        cameraMetricService.registerSensorWriteBehindPending(pending);
+    }
+
+    @Override
+    public boolean offer(UUID cameraId, UUID sensorId, SensorType sensorType, String name, String version, String data) {
+        if (!sensorTypes.contains(sensorType) || !isSensorOfCamera(cameraId, sensorId, sensorType)) {
+            return false;
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(sensorId)) {
+            log.warn("Sensor update buffer is full, writing directly, sensorId:{}", sensorId);
+            return false;
+        }
+        PendingUpdate update = new PendingUpdate(
+                new SensorRow(cameraId, sensorId, name, version, sensorType, data), System.nanoTime());
+        if (pending.merge(sensorId, update, PendingUpdate::replaceWith) != update) {
+            cameraMetricService.incrementSensorWriteBehindCoalesced();
+        }
+        return true;
+    }
+
+    @Override
+    public void handleSensorDeleted(UUID sensorId) {
+        pending.remove(sensorId);
+        knownSensors.remove(sensorId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${sensor.write-behind.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        int written = 0;
+        List<PendingUpdate> batch = new ArrayList<>(batchSize);
+        // bounded by the sensors pending when the flush started, so a steady stream cannot keep one flush running
+        int remaining = pending.size();
+        Iterator<UUID> sensorIds = pending.keySet().iterator();
+        while (remaining > 0 && sensorIds.hasNext()) {
+            remaining--;
+            PendingUpdate update = pending.remove(sensorIds.next());
+            if (update == null) {
+                continue;
+            }
+            batch.add(update);
+            if (batch.size() == batchSize) {
+                written += writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            written += writeBatch(batch);
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int written = flush();
+        log.info("Sensor write-behind stopped, written:{}, lost:{}", written, pending.size());
+    }
+
+    /**
+     * Writes one batch of pending updates and evicts their cameras once. A failing batch is put back unless a newer
+     * update of the sensor arrived meanwhile, so acknowledged updates are retried instead of dropped
+     *
+     * @param batch the updates taken from the slots
+     * @return number of sensors written
+     */
+    private int writeBatch(List<PendingUpdate> batch) {
+        List<SensorRow> sensorRows = new ArrayList<>(batch.size());
+        batch.forEach(update -> sensorRows.add(update.sensorRow));
+        long start = System.nanoTime();
+        int[] updated;
+        try {
+            updated = sensorRepository.updateSensors(sensorRows);
+        } catch (Exception ex) {
+            log.error("Exception occurred while writing sensor updates, retrying:{}:ex:{}", batch.size(), ex.getMessage());
+            cameraMetricService.incrementSensorWriteBehindFlushFailure(batch.size());
+            batch.forEach(update -> pending.putIfAbsent(update.sensorRow.getId(), update));
+            return 0;
+        }
+        long end = System.nanoTime();
+        cameraMetricService.recordSensorWriteBehindFlush(batch.size(), end - start);
+
+        int written = 0;
+        Set<UUID> cameraIds = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            SensorRow sensorRow = batch.get(i).sensorRow;
+            cameraMetricService.recordSensorWriteBehindLag(end - batch.get(i).pendingSince);
+            if (updated[i] == 0) {
+                log.warn("Buffered update of a deleted sensor dropped, sensorId:{}", sensorRow.getId());
+                knownSensors.remove(sensorRow.getId());
+                continue;
+            }
+            cameraIds.add(sensorRow.getCameraId());
+            written++;
+        }
+        cameraCacheEvictor.evictAll(cameraIds);
+        return written;
+    }
+
+    /**
+     * Checks the camera and type a sensor was addressed with, the sensor is loaded once and then checked from memory.
+     * Updates failing the check are written directly, so the caller reports why they failed
+     */
+    private boolean isSensorOfCamera(UUID cameraId, UUID sensorId, SensorType sensorType) {
+        SensorRow sensorRow = knownSensors.get(sensorId);
+        if (sensorRow == null) {
+            sensorRow = sensorRepository.findSensorRowById(sensorId).orElse(null);
+            if (sensorRow == null) {
+                return false;
+            }
+            if (knownSensors.size() >= maxPending) {
+                knownSensors.clear();
+            }
+            knownSensors.put(sensorId, sensorRow);
+        }
+        return sensorRow.getCameraId().equals(cameraId) && sensorRow.getSensorType() == sensorType;
+    }
+
+    private static final class PendingUpdate {
+
+        private final SensorRow sensorRow;
+
+        private final long pendingSince;
+
+        private PendingUpdate(SensorRow sensorRow, long pendingSince) {
+            this.sensorRow = sensorRow;
+            this.pendingSince = pendingSince;
+        }
+
+        /**
+         * Keeps the time of the older update, the lag is measured from the first acknowledged update not written yet
+         */
+        private PendingUpdate replaceWith(PendingUpdate newer) {
+            return new PendingUpdate(newer.sensorRow, pendingSince);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import com.onboarding.camera.cameraonboarding.enums.AlertState;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.AlertRuleNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.TemperatureAlertRuleRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertSink;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.SensorDataParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TemperatureAlertServiceImpl implements TemperatureAlertService, SensorReadingListener {
+
+    private final TemperatureAlertRuleRepository temperatureAlertRuleRepository;
+
+    private final SensorRepository sensorRepository;
+
+    private final CameraRepository cameraRepository;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final DateTimeFactory dateTimeFactory;
+
+    private final List<TemperatureAlertSink> temperatureAlertSinks;
+
+    /**
+     * Alert status per rule and sensor, only created once a value goes above the threshold of the rule
+     */
+    private final Map<AlertKey, AlertStatus> alerts = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Immutable snapshot replaced on every rule change, evaluation reads it without locking
+     */
+    private volatile RuleIndex rules = RuleIndex.EMPTY;
+
+    @Override
+    public synchronized TemperatureAlertRule handleCreateRule(TemperatureAlertRule rule) {
+        validateScope(rule);
+        rule.setCreatedAt(dateTimeFactory.now());
+        TemperatureAlertRule createdRule = temperatureAlertRuleRepository.save(rule);
+
+        Map<UUID, AlertRule> updated = new HashMap<>(rules.byId);
+        updated.put(createdRule.getId(), new AlertRule(createdRule));
+        rules = new RuleIndex(updated.values());
+        log.info("Created temperature alert rule: {}", createdRule);
+        return createdRule;
+    }
+
+    @Override
+    public List<TemperatureAlertRule> handleGetRules() {
+        return temperatureAlertRuleRepository.findAll(Sort.by("createdAt"));
+    }
+
+    @Override
+    public synchronized void handleDeleteRule(UUID ruleId) {
+        if (!temperatureAlertRuleRepository.existsById(ruleId)) {
+            throw new AlertRuleNotFoundException(String.format("Alert rule not found with id: %s", ruleId));
+        }
+        temperatureAlertRuleRepository.deleteById(ruleId);
+
+        Map<UUID, AlertRule> updated = new HashMap<>(rules.byId);
+        updated.remove(ruleId);
+        rules = new RuleIndex(updated.values());
+        alerts.keySet().removeIf(key -> key.ruleId.equals(ruleId));
+        log.info("Deleted temperature alert rule: {}", ruleId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${alert.rule.refresh-interval-ms:30000}")
+    public synchronized void refreshRules() {
+        try {
+            List<AlertRule> loaded = new ArrayList<>();
+            temperatureAlertRuleRepository.findAll().forEach(rule -> loaded.add(new AlertRule(rule)));
+            RuleIndex refreshed = new RuleIndex(loaded);
+            rules = refreshed;
+            alerts.keySet().removeIf(key -> !refreshed.byId.containsKey(key.ruleId));
+        } catch (Exception ex) {
+            log.error("Exception occurred while refreshing temperature alert rules:ex:{}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void handleSensorUpdated(UUID cameraId, UUID sensorId, String data) {
+        Double value = SensorDataParser.toValue(SensorType.TEMPERATURE, data);
+        if (value == null || rules.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = dateTimeFactory.now();
+        evaluate(cameraId, sensorId, value, now, toEpochMillis(now));
+    }
+
+    @Override
+    public void onReadingsPersisted(List<SensorReadingRow> readings) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        long now = toEpochMillis(dateTimeFactory.now());
+        for (SensorReadingRow reading : readings) {
+            if (reading.getSensorType() == SensorType.TEMPERATURE) {
+                evaluate(reading.getCameraId(), reading.getSensorId(), reading.getValue(), reading.getRecordedAt(), now);
+            }
+        }
+    }
+
+    /**
+     * Evaluates only the rules of the sensor, of its camera and of the fleet, looked up in the rule index
+     *
+     * @param cameraId   camera of the sensor
+     * @param sensorId   sensor id
+     * @param value      temperature
+     * @param recordedAt time of the value
+     * @param now        evaluation time in epoch millis, used for the cooldown
+     */
+    private void evaluate(UUID cameraId, UUID sensorId, double value, LocalDateTime recordedAt, long now) {
+        long start = System.nanoTime();
+        RuleIndex index = rules;
+        evaluate(index.bySensor.get(sensorId), cameraId, sensorId, value, recordedAt, now);
+        evaluate(index.byCamera.get(cameraId), cameraId, sensorId, value, recordedAt, now);
+        evaluate(index.fleet, cameraId, sensorId, value, recordedAt, now);
+        cameraMetricService.recordTemperatureAlertEvaluation(System.nanoTime() - start);
+    }
+
+    private void evaluate(List<AlertRule> candidates, UUID cameraId, UUID sensorId, double value, LocalDateTime recordedAt,
+                          long now) {
+        if (candidates == null) {
+            return;
+        }
+        for (AlertRule rule : candidates) {
+            AlertKey key = new AlertKey(rule.id, sensorId);
+            AlertStatus status = alerts.get(key);
+            if (status == null) {
+                if (value <= rule.threshold) {
+                    continue;
+                }
+                status = alerts.computeIfAbsent(key, alertKey -> new AlertStatus());
+            }
+            AlertState transition = status.evaluate(rule, value, now);
+            if (transition != null) {
+                dispatch(new TemperatureAlertResponse(sequence.incrementAndGet(), rule.id, cameraId, sensorId, transition,
+                        value, rule.threshold, recordedAt));
+            }
+        }
+    }
+
+    private void dispatch(TemperatureAlertResponse alert) {
+        cameraMetricService.incrementTemperatureAlert(alert.getState().name());
+        for (TemperatureAlertSink sink : temperatureAlertSinks) {
+            try {
+                sink.send(alert);
+            } catch (Exception ex) {
+                log.error("Exception occurred while sending temperature alert, sink:{}:ex:{}",
+                        sink.getClass().getSimpleName(), ex.getMessage());
+                cameraMetricService.incrementTemperatureAlertSinkFailure(sink.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void validateScope(TemperatureAlertRule rule) {
+        if (rule.getScope() == null || !Double.isFinite(rule.getThreshold())) {
+            throw new IllegalArgumentException("Scope and a finite threshold are required");
+        }
+        switch (rule.getScope()) {
+            case SENSOR:
+                if (rule.getSensorId() == null) {
+                    throw new IllegalArgumentException("Sensor id is required for a SENSOR rule");
+                }
+                SensorRow sensorRow = sensorRepository.findSensorRowById(rule.getSensorId())
+                        .filter(row -> rule.getCameraId() == null || row.getCameraId().equals(rule.getCameraId()))
+                        .orElseThrow(() -> new SensorNotFoundException(
+                                String.format("Sensor not found with id: %s", rule.getSensorId())));
+                if (sensorRow.getSensorType() != SensorType.TEMPERATURE) {
+                    throw new SensorMismatchException(String.format(
+                            "Sensor with id: %s is a %s sensor, not TEMPERATURE", rule.getSensorId(), sensorRow.getSensorType()));
+                }
+                rule.setCameraId(sensorRow.getCameraId());
+                break;
+            case CAMERA:
+                if (rule.getCameraId() == null || rule.getSensorId() != null) {
+                    throw new IllegalArgumentException("Only a camera id is allowed for a CAMERA rule");
+                }
+                if (!cameraRepository.existsById(rule.getCameraId())) {
+                    throw new CameraNotFoundException(String.format("Camera not found with id: %s", rule.getCameraId()));
+                }
+                break;
+            case FLEET:
+                if (rule.getCameraId() != null || rule.getSensorId() != null) {
+                    throw new IllegalArgumentException("Camera and sensor ids are not allowed for a FLEET rule");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported scope: %s", rule.getScope()));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Copy of a rule as evaluated, detached from the persistence context
+     */
+    private static final class AlertRule {
+
+        private final UUID id;
+
+        private final AlertRuleScope scope;
+
+        private final UUID cameraId;
+
+        private final UUID sensorId;
+
+        private final double threshold;
+
+        private final double clearBelow;
+
+        private final long cooldownMillis;
+
+        private AlertRule(TemperatureAlertRule rule) {
+            this.id = rule.getId();
+            this.scope = rule.getScope();
+            this.cameraId = rule.getCameraId();
+            this.sensorId = rule.getSensorId();
+            this.threshold = rule.getThreshold();
+            this.clearBelow = rule.getThreshold() - rule.getHysteresis();
+            this.cooldownMillis = TimeUnit.SECONDS.toMillis(rule.getCooldownSeconds());
+        }
+    }
+
+    /**
+     * Rules grouped by the sensor or camera they apply to, so an update evaluates only its own rules
+     */
+    private static final class RuleIndex {
+
+        private static final RuleIndex EMPTY = new RuleIndex(List.of());
+
+        private final Map<UUID, AlertRule> byId = new HashMap<>();
+
+        private final Map<UUID, List<AlertRule>> bySensor = new HashMap<>();
+
+        private final Map<UUID, List<AlertRule>> byCamera = new HashMap<>();
+
+        private final List<AlertRule> fleet = new ArrayList<>();
+
+        private RuleIndex(Collection<AlertRule> rules) {
+            for (AlertRule rule : rules) {
+                byId.put(rule.id, rule);
+                switch (rule.scope) {
+                    case SENSOR:
+                        bySensor.computeIfAbsent(rule.sensorId, id -> new ArrayList<>()).add(rule);
+                        break;
+                    case CAMERA:
+                        byCamera.computeIfAbsent(rule.cameraId, id -> new ArrayList<>()).add(rule);
+                        break;
+                    case FLEET:
+                        fleet.add(rule);
+                        break;
+                    default:
+                        log.warn("Ignoring alert rule with unsupported scope, ruleId:{}", rule.id);
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return byId.isEmpty();
+        }
+    }
+
+    private static final class AlertKey {
+
+        private final UUID ruleId;
+
+        private final UUID sensorId;
+
+        private AlertKey(UUID ruleId, UUID sensorId) {
+            this.ruleId = ruleId;
+            this.sensorId = sensorId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof AlertKey)) {
+                return false;
+            }
+            AlertKey key = (AlertKey) other;
+            return ruleId.equals(key.ruleId) && sensorId.equals(key.sensorId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ruleId, sensorId);
+        }
+    }
+
+    /**
+     * Raised state of one rule and sensor, an alert is raised above the threshold, cleared below the threshold minus
+     * the hysteresis, and not raised again before the cooldown since the last raise has passed
+     */
+    private static final class AlertStatus {
+
+        private boolean raised;
+
+        private long raisedAt;
+
+        private synchronized AlertState evaluate(AlertRule rule, double value, long now) {
+            if (!raised && value > rule.threshold) {
+                if (raisedAt != 0 && now - raisedAt < rule.cooldownMillis) {
+                    return null;
+                }
+                raised = true;
+                raisedAt = now;
+                return AlertState.RAISED;
+            }
+            if (raised && value < rule.clearBelow) {
+                raised = false;
+                return AlertState.CLEARED;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertSink;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertStreamService;
+import com.onboarding.camera.cameraonboarding.util.SseBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class TemperatureAlertStreamServiceImpl implements TemperatureAlertStreamService, TemperatureAlertSink {
+
+    static final String ALERT_EVENT = "alert";
+
+    private final SseBroadcaster<TemperatureAlertResponse> broadcaster;
+
+    @Value("${alert.stream.max-cameras-per-subscription:1000}")
+    private int maxCamerasPerSubscription;
+
+    public TemperatureAlertStreamServiceImpl(@Value("${alert.stream.buffer-size:256}") int bufferSize,
+                                             @Value("${alert.stream.sender-threads:2}") int senderThreads) {
+        this.broadcaster = new SseBroadcaster<>("alert", bufferSize, senderThreads);
+    }
+
+    @Override
+    public void handleSubscribe(List<UUID> cameraIds, SseEmitter emitter) {
+        Set<UUID> filter = cameraIds == null ? Set.of() : new HashSet<>(cameraIds);
+        if (filter.size() > maxCamerasPerSubscription) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot subscribe to more than %d cameras, subscribe without cameras to get all", maxCamerasPerSubscription));
+        }
+        broadcaster.subscribe(filter, emitter);
+    }
+
+    @Override
+    public void send(TemperatureAlertResponse alert) {
+        if (broadcaster.hasSubscribers()) {
+            broadcaster.publish(alert.getCameraId(), alert.getSequence(), ALERT_EVENT, alert);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${alert.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+        log.info("Temperature alert stream stopped");
+    }
+}
@@ -1,23 +1,33 @@
 package com.onboarding.camera.cameraonboarding.service.impl;
 
-import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
 import com.onboarding.camera.cameraonboarding.repository.TemperatureSensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
 import com.onboarding.camera.cameraonboarding.service.SensorService;
+import com.onboarding.camera.cameraonboarding.service.SensorWriteBehindService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertService;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -27,17 +37,36 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
 
     private final TemperatureSensorRepository temperatureSensorRepository;
 
+    private final SensorRepository sensorRepository;
+
     private final CameraService cameraService;
 
+    private final CameraLookupService cameraLookupService;
+
     private final CameraMetricService cameraMetricService;
 
+    private final SensorLatestReadingService sensorLatestReadingService;
+
+    private final TemperatureAlertService temperatureAlertService;
+
+    private final SensorWriteBehindService sensorWriteBehindService;
+
+    private final CameraCacheEvictor cameraCacheEvictor;
+
+    private final SensorLookupService sensorLookupService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SensorChangeFilter sensorChangeFilter;
+
     @Override
     @Transactional
     @Timed("sensor.create")
     public TemperatureSensor handleCreateSensor(UUID cameraId, TemperatureSensor sensor) {
         try {
-            sensor.setCamera(cameraService.getCameraById(cameraId));
+            sensor.setCamera(cameraService.getCameraReference(cameraId));
             TemperatureSensor createdSensor = temperatureSensorRepository.save(sensor);
+            cameraCacheEvictor.evict(cameraId);
             log.info("Creating sensor: {}", createdSensor);
             cameraMetricService.incrementSensorCreateSuccess(SensorType.TEMPERATURE.name());
             return createdSensor;
@@ -55,9 +84,9 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
     @Override
     public List<TemperatureSensor> handleGetSensorsByCameraId(UUID cameraId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
+            cameraLookupService.getCamera(cameraId);
             log.info("Getting sensors by camera id: {}", cameraId);
-            return temperatureSensorRepository.findTemperatureSensorByCamera(camera);
+            return temperatureSensorRepository.findTemperatureSensorByCameraCamId(cameraId);
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
             throw ex;
@@ -67,24 +96,28 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
         }
     }
 
+    /**
+     * Updates repeating the last written values within the deadband of the type are skipped before the transaction
+     * starts and return the last written values without reading the database. Updates of types with write-behind
+     * enabled are acknowledged once buffered and written by its flusher, so they return the given sensor with the
+     * typed columns it will be written with, other updates are written and return the sensor as it was persisted,
+     * the camera is evicted once the transaction commits
+     */
     @Override
-    @Transactional
     @Timed("sensor.update")
     public TemperatureSensor handleUpdateSensor(UUID cameraId, UUID sensorId, TemperatureSensor sensor) {
+        if (sensorChangeFilter.isUnchanged(cameraId, sensorId, SensorType.TEMPERATURE,
+                sensor.getName(), sensor.getVersion(), sensor.getData())) {
+            log.debug("Skipped unchanged sensor update, sensorId:{}", sensorId);
+            return toWrittenSensor(sensorId, sensor);
+        }
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            TemperatureSensor existingSensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.TEMPERATURE))
-                    .map(s -> (TemperatureSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            existingSensor.setName(sensor.getName());
-            existingSensor.setVersion(sensor.getVersion());
-            existingSensor.setData(sensor.getData());
-            log.info("Updating sensor: {}", existingSensor);
+            TemperatureSensor updatedSensor = transactionTemplate.execute(status -> updateSensor(cameraId, sensorId, sensor));
+            // remembered once committed, so a rolled back update is not taken as the base of the deadband
+            sensorChangeFilter.recordWritten(cameraId, sensorId, SensorType.TEMPERATURE,
+                    sensor.getName(), sensor.getVersion(), sensor.getData());
             cameraMetricService.incrementSensorUpdateSuccess(SensorType.TEMPERATURE.name());
-            return temperatureSensorRepository.save(existingSensor);
+            return updatedSensor;
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.TEMPERATURE.name());
@@ -93,6 +126,10 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
             log.error("Sensor not found while updating, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.TEMPERATURE.name());
             throw ex;
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while updating, sensorId: {}", sensorId);
+            cameraMetricService.incrementSensorUpdateFailure(SensorType.TEMPERATURE.name());
+            throw ex;
         } catch (Exception ex) {
             log.error("Exception occurred while updating sensor, sensorId:{}", sensorId);
             cameraMetricService.incrementSensorUpdateFailure(SensorType.TEMPERATURE.name());
@@ -108,19 +145,19 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
     }
 
     @Override
+    @Transactional
     @Timed("sensor.delete")
     public void handleDeleteSensor(UUID cameraId, UUID sensorId) {
         try {
-            Camera camera = cameraService.getCameraById(cameraId);
-            TemperatureSensor sensor = camera.getSensors().stream()
-                    .filter(s -> s.getId().equals(sensorId) && s.getSensorType().equals(SensorType.TEMPERATURE))
-                    .map(s -> (TemperatureSensor) s)
-                    .findFirst()
-                    .orElseThrow(() -> new SensorNotFoundException(String.format("Sensor not found with id: %s", sensorId)));
-
-            camera.getSensors().remove(sensor);
-            temperatureSensorRepository.delete(sensor);
+            int deleted = sensorRepository.deleteSensor(cameraId, sensorId, SensorType.TEMPERATURE);
+            if (deleted == 0) {
+                throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.TEMPERATURE);
+            }
+            cameraCacheEvictor.evict(cameraId);
             log.info("Deleted sensor: {}", sensorId);
+            sensorLatestReadingService.handleSensorDeleted(sensorId);
+            sensorWriteBehindService.handleSensorDeleted(sensorId);
+            sensorChangeFilter.evict(sensorId);
             cameraMetricService.incrementSensorDeleteSuccess(SensorType.TEMPERATURE.name());
         } catch (CameraNotFoundException ex) {
             log.error("Camera not found, cameraId:{}", cameraId);
@@ -130,10 +167,49 @@ public class TemperatureSensorService implements SensorService<TemperatureSensor
             log.error("Sensor not found while deleting, sensorId: {}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.TEMPERATURE.name());
             throw ex;
+        } catch (SensorMismatchException ex) {
+            log.error("Sensor type mismatch while deleting, sensorId: {}", sensorId);
+            cameraMetricService.incrementSensorDeleteFailure(SensorType.TEMPERATURE.name());
+            throw ex;
         } catch (Exception ex) {
             log.error("Exception occurred while deleting sensor, sensorId:{}", sensorId);
             cameraMetricService.incrementSensorDeleteFailure(SensorType.TEMPERATURE.name());
             throw new SensorNotUpdatedException(String.format("Error occurred while deleting sensor: %s", ex.getMessage()));
         }
     }
+
+    private TemperatureSensor updateSensor(UUID cameraId, UUID sensorId, TemperatureSensor sensor) {
+        TemperatureSensor updatedSensor;
+        if (sensorWriteBehindService.offer(cameraId, sensorId, SensorType.TEMPERATURE,
+                sensor.getName(), sensor.getVersion(), sensor.getData())) {
+            sensor.setId(sensorId);
+            sensor.setSensorType(SensorType.TEMPERATURE);
+            sensor.applyPayload();
+            updatedSensor = sensor;
+        } else {
+            int updated = sensorRepository.updateSensor(cameraId, sensorId, SensorType.TEMPERATURE,
+                    sensor.getName(), sensor.getVersion(), sensor.getData());
+            if (updated == 0) {
+                throw sensorLookupService.toSensorLookupException(cameraId, sensorId, SensorType.TEMPERATURE);
+            }
+            cameraCacheEvictor.evict(cameraId);
+            updatedSensor = getSensorById(sensorId);
+        }
+
+        log.info("Updated sensor: {}", updatedSensor);
+        sensorLatestReadingService.handleSensorUpdated(cameraId, sensorId, SensorType.TEMPERATURE, updatedSensor.getData());
+        temperatureAlertService.handleSensorUpdated(cameraId, sensorId, updatedSensor.getData());
+        return updatedSensor;
+    }
+
+    /**
+     * Returns the given sensor with the last written data, a skipped update does not read the database
+     */
+    private TemperatureSensor toWrittenSensor(UUID sensorId, TemperatureSensor sensor) {
+        sensor.setId(sensorId);
+        sensor.setSensorType(SensorType.TEMPERATURE);
+        Optional.ofNullable(sensorChangeFilter.getWrittenData(sensorId)).ifPresent(sensor::setData);
+        sensor.applyPayload();
+        return sensor;
+    }
 }
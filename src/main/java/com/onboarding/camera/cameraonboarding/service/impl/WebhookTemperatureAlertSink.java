@@ -0,0 +1,90 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Posts every alert as JSON to a webhook. Requests are sent asynchronously, the number of requests in flight is bounded
+ * and alerts beyond it are dropped, so a slow webhook never holds up rule evaluation
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "alert.sink.webhook.url")
+public class WebhookTemperatureAlertSink implements TemperatureAlertSink {
+
+    private static final String SINK_NAME = "webhook";
+
+    private final ObjectMapper objectMapper;
+
+    private final CameraMetricService cameraMetricService;
+
+    private final URI url;
+
+    private final Duration timeout;
+
+    private final Semaphore inFlight;
+
+    private final HttpClient httpClient;
+
+    public WebhookTemperatureAlertSink(ObjectMapper objectMapper,
+                                       CameraMetricService cameraMetricService,
+                                       @Value("${alert.sink.webhook.url}") String url,
+                                       @Value("${alert.sink.webhook.timeout-ms:2000}") long timeoutMs,
+                                       @Value("${alert.sink.webhook.max-in-flight:64}") int maxInFlight) {
+        this.objectMapper = objectMapper;
+        this.cameraMetricService = cameraMetricService;
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public void send(TemperatureAlertResponse alert) {
+        if (!inFlight.tryAcquire()) {
+            log.warn("Webhook busy, dropping temperature alert, ruleId:{}, sensorId:{}", alert.getRuleId(), alert.getSensorId());
+            cameraMetricService.incrementTemperatureAlertSinkFailure(SINK_NAME);
+            return;
+        }
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(alert)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            inFlight.release();
+            throw new IllegalStateException("Temperature alert could not be serialized", ex);
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    inFlight.release();
+                    if (ex != null) {
+                        log.error("Exception occurred while posting temperature alert to webhook:ex:{}", ex.getMessage());
+                        cameraMetricService.incrementTemperatureAlertSinkFailure(SINK_NAME);
+                    } else if (response.statusCode() >= 300) {
+                        log.error("Webhook rejected temperature alert, status:{}", response.statusCode());
+                        cameraMetricService.incrementTemperatureAlertSinkFailure(SINK_NAME);
+                    }
+                });
+    }
+}
@@ -0,0 +1,101 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.exception.ImageRangeNotSatisfiableException;
+import org.springframework.http.HttpRange;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Single byte range of a download resolved from the Range and If-Range request headers. Only one range is served,
+ * a request for several ranges, a malformed Range header or an If-Range that does not match the current version of
+ * the content falls back to the whole content as the RFC 9110 allows
+ */
+public final class ByteRange {
+
+    private final long start;
+
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * this method is used for resolving the range to send for a download
+     *
+     * @param range         Range header, may be null
+     * @param ifRange       If-Range header, may be null
+     * @param eTag          strong entity tag of the content
+     * @param lastModified  last modification time of the content
+     * @param contentLength length of the content
+     * @return the range to send, null if the whole content is to be sent
+     * @throws ImageRangeNotSatisfiableException if the range starts after the end of the content
+     */
+    public static ByteRange resolve(String range, String ifRange, String eTag, OffsetDateTime lastModified, long contentLength) {
+        if (range == null || range.isBlank() || (ifRange != null && !matches(ifRange.trim(), eTag, lastModified))) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+
+        HttpRange httpRange = ranges.get(0);
+        long start = httpRange.getRangeStart(contentLength);
+        if (start >= contentLength) {
+            throw new ImageRangeNotSatisfiableException(
+                    String.format("Range %s is not satisfiable for %d bytes", range, contentLength), contentLength);
+        }
+        return new ByteRange(start, httpRange.getRangeEnd(contentLength));
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return last byte of the range, inclusive
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param contentLength length of the whole content
+     * @return value of the Content-Range header of a 206 response
+     */
+    public String toContentRange(long contentLength) {
+        return String.format("bytes %d-%d/%d", start, end, contentLength);
+    }
+
+    /**
+     * If-Range carries either an entity tag, compared strongly, or the Last-Modified date of the content
+     */
+    private static boolean matches(String ifRange, String eTag, OffsetDateTime lastModified) {
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        if (ifRange.startsWith("W/") || lastModified == null) {
+            return false;
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond() == lastModified.toEpochSecond();
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for camera listings, it carries the (created_at, cam_id) of the last row of a page
+ */
+@Data
+@AllArgsConstructor
+public class CameraCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime createdAt;
+
+    private UUID cameraId;
+
+    /**
+     * this method is used for encoding the cursor into an url safe token
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + cameraId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * this method is used for decoding a cursor token returned by a previous page
+     *
+     * @param token encoded cursor
+     * @return decoded cursor
+     * @throws IllegalArgumentException if token is not a valid cursor
+     */
+    public static CameraCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException(String.format("Invalid cursor: %s", token));
+            }
+            return new CameraCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException(String.format("Invalid cursor: %s", token));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streaming decoder of a block written by {@link GorillaBlockEncoder}, readings are decoded one at a time so a
+ * block is never expanded into an array of readings
+ */
+public class GorillaBlockDecoder {
+
+    private final byte[] payload;
+
+    private final int count;
+
+    private long bitPosition = GorillaBlockEncoder.HEADER_BYTES * 8L;
+
+    private int decoded;
+
+    private long timestamp;
+
+    private long delta;
+
+    private long valueBits;
+
+    private int leadingZeros;
+
+    private int trailingZeros;
+
+    /**
+     * @param payload encoded block
+     * @throws IllegalArgumentException if the payload has no header
+     */
+    public GorillaBlockDecoder(byte[] payload) {
+        if (payload == null || payload.length < GorillaBlockEncoder.HEADER_BYTES) {
+            throw new IllegalArgumentException("Sensor reading block payload is truncated");
+        }
+        this.payload = payload;
+        this.count = ByteBuffer.wrap(payload).getInt();
+    }
+
+    /**
+     * @return number of readings in the block
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * this method is used for decoding the next reading of the block
+     *
+     * @return false once every reading is decoded
+     */
+    public boolean next() {
+        if (decoded == count) {
+            return false;
+        }
+        if (decoded == 0) {
+            timestamp = readBits(64);
+            valueBits = readBits(64);
+        } else {
+            delta += readDeltaOfDelta();
+            timestamp += delta;
+            valueBits ^= readValueXor();
+        }
+        decoded++;
+        return true;
+    }
+
+    /**
+     * @return epoch millis of the current reading
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return value of the current reading
+     */
+    public double getValue() {
+        return Double.longBitsToDouble(valueBits);
+    }
+
+    private long readDeltaOfDelta() {
+        if (readBits(1) == 0) {
+            return 0;
+        }
+        if (readBits(1) == 0) {
+            return readBits(7) - 63;
+        }
+        if (readBits(1) == 0) {
+            return readBits(9) - 255;
+        }
+        if (readBits(1) == 0) {
+            return readBits(12) - 2047;
+        }
+        return readBits(64);
+    }
+
+    private long readValueXor() {
+        if (readBits(1) == 0) {
+            return 0;
+        }
+        if (readBits(1) == 1) {
+            leadingZeros = (int) readBits(5);
+            int significantBits = (int) readBits(6) + 1;
+            trailingZeros = 64 - leadingZeros - significantBits;
+        }
+        return readBits(64 - leadingZeros - trailingZeros) << trailingZeros;
+    }
+
+    private long readBits(int bits) {
+        long value = 0;
+        int remaining = bits;
+        while (remaining > 0) {
+            int bytePosition = (int) (bitPosition >>> 3);
+            if (bytePosition >= payload.length) {
+                throw new IllegalStateException("Sensor reading block payload is truncated");
+            }
+            int available = 8 - (int) (bitPosition & 7);
+            int taken = Math.min(available, remaining);
+            int chunk = ((payload[bytePosition] & 0xFF) >>> (available - taken)) & ((1 << taken) - 1);
+            value = (value << taken) | chunk;
+            bitPosition += taken;
+            remaining -= taken;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,157 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Gorilla style encoder of a block of readings, timestamps are written as delta-of-deltas and values as the XOR with
+ * the previous value, regular sampling intervals and slowly changing values cost only a few bits per reading.
+ * The payload starts with the reading count followed by the first timestamp and value in full, readings must be
+ * added in time order and the block is decoded with {@link GorillaBlockDecoder}
+ */
+public class GorillaBlockEncoder {
+
+    static final int HEADER_BYTES = Integer.BYTES;
+
+    private long[] words = new long[16];
+
+    private int bitPosition;
+
+    private int count;
+
+    private long firstTimestamp;
+
+    private long previousTimestamp;
+
+    private long previousDelta;
+
+    private long previousValueBits;
+
+    private int previousLeadingZeros = -1;
+
+    private int previousTrailingZeros;
+
+    /**
+     * this method is used for appending the next reading of the block
+     *
+     * @param timestamp epoch millis, not before the previous timestamp
+     * @param value     reading value
+     * @throws IllegalArgumentException if the timestamp is before the previous one
+     */
+    public void add(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            firstTimestamp = timestamp;
+            writeBits(timestamp, 64);
+            writeBits(valueBits, 64);
+        } else {
+            if (timestamp < previousTimestamp) {
+                throw new IllegalArgumentException("Readings of a block must be added in time order");
+            }
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            writeValue(valueBits ^ previousValueBits);
+            previousDelta = delta;
+        }
+        previousTimestamp = timestamp;
+        previousValueBits = valueBits;
+        count++;
+    }
+
+    /**
+     * @return number of readings added
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return epoch millis of the first reading
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return epoch millis of the last reading
+     */
+    public long getLastTimestamp() {
+        return previousTimestamp;
+    }
+
+    /**
+     * this method is used for getting the encoded block
+     *
+     * @return count header followed by the bit stream
+     */
+    public byte[] toByteArray() {
+        int bodyBytes = (bitPosition + 7) / 8;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bodyBytes);
+        buffer.putInt(count);
+        for (int i = 0; i < bodyBytes; i++) {
+            buffer.put((byte) (words[i / 8] >>> (56 - (i % 8) * 8)));
+        }
+        return buffer.array();
+    }
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writeBits(0, 1);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            writeBits(0b10, 2);
+            writeBits(deltaOfDelta + 63, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            writeBits(0b110, 3);
+            writeBits(deltaOfDelta + 255, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            writeBits(0b1110, 4);
+            writeBits(deltaOfDelta + 2047, 12);
+        } else {
+            writeBits(0b1111, 4);
+            writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(long xor) {
+        if (xor == 0) {
+            writeBits(0, 1);
+            return;
+        }
+        writeBits(1, 1);
+        int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailingZeros = Long.numberOfTrailingZeros(xor);
+        if (previousLeadingZeros >= 0 && leadingZeros >= previousLeadingZeros && trailingZeros >= previousTrailingZeros) {
+            // the meaningful bits fit into the window of the previous value, only they are written
+            writeBits(0, 1);
+            writeBits(xor >>> previousTrailingZeros, 64 - previousLeadingZeros - previousTrailingZeros);
+            return;
+        }
+        int significantBits = 64 - leadingZeros - trailingZeros;
+        writeBits(1, 1);
+        writeBits(leadingZeros, 5);
+        writeBits(significantBits - 1, 6);
+        writeBits(xor >>> trailingZeros, significantBits);
+        previousLeadingZeros = leadingZeros;
+        previousTrailingZeros = trailingZeros;
+    }
+
+    private void writeBits(long value, int bits) {
+        int remaining = bits;
+        while (remaining > 0) {
+            int wordIndex = bitPosition >>> 6;
+            if (wordIndex == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            int free = 64 - (bitPosition & 63);
+            int written = Math.min(free, remaining);
+            long chunk = (value >>> (remaining - written)) & mask(written);
+            words[wordIndex] |= chunk << (free - written);
+            bitPosition += written;
+            remaining -= written;
+        }
+    }
+
+    private static long mask(int bits) {
+        return bits == 64 ? -1L : (1L << bits) - 1;
+    }
+}
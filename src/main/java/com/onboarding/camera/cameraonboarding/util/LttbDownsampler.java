@@ -0,0 +1,185 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import java.util.Arrays;
+
+/**
+ * Streaming Largest-Triangle-Three-Buckets downsampler over primitive buffers.
+ * Points must be added in time order and the total number of points must be known up front, only the points of
+ * two buckets are held at a time so memory is bounded by the output size and the raw density per bucket
+ */
+public class LttbDownsampler {
+
+    private final double every;
+
+    private final boolean passThrough;
+
+    private final PointBuffer selected;
+
+    private PointBuffer current = new PointBuffer(16);
+
+    private PointBuffer next = new PointBuffer(16);
+
+    private long index;
+
+    private long bucket;
+
+    private long bucketEnd;
+
+    /**
+     * @param total     number of points that will be added
+     * @param threshold maximum number of points to keep, at least 3
+     * @throws IllegalArgumentException if threshold is less than 3
+     */
+    public LttbDownsampler(long total, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("Downsampling threshold must be at least 3");
+        }
+        this.passThrough = total <= threshold;
+        this.every = passThrough ? 0 : (double) (total - 2) / (threshold - 2);
+        this.selected = new PointBuffer((int) Math.min(total, threshold));
+        this.bucketEnd = bucketEnd(0);
+    }
+
+    /**
+     * this method is used for adding the next point in time order
+     *
+     * @param timestamp epoch millis of the point
+     * @param value     value of the point
+     */
+    public void add(long timestamp, double value) {
+        long pointIndex = index++;
+        if (passThrough || pointIndex == 0) {
+            selected.add(timestamp, value);
+            return;
+        }
+        if (pointIndex >= bucketEnd) {
+            if (current.size > 0) {
+                selectFrom(current, next.averageTimestamp(), next.averageValue());
+            }
+            PointBuffer filled = next;
+            next = current;
+            current = filled;
+            next.clear();
+            bucket++;
+            bucketEnd = bucketEnd(bucket);
+        }
+        next.add(timestamp, value);
+    }
+
+    /**
+     * this method is used for getting the timestamps of the kept points, the first and last points are always kept
+     *
+     * @return epoch millis of the kept points
+     */
+    public long[] timestamps() {
+        return Arrays.copyOf(selected.timestamps, selected.size);
+    }
+
+    /**
+     * this method is used for getting the values matching {@link #timestamps()}
+     *
+     * @return values of the kept points
+     */
+    public double[] values() {
+        return Arrays.copyOf(selected.values, selected.size);
+    }
+
+    /**
+     * @return number of points added so far
+     */
+    public long getAdded() {
+        return index;
+    }
+
+    /**
+     * this method is used for selecting from the buckets still pending once every point is added
+     */
+    public void finish() {
+        if (passThrough || next.size == 0) {
+            return;
+        }
+        int lastIndex = next.size - 1;
+        long lastTimestamp = next.timestamps[lastIndex];
+        double lastValue = next.values[lastIndex];
+        if (current.size > 0) {
+            selectFrom(current, lastTimestamp, lastValue);
+        }
+        // fewer points than announced leave a partial bucket in front of the last point
+        next.size = lastIndex;
+        if (next.size > 0) {
+            selectFrom(next, lastTimestamp, lastValue);
+        }
+        current.clear();
+        next.clear();
+        selected.add(lastTimestamp, lastValue);
+    }
+
+    private long bucketEnd(long bucketIndex) {
+        return (long) Math.floor((bucketIndex + 1) * every) + 1;
+    }
+
+    /**
+     * Keeps the point of the bucket forming the largest triangle with the last kept point and the average of the
+     * following bucket
+     */
+    private void selectFrom(PointBuffer candidates, double nextTimestamp, double nextValue) {
+        int last = selected.size - 1;
+        double previousTimestamp = selected.timestamps[last];
+        double previousValue = selected.values[last];
+        double maxArea = -1;
+        int maxIndex = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            double area = Math.abs((previousTimestamp - nextTimestamp) * (candidates.values[i] - previousValue)
+                    - (previousTimestamp - candidates.timestamps[i]) * (nextValue - previousValue));
+            if (area > maxArea) {
+                maxArea = area;
+                maxIndex = i;
+            }
+        }
+        selected.add(candidates.timestamps[maxIndex], candidates.values[maxIndex]);
+    }
+
+    private static final class PointBuffer {
+
+        private long[] timestamps;
+
+        private double[] values;
+
+        private int size;
+
+        private PointBuffer(int capacity) {
+            timestamps = new long[Math.max(capacity, 1)];
+            values = new double[Math.max(capacity, 1)];
+        }
+
+        private void add(long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        private double averageTimestamp() {
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += timestamps[i];
+            }
+            return sum / size;
+        }
+
+        private double averageValue() {
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum / size;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
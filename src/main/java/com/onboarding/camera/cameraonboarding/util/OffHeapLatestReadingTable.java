@@ -0,0 +1,339 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Latest reading per sensor in an open addressing hash table held in a direct buffer, UUIDs are stored as two longs
+ * so millions of entries add no objects to the heap. Writers take a write lock, readers run lock free with an
+ * optimistic stamp and fall back to a read lock only when a write raced them. Every slot keeps the time it was cached
+ * at, so callers can treat entries older than their ttl as missing
+ */
+public class OffHeapLatestReadingTable {
+
+    /**
+     * Used for readings whose time is unknown, such as values taken from the sensor data on a cache miss
+     */
+    public static final long UNKNOWN_TIME = Long.MIN_VALUE;
+
+    private static final int SENSOR_MSB = 0;
+    private static final int SENSOR_LSB = 8;
+    private static final int CAMERA_MSB = 16;
+    private static final int CAMERA_LSB = 24;
+    private static final int RECORDED_AT = 32;
+    private static final int VALUE = 40;
+    private static final int SENSOR_TYPE = 48;
+    private static final int STATE = 52;
+    private static final int CACHED_AT = 56;
+    private static final int SLOT_BYTES = 64;
+
+    private static final int STATE_USED = 1;
+
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+
+    private static final SensorType[] SENSOR_TYPES = SensorType.values();
+
+    private final StampedLock lock = new StampedLock();
+
+    private final int maxCapacity;
+
+    private ByteBuffer table;
+
+    private int size;
+
+    /**
+     * @param initialCapacity initial number of slots, rounded up to a power of two
+     * @param maxCapacity     maximum number of slots, the table stops accepting new sensors at 75% of it
+     */
+    public OffHeapLatestReadingTable(int initialCapacity, int maxCapacity) {
+        int capacity = tableSizeFor(initialCapacity);
+        // rounded down, a single direct buffer cannot exceed Integer.MAX_VALUE bytes
+        this.maxCapacity = Math.max(capacity, Integer.highestOneBit(Math.min(maxCapacity, Integer.MAX_VALUE / SLOT_BYTES)));
+        this.table = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+    }
+
+    /**
+     * this method is used for storing the latest reading of a sensor, an older reading does not replace a newer one
+     *
+     * @param cameraId   camera of the sensor
+     * @param sensorId   sensor id
+     * @param sensorType sensor type
+     * @param recordedAt epoch millis of the reading, {@link #UNKNOWN_TIME} if unknown
+     * @param value      reading value
+     * @param cachedAt   epoch millis the reading is cached at
+     * @return false if the table is full and the sensor was not stored
+     */
+    public boolean put(UUID cameraId, UUID sensorId, SensorType sensorType, long recordedAt, double value, long cachedAt) {
+        long stamp = lock.writeLock();
+        try {
+            return putLocked(cameraId, sensorId, sensorType, recordedAt, value, cachedAt);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * this method is used for storing the readings of a batch under a single write lock
+     *
+     * @param readings readings of the batch
+     * @param cachedAt epoch millis the readings are cached at
+     * @return number of readings that could not be stored because the table is full
+     */
+    public int putAll(List<SensorReadingRow> readings, long cachedAt) {
+        int rejected = 0;
+        long stamp = lock.writeLock();
+        try {
+            for (SensorReadingRow reading : readings) {
+                if (!putLocked(reading.getCameraId(), reading.getSensorId(), reading.getSensorType(),
+                        toEpochMillis(reading.getRecordedAt()), reading.getValue(), cachedAt)) {
+                    rejected++;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return rejected;
+    }
+
+    /**
+     * this method is used for getting the latest reading of a sensor
+     *
+     * @param sensorId     sensor id
+     * @param cachedAfter  epoch millis, a reading cached before it is treated as missing
+     * @return latest reading, null if the sensor is not in the table or its reading expired
+     */
+    public SensorLatestReadingResponse get(UUID sensorId, long cachedAfter) {
+        long msb = sensorId.getMostSignificantBits();
+        long lsb = sensorId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        SlotView view = stamp == 0 ? null : read(msb, lsb);
+        if (stamp == 0 || !lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                view = read(msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return view == null || view.cachedAt < cachedAfter ? null : view.toResponse(sensorId);
+    }
+
+    /**
+     * this method is used for removing a sensor, for example when it is deleted
+     *
+     * @param sensorId sensor id
+     * @return true if the sensor was in the table
+     */
+    public boolean remove(UUID sensorId) {
+        long stamp = lock.writeLock();
+        try {
+            int index = find(table, sensorId.getMostSignificantBits(), sensorId.getLeastSignificantBits());
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return number of sensors in the table
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return size of the direct buffer in bytes
+     */
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return table.capacity();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean putLocked(UUID cameraId, UUID sensorId, SensorType sensorType, long recordedAt, double value,
+                              long cachedAt) {
+        long msb = sensorId.getMostSignificantBits();
+        long lsb = sensorId.getLeastSignificantBits();
+        int index = find(table, msb, lsb);
+        if (index >= 0) {
+            int offset = index * SLOT_BYTES;
+            if (recordedAt < table.getLong(offset + RECORDED_AT)) {
+                return true;
+            }
+            writeSlot(table, offset, msb, lsb, cameraId, sensorType, recordedAt, value, cachedAt);
+            return true;
+        }
+        if ((size + 1) * 4L > capacity(table) * 3L && !grow()) {
+            return false;
+        }
+        index = find(table, msb, lsb);
+        writeSlot(table, (-index - 1) * SLOT_BYTES, msb, lsb, cameraId, sensorType, recordedAt, value, cachedAt);
+        size++;
+        return true;
+    }
+
+    private SlotView read(long msb, long lsb) {
+        ByteBuffer current = table;
+        int index = find(current, msb, lsb);
+        if (index < 0) {
+            return null;
+        }
+        int offset = index * SLOT_BYTES;
+        return new SlotView(current.getLong(offset + CAMERA_MSB), current.getLong(offset + CAMERA_LSB),
+                current.getInt(offset + SENSOR_TYPE), current.getLong(offset + RECORDED_AT), current.getDouble(offset + VALUE),
+                current.getLong(offset + CACHED_AT));
+    }
+
+    /**
+     * Linear probing from the home slot of the sensor
+     *
+     * @return index of the sensor, or -(index of the free slot) - 1 if it is absent, NO_SLOT if the table was torn
+     */
+    private static int find(ByteBuffer buffer, long msb, long lsb) {
+        int capacity = capacity(buffer);
+        int mask = capacity - 1;
+        int index = home(msb, lsb, mask);
+        for (int probes = 0; probes < capacity; probes++) {
+            int offset = index * SLOT_BYTES;
+            if (buffer.getInt(offset + STATE) != STATE_USED) {
+                return -index - 1;
+            }
+            if (buffer.getLong(offset + SENSOR_MSB) == msb && buffer.getLong(offset + SENSOR_LSB) == lsb) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Backward shift deletion, entries after the removed one move back so no tombstones are needed
+     */
+    private void removeAt(int index) {
+        int mask = capacity(table) - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (table.getInt(next * SLOT_BYTES + STATE) == STATE_USED) {
+            int offset = next * SLOT_BYTES;
+            int home = home(table.getLong(offset + SENSOR_MSB), table.getLong(offset + SENSOR_LSB), mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                copySlot(table, offset, table, hole * SLOT_BYTES);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table.putInt(hole * SLOT_BYTES + STATE, 0);
+        size--;
+    }
+
+    private boolean grow() {
+        int capacity = capacity(table);
+        if (capacity * 2 > maxCapacity) {
+            return false;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity * 2 * SLOT_BYTES);
+        for (int index = 0; index < capacity; index++) {
+            int offset = index * SLOT_BYTES;
+            if (table.getInt(offset + STATE) == STATE_USED) {
+                int free = find(grown, table.getLong(offset + SENSOR_MSB), table.getLong(offset + SENSOR_LSB));
+                copySlot(table, offset, grown, (-free - 1) * SLOT_BYTES);
+            }
+        }
+        table = grown;
+        return true;
+    }
+
+    private static void writeSlot(ByteBuffer buffer, int offset, long msb, long lsb, UUID cameraId, SensorType sensorType,
+                                  long recordedAt, double value, long cachedAt) {
+        buffer.putLong(offset + SENSOR_MSB, msb);
+        buffer.putLong(offset + SENSOR_LSB, lsb);
+        buffer.putLong(offset + CAMERA_MSB, cameraId.getMostSignificantBits());
+        buffer.putLong(offset + CAMERA_LSB, cameraId.getLeastSignificantBits());
+        buffer.putLong(offset + RECORDED_AT, recordedAt);
+        buffer.putDouble(offset + VALUE, value);
+        buffer.putInt(offset + SENSOR_TYPE, sensorType.ordinal());
+        buffer.putInt(offset + STATE, STATE_USED);
+        buffer.putLong(offset + CACHED_AT, cachedAt);
+    }
+
+    private static void copySlot(ByteBuffer source, int sourceOffset, ByteBuffer target, int targetOffset) {
+        for (int i = 0; i < SLOT_BYTES; i += Long.BYTES) {
+            target.putLong(targetOffset + i, source.getLong(sourceOffset + i));
+        }
+    }
+
+    private static int capacity(ByteBuffer buffer) {
+        return buffer.capacity() / SLOT_BYTES;
+    }
+
+    private static int home(long msb, long lsb, int mask) {
+        long hash = msb ^ lsb;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int bounded = Math.max(2, capacity);
+        return Integer.highestOneBit(bounded - 1) << 1;
+    }
+
+    private static long toEpochMillis(LocalDateTime recordedAt) {
+        return recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Slot values copied out of the buffer, turned into a response only once the read is known to be consistent
+     */
+    private static final class SlotView {
+
+        private final long cameraMsb;
+
+        private final long cameraLsb;
+
+        private final int sensorType;
+
+        private final long recordedAt;
+
+        private final double value;
+
+        private final long cachedAt;
+
+        private SlotView(long cameraMsb, long cameraLsb, int sensorType, long recordedAt, double value, long cachedAt) {
+            this.cameraMsb = cameraMsb;
+            this.cameraLsb = cameraLsb;
+            this.sensorType = sensorType;
+            this.recordedAt = recordedAt;
+            this.value = value;
+            this.cachedAt = cachedAt;
+        }
+
+        private SensorLatestReadingResponse toResponse(UUID sensorId) {
+            LocalDateTime time = recordedAt == UNKNOWN_TIME ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(recordedAt), ZoneOffset.UTC);
+            return new SensorLatestReadingResponse(new UUID(cameraMsb, cameraLsb), sensorId, SENSOR_TYPES[sensorType],
+                    time, value);
+        }
+    }
+}
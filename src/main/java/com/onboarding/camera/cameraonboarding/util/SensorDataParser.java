@@ -0,0 +1,24 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+/**
+ * Reads the data of a sensor as a reading value through {@link SensorPayloadSchema}, so data sent in another unit is
+ * read in the unit of the typed columns, motion sensors report true or false and their confidence is ignored
+ */
+public final class SensorDataParser {
+
+    private SensorDataParser() {
+    }
+
+    /**
+     * this method is used for converting sensor data to a reading value
+     *
+     * @param sensorType sensor type
+     * @param data       sensor data as stored
+     * @return the canonical number, 1 for true and 0 for false, null if the data does not follow the schema of the type
+     */
+    public static Double toValue(SensorType sensorType, String data) {
+        return SensorPayloadSchema.toPayload(sensorType, data).getValue();
+    }
+}
@@ -0,0 +1,43 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+/**
+ * Typed form of the data of a sensor as stored in its own columns, fields not defined by the schema of the sensor
+ * type are null
+ */
+public final class SensorPayload {
+
+    public static final SensorPayload EMPTY = new SensorPayload(null, null, null);
+
+    private final Double value;
+
+    private final String unit;
+
+    private final Double confidence;
+
+    public SensorPayload(Double value, String unit, Double confidence) {
+        this.value = value;
+        this.unit = unit;
+        this.confidence = confidence;
+    }
+
+    /**
+     * @return degrees Celsius for temperature, lux for light, 1 for detected and 0 for cleared motion
+     */
+    public Double getValue() {
+        return value;
+    }
+
+    /**
+     * @return unit of the value, null for motion
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return confidence of a motion event between 0 and 1, null if not reported or not a motion sensor
+     */
+    public Double getConfidence() {
+        return confidence;
+    }
+}
@@ -0,0 +1,186 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Schema of the data of each sensor type. Data is validated when it enters the API and stored as sent, its canonical
+ * form only lives in the typed columns of a sensor, which are derived from the data whenever the sensor is written:
+ * <pre>
+ * TEMPERATURE  number with an optional unit C, F or K, e.g. "72.5 F", canonical form is the number in Celsius, "22.5"
+ * LIGHT        non-negative number with an optional unit lx or lux, canonical form is the number in lux, "350"
+ * MOTION       true, false, detected or cleared with an optional confidence between 0 and 1, e.g. "detected 0.87",
+ *              canonical form is true or false followed by the confidence if any, "true 0.87"
+ * </pre>
+ * Readers of stored data go through {@link #toPayload} or {@link SensorDataParser}, never read the data directly
+ */
+public final class SensorPayloadSchema {
+
+    public static final String CELSIUS = "C";
+
+    public static final String LUX = "lx";
+
+    private static final String DEGREE_SIGN = "\u00B0"; // degree sign
+
+    private static final Pattern NUMBER_WITH_UNIT =
+            Pattern.compile("([-+]?(?:\\d+\\.?\\d*|\\.\\d+)(?:[eE][-+]?\\d+)?)\\s*(" + DEGREE_SIGN + "?[a-zA-Z]+)?");
+
+    private static final Pattern MOTION = Pattern.compile("([a-zA-Z]+)(?:\\s+(\\S+))?");
+
+    private static final double ABSOLUTE_ZERO_CELSIUS = -273.15;
+
+    private static final int CONVERTED_SCALE = 2;
+
+    private SensorPayloadSchema() {
+    }
+
+    /**
+     * this method is used for validating sensor data against the schema of its type, the data is stored as sent
+     *
+     * @param sensorType sensor type
+     * @param data       sensor data as sent by the client
+     * @throws IllegalArgumentException if the data does not follow the schema of the type
+     */
+    public static void validate(SensorType sensorType, String data) {
+        normalize(sensorType, data);
+    }
+
+    /**
+     * this method is used for validating sensor data against the schema of its type and converting it to its
+     * canonical form
+     *
+     * @param sensorType sensor type
+     * @param data       sensor data as sent by the client
+     * @return canonical data, null if the data is null or blank
+     * @throws IllegalArgumentException if the data does not follow the schema of the type
+     */
+    public static String normalize(SensorType sensorType, String data) {
+        if (data == null || data.isBlank()) {
+            return null;
+        }
+        String trimmed = data.trim();
+        switch (sensorType) {
+            case TEMPERATURE:
+                return format(toCelsius(trimmed));
+            case LIGHT:
+                return format(toLux(trimmed));
+            case MOTION:
+                return normalizeMotion(trimmed);
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported sensor type: %s", sensorType));
+        }
+    }
+
+    /**
+     * this method is used for deriving the typed columns of a sensor from its data
+     *
+     * @param sensorType sensor type
+     * @param data       data as stored
+     * @return the payload, {@link SensorPayload#EMPTY} if the data is blank or was stored before the schema existed
+     */
+    public static SensorPayload toPayload(SensorType sensorType, String data) {
+        if (sensorType == null || data == null || data.isBlank()) {
+            return SensorPayload.EMPTY;
+        }
+        try {
+            String canonical = normalize(sensorType, data);
+            if (sensorType != SensorType.MOTION) {
+                return new SensorPayload(Double.valueOf(canonical), sensorType == SensorType.LIGHT ? LUX : CELSIUS, null);
+            }
+            int separator = canonical.indexOf(' ');
+            String event = separator < 0 ? canonical : canonical.substring(0, separator);
+            Double confidence = separator < 0 ? null : Double.valueOf(canonical.substring(separator + 1));
+            return new SensorPayload(Boolean.parseBoolean(event) ? 1.0 : 0.0, null, confidence);
+        } catch (IllegalArgumentException ex) {
+            return SensorPayload.EMPTY;
+        }
+    }
+
+    private static BigDecimal toCelsius(String data) {
+        Matcher matcher = match(NUMBER_WITH_UNIT, data, "a number with an optional unit C, F or K");
+        BigDecimal value = new BigDecimal(matcher.group(1));
+        String unit = matcher.group(2) == null ? CELSIUS : matcher.group(2).replace(DEGREE_SIGN, "").toUpperCase(Locale.ROOT);
+        BigDecimal celsius;
+        switch (unit) {
+            case "C":
+                celsius = value;
+                break;
+            case "F":
+                celsius = value.subtract(BigDecimal.valueOf(32)).multiply(BigDecimal.valueOf(5))
+                        .divide(BigDecimal.valueOf(9), CONVERTED_SCALE, RoundingMode.HALF_UP);
+                break;
+            case "K":
+                celsius = value.add(BigDecimal.valueOf(ABSOLUTE_ZERO_CELSIUS)).setScale(CONVERTED_SCALE, RoundingMode.HALF_UP);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported temperature unit: %s", matcher.group(2)));
+        }
+        if (celsius.compareTo(BigDecimal.valueOf(ABSOLUTE_ZERO_CELSIUS)) < 0) {
+            throw new IllegalArgumentException("Temperature cannot be below absolute zero");
+        }
+        return celsius;
+    }
+
+    private static BigDecimal toLux(String data) {
+        Matcher matcher = match(NUMBER_WITH_UNIT, data, "a number with an optional unit lx");
+        String unit = matcher.group(2);
+        if (unit != null && !LUX.equalsIgnoreCase(unit) && !"lux".equalsIgnoreCase(unit)) {
+            throw new IllegalArgumentException(String.format("Unsupported light unit: %s", unit));
+        }
+        BigDecimal lux = new BigDecimal(matcher.group(1));
+        if (lux.signum() < 0) {
+            throw new IllegalArgumentException("Light cannot be negative");
+        }
+        return lux;
+    }
+
+    private static String normalizeMotion(String data) {
+        Matcher matcher = match(MOTION, data, "true, false, detected or cleared with an optional confidence");
+        String event;
+        switch (matcher.group(1).toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "detected":
+                event = "true";
+                break;
+            case "false":
+            case "cleared":
+                event = "false";
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported motion event: %s", matcher.group(1)));
+        }
+        if (matcher.group(2) == null) {
+            return event;
+        }
+        BigDecimal confidence;
+        try {
+            confidence = new BigDecimal(matcher.group(2));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format("Motion confidence is not a number: %s", matcher.group(2)));
+        }
+        if (confidence.signum() < 0 || confidence.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Motion confidence must be between 0 and 1");
+        }
+        return event + " " + format(confidence);
+    }
+
+    private static Matcher match(Pattern pattern, String data, String expected) {
+        Matcher matcher = pattern.matcher(data);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(String.format("Invalid sensor data: %s, expected %s", data, expected));
+        }
+        return matcher;
+    }
+
+    private static String format(BigDecimal value) {
+        if (!Double.isFinite(value.doubleValue())) {
+            throw new IllegalArgumentException("Sensor data is out of range");
+        }
+        return value.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,194 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Compact binary format of sensor readings sent over UDP, all numbers are big endian:
+ * <pre>
+ * header, 18 bytes:   version (1, = 1), camera id (16, most then least significant bits), reading count (1, unsigned)
+ * reading, 33 bytes:  sensor id (16), sensor type (1, 1 motion, 2 temperature, 3 light),
+ *                     recorded at (8, epoch millis UTC, 0 for the time of receipt), value (8, IEEE 754 double)
+ * </pre>
+ * An instance is a reusable cursor over one datagram at a time, decoding reads straight from the buffer into
+ * primitive fields so no objects are created per datagram or reading
+ */
+public class SensorReadingDatagram {
+
+    public static final byte VERSION = 1;
+
+    public static final int HEADER_BYTES = 18;
+
+    public static final int READING_BYTES = 33;
+
+    public static final int MAX_READINGS = 255;
+
+    public static final int MAX_BYTES = HEADER_BYTES + MAX_READINGS * READING_BYTES;
+
+    private ByteBuffer datagram;
+
+    private long cameraMsb;
+
+    private long cameraLsb;
+
+    private int remaining;
+
+    private long sensorMsb;
+
+    private long sensorLsb;
+
+    private SensorType sensorType;
+
+    private long recordedAt;
+
+    private double value;
+
+    /**
+     * this method is used for starting to decode a datagram, the buffer is read from its position to its limit
+     *
+     * @param buffer received datagram
+     * @return false if the header is malformed or the length does not match the reading count
+     */
+    public boolean reset(ByteBuffer buffer) {
+        this.datagram = null;
+        this.remaining = 0;
+        if (buffer.remaining() < HEADER_BYTES || buffer.get(buffer.position()) != VERSION) {
+            return false;
+        }
+        int start = buffer.position();
+        int count = Byte.toUnsignedInt(buffer.get(start + 17));
+        if (count == 0 || buffer.remaining() != HEADER_BYTES + count * READING_BYTES) {
+            return false;
+        }
+        this.cameraMsb = buffer.getLong(start + 1);
+        this.cameraLsb = buffer.getLong(start + 9);
+        this.remaining = count;
+        this.datagram = buffer;
+        buffer.position(start + HEADER_BYTES);
+        return true;
+    }
+
+    /**
+     * this method is used for moving to the next reading of the datagram
+     *
+     * @return false if every reading has been read
+     */
+    public boolean next() {
+        if (remaining == 0) {
+            return false;
+        }
+        remaining--;
+        sensorMsb = datagram.getLong();
+        sensorLsb = datagram.getLong();
+        sensorType = toSensorType(datagram.get());
+        recordedAt = datagram.getLong();
+        value = datagram.getDouble();
+        return true;
+    }
+
+    public long getCameraMsb() {
+        return cameraMsb;
+    }
+
+    public long getCameraLsb() {
+        return cameraLsb;
+    }
+
+    /**
+     * @return number of readings not read yet
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public long getSensorMsb() {
+        return sensorMsb;
+    }
+
+    public long getSensorLsb() {
+        return sensorLsb;
+    }
+
+    /**
+     * @return type of the current reading, null if the type code is unknown
+     */
+    public SensorType getSensorType() {
+        return sensorType;
+    }
+
+    /**
+     * @return epoch millis of the current reading, 0 if the device did not send a time
+     */
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * this method is used for writing the header of a datagram, mainly for clients and tests
+     *
+     * @param buffer   target buffer
+     * @param cameraId camera id
+     * @param count    number of readings that follow, 1 to 255
+     */
+    public static void writeHeader(ByteBuffer buffer, UUID cameraId, int count) {
+        if (count < 1 || count > MAX_READINGS) {
+            throw new IllegalArgumentException(String.format("A datagram carries 1 to %d readings", MAX_READINGS));
+        }
+        buffer.put(VERSION);
+        buffer.putLong(cameraId.getMostSignificantBits());
+        buffer.putLong(cameraId.getLeastSignificantBits());
+        buffer.put((byte) count);
+    }
+
+    /**
+     * this method is used for writing one reading of a datagram, mainly for clients and tests
+     *
+     * @param buffer     target buffer
+     * @param sensorId   sensor id
+     * @param sensorType sensor type
+     * @param recordedAt epoch millis, 0 for the time of receipt
+     * @param value      reading value
+     */
+    public static void writeReading(ByteBuffer buffer, UUID sensorId, SensorType sensorType, long recordedAt, double value) {
+        buffer.putLong(sensorId.getMostSignificantBits());
+        buffer.putLong(sensorId.getLeastSignificantBits());
+        buffer.put(toCode(sensorType));
+        buffer.putLong(recordedAt);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * The codes are part of the wire format, they must not follow the declaration order of the enum
+     */
+    private static SensorType toSensorType(byte code) {
+        switch (code) {
+            case 1:
+                return SensorType.MOTION;
+            case 2:
+                return SensorType.TEMPERATURE;
+            case 3:
+                return SensorType.LIGHT;
+            default:
+                return null;
+        }
+    }
+
+    private static byte toCode(SensorType sensorType) {
+        switch (sensorType) {
+            case MOTION:
+                return 1;
+            case TEMPERATURE:
+                return 2;
+            case LIGHT:
+                return 3;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported sensor type: %s", sensorType));
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans events out to SSE subscribers that filter on a set of keys, such as camera ids, or take every event.
+ * Publishing never waits for a subscriber: subscribers are found in copy on write lists, every subscriber has a
+ * bounded lock free buffer that drops new events once full, and a small pool of sender threads writes to the clients
+ * with at most one drain per subscriber so events keep their order
+ *
+ * @param <T> type of the published events
+ */
+@Slf4j
+public class SseBroadcaster<T> {
+
+    /**
+     * Sent before further events when events were dropped for a slow subscriber, the data is the dropped count
+     */
+    public static final String LAG_EVENT = "lag";
+
+    private final String name;
+
+    private final int bufferSize;
+
+    private final ExecutorService sender;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final List<Subscriber> unfilteredSubscribers = new CopyOnWriteArrayList<>();
+
+    private final Map<UUID, List<Subscriber>> keySubscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param name          name of the stream, used for the sender threads and in logs
+     * @param bufferSize    number of events buffered per subscriber
+     * @param senderThreads number of threads writing to the clients
+     */
+    public SseBroadcaster(String name, int bufferSize, int senderThreads) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory(name + "-stream-"));
+    }
+
+    /**
+     * this method is used for sending the events of the given keys to an emitter until it completes or fails
+     *
+     * @param keys    keys of the wanted events, every event if empty
+     * @param emitter emitter of the subscribing request
+     */
+    public void subscribe(Set<UUID> keys, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, keys, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        if (keys.isEmpty()) {
+            unfilteredSubscribers.add(subscriber);
+        }
+        for (UUID key : keys) {
+            keySubscribers.compute(key, (id, current) -> {
+                List<Subscriber> subscribed = current != null ? current : new CopyOnWriteArrayList<>();
+                subscribed.add(subscriber);
+                return subscribed;
+            });
+        }
+        log.info("{} stream subscriber added, keys:{}, subscribers:{}", name, keys.isEmpty() ? "all" : keys.size(),
+                subscribers.size());
+    }
+
+    /**
+     * this method is used for handing an event to the buffer of every subscriber of its key
+     *
+     * @param key       key of the event
+     * @param id        id of the event, clients see it as the last event id
+     * @param eventName name of the event
+     * @param event     the event, written as JSON
+     * @return number of subscribers that dropped the event because their buffer was full
+     */
+    public int publish(UUID key, long id, String eventName, T event) {
+        PendingEvent<T> pending = new PendingEvent<>(id, eventName, event);
+        int dropped = offer(unfilteredSubscribers, pending);
+        List<Subscriber> subscribed = keySubscribers.get(key);
+        if (subscribed != null) {
+            dropped += offer(subscribed, pending);
+        }
+        return dropped;
+    }
+
+    /**
+     * @return true if any client is subscribed, publishers can skip building events otherwise
+     */
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * @return number of subscribers
+     */
+    public int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * this method is used for sending a comment to idle subscribers so closed connections are detected
+     */
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * this method is used for completing every subscriber and stopping the sender threads
+     */
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+        sender.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        unfilteredSubscribers.remove(subscriber);
+        for (UUID key : subscriber.keys) {
+            keySubscribers.computeIfPresent(key, (id, subscribed) -> {
+                subscribed.remove(subscriber);
+                return subscribed.isEmpty() ? null : subscribed;
+            });
+        }
+        log.info("{} stream subscriber removed, subscribers:{}", name, subscribers.size());
+    }
+
+    private int offer(List<Subscriber> subscribed, PendingEvent<?> pending) {
+        int dropped = 0;
+        for (Subscriber subscriber : subscribed) {
+            if (subscriber.offer(pending)) {
+                scheduleDrain(subscriber);
+            } else {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                send(subscriber);
+                subscriber.draining.set(false);
+            } while (subscriber.hasPending() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            // the container completes the request of a failed send, the subscriber only has to stop receiving events
+            log.debug("{} stream subscriber disconnected:ex:{}", name, ex.getMessage());
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber) throws IOException {
+        SseEmitter emitter = subscriber.emitter;
+        boolean sent = false;
+        long lagged = subscriber.dropped.getAndSet(0);
+        if (lagged > 0) {
+            emitter.send(SseEmitter.event().name(LAG_EVENT).data(lagged));
+        }
+        for (PendingEvent<?> pending = subscriber.poll(); pending != null; pending = subscriber.poll()) {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(pending.id))
+                    .name(pending.eventName)
+                    .data(pending.event, MediaType.APPLICATION_JSON));
+            sent = true;
+        }
+        if (subscriber.heartbeatDue.getAndSet(false) && !sent) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private static final class PendingEvent<T> {
+
+        private final long id;
+
+        private final String eventName;
+
+        private final T event;
+
+        private PendingEvent(long id, String eventName, T event) {
+            this.id = id;
+            this.eventName = eventName;
+            this.event = event;
+        }
+    }
+
+    /**
+     * A subscribed emitter with a bounded buffer, the size is tracked next to a lock free queue so a full buffer drops
+     * new events instead of blocking the publisher
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Set<UUID> keys;
+
+        private final int capacity;
+
+        private final Queue<PendingEvent<?>> buffer = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger buffered = new AtomicInteger();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<UUID> keys, int capacity) {
+            this.emitter = emitter;
+            this.keys = keys;
+            this.capacity = capacity;
+        }
+
+        private boolean offer(PendingEvent<?> pending) {
+            if (buffered.incrementAndGet() > capacity) {
+                buffered.decrementAndGet();
+                dropped.incrementAndGet();
+                return false;
+            }
+            buffer.offer(pending);
+            return true;
+        }
+
+        private PendingEvent<?> poll() {
+            PendingEvent<?> pending = buffer.poll();
+            if (pending != null) {
+                buffered.decrementAndGet();
+            }
+            return pending;
+        }
+
+        private boolean hasPending() {
+            return !closed.get() && (!buffer.isEmpty() || dropped.get() > 0 || heartbeatDue.get());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.onboarding.camera.cameraonboarding.benchmark;
+
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockDecoder;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one hour of 1 Hz readings stored as a Gorilla block with the same readings stored row per reading.
+ * Row storage is modelled by the fixed width columns of sensor_reading (id, sensor_id, recorded_at, reading_value),
+ * 40 bytes per reading before SQL Server row and index overhead. Bytes per reading are logged once per trial,
+ * decode throughput is reported in readings per second.
+ * Run with the main method from the test classpath, it is not part of the unit tests.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensorReadingBlockBenchmark {
+
+    private static final int READINGS = 3600;
+
+    private static final int ROW_BYTES = Long.BYTES + 2 * Long.BYTES + Long.BYTES + Double.BYTES;
+
+    @Param({"TEMPERATURE", "LIGHT"})
+    private String series;
+
+    private long[] timestamps;
+
+    private double[] values;
+
+    private byte[] block;
+
+    private ByteBuffer rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        timestamps = new long[READINGS];
+        values = new double[READINGS];
+        long timestamp = 1_722_247_200_000L;
+        double value = "TEMPERATURE".equals(series) ? 21.5 : 300;
+        for (int i = 0; i < READINGS; i++) {
+            // devices report roughly once a second with a few milliseconds of jitter
+            timestamp += 1000 + random.nextInt(5) - 2;
+            if ("TEMPERATURE".equals(series)) {
+                value = Math.round((value + (random.nextInt(3) - 1) * 0.1) * 10) / 10.0;
+            } else {
+                value = Math.max(0, value + random.nextGaussian() * 25);
+            }
+            timestamps[i] = timestamp;
+            values[i] = value;
+        }
+
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        UUID sensorId = UUID.randomUUID();
+        rows = ByteBuffer.allocate(READINGS * ROW_BYTES);
+        for (int i = 0; i < READINGS; i++) {
+            encoder.add(timestamps[i], values[i]);
+            rows.putLong(i)
+                    .putLong(sensorId.getMostSignificantBits())
+                    .putLong(sensorId.getLeastSignificantBits())
+                    .putLong(timestamps[i])
+                    .putDouble(values[i]);
+        }
+        block = encoder.toByteArray();
+        log.info("Bytes per reading, series:{}:block:{}:row:{}", series,
+                String.format("%.2f", (double) block.length / READINGS), ROW_BYTES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public double decodeBlock() {
+        GorillaBlockDecoder decoder = new GorillaBlockDecoder(block);
+        double sum = 0;
+        while (decoder.next()) {
+            sum += decoder.getValue() + decoder.getTimestamp();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public double decodeRows() {
+        double sum = 0;
+        for (int i = 0; i < READINGS; i++) {
+            int offset = i * ROW_BYTES;
+            sum += rows.getDouble(offset + 4 * Long.BYTES) + rows.getLong(offset + 3 * Long.BYTES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public byte[] encodeBlock() {
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        for (int i = 0; i < READINGS; i++) {
+            encoder.add(timestamps[i], values[i]);
+        }
+        return encoder.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SensorReadingBlockBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.onboarding.camera.cameraonboarding.config;
+
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.LightSensor;
+import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
+import com.onboarding.camera.cameraonboarding.entity.Sensor;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@DataJpaTest
+class SensorPayloadBackfillChangeTest {
+
+    @Autowired
+    private SensorRepository sensorRepository;
+
+    @Autowired
+    private CameraRepository cameraRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Camera camera;
+
+    @BeforeEach
+    void setUp() {
+        Camera newCamera = new Camera();
+        newCamera.setCameraName("Camera 1");
+        newCamera.setFirmwareVersion("v1.0");
+        camera = cameraRepository.save(newCamera);
+    }
+
+    @Test
+    void expect_execute_withDataWrittenBeforeTypedColumns_derivesThemWithSchema() throws Exception {
+
+        // arrange
+        Sensor temperature = save(new TemperatureSensor(), SensorType.TEMPERATURE, "72.5 F");
+        Sensor light = save(new LightSensor(), SensorType.LIGHT, "350 lux");
+        Sensor motion = save(new MotionSensor(), SensorType.MOTION, "detected 0.87");
+        Sensor legacy = save(new LightSensor(), SensorType.LIGHT, "Sensor data");
+        jdbcTemplate.update("update sensor_metadata set reading_value = null, reading_unit = null, confidence = null");
+        Database database = Mockito.mock(Database.class);
+        Mockito.when(database.getConnection()).thenReturn(new JdbcConnection(DataSourceUtils.getConnection(dataSource)));
+        SensorPayloadBackfillChange change = new SensorPayloadBackfillChange();
+
+        // act
+        change.execute(database);
+
+        // assert
+        Assertions.assertThat(typedColumns(temperature))
+                .containsEntry("READING_VALUE", 22.5)
+                .containsEntry("READING_UNIT", SensorPayloadSchema.CELSIUS);
+        Assertions.assertThat(typedColumns(light))
+                .containsEntry("READING_VALUE", 350.0)
+                .containsEntry("READING_UNIT", SensorPayloadSchema.LUX);
+        Assertions.assertThat(typedColumns(motion))
+                .containsEntry("READING_VALUE", 1.0)
+                .containsEntry("CONFIDENCE", 0.87);
+        Assertions.assertThat(typedColumns(legacy)).containsEntry("READING_VALUE", null);
+        Assertions.assertThat(change.getConfirmationMessage()).contains("3 sensors");
+    }
+
+    private Sensor save(Sensor sensor, SensorType sensorType, String data) {
+        sensor.setName(sensorType.name());
+        sensor.setSensorType(sensorType);
+        sensor.setCamera(camera);
+        sensor.setData(data);
+        return sensorRepository.saveAndFlush(sensor);
+    }
+
+    private Map<String, Object> typedColumns(Sensor sensor) {
+        return jdbcTemplate.queryForMap("select reading_value, reading_unit, confidence from sensor_metadata where id = ?",
+                sensor.getId());
+    }
+}
@@ -3,7 +3,16 @@ package com.onboarding.camera.cameraonboarding.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
 import com.onboarding.camera.cameraonboarding.converter.LocationDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchItemResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeResponse;
 import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraImageMetadata;
+import com.onboarding.camera.cameraonboarding.dto.CameraPageResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
 import com.onboarding.camera.cameraonboarding.dto.LocationDto;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.Location;
@@ -12,6 +21,8 @@ import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotInitializedException;
 import com.onboarding.camera.cameraonboarding.exception.ImageAlreadyUploadedException;
 import com.onboarding.camera.cameraonboarding.exception.LocationNotAddedException;
+import com.onboarding.camera.cameraonboarding.service.CameraBatchService;
+import com.onboarding.camera.cameraonboarding.service.CameraExportService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Assertions;
@@ -29,12 +40,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 @WebMvcTest(controllers = CameraRestController.class)
@@ -49,6 +68,12 @@ class CameraRestControllerTest {
     @MockBean
     private CameraService cameraService;
 
+    @MockBean
+    private CameraBatchService cameraBatchService;
+
+    @MockBean
+    private CameraExportService cameraExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,6 +91,8 @@ class CameraRestControllerTest {
     private final String INVALID_UUID = "invalid-uuid";
     private final UUID IMAGE_ID = UUID.randomUUID();
     private final String IMAGE_DATA = "iVBORw0KGgoAAAANSUhEUgAAAAIAAAAECAYAAACk7+45AAAAAXNSR0IArs4c6QAAAARnQU1BAACxjwv8YQUAAAAJcEhZcwAADsMAAA7DAcdvqGQAAAAXSURBVBhXY5STV/rPAARMIAIE0BkMDAAtLgFmLE0FhAAAAABJRU5ErkJggg==";
+    private final String E_TAG = "\"0x8DCB1F2A3B4C5D6\"";
+    private final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2024, 8, 7, 10, 0, 0, 0, ZoneOffset.UTC);
     private final Double LATITUDE = 51.232;
     private final Double LONGITUDE = -51.232;
     private final String ADDRESS = "long enough address";
@@ -110,6 +137,183 @@ class CameraRestControllerTest {
         Mockito.verify(cameraService).handleSaveCamera(ArgumentMatchers.any(Camera.class));
     }
 
+    @Test
+    public void expect_handleSaveCameras_withJsonArray_returnOk() throws Exception {
+
+        // arrange
+        CameraBatchResponse batchResponse = new CameraBatchResponse();
+        batchResponse.setTotal(1);
+        batchResponse.setSucceeded(1);
+        batchResponse.setItems(List.of(new CameraBatchItemResponse(0, CAMERA_ID, CAMERA_NAME, 201, null)));
+        Mockito.when(cameraBatchService.handleSaveCameras(ArgumentMatchers.anyList())).thenReturn(batchResponse);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/onboard/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(cameraDto))));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].cameraId", CoreMatchers.is(CAMERA_ID.toString())));
+
+        Mockito.verify(cameraBatchService).handleSaveCameras(List.of(cameraDto));
+    }
+
+    @Test
+    public void expect_handleSaveCameras_withNdjson_returnOk() throws Exception {
+
+        // arrange
+        CameraDto secondCameraDto = new CameraDto("Camera 2", FIRMWARE_VERSION);
+        String body = objectMapper.writeValueAsString(cameraDto) + "\n" + objectMapper.writeValueAsString(secondCameraDto) + "\n";
+        Mockito.when(cameraBatchService.handleSaveCameras(ArgumentMatchers.anyList())).thenReturn(new CameraBatchResponse());
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/onboard/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(cameraBatchService).handleSaveCameras(List.of(cameraDto, secondCameraDto));
+    }
+
+    @Test
+    public void expect_handleSaveCameras_withMalformedNdjson_returnBadRequest() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/onboard/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"cameraName\": "));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(cameraBatchService, Mockito.never()).handleSaveCameras(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    public void expect_handleInitializeCameras_withCameraIds_returnOk() throws Exception {
+
+        // arrange
+        CameraBulkInitializeDto bulkInitializeDto = new CameraBulkInitializeDto(List.of(CAMERA_ID), null);
+        CameraBulkInitializeResponse bulkInitializeResponse = new CameraBulkInitializeResponse();
+        bulkInitializeResponse.getInitialized().add(CAMERA_ID);
+        Mockito.when(cameraBatchService.handleInitializeCameras(bulkInitializeDto)).thenReturn(bulkInitializeResponse);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/cameras/initialize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkInitializeDto)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.initialized[0]", CoreMatchers.is(CAMERA_ID.toString())));
+
+        Mockito.verify(cameraBatchService).handleInitializeCameras(bulkInitializeDto);
+    }
+
+    @Test
+    public void expect_handleInitializeCameras_withoutIdsAndFilter_returnBadRequest() throws Exception {
+
+        // arrange
+        Mockito.when(cameraBatchService.handleInitializeCameras(ArgumentMatchers.any()))
+                .thenThrow(new IllegalArgumentException("Either cameraIds or firmwareVersion must be given"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/cameras/initialize")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void expect_getCameras_withFilters_returnOk() throws Exception {
+
+        // arrange
+        CameraSummaryResponse summary = new CameraSummaryResponse(CAMERA_ID, CAMERA_NAME, FIRMWARE_VERSION, null, null, null, null);
+        CameraFilter filter = new CameraFilter(true, null, FIRMWARE_VERSION);
+        Mockito.when(cameraService.getCameras(filter, "cursor", 10))
+                .thenReturn(new CameraPageResponse(List.of(summary), "next"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/cameras")
+                .param("cursor", "cursor")
+                .param("limit", "10")
+                .param("initialized", "true")
+                .param("firmwareVersion", FIRMWARE_VERSION));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].cameraId", CoreMatchers.is(CAMERA_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("next")));
+
+        Mockito.verify(cameraService).getCameras(filter, "cursor", 10);
+    }
+
+    @Test
+    public void expect_getCameras_withInvalidLimit_returnBadRequest() throws Exception {
+
+        // arrange
+        Mockito.when(cameraService.getCameras(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.eq(0)))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 500"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/cameras")
+                .param("limit", "0"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void expect_exportCameras_returnNdjsonStream() throws Exception {
+
+        // arrange
+        Mockito.doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"cameraId\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(cameraExportService).exportCameras(ArgumentMatchers.any(OutputStream.class));
+
+        // act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/cameras/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"cameraId\":\"1\"}\n"));
+
+        Mockito.verify(cameraExportService).exportCameras(ArgumentMatchers.any(OutputStream.class));
+    }
+
+    @Test
+    public void expect_getCameraMetadata_withExistingCamera_returnOk() throws Exception {
+
+        // arrange
+        CameraResponse cameraResponse = new CameraResponse();
+        cameraResponse.setCameraId(CAMERA_ID);
+        cameraResponse.setCameraName(CAMERA_NAME);
+        cameraResponse.setSensors(List.of());
+        Mockito.when(cameraService.getCameraResponseById(CAMERA_ID)).thenReturn(cameraResponse);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{camera_id}", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cameraId", CoreMatchers.is(CAMERA_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cameraName", CoreMatchers.is(CAMERA_NAME)));
+
+        Mockito.verify(cameraService, Mockito.never()).getCameraById(CAMERA_ID);
+    }
+
     @Test
     public void expect_handleSaveCamera_withNullCameraName_returnBadRequest() throws Exception {
 
@@ -343,26 +547,175 @@ class CameraRestControllerTest {
     }
 
     @Test
-    public void expect_handleDownloadImage_withValidCamera_returnOk() throws Exception {
+    public void expect_handleUploadImageStream_withOctetStream_returnOk() throws Exception {
         // arrange
         byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
-        camera.setCamId(CAMERA_ID);
-        camera.setImageId(IMAGE_ID);
-        Mockito.when(cameraService.handleDownloadImage(CAMERA_ID)).thenReturn(imageData);
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
+        Mockito.doAnswer(invocation -> {
+            InputStream requestBody = invocation.getArgument(2);
+            Assertions.assertArrayEquals(imageData, requestBody.readAllBytes());
+            return null;
+        }).when(cameraService).handleUploadImageStream(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(IMAGE_ID), ArgumentMatchers.any(InputStream.class));
 
         // act
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders
-                .get("/api/v1/camera/{camera_id}/download_image", CAMERA_ID)
-                .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+                .post("/api/v1/camera/{camera_id}/image", CAMERA_ID)
+                .param("imageId", IMAGE_ID.toString())
+                .content(imageData)
+                .contentType(MediaType.IMAGE_PNG));
 
         // assert
-        response.andExpect(MockMvcResultMatchers.status().isOk())
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(cameraService).handleUploadImageStream(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(IMAGE_ID), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(cameraService, Mockito.never()).handleUploadImage(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void expect_handleUploadImageStream_withMultipartFile_returnOk() throws Exception {
+        // arrange
+        byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
+        Mockito.doAnswer(invocation -> {
+            InputStream requestBody = invocation.getArgument(2);
+            Assertions.assertArrayEquals(imageData, requestBody.readAllBytes());
+            return null;
+        }).when(cameraService).handleUploadImageStream(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(IMAGE_ID), ArgumentMatchers.any(InputStream.class));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .multipart("/api/v1/camera/{camera_id}/image", CAMERA_ID)
+                .file(new MockMultipartFile("file", "image.png", MediaType.IMAGE_PNG_VALUE, imageData))
+                .param("imageId", IMAGE_ID.toString()));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(cameraService).handleUploadImageStream(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(IMAGE_ID), ArgumentMatchers.any(InputStream.class));
+    }
+
+    @Test
+    public void expect_handleUploadImageStream_withEmptyImage_returnBadRequest() throws Exception {
+        // arrange
+        Mockito.doThrow(new IllegalArgumentException("File is empty"))
+                .when(cameraService).handleUploadImageStream(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(IMAGE_ID), ArgumentMatchers.any(InputStream.class));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/v1/camera/{camera_id}/image", CAMERA_ID)
+                .param("imageId", IMAGE_ID.toString())
+                .content(new byte[0])
+                .contentType(MediaType.APPLICATION_OCTET_STREAM));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void expect_handleDownloadImage_withValidCamera_returnOk() throws Exception {
+        // arrange
+        byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, imageData.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(cameraService.handleGetImageMetadata(CAMERA_ID)).thenReturn(imageMetadata);
+        Mockito.doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write(imageData);
+            return null;
+        }).when(cameraService).handleStreamImage(ArgumentMatchers.eq(imageMetadata), ArgumentMatchers.any(OutputStream.class));
+
+        // act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/v1/camera/{camera_id}/download_image", CAMERA_ID)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + IMAGE_ID + ".png"))
+                .andExpect(MockMvcResultMatchers.header().longValue(HttpHeaders.CONTENT_LENGTH, imageData.length))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, E_TAG))
                 .andExpect(MockMvcResultMatchers.content().bytes(imageData));
 
-        Mockito.verify(cameraService).handleDownloadImage(CAMERA_ID);
-        Mockito.verify(cameraService).getCameraById(CAMERA_ID);
+        Mockito.verify(cameraService).handleGetImageMetadata(CAMERA_ID);
+        Mockito.verify(cameraService, Mockito.never()).getCameraById(CAMERA_ID);
+    }
+
+    @Test
+    public void expect_handleDownloadImage_withRange_returnPartialContent() throws Exception {
+        // arrange
+        byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, imageData.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(cameraService.handleGetImageMetadata(CAMERA_ID)).thenReturn(imageMetadata);
+        Mockito.doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write(imageData, 10, 20);
+            return null;
+        }).when(cameraService).handleStreamImageRange(ArgumentMatchers.eq(imageMetadata), ArgumentMatchers.eq(10L), ArgumentMatchers.eq(20L),
+                ArgumentMatchers.any(OutputStream.class));
+
+        // act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/v1/camera/{camera_id}/download_image", CAMERA_ID)
+                        .header(HttpHeaders.RANGE, "bytes=10-29")
+                        .header(HttpHeaders.IF_RANGE, E_TAG))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-29/" + imageData.length))
+                .andExpect(MockMvcResultMatchers.header().longValue(HttpHeaders.CONTENT_LENGTH, 20))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+
+        Mockito.verify(cameraService, Mockito.never()).handleStreamImage(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void expect_handleDownloadImage_withStaleIfRange_returnWholeImage() throws Exception {
+        // arrange
+        byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, imageData.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(cameraService.handleGetImageMetadata(CAMERA_ID)).thenReturn(imageMetadata);
+
+        // act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/v1/camera/{camera_id}/download_image", CAMERA_ID)
+                        .header(HttpHeaders.RANGE, "bytes=10-29")
+                        .header(HttpHeaders.IF_RANGE, "\"0x8D000000000000\""))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().longValue(HttpHeaders.CONTENT_LENGTH, imageData.length))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_RANGE));
+
+        Mockito.verify(cameraService).handleStreamImage(ArgumentMatchers.eq(imageMetadata), ArgumentMatchers.any(OutputStream.class));
+        Mockito.verify(cameraService, Mockito.never()).handleStreamImageRange(ArgumentMatchers.any(), ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void expect_handleDownloadImage_withRangeAfterEnd_returnRangeNotSatisfiable() throws Exception {
+        // arrange
+        byte[] imageData = Base64.getDecoder().decode(IMAGE_DATA);
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, imageData.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(cameraService.handleGetImageMetadata(CAMERA_ID)).thenReturn(imageMetadata);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{camera_id}/download_image", CAMERA_ID)
+                .header(HttpHeaders.RANGE, "bytes=" + imageData.length + "-"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + imageData.length));
+
+        Mockito.verify(cameraService, Mockito.never()).handleStreamImageRange(ArgumentMatchers.any(), ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any());
     }
 
     @Test
@@ -376,14 +729,14 @@ class CameraRestControllerTest {
         // assert
         response.andExpect(MockMvcResultMatchers.status().is4xxClientError());
 
-        Mockito.verify(cameraService, Mockito.never()).handleDownloadImage(Mockito.any());
+        Mockito.verify(cameraService, Mockito.never()).handleGetImageMetadata(Mockito.any());
     }
 
     @Test
     public void expect_handleDownloadImage_withNotFoundCamera_returnNotFound() throws Exception {
         // arrange
         Mockito.doThrow(new CameraNotFoundException("Camera not found with id: " + CAMERA_ID))
-                .when(cameraService).handleDownloadImage(CAMERA_ID);
+                .when(cameraService).handleGetImageMetadata(CAMERA_ID);
 
         // act
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders
@@ -393,7 +746,7 @@ class CameraRestControllerTest {
         // assert
         response.andExpect(MockMvcResultMatchers.status().isNotFound());
 
-        Mockito.verify(cameraService).handleDownloadImage(CAMERA_ID);
+        Mockito.verify(cameraService).handleGetImageMetadata(CAMERA_ID);
     }
 
     @Test
@@ -401,7 +754,7 @@ class CameraRestControllerTest {
         // arrange
         camera.setCamId(CAMERA_ID);
         Mockito.doThrow(new CameraNotInitializedException("Camera is not initialized with id: " + camera.getCamId()))
-                .when(cameraService).handleDownloadImage(CAMERA_ID);
+                .when(cameraService).handleGetImageMetadata(CAMERA_ID);
 
         // act
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders
@@ -411,7 +764,7 @@ class CameraRestControllerTest {
         // assert
         response.andExpect(MockMvcResultMatchers.status().isInternalServerError());
 
-        Mockito.verify(cameraService).handleDownloadImage(CAMERA_ID);
+        Mockito.verify(cameraService).handleGetImageMetadata(CAMERA_ID);
     }
 
     @Test
@@ -6,8 +6,10 @@ import com.onboarding.camera.cameraonboarding.dto.SensorDto;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
 import com.onboarding.camera.cameraonboarding.service.impl.MotionSensorService;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,6 +44,9 @@ class MotionSensorControllerTest {
     @MockBean
     private MotionSensorService motionSensorService;
 
+    @MockBean
+    private MotionEventService motionEventService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -324,4 +329,30 @@ class MotionSensorControllerTest {
 
         Mockito.verify(motionSensorService).handleDeleteSensor(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.eq(SENSOR_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void expect_streamMotionEvents_withExistingCamera_startsEventStream() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensor/motion/events", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        Mockito.verify(motionEventService).handleSubscribeCamera(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.any());
+    }
+
+    @Test
+    void expect_streamMotionEvents_withNonExistingCamera_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.doThrow(new CameraNotFoundException("Camera not found"))
+                .when(motionEventService).handleSubscribeCamera(ArgumentMatchers.eq(CAMERA_ID), ArgumentMatchers.any());
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensor/motion/events", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,257 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.service.CameraSensorService;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
+import com.onboarding.camera.cameraonboarding.service.SensorBatchService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.UUID;
+
+@WebMvcTest(controllers = SensorController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+class SensorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CameraSensorService cameraSensorService;
+
+    @MockBean
+    private SensorBatchService sensorBatchService;
+
+    @MockBean
+    private MotionEventService motionEventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID SECOND_SENSOR_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Light Sensor 1";
+    private final String SECOND_SENSOR_NAME = "Motion Sensor 1";
+    private final String SENSOR_VERSION = "v1.0";
+
+    @Test
+    public void expect_getSensors_withoutType_returnsSensorsOfEveryType() throws Exception {
+
+        // arrange
+        Mockito.when(cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, null)).thenReturn(List.of(
+                sensorResponse(SENSOR_ID, SENSOR_NAME, SensorType.LIGHT),
+                sensorResponse(SECOND_SENSOR_ID, SECOND_SENSOR_NAME, SensorType.MOTION)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensors", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", CoreMatchers.is(SENSOR_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].sensorType", CoreMatchers.is(SensorType.LIGHT.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].sensorType", CoreMatchers.is(SensorType.MOTION.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].camera").doesNotExist());
+
+        Mockito.verify(cameraSensorService).handleGetSensorsByCameraId(CAMERA_ID, null);
+    }
+
+    @Test
+    public void expect_getSensors_withType_passesTypeFilter() throws Exception {
+
+        // arrange
+        Mockito.when(cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, SensorType.MOTION)).thenReturn(List.of(
+                sensorResponse(SECOND_SENSOR_ID, SECOND_SENSOR_NAME, SensorType.MOTION)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensors", CAMERA_ID)
+                .param("type", SensorType.MOTION.name()));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", CoreMatchers.is(SECOND_SENSOR_NAME)));
+
+        Mockito.verify(cameraSensorService).handleGetSensorsByCameraId(CAMERA_ID, SensorType.MOTION);
+    }
+
+    @Test
+    public void expect_getSensors_withInvalidType_returnBadRequest() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensors", CAMERA_ID)
+                .param("type", "HUMIDITY"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(cameraSensorService, Mockito.never()).handleGetSensorsByCameraId(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void expect_getSensors_withNonExistingCamera_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.when(cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, null))
+                .thenThrow(new CameraNotFoundException("Camera not found with id: " + CAMERA_ID));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/camera/{cameraId}/sensors", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void expect_addCameraSensors_withMixedTypes_returnsPerItemResults() throws Exception {
+
+        // arrange
+        List<SensorDto> sensorDtos = List.of(
+                new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.LIGHT, null),
+                new SensorDto(SECOND_SENSOR_NAME, SENSOR_VERSION, SensorType.MOTION, null));
+        Mockito.when(sensorBatchService.handleCreateSensors(Mockito.eq(CAMERA_ID), ArgumentMatchers.anyList()))
+                .thenReturn(batchResponse(
+                        new SensorBatchItemResponse(0, CAMERA_ID, SENSOR_ID, SensorType.LIGHT, 201, null),
+                        new SensorBatchItemResponse(1, CAMERA_ID, SECOND_SENSOR_ID, SensorType.MOTION, 201, null)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/camera/{cameraId}/sensors/batch", CAMERA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sensorDtos)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].sensorId", CoreMatchers.is(SECOND_SENSOR_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].sensorType", CoreMatchers.is(SensorType.MOTION.toString())));
+
+        Mockito.verify(sensorBatchService).handleCreateSensors(Mockito.eq(CAMERA_ID), ArgumentMatchers.anyList());
+    }
+
+    @Test
+    public void expect_addSensors_withManyCameras_returnsPerItemResults() throws Exception {
+
+        // arrange
+        List<SensorBatchItemDto> sensorBatchItems = List.of(
+                new SensorBatchItemDto(CAMERA_ID, new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.LIGHT, null)));
+        Mockito.when(sensorBatchService.handleCreateSensors(ArgumentMatchers.anyList()))
+                .thenReturn(batchResponse(new SensorBatchItemResponse(0, CAMERA_ID, SENSOR_ID, SensorType.LIGHT, 201, null)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/sensors/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sensorBatchItems)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].cameraId", CoreMatchers.is(CAMERA_ID.toString())));
+    }
+
+    @Test
+    public void expect_addSensors_withEmptyBatch_returnBadRequest() throws Exception {
+
+        // arrange
+        Mockito.when(sensorBatchService.handleCreateSensors(ArgumentMatchers.anyList()))
+                .thenThrow(new IllegalArgumentException("Sensor batch cannot be empty"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/sensors/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void expect_streamMotionEvents_withCameras_startsEventStreamForCameras() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/sensors/motion/events")
+                .param("cameraId", CAMERA_ID.toString()));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        Mockito.verify(motionEventService).handleSubscribeCameras(ArgumentMatchers.eq(List.of(CAMERA_ID)), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void expect_streamMotionEvents_withTooManyCameras_returnBadRequest() throws Exception {
+
+        // arrange
+        Mockito.doThrow(new IllegalArgumentException("Cannot subscribe to more than 1 cameras"))
+                .when(motionEventService).handleSubscribeCameras(ArgumentMatchers.anyList(), ArgumentMatchers.any());
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/sensors/motion/events")
+                .param("cameraId", CAMERA_ID.toString(), SENSOR_ID.toString()));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private SensorBatchResponse batchResponse(SensorBatchItemResponse... items) {
+        SensorBatchResponse batchResponse = new SensorBatchResponse();
+        batchResponse.setTotal(items.length);
+        batchResponse.setSucceeded(items.length);
+        batchResponse.setItems(List.of(items));
+        return batchResponse;
+    }
+
+    @Test
+    public void expect_getSensorsByValue_withRange_returnsSensorsWithCameraIds() throws Exception {
+
+        // arrange
+        SensorResponse sensorResponse = sensorResponse(SENSOR_ID, SENSOR_NAME, SensorType.TEMPERATURE);
+        sensorResponse.setCameraId(CAMERA_ID);
+        sensorResponse.setData("72.5");
+        Mockito.when(cameraSensorService.handleGetSensorsByValue(SensorType.TEMPERATURE, 60.0, null, 10))
+                .thenReturn(List.of(sensorResponse));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/sensors")
+                .param("type", SensorType.TEMPERATURE.name())
+                .param("min", "60")
+                .param("limit", "10"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].cameraId", CoreMatchers.is(CAMERA_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].data", CoreMatchers.is("72.5")));
+    }
+
+    private SensorResponse sensorResponse(UUID sensorId, String sensorName, SensorType sensorType) {
+        SensorResponse sensorResponse = new SensorResponse();
+        sensorResponse.setId(sensorId);
+        sensorResponse.setName(sensorName);
+        sensorResponse.setVersion(SENSOR_VERSION);
+        sensorResponse.setSensorType(sensorType);
+        return sensorResponse;
+    }
+}
@@ -0,0 +1,234 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingHistoryResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingIngestResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingRollupService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@WebMvcTest(controllers = SensorReadingController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+class SensorReadingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SensorReadingService sensorReadingService;
+
+    @MockBean
+    private SensorReadingRollupService sensorReadingRollupService;
+
+    @MockBean
+    private SensorLatestReadingService sensorLatestReadingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @Test
+    public void expect_ingestReadings_withReadings_returnAccepted() throws Exception {
+
+        // arrange
+        SensorReadingIngestResponse ingestResponse = new SensorReadingIngestResponse();
+        ingestResponse.setTotal(2);
+        ingestResponse.setAccepted(2);
+        Mockito.when(sensorReadingService.handleIngestReadings(Mockito.eq(CAMERA_ID), ArgumentMatchers.anyList()))
+                .thenReturn(ingestResponse);
+        List<SensorReadingDto> readings = List.of(
+                new SensorReadingDto(SENSOR_ID, RECORDED_AT, 21.5),
+                new SensorReadingDto(SENSOR_ID, RECORDED_AT.plusSeconds(1), 21.6));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/camera/{cameraId}/readings", CAMERA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(readings)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.accepted", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dropped", CoreMatchers.is(0)));
+    }
+
+    @Test
+    public void expect_ingestReadings_withNonExistingCamera_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.when(sensorReadingService.handleIngestReadings(Mockito.eq(CAMERA_ID), ArgumentMatchers.anyList()))
+                .thenThrow(new CameraNotFoundException("Camera not found with id: " + CAMERA_ID));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/camera/{cameraId}/readings", CAMERA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new SensorReadingDto(SENSOR_ID, RECORDED_AT, 21.5)))));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void expect_getRollups_withRange_returnBuckets() throws Exception {
+
+        // arrange
+        Mockito.when(sensorReadingRollupService.handleGetRollups(CAMERA_ID, SENSOR_ID, RollupResolution.HOUR,
+                        RECORDED_AT, RECORDED_AT.plusHours(2)))
+                .thenReturn(List.of(new SensorReadingRollupResponse(RECORDED_AT, 4, 19.0, 22.0, 82.0)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{sensorId}/rollups", CAMERA_ID, SENSOR_ID)
+                .param("resolution", "HOUR")
+                .param("from", "2024-07-29T10:00:00")
+                .param("to", "2024-07-29T12:00:00"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].count", CoreMatchers.is(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].average", CoreMatchers.is(20.5)));
+    }
+
+    @Test
+    public void expect_getRollups_withTooWideRange_returnBadRequest() throws Exception {
+
+        // arrange
+        Mockito.when(sensorReadingRollupService.handleGetRollups(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                        ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new IllegalArgumentException("Range cannot span more than 10000 MINUTE buckets"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{sensorId}/rollups", CAMERA_ID, SENSOR_ID)
+                .param("resolution", "MINUTE")
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-07-29T00:00:00"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void expect_getReadings_withRange_returnDownsampledHistory() throws Exception {
+
+        // arrange
+        SensorReadingHistoryResponse history = new SensorReadingHistoryResponse();
+        history.setSensorId(SENSOR_ID);
+        history.setRawPoints(10);
+        history.setPoints(2);
+        history.setTimestamps(new long[]{1000L, 2000L});
+        history.setValues(new double[]{21.5, 22.5});
+        Mockito.when(sensorReadingService.handleGetReadings(CAMERA_ID, SensorType.TEMPERATURE, SENSOR_ID,
+                        RECORDED_AT, RECORDED_AT.plusDays(1), 500))
+                .thenReturn(history);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{type}/{sensorId}/readings", CAMERA_ID, "temperature", SENSOR_ID)
+                .param("from", "2024-07-29T10:00:00")
+                .param("to", "2024-07-30T10:00:00")
+                .param("maxPoints", "500"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.points", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.timestamps[1]", CoreMatchers.is(2000)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.values[0]", CoreMatchers.is(21.5)));
+    }
+
+    @Test
+    public void expect_getReadings_withSensorOfAnotherType_returnConflict() throws Exception {
+
+        // arrange
+        Mockito.when(sensorReadingService.handleGetReadings(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                        ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new SensorMismatchException("Sensor is not a LIGHT sensor"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{type}/{sensorId}/readings", CAMERA_ID, "light", SENSOR_ID)
+                .param("from", "2024-07-29T10:00:00")
+                .param("to", "2024-07-30T10:00:00"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    public void expect_getLatestReading_withCachedReading_returnReading() throws Exception {
+
+        // arrange
+        Mockito.when(sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID))
+                .thenReturn(new SensorLatestReadingResponse(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{sensorId}/latest", CAMERA_ID, SENSOR_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sensorId", CoreMatchers.is(SENSOR_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sensorType", CoreMatchers.is("TEMPERATURE")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.value", CoreMatchers.is(21.5)));
+    }
+
+    @Test
+    public void expect_getLatestReading_withSensorOfOtherCamera_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.when(sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID))
+                .thenThrow(new SensorNotFoundException("Sensor not found"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensor/{sensorId}/latest", CAMERA_ID, SENSOR_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void expect_getLatestReadings_withNonExistingCamera_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.when(sensorLatestReadingService.handleGetLatestReadings(CAMERA_ID))
+                .thenThrow(new CameraNotFoundException("Camera not found"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/v1/camera/{cameraId}/sensors/latest", CAMERA_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,182 @@
+package com.onboarding.camera.cameraonboarding.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.camera.cameraonboarding.converter.TemperatureAlertRuleDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertRuleDto;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import com.onboarding.camera.cameraonboarding.exception.AlertRuleNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertStreamService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@WebMvcTest(controllers = TemperatureAlertController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+@Import(TemperatureAlertRuleDtoConverter.class)
+class TemperatureAlertControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TemperatureAlertService temperatureAlertService;
+
+    @MockBean
+    private TemperatureAlertStreamService temperatureAlertStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID RULE_ID = UUID.randomUUID();
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final double THRESHOLD = 30.0;
+    private final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @Test
+    public void expect_addRule_withValidRule_returnCreatedRule() throws Exception {
+
+        // arrange
+        TemperatureAlertRuleDto ruleDto = new TemperatureAlertRuleDto(AlertRuleScope.SENSOR, null, SENSOR_ID, THRESHOLD, 1.0, 60);
+        Mockito.when(temperatureAlertService.handleCreateRule(ArgumentMatchers.any(TemperatureAlertRule.class)))
+                .thenReturn(rule(AlertRuleScope.SENSOR, CAMERA_ID, SENSOR_ID));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/alerts/temperature/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ruleDto)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(RULE_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.scope", CoreMatchers.is(AlertRuleScope.SENSOR.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cameraId", CoreMatchers.is(CAMERA_ID.toString())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.threshold", CoreMatchers.is(THRESHOLD)));
+
+        Mockito.verify(temperatureAlertService).handleCreateRule(ArgumentMatchers.argThat(rule ->
+                rule.getScope() == AlertRuleScope.SENSOR && SENSOR_ID.equals(rule.getSensorId())
+                        && rule.getThreshold() == THRESHOLD && rule.getCooldownSeconds() == 60));
+    }
+
+    @Test
+    public void expect_addRule_withoutThresholdOrNegativeCooldown_returnBadRequest() throws Exception {
+
+        // arrange
+        TemperatureAlertRuleDto withoutThreshold = new TemperatureAlertRuleDto(AlertRuleScope.FLEET, null, null, null, 0, 0);
+        TemperatureAlertRuleDto negativeCooldown = new TemperatureAlertRuleDto(AlertRuleScope.FLEET, null, null, THRESHOLD, 0, -1);
+
+        // act and assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/alerts/temperature/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withoutThreshold)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/alerts/temperature/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(negativeCooldown)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(temperatureAlertService);
+    }
+
+    @Test
+    public void expect_addRule_withNonTemperatureSensor_returnConflict() throws Exception {
+
+        // arrange
+        TemperatureAlertRuleDto ruleDto = new TemperatureAlertRuleDto(AlertRuleScope.SENSOR, null, SENSOR_ID, THRESHOLD, 0, 0);
+        Mockito.when(temperatureAlertService.handleCreateRule(ArgumentMatchers.any(TemperatureAlertRule.class)))
+                .thenThrow(new SensorMismatchException("Sensor is a LIGHT sensor, not TEMPERATURE"));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/alerts/temperature/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ruleDto)));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    public void expect_getRules_returnRules() throws Exception {
+
+        // arrange
+        Mockito.when(temperatureAlertService.handleGetRules()).thenReturn(List.of(rule(AlertRuleScope.FLEET, null, null)));
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/alerts/temperature/rules"));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].scope", CoreMatchers.is(AlertRuleScope.FLEET.toString())));
+    }
+
+    @Test
+    public void expect_deleteRule_withExistingRule_returnNoContent() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/alerts/temperature/rules/{ruleId}", RULE_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(temperatureAlertService).handleDeleteRule(RULE_ID);
+    }
+
+    @Test
+    public void expect_deleteRule_withNonExistingRule_returnNotFound() throws Exception {
+
+        // arrange
+        Mockito.doThrow(new AlertRuleNotFoundException("Alert rule not found")).when(temperatureAlertService).handleDeleteRule(RULE_ID);
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/alerts/temperature/rules/{ruleId}", RULE_ID));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void expect_streamAlerts_withCameraIds_startsStream() throws Exception {
+
+        // act
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/alerts/temperature/events")
+                .param("cameraId", CAMERA_ID.toString()));
+
+        // assert
+        response.andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        Mockito.verify(temperatureAlertStreamService).handleSubscribe(ArgumentMatchers.eq(List.of(CAMERA_ID)), ArgumentMatchers.any());
+    }
+
+    private TemperatureAlertRule rule(AlertRuleScope scope, UUID cameraId, UUID sensorId) {
+        TemperatureAlertRule rule = new TemperatureAlertRule();
+        rule.setId(RULE_ID);
+        rule.setScope(scope);
+        rule.setCameraId(cameraId);
+        rule.setSensorId(sensorId);
+        rule.setThreshold(THRESHOLD);
+        rule.setCreatedAt(CREATED_AT);
+        return rule;
+    }
+}
@@ -1,12 +1,15 @@
 package com.onboarding.camera.cameraonboarding.converter;
 
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
 import com.onboarding.camera.cameraonboarding.dto.CameraDto;
 import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.UUID;
 
 class CameraDtoConverterTest {
@@ -55,4 +58,35 @@ class CameraDtoConverterTest {
         AssertionsForClassTypes.assertThat(response.getCameraName()).isEqualTo(CAMERA_NAME);
         AssertionsForClassTypes.assertThat(response.getFirmwareVersion()).isEqualTo(FIRMWARE_VERSION);
     }
-}
\ No newline at end of file
+
+    @Test
+    void expect_convert_withCameraDetailRows_returnCameraResponseWithSensors() {
+        // arrange
+        UUID sensorId = UUID.randomUUID();
+        List<CameraDetailRow> cameraDetailRows = List.of(
+                new CameraDetailRow(CAMERA_ID, CAMERA_NAME, FIRMWARE_VERSION, sensorId, "Sensor", "v1.0", SensorType.LIGHT, "42"));
+
+        // act
+        CameraResponse response = cameraDtoConverter.toCameraResponse(cameraDetailRows);
+
+        // assert
+        AssertionsForClassTypes.assertThat(response.getCameraId()).isEqualTo(CAMERA_ID);
+        AssertionsForClassTypes.assertThat(response.getCameraName()).isEqualTo(CAMERA_NAME);
+        AssertionsForClassTypes.assertThat(response.getSensors().size()).isEqualTo(1);
+        AssertionsForClassTypes.assertThat(response.getSensors().get(0).getId()).isEqualTo(sensorId);
+        AssertionsForClassTypes.assertThat(response.getSensors().get(0).getSensorType()).isEqualTo(SensorType.LIGHT);
+    }
+
+    @Test
+    void expect_convert_withCameraDetailRowWithoutSensor_returnEmptySensors() {
+        // arrange
+        List<CameraDetailRow> cameraDetailRows = List.of(
+                new CameraDetailRow(CAMERA_ID, CAMERA_NAME, FIRMWARE_VERSION, null, null, null, null, null));
+
+        // act
+        CameraResponse response = cameraDtoConverter.toCameraResponse(cameraDetailRows);
+
+        // assert
+        AssertionsForClassTypes.assertThat(response.getSensors().isEmpty()).isTrue();
+    }
+}
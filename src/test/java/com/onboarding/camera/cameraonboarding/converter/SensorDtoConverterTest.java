@@ -2,11 +2,14 @@ package com.onboarding.camera.cameraonboarding.converter;
 
 import com.onboarding.camera.cameraonboarding.dto.SensorDto;
 import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.entity.LightSensor;
+import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.entity.Sensor;
 import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotCreatedException;
+import com.onboarding.camera.cameraonboarding.util.SensorPayloadSchema;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +24,7 @@ class SensorDtoConverterTest {
     private final String SENSOR_NAME = "Sensor 1";
     private final String SENSOR_VERSION = "v1.0";
     private final SensorType SENSOR_TYPE_LIGHT = SensorType.LIGHT;
-    private final String SENSOR_DATA = "Sensor data";
+    private final String SENSOR_DATA = "350";
     private final SensorType SENSOR_TYPE_TEMPERATURE = SensorType.TEMPERATURE;
 
     @BeforeEach
@@ -142,4 +145,50 @@ class SensorDtoConverterTest {
                 .isInstanceOf(SensorMismatchException.class)
                 .hasMessage("Invalid sensor type for TemperatureSensor");
     }
-}
\ No newline at end of file
+
+    @Test
+    void expect_convert_withDataInOtherUnit_keepsDataAndDerivesCelsius() {
+        // arrange
+        SensorDto sensorDto = new SensorDto(SENSOR_NAME, SENSOR_VERSION, SENSOR_TYPE_TEMPERATURE, "72.5 F");
+
+        // act
+        Sensor sensor = sensorDtoConverter.toTemperatureEntity(sensorDto);
+        sensor.applyPayload();
+
+        // assert
+        Assertions.assertThat(sensor.getData()).isEqualTo("72.5 F");
+        Assertions.assertThat(sensor.getReadingValue()).isEqualTo(22.5);
+        Assertions.assertThat(sensor.getReadingUnit()).isEqualTo(SensorPayloadSchema.CELSIUS);
+    }
+
+    @Test
+    void expect_convert_withDataNotFollowingSchema_throwsIllegalArgumentException() {
+        // arrange
+        SensorDto sensorDto = new SensorDto(SENSOR_NAME, SENSOR_VERSION, SENSOR_TYPE_LIGHT, "Sensor data");
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorDtoConverter.toLightEntity(sensorDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid sensor data");
+    }
+
+    @Test
+    void expect_convertToEntity_withEachSensorType_returnsMatchingSubclass() {
+        // arrange
+        SensorDto sensorDto = new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.MOTION, null);
+
+        // act
+        Sensor motionSensor = sensorDtoConverter.toEntity(sensorDto);
+        sensorDto.setSensorType(SENSOR_TYPE_LIGHT);
+        Sensor lightSensor = sensorDtoConverter.toEntity(sensorDto);
+        sensorDto.setSensorType(SENSOR_TYPE_TEMPERATURE);
+        Sensor temperatureSensor = sensorDtoConverter.toEntity(sensorDto);
+
+        // assert
+        Assertions.assertThat(motionSensor).isInstanceOf(MotionSensor.class);
+        Assertions.assertThat(motionSensor.getSensorType()).isEqualTo(SensorType.MOTION);
+        Assertions.assertThat(lightSensor).isInstanceOf(LightSensor.class);
+        Assertions.assertThat(temperatureSensor).isInstanceOf(TemperatureSensor.class);
+        Assertions.assertThat(temperatureSensor.getName()).isEqualTo(SENSOR_NAME);
+    }
+}
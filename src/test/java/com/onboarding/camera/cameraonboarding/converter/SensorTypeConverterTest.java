@@ -0,0 +1,40 @@
+package com.onboarding.camera.cameraonboarding.converter;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SensorTypeConverterTest {
+
+    private SensorTypeConverter sensorTypeConverter;
+
+    @BeforeEach
+    void setUp() {
+        sensorTypeConverter = new SensorTypeConverter();
+    }
+
+    @Test
+    void expect_convert_withAnyCase_returnSensorType() {
+
+        // act and assert
+        Assertions.assertThat(sensorTypeConverter.convert("temperature")).isEqualTo(SensorType.TEMPERATURE);
+        Assertions.assertThat(sensorTypeConverter.convert("Light")).isEqualTo(SensorType.LIGHT);
+        Assertions.assertThat(sensorTypeConverter.convert("MOTION")).isEqualTo(SensorType.MOTION);
+    }
+
+    @Test
+    void expect_convert_withBlankValue_returnNull() {
+
+        // act and assert
+        Assertions.assertThat(sensorTypeConverter.convert(" ")).isNull();
+    }
+
+    @Test
+    void expect_convert_withUnknownType_throwsIllegalArgumentException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorTypeConverter.convert("humidity"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,24 +1,41 @@
 package com.onboarding.camera.cameraonboarding.repository;
 
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationRow;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.LightSensor;
+import com.onboarding.camera.cameraonboarding.entity.Location;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class CameraRepositoryTest {
 
     @Autowired
     private CameraRepository cameraRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Camera camera;
 
     private final String CAMERA_NAME = "Camera 1";
@@ -113,4 +130,225 @@ class CameraRepositoryTest {
         // assert
         Assertions.assertThat(foundCamera).isEmpty();
     }
+
+    @Test
+    public void expect_findCameraPage_withCursor_returnsNextPageInKeysetOrder() {
+
+        // arrange
+        Camera first = cameraRepository.save(newCamera("Camera A", CREATED_AT));
+        Camera second = cameraRepository.save(newCamera("Camera B", CREATED_AT.plusMinutes(1)));
+        Camera third = cameraRepository.save(newCamera("Camera C", CREATED_AT.plusMinutes(2)));
+
+        // act
+        List<CameraSummaryResponse> firstPage = cameraRepository.findCameraPage(new CameraFilter(), null, 2);
+        CameraSummaryResponse lastOfFirstPage = firstPage.get(firstPage.size() - 1);
+        List<CameraSummaryResponse> secondPage = cameraRepository.findCameraPage(new CameraFilter(),
+                new CameraCursor(lastOfFirstPage.getCreatedAt(), lastOfFirstPage.getCameraId()), 2);
+
+        // assert
+        Assertions.assertThat(firstPage).extracting(CameraSummaryResponse::getCameraId)
+                .containsExactly(first.getCamId(), second.getCamId());
+        Assertions.assertThat(secondPage).extracting(CameraSummaryResponse::getCameraId)
+                .containsExactly(third.getCamId());
+    }
+
+    @Test
+    public void expect_findCameraPage_withFilters_returnsMatchingCameras() {
+
+        // arrange
+        Camera initialized = newCamera("Camera A", CREATED_AT);
+        initialized.setInitializedAt(CREATED_AT.plusHours(1));
+        cameraRepository.save(initialized);
+        Camera otherFirmware = newCamera("Camera B", CREATED_AT.plusMinutes(1));
+        otherFirmware.setFirmwareVersion("v2.0");
+        cameraRepository.save(otherFirmware);
+
+        // act
+        List<CameraSummaryResponse> initializedCameras = cameraRepository.findCameraPage(
+                new CameraFilter(true, null, null), null, 10);
+        List<CameraSummaryResponse> firmwareCameras = cameraRepository.findCameraPage(
+                new CameraFilter(null, null, "v2.0"), null, 10);
+
+        // assert
+        Assertions.assertThat(initializedCameras).extracting(CameraSummaryResponse::getCameraId)
+                .containsExactly(initialized.getCamId());
+        Assertions.assertThat(firmwareCameras).extracting(CameraSummaryResponse::getCameraId)
+                .containsExactly(otherFirmware.getCamId());
+    }
+
+    @Test
+    public void expect_findUndatedCameraPage_withCursor_returnsOnlyCamerasWithoutCreatedAt() {
+
+        // arrange
+        cameraRepository.save(newCamera("Camera A", CREATED_AT));
+        Camera firstUndated = cameraRepository.save(newCamera("Camera B", null));
+        Camera secondUndated = cameraRepository.save(newCamera("Camera C", null));
+
+        // act
+        List<CameraSummaryResponse> firstPage = cameraRepository.findUndatedCameraPage(null, 1);
+        List<CameraSummaryResponse> secondPage = cameraRepository.findUndatedCameraPage(firstPage.get(0).getCameraId(), 1);
+        List<CameraSummaryResponse> datedPage = cameraRepository.findCameraPage(new CameraFilter(), null, 10);
+
+        // assert
+        Assertions.assertThat(firstPage).hasSize(1);
+        Assertions.assertThat(secondPage).hasSize(1);
+        Assertions.assertThat(List.of(firstPage.get(0).getCameraId(), secondPage.get(0).getCameraId()))
+                .containsExactlyInAnyOrder(firstUndated.getCamId(), secondUndated.getCamId());
+        Assertions.assertThat(datedPage).hasSize(1);
+    }
+
+    @Test
+    public void expect_findLocationRowsByCameraIds_returnsLocationsOfGivenCameras() {
+
+        // arrange
+        Camera withLocation = newCamera("Camera A", CREATED_AT);
+        Location location = new Location();
+        location.setLatitude(51.232);
+        location.setLongitude(-51.232);
+        location.setAddress("long enough address");
+        location.setCamera(withLocation);
+        withLocation.setLocation(location);
+        cameraRepository.save(withLocation);
+        Camera withoutLocation = cameraRepository.save(newCamera("Camera B", CREATED_AT));
+
+        // act
+        List<LocationRow> locationRows = cameraRepository.findLocationRowsByCameraIds(
+                List.of(withLocation.getCamId(), withoutLocation.getCamId()));
+
+        // assert
+        Assertions.assertThat(locationRows).hasSize(1);
+        Assertions.assertThat(locationRows.get(0).getCameraId()).isEqualTo(withLocation.getCamId());
+        Assertions.assertThat(locationRows.get(0).getAddress()).isEqualTo("long enough address");
+    }
+
+    @Test
+    public void expect_initializeCameras_updatesOnlyUninitializedCameras() {
+
+        // arrange
+        Camera uninitialized = cameraRepository.save(newCamera("Camera A", CREATED_AT));
+        Camera initialized = newCamera("Camera B", CREATED_AT);
+        initialized.setInitializedAt(CREATED_AT.plusHours(1));
+        cameraRepository.save(initialized);
+        LocalDateTime now = CREATED_AT.plusHours(2);
+
+        // act
+        int updated = cameraRepository.initializeCameras(List.of(uninitialized.getCamId(), initialized.getCamId()), now);
+
+        // assert
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(cameraRepository.findCameraIdsInitializedAt(
+                List.of(uninitialized.getCamId(), initialized.getCamId()), now))
+                .containsExactly(uninitialized.getCamId());
+    }
+
+    @Test
+    public void expect_findUninitializedCameraIdsByFirmwareVersion_returnsMatchingUninitializedCameras() {
+
+        // arrange
+        Camera uninitialized = cameraRepository.save(newCamera("Camera A", CREATED_AT));
+        Camera initialized = newCamera("Camera B", CREATED_AT);
+        initialized.setInitializedAt(CREATED_AT.plusHours(1));
+        cameraRepository.save(initialized);
+        Camera otherFirmware = newCamera("Camera C", CREATED_AT);
+        otherFirmware.setFirmwareVersion("v2.0");
+        cameraRepository.save(otherFirmware);
+
+        // act
+        List<UUID> cameraIds = cameraRepository.findUninitializedCameraIdsByFirmwareVersion(
+                FIRMWARE_VERSION, PageRequest.of(0, 10));
+
+        // assert
+        Assertions.assertThat(cameraIds).containsExactly(uninitialized.getCamId());
+    }
+
+    @Test
+    public void expect_initializeCamera_onlyFirstTransitionWinsAndBumpsVersion() {
+
+        // arrange
+        Camera savedCamera = cameraRepository.save(newCamera(CAMERA_NAME, CREATED_AT));
+
+        // act
+        int first = cameraRepository.initializeCamera(savedCamera.getCamId(), CREATED_AT.plusHours(1));
+        int second = cameraRepository.initializeCamera(savedCamera.getCamId(), CREATED_AT.plusHours(2));
+
+        // assert
+        Assertions.assertThat(first).isEqualTo(1);
+        Assertions.assertThat(second).isZero();
+        Camera initializedCamera = cameraRepository.findById(savedCamera.getCamId()).orElseThrow();
+        Assertions.assertThat(initializedCamera.getInitializedAt()).isEqualTo(CREATED_AT.plusHours(1));
+        Assertions.assertThat(initializedCamera.getVersion()).isEqualTo(savedCamera.getVersion() + 1);
+    }
+
+    @Test
+    public void expect_claimImage_onlyForInitializedCameraWithoutImage() {
+
+        // arrange
+        Camera notInitialized = cameraRepository.save(newCamera("Camera A", CREATED_AT));
+        Camera initialized = newCamera("Camera B", CREATED_AT);
+        initialized.setInitializedAt(CREATED_AT.plusHours(1));
+        cameraRepository.save(initialized);
+        UUID imageId = UUID.randomUUID();
+
+        // act and assert
+        Assertions.assertThat(cameraRepository.claimImage(notInitialized.getCamId(), imageId)).isZero();
+        Assertions.assertThat(cameraRepository.claimImage(initialized.getCamId(), imageId)).isEqualTo(1);
+        Assertions.assertThat(cameraRepository.claimImage(initialized.getCamId(), UUID.randomUUID())).isZero();
+        Assertions.assertThat(cameraRepository.releaseImage(initialized.getCamId(), imageId)).isEqualTo(1);
+        Assertions.assertThat(cameraRepository.claimImage(initialized.getCamId(), UUID.randomUUID())).isEqualTo(1);
+    }
+
+    @Test
+    public void expect_findCameraDetailRows_readsCameraAndSensorsWithOneStatement() {
+
+        // arrange
+        Camera savedCamera = cameraRepository.save(newCamera(CAMERA_NAME, CREATED_AT));
+        LightSensor lightSensor = new LightSensor();
+        lightSensor.setName("Light Sensor");
+        lightSensor.setSensorType(SensorType.LIGHT);
+        lightSensor.setCamera(savedCamera);
+        entityManager.persist(lightSensor);
+        TemperatureSensor temperatureSensor = new TemperatureSensor();
+        temperatureSensor.setName("Temperature Sensor");
+        temperatureSensor.setSensorType(SensorType.TEMPERATURE);
+        temperatureSensor.setCamera(savedCamera);
+        entityManager.persist(temperatureSensor);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // act
+        List<CameraDetailRow> cameraDetailRows = cameraRepository.findCameraDetailRows(savedCamera.getCamId());
+
+        // assert
+        Assertions.assertThat(cameraDetailRows).hasSize(2);
+        Assertions.assertThat(cameraDetailRows).extracting(CameraDetailRow::getSensorType)
+                .containsExactlyInAnyOrder(SensorType.LIGHT, SensorType.TEMPERATURE);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void expect_findCameraDetailRows_withoutSensors_returnsCameraRow() {
+
+        // arrange
+        Camera savedCamera = cameraRepository.save(newCamera(CAMERA_NAME, CREATED_AT));
+
+        // act
+        List<CameraDetailRow> cameraDetailRows = cameraRepository.findCameraDetailRows(savedCamera.getCamId());
+
+        // assert
+        Assertions.assertThat(cameraDetailRows).hasSize(1);
+        Assertions.assertThat(cameraDetailRows.get(0).getCameraName()).isEqualTo(CAMERA_NAME);
+        Assertions.assertThat(cameraDetailRows.get(0).getSensorId()).isNull();
+    }
+
+    private Camera newCamera(String cameraName, LocalDateTime createdAt) {
+        Camera newCamera = new Camera();
+        newCamera.setCameraName(cameraName);
+        newCamera.setFirmwareVersion(FIRMWARE_VERSION);
+        newCamera.setCreatedAt(createdAt);
+        newCamera.setOnboardedAt(createdAt);
+        return newCamera;
+    }
 }
@@ -181,7 +181,7 @@ class LightSensorRepositoryTest {
         Camera savedCamera = cameraRepository.save(camera);
 
         // Act
-        List<LightSensor> sensors = lightSensorRepository.findLightSensorByCamera(savedCamera);
+        List<LightSensor> sensors = lightSensorRepository.findLightSensorByCameraCamId(savedCamera.getCamId());
 
         // Assert
         Assertions.assertThat(sensors).hasSize(2);
@@ -181,7 +181,7 @@ class MotionSensorRepositoryTest {
         Camera savedCamera = cameraRepository.save(camera);
 
         // Act
-        List<MotionSensor> sensors = motionSensorRepository.findMotionSensorByCamera(savedCamera);
+        List<MotionSensor> sensors = motionSensorRepository.findMotionSensorByCameraCamId(savedCamera.getCamId());
 
         // Assert
         Assertions.assertThat(sensors).hasSize(2);
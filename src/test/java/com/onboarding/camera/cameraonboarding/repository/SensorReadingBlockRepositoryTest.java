@@ -0,0 +1,111 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlock;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@DataJpaTest
+class SensorReadingBlockRepositoryTest {
+
+    @Autowired
+    private SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime BLOCK_START = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @Test
+    public void expect_findBlockHeaders_returnsHeadersOfBlocksOverlappingRangeInOrder() {
+
+        // arrange
+        saveBlocks();
+
+        // act
+        List<SensorReadingBlockRow> headers = sensorReadingBlockRepository.findBlockHeaders(SENSOR_ID, BLOCK_START,
+                BLOCK_START.plusMinutes(30), BLOCK_START.plusHours(2));
+
+        // assert
+        Assertions.assertThat(headers).extracting(SensorReadingBlockRow::getBlockStart)
+                .containsExactly(BLOCK_START, BLOCK_START.plusHours(1));
+        Assertions.assertThat(headers.get(0).getPayload()).isNull();
+        Assertions.assertThat(headers.get(0).getVersion()).isNotNull();
+    }
+
+    @Test
+    public void expect_findBlocks_withPage_returnsPageOfBlocksOverlappingRangeInOrderWithPayload() {
+
+        // arrange
+        saveBlocks();
+
+        // act
+        List<SensorReadingBlockRow> firstPage = sensorReadingBlockRepository.findBlocks(SENSOR_ID, BLOCK_START,
+                BLOCK_START.plusMinutes(30), BLOCK_START.plusHours(2), PageRequest.of(0, 1));
+        List<SensorReadingBlockRow> secondPage = sensorReadingBlockRepository.findBlocks(SENSOR_ID, BLOCK_START,
+                BLOCK_START.plusMinutes(30), BLOCK_START.plusHours(2), PageRequest.of(1, 1));
+
+        // assert
+        Assertions.assertThat(firstPage).extracting(SensorReadingBlockRow::getBlockStart).containsExactly(BLOCK_START);
+        Assertions.assertThat(secondPage).extracting(SensorReadingBlockRow::getBlockStart)
+                .containsExactly(BLOCK_START.plusHours(1));
+        Assertions.assertThat(firstPage.get(0).getPayload()).hasSizeGreaterThan(4);
+    }
+
+    @Test
+    public void expect_findBlock_returnsBlockWithPayload() {
+
+        // arrange
+        saveBlocks();
+
+        // act
+        Optional<SensorReadingBlockRow> block = sensorReadingBlockRepository.findBlock(SENSOR_ID, BLOCK_START.plusHours(1));
+
+        // assert
+        Assertions.assertThat(block).isPresent();
+        Assertions.assertThat(block.get().getReadingCount()).isEqualTo(1);
+        Assertions.assertThat(block.get().getPayload()).hasSizeGreaterThan(4);
+    }
+
+    @Test
+    public void expect_findLatestBlocks_returnsNewestBlockOfEachSensor() {
+
+        // arrange
+        saveBlocks();
+
+        // act
+        List<SensorReadingBlockRow> blocks = sensorReadingBlockRepository.findLatestBlocks(List.of(SENSOR_ID, UUID.randomUUID()));
+
+        // assert
+        Assertions.assertThat(blocks).extracting(SensorReadingBlockRow::getBlockStart)
+                .containsExactly(BLOCK_START.plusHours(2));
+        Assertions.assertThat(blocks.get(0).getSensorId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(blocks.get(0).getPayload()).hasSizeGreaterThan(4);
+    }
+
+    private void saveBlocks() {
+        sensorReadingBlockRepository.saveAndFlush(block(BLOCK_START.plusHours(1), 10));
+        sensorReadingBlockRepository.saveAndFlush(block(BLOCK_START, 50));
+        sensorReadingBlockRepository.saveAndFlush(block(BLOCK_START.plusHours(2), 30));
+    }
+
+    private SensorReadingBlock block(LocalDateTime blockStart, int minutes) {
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        encoder.add(0, 1.0);
+        SensorReadingBlock block = new SensorReadingBlock();
+        block.setSensorId(SENSOR_ID);
+        block.setBlockStart(blockStart);
+        block.setReadingCount(encoder.getCount());
+        block.setFirstRecordedAt(blockStart);
+        block.setLastRecordedAt(blockStart.plusMinutes(minutes));
+        block.setPayload(encoder.toByteArray());
+        return block;
+    }
+}
@@ -0,0 +1,131 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReading;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@DataJpaTest
+class SensorReadingRepositoryTest {
+
+    @Autowired
+    private SensorReadingRepository sensorReadingRepository;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @Test
+    public void expect_insertReadings_appendsEveryReadingIncludingDuplicates() {
+
+        // arrange
+        List<SensorReadingRow> readings = List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusSeconds(5), 22.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusSeconds(5), 22.0));
+
+        // act
+        sensorReadingRepository.insertReadings(readings);
+
+        // assert
+        List<SensorReading> savedReadings = sensorReadingRepository.findAll();
+        Assertions.assertThat(savedReadings).hasSize(3);
+        Assertions.assertThat(savedReadings).extracting(SensorReading::getSensorId).containsOnly(SENSOR_ID);
+        Assertions.assertThat(savedReadings).extracting(SensorReading::getValue).containsExactlyInAnyOrder(21.5, 22.0, 22.0);
+        Assertions.assertThat(savedReadings).extracting(SensorReading::getRecordedAt).contains(RECORDED_AT);
+    }
+
+    @Test
+    public void expect_countAndStreamReadings_returnReadingsOfRangeInTimeOrder() {
+
+        // arrange
+        sensorReadingRepository.insertReadings(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusMinutes(2), 23.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusMinutes(1), 22.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusMinutes(3), 24.0),
+                new SensorReadingRow(CAMERA_ID, UUID.randomUUID(), SensorType.TEMPERATURE, RECORDED_AT, 99.0)));
+        List<Long> timestamps = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+
+        // act
+        long count = sensorReadingRepository.countReadings(SENSOR_ID, RECORDED_AT, RECORDED_AT.plusMinutes(3));
+        sensorReadingRepository.streamReadings(SENSOR_ID, RECORDED_AT, RECORDED_AT.plusMinutes(3), 2,
+                (timestamp, value) -> {
+                    timestamps.add(timestamp);
+                    values.add(value);
+                });
+
+        // assert
+        Assertions.assertThat(count).isEqualTo(3);
+        Assertions.assertThat(values).containsExactly(21.0, 22.0);
+        Assertions.assertThat(timestamps.get(0)).isEqualTo(RECORDED_AT.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Test
+    public void expect_findLatestReadings_returnsLatestReadingOfEachSensor() {
+
+        // arrange
+        UUID otherSensorId = UUID.randomUUID();
+        sensorReadingRepository.insertReadings(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusMinutes(2), 23.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.0),
+                new SensorReadingRow(CAMERA_ID, otherSensorId, SensorType.LIGHT, RECORDED_AT.plusMinutes(1), 300.0),
+                new SensorReadingRow(CAMERA_ID, UUID.randomUUID(), SensorType.LIGHT, RECORDED_AT.plusMinutes(5), 99.0)));
+        Map<UUID, Double> latest = new HashMap<>();
+        Map<UUID, Long> timestamps = new HashMap<>();
+
+        // act
+        sensorReadingRepository.findLatestReadings(List.of(SENSOR_ID, otherSensorId, UUID.randomUUID()),
+                (sensorId, timestamp, value) -> {
+                    latest.put(sensorId, value);
+                    timestamps.put(sensorId, timestamp);
+                });
+
+        // assert
+        Assertions.assertThat(latest).containsOnly(Map.entry(SENSOR_ID, 23.0), Map.entry(otherSensorId, 300.0));
+        Assertions.assertThat(timestamps.get(SENSOR_ID))
+                .isEqualTo(RECORDED_AT.plusMinutes(2).toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Test
+    public void expect_streamReadingsBeforeAndDeleteReadings_compactOnlyReadingsOfClosedWindows() {
+
+        // arrange
+        UUID otherSensorId = UUID.randomUUID();
+        sensorReadingRepository.insertReadings(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT.plusMinutes(1), 310.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 300.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT.plusHours(1), 320.0),
+                new SensorReadingRow(CAMERA_ID, otherSensorId, SensorType.LIGHT, RECORDED_AT.plusHours(1), 330.0)));
+        List<Long> ids = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+
+        // act
+        List<UUID> sensorIds = sensorReadingRepository.findSensorIdsWithReadingsBefore(RECORDED_AT.plusHours(1), 10);
+        sensorReadingRepository.streamReadingsBefore(SENSOR_ID, RECORDED_AT.plusHours(1), 10, (id, timestamp, value) -> {
+            ids.add(id);
+            values.add(value);
+        });
+        int deleted = sensorReadingRepository.deleteReadings(ids.stream().mapToLong(Long::longValue).toArray());
+
+        // assert
+        Assertions.assertThat(sensorIds).containsExactly(SENSOR_ID);
+        Assertions.assertThat(values).containsExactly(300.0, 310.0);
+        Assertions.assertThat(deleted).isEqualTo(2);
+        Assertions.assertThat(sensorReadingRepository.deleteReadings(new long[]{ids.get(0)})).isZero();
+        Assertions.assertThat(sensorReadingRepository.findAll()).extracting(SensorReading::getValue)
+                .containsExactlyInAnyOrder(320.0, 330.0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupRow;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@DataJpaTest
+class SensorReadingRollupRepositoryTest {
+
+    @Autowired
+    private SensorReadingRollupRepository sensorReadingRollupRepository;
+
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime BUCKET_START = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @Test
+    public void expect_mergeRollups_insertsNewBucketsAndMergesExistingOnes() {
+
+        // arrange
+        sensorReadingRollupRepository.mergeRollups(List.of(
+                rollup(BUCKET_START, 20.0, 22.0),
+                rollup(BUCKET_START.plusHours(1), 18.0)));
+
+        // act
+        sensorReadingRollupRepository.mergeRollups(List.of(
+                rollup(BUCKET_START, 19.0, 21.0),
+                rollup(BUCKET_START.plusHours(2), 25.0)));
+
+        // assert
+        List<SensorReadingRollupResponse> rollups = sensorReadingRollupRepository.findRollups(SENSOR_ID,
+                RollupResolution.HOUR, BUCKET_START, BUCKET_START.plusHours(2));
+        Assertions.assertThat(rollups).extracting(SensorReadingRollupResponse::getBucketStart)
+                .containsExactly(BUCKET_START, BUCKET_START.plusHours(1));
+        SensorReadingRollupResponse merged = rollups.get(0);
+        Assertions.assertThat(merged.getCount()).isEqualTo(4);
+        Assertions.assertThat(merged.getMin()).isEqualTo(19.0);
+        Assertions.assertThat(merged.getMax()).isEqualTo(22.0);
+        Assertions.assertThat(merged.getSum()).isEqualTo(82.0);
+        Assertions.assertThat(merged.getAverage()).isEqualTo(20.5);
+        Assertions.assertThat(sensorReadingRollupRepository.count()).isEqualTo(3);
+    }
+
+    private SensorReadingRollupRow rollup(LocalDateTime bucketStart, double... values) {
+        SensorReadingRollupRow rollup = new SensorReadingRollupRow(SENSOR_ID, RollupResolution.HOUR, bucketStart);
+        for (double value : values) {
+            rollup.add(value);
+        }
+        return rollup;
+    }
+}
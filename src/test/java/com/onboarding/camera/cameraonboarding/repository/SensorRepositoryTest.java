@@ -0,0 +1,178 @@
+package com.onboarding.camera.cameraonboarding.repository;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.LightSensor;
+import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@DataJpaTest
+class SensorRepositoryTest {
+
+    @Autowired
+    private SensorRepository sensorRepository;
+
+    @Autowired
+    private CameraRepository cameraRepository;
+
+    private Camera camera;
+
+    private LightSensor lightSensor;
+
+    private final String CAMERA_NAME = "Camera 1";
+    private final String FIRMWARE_VERSION = "v1.0";
+    private final String SENSOR_NAME = "Light Sensor 1";
+    private final String UPDATED_SENSOR_NAME = "Updated Light Sensor";
+    private final String UPDATED_SENSOR_VERSION = "v1.1";
+    private final String UPDATED_SENSOR_DATA = "Updated Sensor Data";
+    private final UUID NON_EXISTING_UUID = UUID.fromString("ef556dc0-0ddc-4f39-a96d-6886a54eee54");
+
+    @BeforeEach
+    void setUp() {
+        Camera newCamera = new Camera();
+        newCamera.setCameraName(CAMERA_NAME);
+        newCamera.setFirmwareVersion(FIRMWARE_VERSION);
+        camera = cameraRepository.save(newCamera);
+
+        LightSensor newSensor = new LightSensor();
+        newSensor.setName(SENSOR_NAME);
+        newSensor.setSensorType(SensorType.LIGHT);
+        newSensor.setCamera(camera);
+        lightSensor = sensorRepository.saveAndFlush(newSensor);
+    }
+
+    @Test
+    public void expect_updateSensor_withMatchingCameraAndType_updatesSensor() {
+
+        // act
+        int updated = sensorRepository.updateSensor(camera.getCamId(), lightSensor.getId(), SensorType.LIGHT,
+                UPDATED_SENSOR_NAME, UPDATED_SENSOR_VERSION, UPDATED_SENSOR_DATA);
+
+        // assert
+        Assertions.assertThat(updated).isEqualTo(1);
+        Optional<SensorRow> sensorRow = sensorRepository.findSensorRowById(lightSensor.getId());
+        Assertions.assertThat(sensorRow).isPresent();
+        Assertions.assertThat(sensorRow.get().getName()).isEqualTo(UPDATED_SENSOR_NAME);
+        Assertions.assertThat(sensorRow.get().getVersion()).isEqualTo(UPDATED_SENSOR_VERSION);
+        Assertions.assertThat(sensorRow.get().getData()).isEqualTo(UPDATED_SENSOR_DATA);
+        Assertions.assertThat(sensorRow.get().getSensorType()).isEqualTo(SensorType.LIGHT);
+    }
+
+    @Test
+    public void expect_updateSensor_withOtherTypeOrCamera_updatesNothing() {
+
+        // act and assert
+        Assertions.assertThat(sensorRepository.updateSensor(camera.getCamId(), lightSensor.getId(), SensorType.MOTION,
+                UPDATED_SENSOR_NAME, null, null)).isZero();
+        Assertions.assertThat(sensorRepository.updateSensor(NON_EXISTING_UUID, lightSensor.getId(), SensorType.LIGHT,
+                UPDATED_SENSOR_NAME, null, null)).isZero();
+        Assertions.assertThat(sensorRepository.findSensorRowById(lightSensor.getId()))
+                .hasValueSatisfying(sensorRow -> Assertions.assertThat(sensorRow.getName()).isEqualTo(SENSOR_NAME));
+    }
+
+    @Test
+    public void expect_updateSensors_withMatchingAndStaleRows_updatesMatchingRows() {
+
+        // arrange
+        List<SensorRow> sensors = List.of(
+                new SensorRow(camera.getCamId(), lightSensor.getId(), UPDATED_SENSOR_NAME, UPDATED_SENSOR_VERSION,
+                        SensorType.LIGHT, UPDATED_SENSOR_DATA),
+                new SensorRow(camera.getCamId(), NON_EXISTING_UUID, UPDATED_SENSOR_NAME, null, SensorType.LIGHT, null));
+
+        // act
+        int[] updated = sensorRepository.updateSensors(sensors);
+
+        // assert
+        Assertions.assertThat(updated).containsExactly(1, 0);
+        Optional<SensorRow> sensorRow = sensorRepository.findSensorRowById(lightSensor.getId());
+        Assertions.assertThat(sensorRow).isPresent();
+        Assertions.assertThat(sensorRow.get().getName()).isEqualTo(UPDATED_SENSOR_NAME);
+        Assertions.assertThat(sensorRow.get().getVersion()).isEqualTo(UPDATED_SENSOR_VERSION);
+        Assertions.assertThat(sensorRow.get().getData()).isEqualTo(UPDATED_SENSOR_DATA);
+    }
+
+    @Test
+    public void expect_findSensorRowsByReadingValue_withRange_returnsSensorsWithinRangeHighestFirst() {
+
+        // arrange
+        sensorRepository.updateSensor(camera.getCamId(), lightSensor.getId(), SensorType.LIGHT, SENSOR_NAME, null, "350");
+        LightSensor brightSensor = new LightSensor();
+        brightSensor.setName(SENSOR_NAME);
+        brightSensor.setSensorType(SensorType.LIGHT);
+        brightSensor.setData("900");
+        brightSensor.setCamera(camera);
+        sensorRepository.saveAndFlush(brightSensor);
+        LightSensor legacySensor = new LightSensor();
+        legacySensor.setName(SENSOR_NAME);
+        legacySensor.setSensorType(SensorType.LIGHT);
+        legacySensor.setData(UPDATED_SENSOR_DATA);
+        legacySensor.setCamera(camera);
+        sensorRepository.saveAndFlush(legacySensor);
+
+        // act
+        List<SensorRow> sensorRows = sensorRepository.findSensorRowsByReadingValue(SensorType.LIGHT, 300, Double.MAX_VALUE,
+                PageRequest.of(0, 10));
+        List<SensorRow> dimSensorRows = sensorRepository.findSensorRowsByReadingValue(SensorType.LIGHT, 0, 500,
+                PageRequest.of(0, 10));
+
+        // assert
+        Assertions.assertThat(sensorRows).extracting(SensorRow::getId).containsExactly(brightSensor.getId(), lightSensor.getId());
+        Assertions.assertThat(sensorRows).extracting(SensorRow::getCameraId).containsOnly(camera.getCamId());
+        Assertions.assertThat(dimSensorRows).extracting(SensorRow::getId).containsExactly(lightSensor.getId());
+        Assertions.assertThat(sensorRepository.findSensorRowsByReadingValue(SensorType.TEMPERATURE, 0, Double.MAX_VALUE,
+                PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    public void expect_deleteSensor_withMatchingCameraAndType_deletesSensor() {
+
+        // act and assert
+        Assertions.assertThat(sensorRepository.deleteSensor(camera.getCamId(), lightSensor.getId(), SensorType.TEMPERATURE)).isZero();
+        Assertions.assertThat(sensorRepository.deleteSensor(camera.getCamId(), lightSensor.getId(), SensorType.LIGHT)).isEqualTo(1);
+        Assertions.assertThat(sensorRepository.findSensorRowById(lightSensor.getId())).isEmpty();
+    }
+
+    @Test
+    public void expect_findSensorRowById_withExistingSensor_returnsCameraAndType() {
+
+        // act
+        Optional<SensorRow> sensorRow = sensorRepository.findSensorRowById(lightSensor.getId());
+
+        // assert
+        Assertions.assertThat(sensorRow).isPresent();
+        Assertions.assertThat(sensorRow.get().getCameraId()).isEqualTo(camera.getCamId());
+        Assertions.assertThat(sensorRow.get().getSensorType()).isEqualTo(SensorType.LIGHT);
+        Assertions.assertThat(sensorRepository.findSensorRowById(NON_EXISTING_UUID)).isEmpty();
+    }
+
+    @Test
+    public void expect_findSensorRowsByCameraId_withAndWithoutType_returnsSensorsOfCamera() {
+
+        // arrange
+        MotionSensor motionSensor = new MotionSensor();
+        motionSensor.setName(SENSOR_NAME);
+        motionSensor.setSensorType(SensorType.MOTION);
+        motionSensor.setCamera(camera);
+        sensorRepository.saveAndFlush(motionSensor);
+
+        // act
+        List<SensorRow> allSensors = sensorRepository.findSensorRowsByCameraId(camera.getCamId(), null);
+        List<SensorRow> motionSensors = sensorRepository.findSensorRowsByCameraId(camera.getCamId(), SensorType.MOTION);
+
+        // assert
+        Assertions.assertThat(allSensors).extracting(SensorRow::getSensorType)
+                .containsExactlyInAnyOrder(SensorType.LIGHT, SensorType.MOTION);
+        Assertions.assertThat(motionSensors).extracting(SensorRow::getId).containsExactly(motionSensor.getId());
+        Assertions.assertThat(sensorRepository.findSensorRowsByCameraId(NON_EXISTING_UUID, null)).isEmpty();
+    }
+}
@@ -181,7 +181,7 @@ class TemperatureSensorRepositoryTest {
         Camera savedCamera = cameraRepository.save(camera);
 
         // Act
-        List<TemperatureSensor> sensors = temperatureSensorRepository.findTemperatureSensorByCamera(savedCamera);
+        List<TemperatureSensor> sensors = temperatureSensorRepository.findTemperatureSensorByCameraCamId(savedCamera.getCamId());
 
         // Assert
         Assertions.assertThat(sensors).hasSize(2);
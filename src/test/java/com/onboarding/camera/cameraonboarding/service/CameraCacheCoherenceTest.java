@@ -0,0 +1,78 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.CameraOnboardingApplication;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+
+/**
+ * Runs two application contexts against one shared H2 database, standing in for two replicas
+ */
+class CameraCacheCoherenceTest {
+
+    private ConfigurableApplicationContext firstReplica;
+
+    private ConfigurableApplicationContext secondReplica;
+
+    @BeforeEach
+    void setUp() {
+        firstReplica = startReplica();
+        secondReplica = startReplica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        secondReplica.close();
+        firstReplica.close();
+    }
+
+    @Test
+    void expect_pollChanges_evictsCameraChangedByOtherReplica() {
+
+        // arrange
+        Camera camera = new Camera();
+        camera.setCameraName("Camera 1");
+        camera.setFirmwareVersion("v1.0");
+        camera.setCreatedAt(LocalDateTime.of(2024, 7, 29, 10, 0));
+        camera.setOnboardedAt(LocalDateTime.of(2024, 7, 29, 10, 0));
+        Camera savedCamera = firstReplica.getBean(CameraRepository.class).save(camera);
+
+        CameraLookupService secondCameraLookupService = secondReplica.getBean(CameraLookupService.class);
+        Assertions.assertThat(secondCameraLookupService.getCamera(savedCamera.getCamId()).getInitializedAt()).isNull();
+
+        // act
+        firstReplica.getBean(CameraService.class).handleInitializeCamera(savedCamera.getCamId());
+        CameraSnapshot beforePoll = secondCameraLookupService.getCamera(savedCamera.getCamId());
+        int evicted = secondReplica.getBean(CameraChangeService.class).pollChanges();
+        CameraSnapshot afterPoll = secondCameraLookupService.getCamera(savedCamera.getCamId());
+
+        // assert
+        Assertions.assertThat(beforePoll.getInitializedAt()).isNull();
+        Assertions.assertThat(evicted).isEqualTo(1);
+        Assertions.assertThat(afterPoll.getInitializedAt()).isNotNull();
+        Assertions.assertThat(firstReplica.getBean(CameraChangeService.class).pollChanges()).isZero();
+        Assertions.assertThat(secondReplica.getBean(MeterRegistry.class)
+                .get("camera.cache.coherence.staleness").timer().count()).isEqualTo(1);
+    }
+
+    private ConfigurableApplicationContext startReplica() {
+        return new SpringApplicationBuilder(CameraOnboardingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cache_coherence;DB_CLOSE_DELAY=-1",
+                        "spring.cache.cache-names=cameras",
+                        "camera.cache.coherence.poll-interval-ms=3600000",
+                        "camera.cache.coherence.purge-interval-ms=3600000")
+                .run();
+    }
+}
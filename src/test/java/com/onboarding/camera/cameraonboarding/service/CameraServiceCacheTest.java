@@ -0,0 +1,123 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.config.CacheEvictedEvent;
+import com.onboarding.camera.cameraonboarding.config.CoherentCacheManager;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.exception.ImageNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.service.impl.CameraCacheEvictorImpl;
+import com.onboarding.camera.cameraonboarding.service.impl.CameraLookupServiceImpl;
+import com.onboarding.camera.cameraonboarding.service.impl.CameraServiceImpl;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@SpringBootTest(classes = {CacheConfig.class, CameraServiceImpl.class, CameraLookupServiceImpl.class,
+        CameraCacheEvictorImpl.class, CameraDtoConverter.class}, properties = {
+        "spring.cache.cache-names=cameras",
+        "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=60s,recordStats"
+})
+@RecordApplicationEvents
+class CameraServiceCacheTest {
+
+    @MockBean
+    private CameraRepository cameraRepository;
+
+    @MockBean
+    private DateTimeFactory dateTimeFactory;
+
+    @MockBean
+    private BlobStorageService blobStorageService;
+
+    @MockBean
+    private CameraMetricService cameraMetricService;
+
+    @Autowired
+    private CameraService cameraService;
+
+    @Autowired
+    private CameraLookupService cameraLookupService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private CameraSnapshot camera;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).clear();
+        camera = new CameraSnapshot(CAMERA_ID, "Camera 1", "v1.0", null, NOW, NOW, NOW);
+    }
+
+    @Test
+    void expect_getCamera_calledTwice_loadsCameraOnce() {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.of(camera));
+
+        // act
+        CameraSnapshot first = cameraLookupService.getCamera(CAMERA_ID);
+        CameraSnapshot second = cameraLookupService.getCamera(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(cacheManager).isInstanceOf(CoherentCacheManager.class);
+
+        Mockito.verify(cameraRepository, Mockito.times(1)).findCameraSnapshot(CAMERA_ID);
+    }
+
+    @Test
+    void expect_handleGetImageMetadata_calledTwice_loadsCameraOnce() {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.of(camera));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.handleGetImageMetadata(CAMERA_ID))
+                .isInstanceOf(ImageNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> cameraService.handleGetImageMetadata(CAMERA_ID))
+                .isInstanceOf(ImageNotFoundException.class);
+
+        Mockito.verify(cameraRepository, Mockito.times(1)).findCameraSnapshot(CAMERA_ID);
+    }
+
+    @Test
+    void expect_handleInitializeCamera_evictsCachedCamera() {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.initializeCamera(CAMERA_ID, NOW)).thenReturn(1);
+        cameraLookupService.getCamera(CAMERA_ID);
+
+        // act
+        cameraService.handleInitializeCamera(CAMERA_ID);
+        cameraLookupService.getCamera(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(applicationEvents.stream(CacheEvictedEvent.class))
+                .containsExactly(new CacheEvictedEvent(CacheConfig.CAMERA_CACHE, CAMERA_ID));
+
+        Mockito.verify(cameraRepository, Mockito.times(2)).findCameraSnapshot(CAMERA_ID);
+    }
+}
@@ -1,5 +1,15 @@
 package com.onboarding.camera.cameraonboarding.service;
 
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraDetailRow;
+import com.onboarding.camera.cameraonboarding.dto.CameraFilter;
+import com.onboarding.camera.cameraonboarding.dto.CameraImageMetadata;
+import com.onboarding.camera.cameraonboarding.dto.CameraPageResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
 import com.onboarding.camera.cameraonboarding.dto.LocationDto;
 import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.Location;
@@ -15,6 +25,7 @@ import com.onboarding.camera.cameraonboarding.exception.LocationNotAddedExceptio
 import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
 import com.onboarding.camera.cameraonboarding.service.impl.BlobStorageServiceImpl;
 import com.onboarding.camera.cameraonboarding.service.impl.CameraServiceImpl;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
 import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,10 +37,17 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,6 +66,15 @@ class CameraServiceImplTest {
     @Mock
     private CameraMetricService cameraMetricService;
 
+    @Mock
+    private CameraLookupService cameraLookupService;
+
+    @Mock
+    private CameraCacheEvictor cameraCacheEvictor;
+
+    @Spy
+    private CameraDtoConverter cameraDtoConverter = new CameraDtoConverter();
+
     @InjectMocks
     private CameraServiceImpl cameraService;
 
@@ -56,8 +83,6 @@ class CameraServiceImplTest {
 
     private Camera camera;
 
-    private ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
     private LocationDto locationDto;
 
     private final String CAMERA_NAME = "Camera 1";
@@ -71,6 +96,8 @@ class CameraServiceImplTest {
     private final byte[] IMAGE_DATA = new byte[1024 * 1024];
     private final String CONTAINER_NAME = "test_container";
     private final UUID IMAGE_ID = UUID.randomUUID();
+    private final String E_TAG = "\"0x8DCB1F2A3B4C5D6\"";
+    private final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2024, 8, 7, 10, 0, 0, 0, ZoneOffset.UTC);
     private final UUID NULL_UUID = null;
     private final Double LATITUDE = 51.232;
     private final Double LONGITUDE = -51.232;
@@ -170,51 +197,50 @@ class CameraServiceImplTest {
     void expect_handleInitializeCamera_withValidCamera_returnVoid() {
 
         // arrange
-        camera.setCamId(CAMERA_ID);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
         Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
-        Mockito.when(cameraRepository.save(camera)).thenReturn(camera);
+        Mockito.when(cameraRepository.initializeCamera(CAMERA_ID, NOW)).thenReturn(1);
 
         // act
         cameraService.handleInitializeCamera(CAMERA_ID);
 
         // assert
-        Mockito.verify(cameraRepository).save(cameraArgumentCaptor.capture());
-        final Camera capturedCamera = cameraArgumentCaptor.getValue();
-
-        Assertions.assertThat(capturedCamera.getInitializedAt()).isNotNull();
-        Assertions.assertThat(capturedCamera.getInitializedAt()).isEqualTo(NOW);
-
-        Mockito.verify(cameraRepository).findById(CAMERA_ID);
+        Mockito.verify(cameraRepository).initializeCamera(CAMERA_ID, NOW);
+        Mockito.verify(cameraRepository, Mockito.never()).findById(CAMERA_ID);
+        Mockito.verify(cameraCacheEvictor).evict(CAMERA_ID);
+        Mockito.verify(cameraRepository, Mockito.never()).save(ArgumentMatchers.any(Camera.class));
+        Mockito.verify(cameraMetricService).incrementCameraInitializationSuccess();
     }
 
     @Test
     void expect_handleInitializeCamera_withNonExistingCamId_throwsException() {
 
         // arrange
-        Mockito.when(cameraRepository.findById(NON_EXISTING_UUID)).thenReturn(Optional.empty());
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.initializeCamera(NON_EXISTING_UUID, NOW)).thenReturn(0);
+        Mockito.when(cameraRepository.existsById(NON_EXISTING_UUID)).thenReturn(false);
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleInitializeCamera(NON_EXISTING_UUID))
                 .isInstanceOf(CameraNotFoundException.class)
                 .hasMessageContaining("Camera not found with id: " + NON_EXISTING_UUID);
 
-        Mockito.verify(cameraRepository).findById(NON_EXISTING_UUID);
+        Mockito.verify(cameraMetricService, Mockito.never()).incrementCameraTransitionConflict(ArgumentMatchers.anyString());
     }
 
     @Test
     void expect_handleInitializeCamera_withAlreadyInitializedCamera_throwsException() {
 
         // arrange
-        camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.initializeCamera(CAMERA_ID, NOW)).thenReturn(0);
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(true);
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleInitializeCamera(CAMERA_ID))
                 .isInstanceOf(CameraAlreadyInitializedException.class)
                 .hasMessageContaining("Camera already initialized");
 
-        Mockito.verify(cameraRepository).findById(CAMERA_ID);
+        Mockito.verify(cameraMetricService).incrementCameraTransitionConflict("initialize");
         Mockito.verify(cameraRepository, Mockito.never()).save(ArgumentMatchers.any(Camera.class));
     }
 
@@ -222,16 +248,15 @@ class CameraServiceImplTest {
     void expect_handleInitializeCamera_withNotInitializedCamera_throwsException() {
 
         // arrange
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
-
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
         Mockito.doThrow(new RuntimeException("Error occurred while initializing camera"))
-                .when(cameraRepository).save(camera);
+                .when(cameraRepository).initializeCamera(CAMERA_ID, NOW);
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleInitializeCamera(CAMERA_ID))
                 .isInstanceOf(CameraNotInitializedException.class);
 
-        Mockito.verify(cameraRepository).findById(CAMERA_ID);
+        Mockito.verify(cameraMetricService).incrementCameraInitializationFailure();
     }
 
     @Test
@@ -257,11 +282,64 @@ class CameraServiceImplTest {
         Mockito.verify(cameraRepository, Mockito.never()).findById(CAMERA_ID);
     }
 
+    @Test
+    void expect_getCameraReference_withExistingCamera_returnsReferenceWithoutLoadingCamera() {
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(snapshot(camera));
+        Mockito.when(cameraRepository.getReferenceById(CAMERA_ID)).thenReturn(camera);
+
+        // act
+        final Camera actualCamera = cameraService.getCameraReference(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(actualCamera).isEqualTo(camera);
+        Mockito.verify(cameraRepository, Mockito.never()).findById(CAMERA_ID);
+    }
+
+    @Test
+    void expect_getCameraReference_withNonExistingCamera_throwsCameraNotFoundException() {
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(NON_EXISTING_UUID))
+                .thenThrow(new CameraNotFoundException("Camera not found with id: " + NON_EXISTING_UUID));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.getCameraReference(NON_EXISTING_UUID))
+                .isInstanceOf(CameraNotFoundException.class);
+
+        Mockito.verify(cameraRepository, Mockito.never()).getReferenceById(NON_EXISTING_UUID);
+    }
+
+    @Test
+    void expect_getCameraResponseById_withDetailRows_returnCameraResponse() {
+        // arrange
+        Mockito.when(cameraRepository.findCameraDetailRows(CAMERA_ID)).thenReturn(List.of(
+                new CameraDetailRow(CAMERA_ID, CAMERA_NAME, FIRMWARE_VERSION, null, null, null, null, null)));
+
+        // act
+        CameraResponse cameraResponse = cameraService.getCameraResponseById(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(cameraResponse.getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(cameraResponse.getSensors()).isEmpty();
+
+        Mockito.verify(cameraRepository, Mockito.never()).findById(CAMERA_ID);
+    }
+
+    @Test
+    void expect_getCameraResponseById_withNonExistingCamera_throwsException() {
+        // arrange
+        Mockito.when(cameraRepository.findCameraDetailRows(NON_EXISTING_UUID)).thenReturn(List.of());
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.getCameraResponseById(NON_EXISTING_UUID))
+                .isInstanceOf(CameraNotFoundException.class)
+                .hasMessageContaining("Camera not found with id: " + NON_EXISTING_UUID);
+    }
+
     @Test
     void expect_handleUploadImage_withValidData_returnVoid() {
         // arrange
-        camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(1);
         Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
 
         // act
@@ -269,30 +347,34 @@ class CameraServiceImplTest {
 
         // assert
         Mockito.verify(blobStorageService).uploadFile(CONTAINER_NAME, IMAGE_ID.toString(), IMAGE_DATA);
-        Mockito.verify(cameraRepository).save(camera);
-        Assertions.assertThat(camera.getImageId()).isEqualTo(IMAGE_ID);
+        Mockito.verify(cameraLookupService, Mockito.never()).getCamera(CAMERA_ID);
+        Mockito.verify(cameraMetricService).incrementImageUploadSuccess();
     }
 
     @Test
     void expect_handleUploadImage_withAlreadyUploadedImage_throwsException() {
         // arrange
+        UUID secondImageId = UUID.randomUUID();
         camera.setImageId(IMAGE_ID);
         camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, secondImageId)).thenReturn(0);
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.of(snapshot(camera)));
 
         // act and assert
-        Assertions.assertThatThrownBy(() -> cameraService.handleUploadImage(CAMERA_ID, IMAGE_ID, IMAGE_DATA))
+        Assertions.assertThatThrownBy(() -> cameraService.handleUploadImage(CAMERA_ID, secondImageId, IMAGE_DATA))
                 .isInstanceOf(ImageAlreadyUploadedException.class)
                 .hasMessageContaining("Camera already have image with id: " + IMAGE_ID);
 
         Mockito.verify(blobStorageService, Mockito.never()).uploadFile(Mockito.anyString(), Mockito.anyString(), Mockito.any());
+        Mockito.verify(cameraMetricService).incrementCameraTransitionConflict("image_claim");
+        Mockito.verifyNoInteractions(cameraLookupService);
     }
 
     @Test
     void expect_handleUploadImage_withNonExistingCamera_throwsException() {
         // arrange
-        camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.empty());
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(0);
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.empty());
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleUploadImage(CAMERA_ID, IMAGE_ID, IMAGE_DATA))
@@ -306,7 +388,8 @@ class CameraServiceImplTest {
     void expect_handleUploadImage_withNotInitializedCamera_throwsException() {
         // arrange
         camera.setInitializedAt(null);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(0);
+        Mockito.when(cameraRepository.findCameraSnapshot(CAMERA_ID)).thenReturn(Optional.of(snapshot(camera)));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleUploadImage(CAMERA_ID, IMAGE_ID, IMAGE_DATA))
@@ -314,13 +397,13 @@ class CameraServiceImplTest {
                 .hasMessageContaining("Camera is not initialized with id: " + CAMERA_ID);
 
         Mockito.verify(blobStorageService, Mockito.never()).uploadFile(Mockito.anyString(), Mockito.anyString(), Mockito.any());
+        Mockito.verify(cameraMetricService, Mockito.never()).incrementCameraTransitionConflict(ArgumentMatchers.anyString());
     }
 
     @Test
     void expect_handleUploadImage_withBlobStorageError_throwsException() {
         // arrange
-        camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(1);
         Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
         Mockito.doThrow(new RuntimeException("Blob storage error")).when(blobStorageService).uploadFile(CONTAINER_NAME, IMAGE_ID.toString(), IMAGE_DATA);
 
@@ -329,104 +412,201 @@ class CameraServiceImplTest {
                 .isInstanceOf(ImageNotUploadedException.class)
                 .hasMessageContaining("Error occurred while uploading image");
 
-        Mockito.verify(cameraRepository, Mockito.never()).save(camera);
+        Mockito.verify(cameraRepository).releaseImage(CAMERA_ID, IMAGE_ID);
+        Mockito.verify(cameraCacheEvictor, Mockito.times(2)).evict(CAMERA_ID);
     }
 
     @Test
     void expect_handleUploadImage_withNullImageId_toThrowIllegalArgumentException() {
-        // arrange
-        camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> cameraService.handleUploadImage(CAMERA_ID, NULL_UUID, IMAGE_DATA))
                 .isInstanceOf(ImageNotUploadedException.class);
 
-        Mockito.verify(cameraRepository, Mockito.never()).save(camera);
+        Mockito.verify(cameraRepository, Mockito.never()).claimImage(ArgumentMatchers.any(), ArgumentMatchers.any());
     }
 
     @Test
-    void expect_handleDownloadImage_withValidData_returnImageBytes() {
+    void expect_handleUploadImageStream_withValidData_returnVoid() throws Exception {
+        // arrange
+        InputStream imageData = new ByteArrayInputStream(IMAGE_DATA);
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(1);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.when(blobStorageService.uploadStream(CONTAINER_NAME, IMAGE_ID.toString(), imageData)).thenReturn((long) IMAGE_DATA.length);
+
+        // act
+        cameraService.handleUploadImageStream(CAMERA_ID, IMAGE_ID, imageData);
+
+        // assert
+        Mockito.verify(blobStorageService).uploadStream(CONTAINER_NAME, IMAGE_ID.toString(), imageData);
+        Mockito.verify(cameraRepository, Mockito.never()).releaseImage(CAMERA_ID, IMAGE_ID);
+        Mockito.verify(cameraMetricService).incrementImageUploadSuccess();
+    }
+
+    @Test
+    void expect_handleUploadImageStream_withRejectedData_releasesImageAndThrowsIllegalArgumentException() throws Exception {
+        // arrange
+        InputStream imageData = new ByteArrayInputStream(new byte[0]);
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(1);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.when(blobStorageService.uploadStream(CONTAINER_NAME, IMAGE_ID.toString(), imageData))
+                .thenThrow(new IllegalArgumentException("File is empty"));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.handleUploadImageStream(CAMERA_ID, IMAGE_ID, imageData))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("File is empty");
+
+        Mockito.verify(cameraRepository).releaseImage(CAMERA_ID, IMAGE_ID);
+        Mockito.verify(cameraMetricService).incrementImageUploadFailure();
+    }
+
+    @Test
+    void expect_handleUploadImageStream_withBlobStorageError_throwsException() throws Exception {
+        // arrange
+        InputStream imageData = new ByteArrayInputStream(IMAGE_DATA);
+        Mockito.when(cameraRepository.claimImage(CAMERA_ID, IMAGE_ID)).thenReturn(1);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.when(blobStorageService.uploadStream(CONTAINER_NAME, IMAGE_ID.toString(), imageData))
+                .thenThrow(new RuntimeException("Blob storage error"));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.handleUploadImageStream(CAMERA_ID, IMAGE_ID, imageData))
+                .isInstanceOf(ImageNotUploadedException.class)
+                .hasMessageContaining("Error occurred while uploading image");
+
+        Mockito.verify(cameraRepository).releaseImage(CAMERA_ID, IMAGE_ID);
+    }
+
+    @Test
+    void expect_handleGetImageMetadata_withValidData_returnsBlobProperties() {
         // arrange
         camera.setImageId(IMAGE_ID);
         camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        BlobProperties blobProperties = Mockito.mock(BlobProperties.class);
+        Mockito.when(blobProperties.getBlobSize()).thenReturn((long) IMAGE_DATA.length);
+        Mockito.when(blobProperties.getETag()).thenReturn("0x8DCB1F2A3B4C5D6");
+        Mockito.when(blobProperties.getLastModified()).thenReturn(LAST_MODIFIED);
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(snapshot(camera));
         Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
-
-        Mockito.lenient().doAnswer(invocation -> {
-                    outputStream = invocation.getArgument(0);
-                    outputStream.writeBytes(IMAGE_DATA);
-                    return null;
-                }
-        ).when(blobStorageService).getBlob(
-                Mockito.any(outputStream.getClass()), Mockito.eq(CONTAINER_NAME), Mockito.eq(IMAGE_ID.toString()));
+        Mockito.when(blobStorageService.getBlobProperties(CONTAINER_NAME, IMAGE_ID.toString())).thenReturn(blobProperties);
 
         // act
-        byte[] downloadedImage = cameraService.handleDownloadImage(CAMERA_ID);
+        CameraImageMetadata imageMetadata = cameraService.handleGetImageMetadata(CAMERA_ID);
 
         // assert
-        Assertions.assertThat(downloadedImage).isEqualTo(IMAGE_DATA);
-        Mockito.verify(blobStorageService).getBlob(
-                Mockito.any(ByteArrayOutputStream.class), Mockito.eq(CONTAINER_NAME), Mockito.eq(IMAGE_ID.toString()));
+        Assertions.assertThat(imageMetadata.getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(imageMetadata.getImageId()).isEqualTo(IMAGE_ID);
+        Assertions.assertThat(imageMetadata.getContentLength()).isEqualTo(IMAGE_DATA.length);
+        Assertions.assertThat(imageMetadata.getETag()).isEqualTo(E_TAG);
+        Assertions.assertThat(imageMetadata.getLastModified()).isEqualTo(LAST_MODIFIED);
+        Mockito.verify(cameraLookupService).getCamera(CAMERA_ID);
+        Mockito.verify(blobStorageService, Mockito.never()).getBlob(Mockito.any(), Mockito.anyString(), Mockito.anyString());
     }
 
     @Test
-    void expect_handleDownloadImage_withNonExistingCamera_throwsException() {
+    void expect_handleGetImageMetadata_withNonExistingImage_throwsException() {
         // arrange
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.empty());
+        camera.setInitializedAt(INITIALIZED_AT);
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(snapshot(camera));
 
         // act and assert
-        Assertions.assertThatThrownBy(() -> cameraService.handleDownloadImage(CAMERA_ID))
-                .isInstanceOf(CameraNotFoundException.class)
-                .hasMessageContaining("Camera not found with id: " + CAMERA_ID);
+        Assertions.assertThatThrownBy(() -> cameraService.handleGetImageMetadata(CAMERA_ID))
+                .isInstanceOf(ImageNotFoundException.class)
+                .hasMessageContaining("Image is not found by given cameraId: " + CAMERA_ID);
 
-        Mockito.verify(blobStorageService, Mockito.never()).getBlob(outputStream, CONTAINER_NAME, IMAGE_ID.toString());
+        Mockito.verify(blobStorageService, Mockito.never()).getBlobProperties(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(cameraMetricService).incrementImageDownloadFailure();
     }
 
     @Test
-    void expect_handleDownloadImage_withNonExistingImage_throwsException() {
+    void expect_handleGetImageMetadata_withImageDeletedFromBlobStorage_throwsImageNotFoundException() {
         // arrange
-        camera.setImageId(null);
+        camera.setImageId(IMAGE_ID);
         camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        BlobStorageException exception = Mockito.mock(BlobStorageException.class);
+        Mockito.when(exception.getStatusCode()).thenReturn(404);
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(snapshot(camera));
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.when(blobStorageService.getBlobProperties(CONTAINER_NAME, IMAGE_ID.toString())).thenThrow(exception);
 
         // act and assert
-        Assertions.assertThatThrownBy(() -> cameraService.handleDownloadImage(CAMERA_ID))
+        Assertions.assertThatThrownBy(() -> cameraService.handleGetImageMetadata(CAMERA_ID))
                 .isInstanceOf(ImageNotFoundException.class)
                 .hasMessageContaining("Image is not found by given cameraId: " + CAMERA_ID);
 
-        Mockito.verify(blobStorageService, Mockito.never()).getBlob(outputStream, CONTAINER_NAME, IMAGE_ID.toString());
+        Mockito.verify(cameraMetricService).incrementImageDownloadFailure();
     }
 
     @Test
-    void expect_handleDownloadImage_withBlobStorageError_throwsException() {
+    void expect_handleGetImageMetadata_withBlobStorageError_throwsImageNotDownloadedException() {
         // arrange
         camera.setImageId(IMAGE_ID);
         camera.setInitializedAt(INITIALIZED_AT);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        BlobStorageException exception = Mockito.mock(BlobStorageException.class);
+        Mockito.when(exception.getStatusCode()).thenReturn(503);
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(snapshot(camera));
         Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
-        Mockito.doThrow(new RuntimeException("Blob storage error")).when(blobStorageService).getBlob(outputStream, CONTAINER_NAME, IMAGE_ID.toString());
+        Mockito.when(blobStorageService.getBlobProperties(CONTAINER_NAME, IMAGE_ID.toString())).thenThrow(exception);
 
         // act and assert
-        Assertions.assertThatThrownBy(() -> cameraService.handleDownloadImage(CAMERA_ID))
+        Assertions.assertThatThrownBy(() -> cameraService.handleGetImageMetadata(CAMERA_ID))
                 .isInstanceOf(ImageNotDownloadedException.class)
                 .hasMessageContaining("Error occurred while downloading image");
 
-        Mockito.verify(cameraRepository).findById(CAMERA_ID);
+        Mockito.verify(cameraMetricService).incrementImageDownloadFailure();
     }
 
     @Test
-    void expect_handleDownloadImage_withNotInitializedCamera_throwsException() {
+    void expect_handleStreamImage_withValidData_writesImageToOutputStream() {
         // arrange
-        camera.setInitializedAt(null);
-        Mockito.when(cameraRepository.findById(CAMERA_ID)).thenReturn(Optional.of(camera));
+        ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, IMAGE_DATA.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.doAnswer(invocation -> {
+            ByteArrayOutputStream target = invocation.getArgument(0);
+            target.writeBytes(IMAGE_DATA);
+            return null;
+        }).when(blobStorageService).getBlob(responseStream, CONTAINER_NAME, IMAGE_ID.toString(), 0L, null, E_TAG);
+
+        // act
+        cameraService.handleStreamImage(imageMetadata, responseStream);
+
+        // assert
+        Assertions.assertThat(responseStream.toByteArray()).isEqualTo(IMAGE_DATA);
+        Mockito.verify(cameraMetricService).incrementImageDownloadSuccess();
+    }
+
+    @Test
+    void expect_handleStreamImageRange_withValidRange_readsOnlyRangeOfSameImage() {
+        // arrange
+        ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, IMAGE_DATA.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+
+        // act
+        cameraService.handleStreamImageRange(imageMetadata, 10L, 20L, responseStream);
+
+        // assert
+        Mockito.verify(blobStorageService).getBlob(responseStream, CONTAINER_NAME, IMAGE_ID.toString(), 10L, 20L, E_TAG);
+        Mockito.verify(cameraMetricService).incrementImageDownloadSuccess();
+    }
+
+    @Test
+    void expect_handleStreamImage_withBlobStorageError_throwsException() {
+        // arrange
+        ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        CameraImageMetadata imageMetadata = new CameraImageMetadata(CAMERA_ID, IMAGE_ID, IMAGE_DATA.length, E_TAG, LAST_MODIFIED);
+        Mockito.when(blobStorageService.getContainerName()).thenReturn(CONTAINER_NAME);
+        Mockito.doThrow(new RuntimeException("Blob storage error"))
+                .when(blobStorageService).getBlob(responseStream, CONTAINER_NAME, IMAGE_ID.toString(), 0L, null, E_TAG);
 
         // act and assert
-        Assertions.assertThatThrownBy(() -> cameraService.handleDownloadImage(CAMERA_ID))
-                .isInstanceOf(CameraNotInitializedException.class)
-                .hasMessageContaining("Camera is not initialized with id: " + CAMERA_ID);
+        Assertions.assertThatThrownBy(() -> cameraService.handleStreamImage(imageMetadata, responseStream))
+                .isInstanceOf(ImageNotDownloadedException.class)
+                .hasMessageContaining("Error occurred while downloading image");
 
-        Mockito.verify(blobStorageService, Mockito.never()).getBlob(Mockito.any(), Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(cameraMetricService).incrementImageDownloadFailure();
     }
 
     @Test
@@ -492,4 +672,59 @@ class CameraServiceImplTest {
 
         Mockito.verify(cameraRepository).findById(CAMERA_ID);
     }
+
+    @Test
+    void expect_getCameras_withMoreRowsThanLimit_returnNextCursor() {
+        // arrange
+        ReflectionTestUtils.setField(cameraService, "maxPageSize", 500);
+        CameraFilter filter = new CameraFilter();
+        CameraSummaryResponse first = new CameraSummaryResponse(CAMERA_ID, CAMERA_NAME, FIRMWARE_VERSION, null,
+                CREATED_AT, ONBOARDED_AT, null);
+        CameraSummaryResponse second = new CameraSummaryResponse(UUID.randomUUID(), CAMERA_NAME, FIRMWARE_VERSION, null,
+                CREATED_AT.plusMinutes(1), ONBOARDED_AT, null);
+        Mockito.when(cameraRepository.findCameraPage(filter, null, 2)).thenReturn(List.of(first, second));
+
+        // act
+        CameraPageResponse page = cameraService.getCameras(filter, null, 1);
+
+        // assert
+        Assertions.assertThat(page.getItems()).containsExactly(first);
+        Assertions.assertThat(CameraCursor.decode(page.getNextCursor()))
+                .isEqualTo(new CameraCursor(CREATED_AT, CAMERA_ID));
+    }
+
+    @Test
+    void expect_getCameras_withLastPage_returnNullCursor() {
+        // arrange
+        ReflectionTestUtils.setField(cameraService, "maxPageSize", 500);
+        CameraFilter filter = new CameraFilter();
+        CameraCursor cursor = new CameraCursor(CREATED_AT, CAMERA_ID);
+        Mockito.when(cameraRepository.findCameraPage(filter, cursor, 51)).thenReturn(List.of());
+
+        // act
+        CameraPageResponse page = cameraService.getCameras(filter, cursor.encode(), 50);
+
+        // assert
+        Assertions.assertThat(page.getItems()).isEmpty();
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void expect_getCameras_withInvalidLimitOrCursor_throwsException() {
+        // arrange
+        ReflectionTestUtils.setField(cameraService, "maxPageSize", 500);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraService.getCameras(new CameraFilter(), null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> cameraService.getCameras(new CameraFilter(), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    private CameraSnapshot snapshot(Camera source) {
+        return new CameraSnapshot(source.getCamId(), source.getCameraName(), source.getFirmwareVersion(), source.getImageId(),
+                source.getCreatedAt(), source.getOnboardedAt(), source.getInitializedAt());
+    }
 }
@@ -0,0 +1,95 @@
+package com.onboarding.camera.cameraonboarding.service;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingBlockRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.impl.SensorLatestReadingServiceImpl;
+import com.onboarding.camera.cameraonboarding.service.impl.SensorReadingBlockServiceImpl;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compacts the raw readings of a sensor with the block service before its latest reading is read
+ */
+@DataJpaTest
+class SensorLatestReadingCompactionTest {
+
+    @Autowired
+    private CameraRepository cameraRepository;
+
+    @Autowired
+    private SensorRepository sensorRepository;
+
+    @Autowired
+    private SensorReadingRepository sensorReadingRepository;
+
+    @Autowired
+    private SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final LocalDateTime NOW = RECORDED_AT.plusHours(3);
+
+    @Test
+    void expect_handleGetLatestReading_afterCompaction_returnsLastCompactedReadingWithItsTime() {
+
+        // arrange
+        Camera camera = new Camera();
+        camera.setCameraName("Camera 1");
+        camera.setFirmwareVersion("v1.0");
+        Camera savedCamera = cameraRepository.save(camera);
+        TemperatureSensor sensor = new TemperatureSensor();
+        sensor.setName("Temperature Sensor 1");
+        sensor.setSensorType(SensorType.TEMPERATURE);
+        sensor.setCamera(savedCamera);
+        sensor.setData("20");
+        TemperatureSensor savedSensor = sensorRepository.saveAndFlush(sensor);
+        sensorReadingRepository.insertReadings(List.of(
+                new SensorReadingRow(savedCamera.getCamId(), savedSensor.getId(), SensorType.TEMPERATURE, RECORDED_AT, 21.0),
+                new SensorReadingRow(savedCamera.getCamId(), savedSensor.getId(), SensorType.TEMPERATURE,
+                        RECORDED_AT.plusMinutes(10), 21.5)));
+
+        CameraMetricService cameraMetricService = Mockito.mock(CameraMetricService.class);
+        DateTimeFactory dateTimeFactory = Mockito.mock(DateTimeFactory.class);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        SensorReadingBlockServiceImpl sensorReadingBlockService = new SensorReadingBlockServiceImpl(sensorReadingRepository,
+                sensorReadingBlockRepository, cameraMetricService, dateTimeFactory, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(sensorReadingBlockService, "enabled", true);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "windowMinutes", 60);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "graceMinutes", 5);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "maxSensorsPerRun", 10);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "maxReadingsPerSensor", 1000);
+        SensorLatestReadingServiceImpl sensorLatestReadingService = new SensorLatestReadingServiceImpl(sensorRepository,
+                cameraRepository, sensorReadingRepository, sensorReadingBlockRepository, cameraMetricService,
+                dateTimeFactory, 4, 8, 60000);
+
+        // act
+        int compacted = sensorReadingBlockService.compact();
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(savedCamera.getCamId(),
+                savedSensor.getId());
+
+        // assert
+        Assertions.assertThat(compacted).isEqualTo(2);
+        Assertions.assertThat(sensorReadingRepository.count()).isZero();
+        Assertions.assertThat(latest.getValue()).isEqualTo(21.5);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT.plusMinutes(10));
+    }
+}
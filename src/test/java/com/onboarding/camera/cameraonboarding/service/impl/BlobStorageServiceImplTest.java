@@ -8,13 +8,19 @@ import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobDownloadResponse;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlockBlobItem;
 import com.azure.storage.blob.models.DownloadRetryOptions;
 import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -22,12 +28,16 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 @ExtendWith(SpringExtension.class)
 @TestPropertySource("classpath:application.properties")
@@ -42,6 +52,9 @@ class BlobStorageServiceImplTest {
     @Mock
     private BlobAsyncClient blobAsyncClient;
 
+    @Mock
+    private BlockBlobAsyncClient blockBlobAsyncClient;
+
     @Mock
     private BlobServiceClient blobServiceClient;
 
@@ -64,6 +77,8 @@ class BlobStorageServiceImplTest {
     private final byte[] EMPTY_DATA = new byte[0];
     private final byte[] LARGE_DATA = new byte[1024 * 1024 * 50];
     private final String WRONG_CONTAINER_NAME = "wrong_container_name";
+    private final int STAGE_BLOCK_SIZE = 1024;
+    private final String E_TAG = "\"0x8DCB1F2A3B4C5D6\"";
 
     @BeforeEach
     void setUp() {
@@ -71,6 +86,8 @@ class BlobStorageServiceImplTest {
                 .thenReturn(blobContainerAsyncClient);
         Mockito.when(blobContainerAsyncClient.getBlobAsyncClient(BLOB_NAME))
                 .thenReturn(blobAsyncClient);
+        Mockito.when(blobAsyncClient.getBlockBlobAsyncClient())
+                .thenReturn(blockBlobAsyncClient);
         Mockito.when(blobServiceClient.getBlobContainerClient(CONTAINER_NAME))
                 .thenReturn(blobContainerClient);
         Mockito.when(blobContainerClient.getBlobClient(BLOB_NAME))
@@ -135,6 +152,73 @@ class BlobStorageServiceImplTest {
                 .hasMessageContaining("Blob container not found");
     }
 
+    @Test
+    void expect_uploadStream_withLargerThanBlockData_stagesBlocksAndCommits() throws Exception {
+        // arrange
+        ReflectionTestUtils.setField(blobStorageService, "stageBlockSize", STAGE_BLOCK_SIZE);
+        ReflectionTestUtils.setField(blobStorageService, "maxUploadBytes", (long) DATA.length);
+        ByteArrayOutputStream staged = new ByteArrayOutputStream();
+        List<String> blockIds = new ArrayList<>();
+        Mockito.when(blockBlobAsyncClient.stageBlock(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> {
+                    blockIds.add(invocation.getArgument(0));
+                    Flux<ByteBuffer> block = invocation.getArgument(1);
+                    block.toIterable().forEach(buffer -> {
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.get(bytes);
+                        staged.writeBytes(bytes);
+                    });
+                    return Mono.empty();
+                });
+        Mockito.when(blockBlobAsyncClient.commitBlockList(ArgumentMatchers.anyList(), ArgumentMatchers.eq(true)))
+                .thenReturn(Mono.just(Mockito.mock(BlockBlobItem.class)));
+        byte[] data = new byte[STAGE_BLOCK_SIZE * 2 + 100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        // act
+        long uploaded = blobStorageService.uploadStream(CONTAINER_NAME, BLOB_NAME, new ByteArrayInputStream(data));
+
+        // assert
+        Assertions.assertThat(uploaded).isEqualTo(data.length);
+        Assertions.assertThat(staged.toByteArray()).isEqualTo(data);
+        Assertions.assertThat(blockIds).hasSize(3).doesNotHaveDuplicates();
+        Assertions.assertThat(blockIds).extracting(String::length).containsOnly(blockIds.get(0).length());
+        Mockito.verify(blockBlobAsyncClient).commitBlockList(blockIds, true);
+    }
+
+    @Test
+    void expect_uploadStream_withEmptyData_throwIllegalArgumentException() {
+        // arrange
+        ReflectionTestUtils.setField(blobStorageService, "stageBlockSize", STAGE_BLOCK_SIZE);
+        ReflectionTestUtils.setField(blobStorageService, "maxUploadBytes", (long) DATA.length);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> blobStorageService.uploadStream(CONTAINER_NAME, BLOB_NAME, new ByteArrayInputStream(EMPTY_DATA)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("File is empty");
+
+        Mockito.verify(blockBlobAsyncClient, Mockito.never()).commitBlockList(ArgumentMatchers.anyList(), ArgumentMatchers.anyBoolean());
+    }
+
+    @Test
+    void expect_uploadStream_withDataOverLimit_throwIllegalArgumentException() {
+        // arrange
+        ReflectionTestUtils.setField(blobStorageService, "stageBlockSize", STAGE_BLOCK_SIZE);
+        ReflectionTestUtils.setField(blobStorageService, "maxUploadBytes", (long) STAGE_BLOCK_SIZE);
+        Mockito.when(blockBlobAsyncClient.stageBlock(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.anyLong()))
+                .thenReturn(Mono.empty());
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> blobStorageService.uploadStream(CONTAINER_NAME, BLOB_NAME, new ByteArrayInputStream(DATA)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("File exceeds the upload limit");
+
+        Mockito.verify(blockBlobAsyncClient).stageBlock(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.eq((long) STAGE_BLOCK_SIZE));
+        Mockito.verify(blockBlobAsyncClient, Mockito.never()).commitBlockList(ArgumentMatchers.anyList(), ArgumentMatchers.anyBoolean());
+    }
+
     @Test
     void expect_getBlob_withValidData_succeeds() {
         // arrange
@@ -153,6 +237,39 @@ class BlobStorageServiceImplTest {
         Assertions.assertThat(mockResponse).isNotNull();
     }
 
+    @Test
+    void expect_getBlob_withRange_downloadsOnlyRangeOfUnchangedBlob() {
+        // arrange
+        OutputStream outputStream = new ByteArrayOutputStream();
+        ArgumentCaptor<BlobRange> blobRange = ArgumentCaptor.forClass(BlobRange.class);
+        ArgumentCaptor<BlobRequestConditions> requestConditions = ArgumentCaptor.forClass(BlobRequestConditions.class);
+
+        // act
+        blobStorageService.getBlob(outputStream, CONTAINER_NAME, BLOB_NAME, 100L, 50L, E_TAG);
+
+        // assert
+        Mockito.verify(blobClient).downloadStreamWithResponse(Mockito.eq(outputStream), blobRange.capture(), Mockito.any(DownloadRetryOptions.class),
+                requestConditions.capture(), Mockito.eq(false), Mockito.any(), Mockito.any());
+        Assertions.assertThat(blobRange.getValue().getOffset()).isEqualTo(100L);
+        Assertions.assertThat(blobRange.getValue().getCount()).isEqualTo(50L);
+        Assertions.assertThat(requestConditions.getValue().getIfMatch()).isEqualTo(E_TAG);
+    }
+
+    @Test
+    void expect_getBlobProperties_withValidBlob_returnsPropertiesWithoutDownload() {
+        // arrange
+        BlobProperties blobProperties = Mockito.mock(BlobProperties.class);
+        Mockito.when(blobClient.getProperties()).thenReturn(blobProperties);
+
+        // act
+        BlobProperties properties = blobStorageService.getBlobProperties(CONTAINER_NAME, BLOB_NAME);
+
+        // assert
+        Assertions.assertThat(properties).isSameAs(blobProperties);
+        Mockito.verify(blobClient, Mockito.never()).downloadStreamWithResponse(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.anyBoolean(), Mockito.any(), Mockito.any());
+    }
+
     @Test
     void expect_getBlob_withInvalidContainer_throwsException() {
         // arrange
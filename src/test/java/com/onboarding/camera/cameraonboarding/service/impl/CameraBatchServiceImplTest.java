@@ -0,0 +1,274 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraBulkInitializeResponse;
+import com.onboarding.camera.cameraonboarding.dto.CameraDto;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import jakarta.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class CameraBatchServiceImplTest {
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CAMERA_CACHE);
+
+    private CameraBatchServiceImpl cameraBatchService;
+
+    private final String CAMERA_NAME = "Camera 1";
+    private final String FIRMWARE_VERSION = "v1.0";
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID INITIALIZED_CAMERA_ID = UUID.randomUUID();
+    private final UUID UNKNOWN_CAMERA_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cameraBatchService = new CameraBatchServiceImpl(cameraRepository, new CameraDtoConverter(), dateTimeFactory,
+                cameraMetricService, transactionTemplate, Validation.buildDefaultValidatorFactory().getValidator(),
+                new CameraCacheEvictorImpl(cacheManager));
+        ReflectionTestUtils.setField(cameraBatchService, "chunkSize", 2);
+        ReflectionTestUtils.setField(cameraBatchService, "maxBatchSize", 10);
+    }
+
+    @Test
+    void expect_handleSaveCameras_withValidCameras_returnCreatedItems() {
+
+        // arrange
+        List<CameraDto> cameraDtos = List.of(
+                new CameraDto(CAMERA_NAME, FIRMWARE_VERSION),
+                new CameraDto("Camera 2", FIRMWARE_VERSION),
+                new CameraDto("Camera 3", FIRMWARE_VERSION));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        mockTransactionTemplate();
+        Mockito.when(cameraRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<Camera> cameras = invocation.getArgument(0);
+            cameras.forEach(camera -> camera.setCamId(UUID.randomUUID()));
+            return new ArrayList<>(cameras);
+        });
+
+        // act
+        CameraBatchResponse response = cameraBatchService.handleSaveCameras(cameraDtos);
+
+        // assert
+        Assertions.assertThat(response.getTotal()).isEqualTo(3);
+        Assertions.assertThat(response.getSucceeded()).isEqualTo(3);
+        Assertions.assertThat(response.getFailed()).isZero();
+        Assertions.assertThat(response.getItems())
+                .allSatisfy(item -> {
+                    Assertions.assertThat(item.getStatusCode()).isEqualTo(201);
+                    Assertions.assertThat(item.getCameraId()).isNotNull();
+                });
+
+        Mockito.verify(cameraRepository, Mockito.times(2)).saveAll(ArgumentMatchers.anyList());
+        Mockito.verify(cameraMetricService, Mockito.times(3)).incrementCameraOnboardingSuccess();
+        Mockito.verify(cameraMetricService).recordCameraBatchOnboarding(ArgumentMatchers.eq(3), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void expect_handleSaveCameras_withInvalidCamera_returnBadRequestItem() {
+
+        // arrange
+        List<CameraDto> cameraDtos = List.of(
+                new CameraDto(CAMERA_NAME, FIRMWARE_VERSION),
+                new CameraDto("", FIRMWARE_VERSION));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        mockTransactionTemplate();
+        Mockito.when(cameraRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // act
+        CameraBatchResponse response = cameraBatchService.handleSaveCameras(cameraDtos);
+
+        // assert
+        Assertions.assertThat(response.getSucceeded()).isEqualTo(1);
+        Assertions.assertThat(response.getFailed()).isEqualTo(1);
+        Assertions.assertThat(response.getItems().get(1).getStatusCode()).isEqualTo(400);
+        Assertions.assertThat(response.getItems().get(1).getMessage()).contains("cameraName");
+
+        Mockito.verify(cameraMetricService).incrementCameraOnboardingSuccess();
+        Mockito.verify(cameraMetricService).incrementCameraOnboardingFailure();
+    }
+
+    @Test
+    void expect_handleSaveCameras_withFailingChunk_returnInternalServerErrorItems() {
+
+        // arrange
+        List<CameraDto> cameraDtos = List.of(
+                new CameraDto(CAMERA_NAME, FIRMWARE_VERSION),
+                new CameraDto("Camera 2", FIRMWARE_VERSION));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        mockTransactionTemplate();
+        Mockito.when(cameraRepository.saveAll(ArgumentMatchers.anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violation"));
+
+        // act
+        CameraBatchResponse response = cameraBatchService.handleSaveCameras(cameraDtos);
+
+        // assert
+        Assertions.assertThat(response.getSucceeded()).isZero();
+        Assertions.assertThat(response.getFailed()).isEqualTo(2);
+        Assertions.assertThat(response.getItems()).allSatisfy(item -> Assertions.assertThat(item.getStatusCode()).isEqualTo(500));
+
+        Mockito.verify(cameraMetricService, Mockito.times(2)).incrementCameraOnboardingFailure();
+    }
+
+    @Test
+    void expect_handleSaveCameras_withEmptyBatch_throwsException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraBatchService.handleSaveCameras(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    @Test
+    void expect_handleSaveCameras_withTooLargeBatch_throwsException() {
+
+        // arrange
+        List<CameraDto> cameraDtos = Collections.nCopies(11, new CameraDto(CAMERA_NAME, FIRMWARE_VERSION));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraBatchService.handleSaveCameras(cameraDtos))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    @Test
+    void expect_handleInitializeCameras_withCameraIds_classifiesAndUpdatesOnce() {
+
+        // arrange
+        CameraBulkInitializeDto bulkInitializeDto = new CameraBulkInitializeDto(
+                List.of(CAMERA_ID, INITIALIZED_CAMERA_ID, UNKNOWN_CAMERA_ID, CAMERA_ID), null);
+        ReflectionTestUtils.setField(cameraBatchService, "chunkSize", 10);
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.findCameraSummariesByIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(summary(CAMERA_ID, null), summary(INITIALIZED_CAMERA_ID, NOW)));
+        Mockito.when(cameraRepository.initializeCameras(List.of(CAMERA_ID), NOW)).thenReturn(1);
+
+        // act
+        CameraBulkInitializeResponse response = cameraBatchService.handleInitializeCameras(bulkInitializeDto);
+
+        // assert
+        Assertions.assertThat(response.getInitialized()).containsExactly(CAMERA_ID);
+        Assertions.assertThat(response.getAlreadyInitialized()).containsExactly(INITIALIZED_CAMERA_ID);
+        Assertions.assertThat(response.getNotFound()).containsExactly(UNKNOWN_CAMERA_ID);
+        Assertions.assertThat(response.getFailed()).isEmpty();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+
+        Mockito.verify(cameraRepository).initializeCameras(List.of(CAMERA_ID), NOW);
+        Mockito.verify(cameraMetricService).incrementCameraInitializationSuccess(1);
+        Mockito.verify(cameraMetricService).incrementCameraInitializationFailure(0);
+    }
+
+    @Test
+    void expect_handleInitializeCameras_withConcurrentInitialization_reportsAlreadyInitialized() {
+
+        // arrange
+        UUID secondCameraId = UUID.randomUUID();
+        CameraBulkInitializeDto bulkInitializeDto = new CameraBulkInitializeDto(List.of(CAMERA_ID, secondCameraId), null);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.findCameraSummariesByIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(summary(CAMERA_ID, null), summary(secondCameraId, null)));
+        Mockito.when(cameraRepository.initializeCameras(ArgumentMatchers.anyCollection(), ArgumentMatchers.eq(NOW))).thenReturn(1);
+        Mockito.when(cameraRepository.findCameraIdsInitializedAt(ArgumentMatchers.anyCollection(), ArgumentMatchers.eq(NOW)))
+                .thenReturn(List.of(CAMERA_ID));
+
+        // act
+        CameraBulkInitializeResponse response = cameraBatchService.handleInitializeCameras(bulkInitializeDto);
+
+        // assert
+        Assertions.assertThat(response.getInitialized()).containsExactly(CAMERA_ID);
+        Assertions.assertThat(response.getAlreadyInitialized()).containsExactly(secondCameraId);
+
+        Mockito.verify(cameraMetricService).incrementCameraInitializationSuccess(1);
+    }
+
+    @Test
+    void expect_handleInitializeCameras_withFailingChunk_reportsFailedIds() {
+
+        // arrange
+        CameraBulkInitializeDto bulkInitializeDto = new CameraBulkInitializeDto(null, FIRMWARE_VERSION);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraRepository.findUninitializedCameraIdsByFirmwareVersion(
+                        ArgumentMatchers.eq(FIRMWARE_VERSION), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(CAMERA_ID));
+        Mockito.when(cameraRepository.findCameraSummariesByIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(summary(CAMERA_ID, null)));
+        Mockito.when(cameraRepository.initializeCameras(ArgumentMatchers.anyCollection(), ArgumentMatchers.eq(NOW)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // act
+        CameraBulkInitializeResponse response = cameraBatchService.handleInitializeCameras(bulkInitializeDto);
+
+        // assert
+        Assertions.assertThat(response.getInitialized()).isEmpty();
+        Assertions.assertThat(response.getFailed()).containsExactly(CAMERA_ID);
+
+        Mockito.verify(cameraMetricService).incrementCameraInitializationFailure(1);
+    }
+
+    @Test
+    void expect_handleInitializeCameras_withIdsAndFilter_throwsException() {
+
+        // arrange
+        CameraBulkInitializeDto bulkInitializeDto = new CameraBulkInitializeDto(List.of(CAMERA_ID), FIRMWARE_VERSION);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraBatchService.handleInitializeCameras(bulkInitializeDto))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    private CameraSummaryResponse summary(UUID cameraId, LocalDateTime initializedAt) {
+        return new CameraSummaryResponse(cameraId, CAMERA_NAME, FIRMWARE_VERSION, null, NOW, NOW, initializedAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactionTemplate() {
+        Mockito.when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+class CameraCacheEvictorImplTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CAMERA_CACHE);
+
+    private final CameraCacheEvictorImpl cameraCacheEvictor = new CameraCacheEvictorImpl(cacheManager);
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void expect_evict_withoutTransaction_evictsRightAway() {
+
+        // arrange
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+
+        // act
+        cameraCacheEvictor.evict(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+    }
+
+    @Test
+    void expect_evictAll_withinTransaction_evictsAfterCommit() {
+
+        // arrange
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(OTHER_CAMERA_ID, new Camera());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        cameraCacheEvictor.evictAll(List.of(CAMERA_ID, OTHER_CAMERA_ID));
+        boolean cachedBeforeCommit = cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID) != null;
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // assert
+        Assertions.assertThat(cachedBeforeCommit).isTrue();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(OTHER_CAMERA_ID)).isNull();
+    }
+
+    @Test
+    void expect_evict_withinRolledBackTransaction_keepsCamera() {
+
+        // arrange
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        cameraCacheEvictor.evict(CAMERA_ID);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // assert
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNotNull();
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
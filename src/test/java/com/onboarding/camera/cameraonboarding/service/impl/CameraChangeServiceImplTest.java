@@ -0,0 +1,194 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.config.CacheEvictedEvent;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.CameraChange;
+import com.onboarding.camera.cameraonboarding.repository.CameraChangeRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class CameraChangeServiceImplTest {
+
+    @Mock
+    private CameraChangeRepository cameraChangeRepository;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CAMERA_CACHE);
+
+    private CameraChangeServiceImpl cameraChangeService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OWN_CAMERA_ID = UUID.randomUUID();
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        cameraChangeService = new CameraChangeServiceImpl(cameraChangeRepository, cacheManager, dateTimeFactory,
+                cameraMetricService, transactionManager);
+        ReflectionTestUtils.setField(cameraChangeService, "pollBatchSize", 2);
+        ReflectionTestUtils.setField(cameraChangeService, "lateCommitWindowMs", 30000L);
+        ReflectionTestUtils.setField(cameraChangeService, "retentionMinutes", 60L);
+        Mockito.when(cameraChangeRepository.findMaxId()).thenReturn(0L);
+        cameraChangeService.init();
+    }
+
+    @Test
+    void expect_onCacheEvicted_withCameraKey_recordsChange() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        ArgumentCaptor<CameraChange> changeCaptor = ArgumentCaptor.forClass(CameraChange.class);
+
+        // act
+        cameraChangeService.onCacheEvicted(new CacheEvictedEvent(CacheConfig.CAMERA_CACHE, CAMERA_ID));
+        cameraChangeService.onCacheEvicted(new CacheEvictedEvent("other", CAMERA_ID));
+
+        // assert
+        Mockito.verify(cameraChangeRepository).save(changeCaptor.capture());
+        Assertions.assertThat(changeCaptor.getValue().getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(changeCaptor.getValue().getChangedAt()).isEqualTo(NOW);
+        Assertions.assertThat(changeCaptor.getValue().getOrigin()).isNotBlank();
+        Mockito.verify(transactionManager).getTransaction(ArgumentMatchers.argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void expect_onCacheEvicted_withFailedInsert_doesNotPropagate() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraChangeRepository.save(ArgumentMatchers.any(CameraChange.class)))
+                .thenThrow(new IllegalStateException("insert failed"));
+
+        // act
+        cameraChangeService.onCacheEvicted(new CacheEvictedEvent(CacheConfig.CAMERA_CACHE, CAMERA_ID));
+
+        // assert
+        Mockito.verify(transactionManager).rollback(ArgumentMatchers.any());
+    }
+
+    @Test
+    void expect_pollChanges_evictsCamerasChangedByOtherReplicas() {
+
+        // arrange
+        String ownOrigin = (String) ReflectionTestUtils.getField(cameraChangeService, "origin");
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(OWN_CAMERA_ID, new Camera());
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(change(1L, CAMERA_ID, "other-replica"), change(2L, OWN_CAMERA_ID, ownOrigin)));
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(2L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // act
+        int evicted = cameraChangeService.pollChanges();
+
+        // assert
+        Assertions.assertThat(evicted).isEqualTo(1);
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(OWN_CAMERA_ID)).isNotNull();
+
+        Mockito.verify(cameraMetricService).recordCameraCacheStaleness(Duration.ofSeconds(5));
+        Mockito.verify(cameraMetricService).recordCameraCacheCoherencePoll(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(1));
+    }
+
+    @Test
+    void expect_pollChanges_withLateCommittedChange_evictsItOnce() {
+
+        // arrange
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(OWN_CAMERA_ID, new Camera());
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(change(2L, OWN_CAMERA_ID, "other-replica")))
+                .thenReturn(List.of(change(1L, CAMERA_ID, "other-replica"), change(2L, OWN_CAMERA_ID, "other-replica")));
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(2L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // act
+        int firstPoll = cameraChangeService.pollChanges();
+        int secondPoll = cameraChangeService.pollChanges();
+
+        // assert
+        Assertions.assertThat(firstPoll).isEqualTo(1);
+        Assertions.assertThat(secondPoll).isEqualTo(1);
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(OWN_CAMERA_ID)).isNull();
+    }
+
+    @Test
+    void expect_pollChanges_afterLateCommitWindow_settlesSeenIds() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW, NOW.plusSeconds(31), NOW.plusSeconds(32));
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(change(1L, CAMERA_ID, "other-replica")));
+        Mockito.when(cameraChangeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // act
+        cameraChangeService.pollChanges();
+        cameraChangeService.pollChanges();
+        int evicted = cameraChangeService.pollChanges();
+
+        // assert
+        Assertions.assertThat(evicted).isZero();
+        Mockito.verify(cameraChangeRepository, Mockito.times(2))
+                .findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Pageable.class));
+        Mockito.verify(cameraChangeRepository)
+                .findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Pageable.class));
+    }
+
+    @Test
+    void expect_purgeChanges_deletesChangesOlderThanRetention() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(cameraChangeRepository.deleteChangesBefore(NOW.minusMinutes(60))).thenReturn(3);
+
+        // act
+        int deleted = cameraChangeService.purgeChanges();
+
+        // assert
+        Assertions.assertThat(deleted).isEqualTo(3);
+    }
+
+    private CameraChange change(Long id, UUID cameraId, String origin) {
+        CameraChange cameraChange = new CameraChange();
+        cameraChange.setId(id);
+        cameraChange.setCameraId(cameraId);
+        cameraChange.setOrigin(origin);
+        cameraChange.setChangedAt(NOW.minusSeconds(5));
+        return cameraChange;
+    }
+}
@@ -0,0 +1,156 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.onboarding.camera.cameraonboarding.converter.CameraDtoConverter;
+import com.onboarding.camera.cameraonboarding.converter.LocationDtoConverter;
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.CameraSummaryResponse;
+import com.onboarding.camera.cameraonboarding.dto.LocationRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.util.CameraCursor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class CameraExportServiceImplTest {
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private CameraExportServiceImpl cameraExportService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SECOND_CAMERA_ID = UUID.randomUUID();
+    private final UUID THIRD_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        cameraExportService = new CameraExportServiceImpl(cameraRepository, sensorRepository, new CameraDtoConverter(),
+                new LocationDtoConverter(), new SensorDtoConverter(), objectMapper);
+        ReflectionTestUtils.setField(cameraExportService, "chunkSize", 2);
+    }
+
+    @Test
+    void expect_exportCameras_withCameras_writesOneLinePerCameraWithBulkLoadedDetails() throws Exception {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraPage(null, null, 2))
+                .thenReturn(List.of(summary(CAMERA_ID), summary(SECOND_CAMERA_ID)));
+        Mockito.when(cameraRepository.findCameraPage(null, new CameraCursor(CREATED_AT, SECOND_CAMERA_ID), 2))
+                .thenReturn(List.of(summary(THIRD_CAMERA_ID)));
+        Mockito.when(cameraRepository.findLocationRowsByCameraIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(new LocationRow(CAMERA_ID, 51.232, -51.232, "long enough address")), List.of());
+        Mockito.when(sensorRepository.findSensorRowsByCameraIds(ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(new SensorRow(CAMERA_ID, SENSOR_ID, "Sensor", "v1.0", SensorType.LIGHT, "42")), List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // act
+        cameraExportService.exportCameras(outputStream);
+
+        // assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        Assertions.assertThat(first.get("cameraId").asText()).isEqualTo(CAMERA_ID.toString());
+        Assertions.assertThat(first.get("location").get("address").asText()).isEqualTo("long enough address");
+        Assertions.assertThat(first.get("sensors").get(0).get("id").asText()).isEqualTo(SENSOR_ID.toString());
+        Assertions.assertThat(objectMapper.readTree(lines[2]).get("sensors")).isEmpty();
+
+        InOrder inOrder = Mockito.inOrder(cameraRepository, sensorRepository);
+        inOrder.verify(cameraRepository).findCameraPage(null, null, 2);
+        inOrder.verify(sensorRepository).findSensorRowsByCameraIds(List.of(CAMERA_ID, SECOND_CAMERA_ID));
+        inOrder.verify(cameraRepository).findCameraPage(null, new CameraCursor(CREATED_AT, SECOND_CAMERA_ID), 2);
+        inOrder.verify(sensorRepository).findSensorRowsByCameraIds(List.of(THIRD_CAMERA_ID));
+        Mockito.verify(cameraRepository, Mockito.times(2)).findLocationRowsByCameraIds(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    void expect_exportCameras_withFullLastPage_stopsAtEmptyPage() throws Exception {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraPage(null, null, 2))
+                .thenReturn(List.of(summary(CAMERA_ID), summary(SECOND_CAMERA_ID)));
+        Mockito.when(cameraRepository.findCameraPage(null, new CameraCursor(CREATED_AT, SECOND_CAMERA_ID), 2))
+                .thenReturn(List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // act
+        cameraExportService.exportCameras(outputStream);
+
+        // assert
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8).split("\n")).hasSize(2);
+        Mockito.verify(sensorRepository).findSensorRowsByCameraIds(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    void expect_exportCameras_withCameraWithoutCreatedAt_exportsItAfterDatedCameras() throws Exception {
+
+        // arrange
+        CameraSummaryResponse undated = new CameraSummaryResponse(SECOND_CAMERA_ID, "Legacy Camera", "v1.0", null,
+                null, null, null);
+        Mockito.when(cameraRepository.findCameraPage(null, null, 2)).thenReturn(List.of(summary(CAMERA_ID)));
+        Mockito.when(cameraRepository.findUndatedCameraPage(null, 2)).thenReturn(List.of(undated));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // act
+        cameraExportService.exportCameras(outputStream);
+
+        // assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(objectMapper.readTree(lines[1]).get("cameraId").asText())
+                .isEqualTo(SECOND_CAMERA_ID.toString());
+
+        InOrder inOrder = Mockito.inOrder(cameraRepository, sensorRepository);
+        inOrder.verify(cameraRepository).findCameraPage(null, null, 2);
+        inOrder.verify(sensorRepository).findSensorRowsByCameraIds(List.of(CAMERA_ID));
+        inOrder.verify(cameraRepository).findUndatedCameraPage(null, 2);
+        inOrder.verify(sensorRepository).findSensorRowsByCameraIds(List.of(SECOND_CAMERA_ID));
+    }
+
+    @Test
+    void expect_exportCameras_withoutCameras_writesNothing() throws Exception {
+
+        // arrange
+        Mockito.when(cameraRepository.findCameraPage(null, null, 2)).thenReturn(List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // act
+        cameraExportService.exportCameras(outputStream);
+
+        // assert
+        Assertions.assertThat(outputStream.size()).isZero();
+
+        Mockito.verifyNoInteractions(sensorRepository);
+    }
+
+    private CameraSummaryResponse summary(UUID cameraId) {
+        return new CameraSummaryResponse(cameraId, "Camera", "v1.0", null, CREATED_AT, CREATED_AT, null);
+    }
+}
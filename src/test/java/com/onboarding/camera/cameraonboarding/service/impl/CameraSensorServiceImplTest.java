@@ -0,0 +1,131 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.SensorResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class CameraSensorServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Spy
+    private SensorDtoConverter sensorDtoConverter;
+
+    @InjectMocks
+    private CameraSensorServiceImpl cameraSensorService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID SECOND_SENSOR_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Light Sensor 1";
+    private final String SECOND_SENSOR_NAME = "Temperature Sensor 1";
+    private final String SENSOR_VERSION = "v1.0";
+    private final String SENSOR_DATA = "42";
+
+    @Test
+    void expect_handleGetSensorsByCameraId_withSensors_returnsResponsesWithoutExistenceCheck() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, SENSOR_NAME, SENSOR_VERSION, SensorType.LIGHT, SENSOR_DATA),
+                new SensorRow(CAMERA_ID, SECOND_SENSOR_ID, SECOND_SENSOR_NAME, SENSOR_VERSION, SensorType.TEMPERATURE, null)));
+
+        // act
+        List<SensorResponse> sensors = cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, null);
+
+        // assert
+        Assertions.assertThat(sensors).hasSize(2);
+        Assertions.assertThat(sensors).extracting(SensorResponse::getId).containsExactly(SENSOR_ID, SECOND_SENSOR_ID);
+        Assertions.assertThat(sensors.get(0).getData()).isEqualTo(SENSOR_DATA);
+        Assertions.assertThat(sensors.get(1).getSensorType()).isEqualTo(SensorType.TEMPERATURE);
+
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    @Test
+    void expect_handleGetSensorsByCameraId_withCameraWithoutSensors_returnsEmptyList() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, SensorType.MOTION)).thenReturn(List.of());
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(true);
+
+        // act
+        List<SensorResponse> sensors = cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, SensorType.MOTION);
+
+        // assert
+        Assertions.assertThat(sensors).isEmpty();
+    }
+
+    @Test
+    void expect_handleGetSensorsByCameraId_withNonExistingCamera_throwsCameraNotFoundException() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of());
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(false);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraSensorService.handleGetSensorsByCameraId(CAMERA_ID, null))
+                .isInstanceOf(CameraNotFoundException.class)
+                .hasMessageContaining("Camera not found with id");
+    }
+
+    @Test
+    void expect_handleGetSensorsByValue_withLowerBound_returnsSensorsWithCameraIds() {
+
+        // arrange
+        ReflectionTestUtils.setField(cameraSensorService, "defaultLimit", 100);
+        ReflectionTestUtils.setField(cameraSensorService, "maxLimit", 1000);
+        Mockito.when(sensorRepository.findSensorRowsByReadingValue(SensorType.TEMPERATURE, 60.0, Double.MAX_VALUE, PageRequest.of(0, 100)))
+                .thenReturn(List.of(new SensorRow(CAMERA_ID, SECOND_SENSOR_ID, SECOND_SENSOR_NAME, SENSOR_VERSION, SensorType.TEMPERATURE, "72.5")));
+
+        // act
+        List<SensorResponse> sensors = cameraSensorService.handleGetSensorsByValue(SensorType.TEMPERATURE, 60.0, null, null);
+
+        // assert
+        Assertions.assertThat(sensors).hasSize(1);
+        Assertions.assertThat(sensors.get(0).getId()).isEqualTo(SECOND_SENSOR_ID);
+        Assertions.assertThat(sensors.get(0).getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(sensors.get(0).getData()).isEqualTo("72.5");
+    }
+
+    @Test
+    void expect_handleGetSensorsByValue_withInvalidRangeOrLimit_throwsIllegalArgumentException() {
+
+        // arrange
+        ReflectionTestUtils.setField(cameraSensorService, "maxLimit", 1000);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> cameraSensorService.handleGetSensorsByValue(SensorType.LIGHT, 10.0, 5.0, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Min cannot be greater than max");
+        Assertions.assertThatThrownBy(() -> cameraSensorService.handleGetSensorsByValue(SensorType.LIGHT, null, null, 1001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be between 1 and 1000");
+        Assertions.assertThatThrownBy(() -> cameraSensorService.handleGetSensorsByValue(null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(sensorRepository);
+    }
+}
@@ -4,11 +4,18 @@ import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.LightSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
 import com.onboarding.camera.cameraonboarding.repository.LightSensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
 import jakarta.transaction.Transactional;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +24,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,15 +38,36 @@ class LightSensorServiceTest {
     @Mock
     private LightSensorRepository lightSensorRepository;
 
+    @Mock
+    private SensorRepository sensorRepository;
+
     @Mock
     private CameraService cameraService;
 
+    @Mock
+    private CameraLookupService cameraLookupService;
+
     @Mock
     private Camera camera;
 
     @Mock
     private CameraMetricService cameraMetricService;
 
+    @Mock
+    private SensorLatestReadingService sensorLatestReadingService;
+
+    @Mock
+    private SensorChangeFilter sensorChangeFilter;
+
+    @Mock
+    private CameraCacheEvictor cameraCacheEvictor;
+
+    @Mock
+    private SensorLookupService sensorLookupService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private LightSensorService lightSensorService;
 
@@ -47,11 +77,14 @@ class LightSensorServiceTest {
     private final UUID SENSOR_ID = UUID.randomUUID();
     private final String SENSOR_NAME = "Light Sensor 1";
     private final SensorType SENSOR_TYPE = SensorType.LIGHT;
+    private final SensorType OTHER_SENSOR_TYPE = SensorType.MOTION;
     private final UUID CAMERA_ID = UUID.randomUUID();
     private final UUID NON_EXISTING_CAM_ID = UUID.fromString("ef556dc0-0ddc-4f39-a96d-6886a54eee54");
     private final String UPDATED_SENSOR_NAME = "Updated Light Sensor";
     private final String SENSOR_VERSION = "V1.0";
     private final String UPDATED_SENSOR_DATA = "Updated Sensor Data";
+    private final String WRITTEN_SENSOR_DATA = "350 lux";
+    private final Double READING_VALUE = 1.0;
 
     @BeforeEach
     void setUp() {
@@ -101,75 +134,116 @@ class LightSensorServiceTest {
     @Test
     void expect_handleUpdateSensor_withValidData_returnsUpdatedSensor() {
         // arrange
-        sensor.setCamera(camera);
         sensor.setName(UPDATED_SENSOR_NAME);
         sensor.setVersion(SENSOR_VERSION);
         sensor.setData(UPDATED_SENSOR_DATA);
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(lightSensorRepository.save(sensor)).thenReturn(sensor);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA)).thenReturn(1);
+        Mockito.when(lightSensorRepository.findById(SENSOR_ID)).thenReturn(Optional.of(persistedSensor()));
 
         // act
         LightSensor updatedSensor = lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor);
 
         // assert
         Assertions.assertThat(updatedSensor).isNotNull();
-        Assertions.assertThat(updatedSensor).isEqualTo(sensor);
-        Assertions.assertThat(updatedSensor.getName()).isNotNull();
+        Assertions.assertThat(updatedSensor.getId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(updatedSensor.getSensorType()).isEqualTo(SENSOR_TYPE);
         Assertions.assertThat(updatedSensor.getName()).isEqualTo(UPDATED_SENSOR_NAME);
-        Assertions.assertThat(updatedSensor.getVersion()).isNotNull();
         Assertions.assertThat(updatedSensor.getVersion()).isEqualTo(SENSOR_VERSION);
-        Assertions.assertThat(updatedSensor.getCamera()).isNotNull();
-        Assertions.assertThat(updatedSensor.getCamera()).isEqualTo(camera);
-        Assertions.assertThat(updatedSensor.getData()).isNotNull();
         Assertions.assertThat(updatedSensor.getData()).isEqualTo(UPDATED_SENSOR_DATA);
+        Assertions.assertThat(updatedSensor.getReadingValue()).isEqualTo(READING_VALUE);
+
+        Mockito.verify(cameraMetricService).incrementSensorUpdateSuccess(SENSOR_TYPE.name());
+        Mockito.verify(sensorLatestReadingService).handleSensorUpdated(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, UPDATED_SENSOR_DATA);
+        Mockito.verify(sensorChangeFilter).recordWritten(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA);
+        Mockito.verify(cameraCacheEvictor).evict(CAMERA_ID);
+        Mockito.verifyNoInteractions(cameraService, sensorLookupService);
+    }
 
-        Mockito.verify(lightSensorRepository).save(sensor);
+    @Test
+    void expect_handleUpdateSensor_withUnchangedData_skipsWriteWithoutReadingDatabase() {
+        // arrange
+        sensor.setName(UPDATED_SENSOR_NAME);
+        sensor.setVersion(SENSOR_VERSION);
+        sensor.setData(UPDATED_SENSOR_DATA);
+        Mockito.when(sensorChangeFilter.isUnchanged(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA)).thenReturn(true);
+        Mockito.when(sensorChangeFilter.getWrittenData(SENSOR_ID)).thenReturn(WRITTEN_SENSOR_DATA);
+
+        // act
+        LightSensor updatedSensor = lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor);
+
+        // assert
+        Assertions.assertThat(updatedSensor.getId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(updatedSensor.getSensorType()).isEqualTo(SENSOR_TYPE);
+        Assertions.assertThat(updatedSensor.getData()).isEqualTo(WRITTEN_SENSOR_DATA);
+        Assertions.assertThat(updatedSensor.getReadingValue()).isEqualTo(350.0);
+
+        Mockito.verifyNoInteractions(transactionTemplate, lightSensorRepository, sensorRepository, cameraCacheEvictor,
+                sensorLatestReadingService, cameraMetricService);
     }
 
     @Test
     void expect_handleUpdateSensor_withNonExistingSensor_throwsSensorNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(List.of());
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorNotFoundException("Sensor not found with id: " + SENSOR_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(SensorNotFoundException.class)
                 .hasMessageContaining("Sensor not found");
 
-        Mockito.verify(lightSensorRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
+    }
+
+    @Test
+    void expect_handleUpdateSensor_withSensorOfOtherType_throwsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorMismatchException("Sensor with id: " + SENSOR_ID + " is a " + OTHER_SENSOR_TYPE
+                        + " sensor, not " + SENSOR_TYPE));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
+                .isInstanceOf(SensorMismatchException.class)
+                .hasMessageContaining(OTHER_SENSOR_TYPE.name());
+
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleUpdateSensor_withNonExistingCamera_throwsCameraNotFoundException() {
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(CameraNotFoundException.class)
                 .hasMessageContaining("Camera not found");
 
-        Mockito.verify(lightSensorRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleUpdateSensor_withRepositoryError_throwsSensorNotUpdatedException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
-        Mockito.when(lightSensorRepository.save(sensor))
-                .thenThrow(new SensorNotUpdatedException("Error occurred while updating sensors"));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null))
+                .thenThrow(new RuntimeException("Error occurred while updating sensors"));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> lightSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(SensorNotUpdatedException.class)
                 .hasMessageContaining("Error occurred while updating sensors");
 
-        Mockito.verify(lightSensorRepository).save(sensor);
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
@@ -203,36 +277,58 @@ class LightSensorServiceTest {
     void expect_handleDeleteSensor_withValidData_deletesSensor() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(1);
 
         // act
         lightSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID);
 
         // assert
-        Mockito.verify(lightSensorRepository).delete(sensor);
+        Mockito.verify(sensorRepository).deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE);
+        Mockito.verify(cameraMetricService).incrementSensorDeleteSuccess(SENSOR_TYPE.name());
+        Mockito.verify(sensorChangeFilter).evict(SENSOR_ID);
+        Mockito.verify(sensorLatestReadingService).handleSensorDeleted(SENSOR_ID);
+        Mockito.verifyNoInteractions(cameraService, lightSensorRepository);
     }
 
     @Test
     void expect_handleDeleteSensor_withNonExistingSensor_throwsSensorNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(List.of());
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorNotFoundException("Sensor not found with id: " + SENSOR_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> lightSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
                 .isInstanceOf(SensorNotFoundException.class)
                 .hasMessageContaining("Sensor not found with id");
 
-        Mockito.verify(lightSensorRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
+    }
+
+    @Test
+    void expect_handleDeleteSensor_withSensorOfOtherType_throwsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorMismatchException("Sensor with id: " + SENSOR_ID + " is a " + OTHER_SENSOR_TYPE
+                        + " sensor, not " + SENSOR_TYPE));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> lightSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
+                .isInstanceOf(SensorMismatchException.class)
+                .hasMessageContaining(OTHER_SENSOR_TYPE.name());
+
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleDeleteSensor_withNonExistingCamera_throwsCameraNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID))
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
                 .thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
 
         // act and assert
@@ -240,23 +336,32 @@ class LightSensorServiceTest {
                 .isInstanceOf(CameraNotFoundException.class)
                 .hasMessageContaining("Camera not found, cameraId");
 
-        Mockito.verify(lightSensorRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleDeleteSensor_withRepositoryError_throwsSensorNotUpdatedException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
-        Mockito.doThrow(new RuntimeException("Error occurred while deleting sensor"))
-                .when(lightSensorRepository).delete(sensor);
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenThrow(new RuntimeException("Error occurred while deleting sensor"));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> lightSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
                 .isInstanceOf(SensorNotUpdatedException.class)
                 .hasMessageContaining("Error occurred while deleting sensor");
 
-        Mockito.verify(lightSensorRepository).delete(sensor);
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
+    }
+
+    private LightSensor persistedSensor() {
+        LightSensor persistedSensor = new LightSensor();
+        persistedSensor.setId(SENSOR_ID);
+        persistedSensor.setName(UPDATED_SENSOR_NAME);
+        persistedSensor.setVersion(SENSOR_VERSION);
+        persistedSensor.setSensorType(SENSOR_TYPE);
+        persistedSensor.setData(UPDATED_SENSOR_DATA);
+        persistedSensor.setReadingValue(READING_VALUE);
+        return persistedSensor;
     }
-}
\ No newline at end of file
+}
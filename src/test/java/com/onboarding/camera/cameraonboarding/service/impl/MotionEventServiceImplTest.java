@@ -0,0 +1,226 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.MotionEventResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@ExtendWith(MockitoExtension.class)
+class MotionEventServiceImplTest {
+
+    @Mock
+    private CameraLookupService cameraLookupService;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    private MotionEventServiceImpl motionEventService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final int BUFFER_SIZE = 2;
+
+    @BeforeEach
+    void setUp() {
+        motionEventService = new MotionEventServiceImpl(cameraLookupService, cameraMetricService, dateTimeFactory, BUFFER_SIZE, 1);
+        ReflectionTestUtils.setField(motionEventService, "maxCamerasPerSubscription", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        motionEventService.shutdown();
+    }
+
+    @Test
+    void expect_onReadingsPersisted_withCameraSubscriber_sendsMotionReadingsOfCamera() throws Exception {
+
+        // arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        motionEventService.handleSubscribeCamera(CAMERA_ID, emitter);
+
+        // act
+        motionEventService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5),
+                new SensorReadingRow(OTHER_CAMERA_ID, SENSOR_ID, SensorType.MOTION, RECORDED_AT, 1.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.MOTION, RECORDED_AT, 1.0)));
+
+        // assert
+        MotionEventResponse event = (MotionEventResponse) emitter.next();
+        Assertions.assertThat(event.getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(event.getRecordedAt()).isEqualTo(RECORDED_AT);
+        Assertions.assertThat(event.getValue()).isEqualTo(1.0);
+        Assertions.assertThat(emitter.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+        Mockito.verify(cameraLookupService).getCamera(CAMERA_ID);
+    }
+
+    @Test
+    void expect_publishSensorUpdated_withFleetSubscriber_sendsParsedSensorData() throws Exception {
+
+        // arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        motionEventService.handleSubscribeCameras(List.of(), emitter);
+        Mockito.when(dateTimeFactory.now()).thenReturn(RECORDED_AT);
+
+        // act
+        motionEventService.publishSensorUpdated(OTHER_CAMERA_ID, SENSOR_ID, "false");
+
+        // assert
+        MotionEventResponse event = (MotionEventResponse) emitter.next();
+        Assertions.assertThat(event.getCameraId()).isEqualTo(OTHER_CAMERA_ID);
+        Assertions.assertThat(event.getSensorId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(event.getValue()).isEqualTo(0.0);
+    }
+
+    @Test
+    void expect_publish_withSlowSubscriber_dropsEventsAndSendsLag() throws Exception {
+
+        // arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        motionEventService.handleSubscribeCamera(CAMERA_ID, emitter);
+        Mockito.when(dateTimeFactory.now()).thenReturn(RECORDED_AT);
+        motionEventService.publishSensorUpdated(CAMERA_ID, SENSOR_ID, "1");
+        emitter.sending.await(5, TimeUnit.SECONDS);
+
+        // act
+        for (int i = 0; i < BUFFER_SIZE + 3; i++) {
+            motionEventService.publishSensorUpdated(CAMERA_ID, SENSOR_ID, "1");
+        }
+        release.countDown();
+
+        // assert
+        Assertions.assertThat(((MotionEventResponse) emitter.next()).getSequence()).isEqualTo(1);
+        Assertions.assertThat(((MotionEventResponse) emitter.next()).getSequence()).isEqualTo(2);
+        Assertions.assertThat(((MotionEventResponse) emitter.next()).getSequence()).isEqualTo(3);
+        Assertions.assertThat(emitter.next()).isEqualTo(3L);
+
+        Mockito.verify(cameraMetricService, Mockito.times(3)).incrementSensorMotionEventDropped(1);
+    }
+
+    @Test
+    void expect_publish_withDisconnectedSubscriber_removesSubscriber() throws Exception {
+
+        // arrange
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<Number>> subscribers = ArgumentCaptor.forClass(Supplier.class);
+        Mockito.verify(cameraMetricService).registerSensorMotionSubscribers(subscribers.capture());
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        motionEventService.handleSubscribeCamera(CAMERA_ID, emitter);
+        Mockito.when(dateTimeFactory.now()).thenReturn(RECORDED_AT);
+        Assertions.assertThat(subscribers.getValue().get()).isEqualTo(1);
+
+        // act
+        motionEventService.publishSensorUpdated(CAMERA_ID, SENSOR_ID, "1");
+
+        // assert
+        for (int i = 0; i < 50 && subscribers.getValue().get().intValue() > 0; i++) {
+            Thread.sleep(20);
+        }
+        Assertions.assertThat(subscribers.getValue().get()).isEqualTo(0);
+    }
+
+    @Test
+    void expect_heartbeat_withIdleSubscriber_sendsComment() throws Exception {
+
+        // arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        motionEventService.handleSubscribeCameras(null, emitter);
+
+        // act
+        motionEventService.heartbeat();
+
+        // assert
+        Assertions.assertThat((String) emitter.next()).contains(":heartbeat");
+    }
+
+    @Test
+    void expect_handleSubscribeCameras_withTooManyCameras_throwsIllegalArgumentException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> motionEventService.handleSubscribeCameras(
+                        List.of(CAMERA_ID, OTHER_CAMERA_ID, SENSOR_ID), new RecordingEmitter()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Records the payload of every sent event, the motion event or lag count, or the text of a comment
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final CountDownLatch release;
+
+        private volatile boolean failing;
+
+        private RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            Object payload = null;
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof String) {
+                    text.append(data.getData());
+                } else {
+                    payload = data.getData();
+                }
+            }
+            received.add(payload != null ? payload : text.toString());
+        }
+
+        private Object next() throws InterruptedException {
+            Object payload = received.poll(5, TimeUnit.SECONDS);
+            Assertions.assertThat(payload).isNotNull();
+            return payload;
+        }
+    }
+}
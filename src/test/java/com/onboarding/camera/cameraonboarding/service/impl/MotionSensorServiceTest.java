@@ -4,11 +4,20 @@ import com.onboarding.camera.cameraonboarding.entity.Camera;
 import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
 import com.onboarding.camera.cameraonboarding.enums.SensorType;
 import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
 import com.onboarding.camera.cameraonboarding.exception.SensorNotUpdatedException;
 import com.onboarding.camera.cameraonboarding.repository.MotionSensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
 import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
 import com.onboarding.camera.cameraonboarding.service.CameraService;
+import com.onboarding.camera.cameraonboarding.service.MotionEventService;
+import com.onboarding.camera.cameraonboarding.service.SensorChangeFilter;
+import com.onboarding.camera.cameraonboarding.service.SensorLatestReadingService;
+import com.onboarding.camera.cameraonboarding.service.SensorLookupService;
+import com.onboarding.camera.cameraonboarding.service.SensorWriteBehindService;
 import jakarta.transaction.Transactional;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +26,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,15 +40,42 @@ class MotionSensorServiceTest {
     @Mock
     private MotionSensorRepository motionSensorRepository;
 
+    @Mock
+    private SensorRepository sensorRepository;
+
     @Mock
     private CameraService cameraService;
 
+    @Mock
+    private CameraLookupService cameraLookupService;
+
     @Mock
     private Camera camera;
 
     @Mock
     private CameraMetricService cameraMetricService;
 
+    @Mock
+    private SensorLatestReadingService sensorLatestReadingService;
+
+    @Mock
+    private MotionEventService motionEventService;
+
+    @Mock
+    private SensorWriteBehindService sensorWriteBehindService;
+
+    @Mock
+    private CameraCacheEvictor cameraCacheEvictor;
+
+    @Mock
+    private SensorLookupService sensorLookupService;
+
+    @Mock
+    private SensorChangeFilter sensorChangeFilter;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private MotionSensorService motionSensorService;
 
@@ -47,11 +85,14 @@ class MotionSensorServiceTest {
     private final UUID SENSOR_ID = UUID.randomUUID();
     private final String SENSOR_NAME = "Motion Sensor 1";
     private final SensorType SENSOR_TYPE = SensorType.MOTION;
+    private final SensorType OTHER_SENSOR_TYPE = SensorType.TEMPERATURE;
     private final UUID CAMERA_ID = UUID.randomUUID();
     private final UUID NON_EXISTING_CAM_ID = UUID.fromString("ef556dc0-0ddc-4f39-a96d-6886a54eee54");
     private final String UPDATED_SENSOR_NAME = "Updated Motion Sensor";
     private final String SENSOR_VERSION = "v1.0";
+    private final String WRITTEN_SENSOR_DATA = "detected 0.87";
     private final String UPDATED_SENSOR_DATA = "Updated Sensor Data";
+    private final Double READING_VALUE = 1.0;
 
     @BeforeEach
     void setUp() {
@@ -101,75 +142,139 @@ class MotionSensorServiceTest {
     @Test
     void expect_handleUpdateSensor_withValidData_returnsUpdatedSensor() {
         // arrange
-        sensor.setCamera(camera);
         sensor.setName(UPDATED_SENSOR_NAME);
         sensor.setVersion(SENSOR_VERSION);
         sensor.setData(UPDATED_SENSOR_DATA);
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(motionSensorRepository.save(sensor)).thenReturn(sensor);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA)).thenReturn(1);
+        Mockito.when(motionSensorRepository.findById(SENSOR_ID)).thenReturn(Optional.of(persistedSensor()));
 
         // act
         MotionSensor updatedSensor = motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor);
 
         // assert
         Assertions.assertThat(updatedSensor).isNotNull();
-        Assertions.assertThat(updatedSensor).isEqualTo(sensor);
-        Assertions.assertThat(updatedSensor.getName()).isNotNull();
+        Assertions.assertThat(updatedSensor.getId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(updatedSensor.getSensorType()).isEqualTo(SENSOR_TYPE);
         Assertions.assertThat(updatedSensor.getName()).isEqualTo(UPDATED_SENSOR_NAME);
-        Assertions.assertThat(updatedSensor.getVersion()).isNotNull();
         Assertions.assertThat(updatedSensor.getVersion()).isEqualTo(SENSOR_VERSION);
-        Assertions.assertThat(updatedSensor.getCamera()).isNotNull();
-        Assertions.assertThat(updatedSensor.getCamera()).isEqualTo(camera);
-        Assertions.assertThat(updatedSensor.getData()).isNotNull();
         Assertions.assertThat(updatedSensor.getData()).isEqualTo(UPDATED_SENSOR_DATA);
+        Assertions.assertThat(updatedSensor.getReadingValue()).isEqualTo(READING_VALUE);
+
+        Mockito.verify(cameraMetricService).incrementSensorUpdateSuccess(SENSOR_TYPE.name());
+        Mockito.verify(sensorLatestReadingService).handleSensorUpdated(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, UPDATED_SENSOR_DATA);
+        Mockito.verify(motionEventService).publishSensorUpdated(CAMERA_ID, SENSOR_ID, UPDATED_SENSOR_DATA);
+        Mockito.verify(sensorChangeFilter).recordWritten(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA);
+        Mockito.verifyNoInteractions(cameraService, sensorLookupService);
+        Mockito.verify(cameraCacheEvictor).evict(CAMERA_ID);
+    }
 
-        Mockito.verify(motionSensorRepository).save(sensor);
+    @Test
+    void expect_handleUpdateSensor_withWriteBehindEnabled_buffersUpdateWithoutWriting() {
+
+        // arrange
+        sensor.setName(UPDATED_SENSOR_NAME);
+        sensor.setVersion(SENSOR_VERSION);
+        sensor.setData(UPDATED_SENSOR_DATA);
+        Mockito.when(sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA)).thenReturn(true);
+
+        // act
+        MotionSensor updatedSensor = motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor);
+
+        // assert
+        Assertions.assertThat(updatedSensor.getId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(updatedSensor.getData()).isEqualTo(UPDATED_SENSOR_DATA);
+
+        Mockito.verify(cameraMetricService).incrementSensorUpdateSuccess(SENSOR_TYPE.name());
+        Mockito.verify(sensorLatestReadingService).handleSensorUpdated(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, UPDATED_SENSOR_DATA);
+        Mockito.verify(motionEventService).publishSensorUpdated(CAMERA_ID, SENSOR_ID, UPDATED_SENSOR_DATA);
+        Mockito.verifyNoInteractions(sensorRepository, motionSensorRepository, cameraCacheEvictor);
+    }
+
+    @Test
+    void expect_handleUpdateSensor_withUnchangedData_skipsWriteWithoutReadingDatabase() {
+        // arrange
+        sensor.setName(UPDATED_SENSOR_NAME);
+        sensor.setVersion(SENSOR_VERSION);
+        sensor.setData(UPDATED_SENSOR_DATA);
+        Mockito.when(sensorChangeFilter.isUnchanged(CAMERA_ID, SENSOR_ID, SENSOR_TYPE,
+                UPDATED_SENSOR_NAME, SENSOR_VERSION, UPDATED_SENSOR_DATA)).thenReturn(true);
+        Mockito.when(sensorChangeFilter.getWrittenData(SENSOR_ID)).thenReturn(WRITTEN_SENSOR_DATA);
+
+        // act
+        MotionSensor updatedSensor = motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor);
+
+        // assert
+        Assertions.assertThat(updatedSensor.getId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(updatedSensor.getData()).isEqualTo(WRITTEN_SENSOR_DATA);
+        Assertions.assertThat(updatedSensor.getReadingValue()).isEqualTo(1.0);
+
+        Mockito.verifyNoInteractions(transactionTemplate, motionSensorRepository, sensorRepository, sensorWriteBehindService,
+                cameraCacheEvictor, sensorLatestReadingService, cameraMetricService);
     }
 
     @Test
     void expect_handleUpdateSensor_withNonExistingSensor_throwsSensorNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(List.of());
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorNotFoundException("Sensor not found with id: " + SENSOR_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(SensorNotFoundException.class)
                 .hasMessageContaining("Sensor not found");
 
-        Mockito.verify(motionSensorRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
+    }
+
+    @Test
+    void expect_handleUpdateSensor_withSensorOfOtherType_throwsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorMismatchException("Sensor with id: " + SENSOR_ID + " is a " + OTHER_SENSOR_TYPE
+                        + " sensor, not " + SENSOR_TYPE));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
+                .isInstanceOf(SensorMismatchException.class)
+                .hasMessageContaining(OTHER_SENSOR_TYPE.name());
+
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleUpdateSensor_withNonExistingCamera_throwsCameraNotFoundException() {
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(CameraNotFoundException.class)
                 .hasMessageContaining("Camera not found");
 
-        Mockito.verify(motionSensorRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleUpdateSensor_withRepositoryError_throwsSensorNotUpdatedException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
-        Mockito.when(motionSensorRepository.save(sensor))
-                .thenThrow(new SensorNotUpdatedException("Error occurred while updating sensors"));
+        Mockito.when(sensorRepository.updateSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE, SENSOR_NAME, null, null))
+                .thenThrow(new RuntimeException("Error occurred while updating sensors"));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> motionSensorService.handleUpdateSensor(CAMERA_ID, SENSOR_ID, sensor))
                 .isInstanceOf(SensorNotUpdatedException.class)
                 .hasMessageContaining("Error occurred while updating sensors");
 
-        Mockito.verify(motionSensorRepository).save(sensor);
+        Mockito.verify(cameraMetricService).incrementSensorUpdateFailure(SENSOR_TYPE.name());
     }
 
     @Test
@@ -203,36 +308,59 @@ class MotionSensorServiceTest {
     void expect_handleDeleteSensor_withValidData_deletesSensor() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(1);
 
         // act
         motionSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID);
 
         // assert
-        Mockito.verify(motionSensorRepository).delete(sensor);
+        Mockito.verify(sensorRepository).deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE);
+        Mockito.verify(cameraMetricService).incrementSensorDeleteSuccess(SENSOR_TYPE.name());
+        Mockito.verify(sensorLatestReadingService).handleSensorDeleted(SENSOR_ID);
+        Mockito.verify(sensorChangeFilter).evict(SENSOR_ID);
+        Mockito.verify(sensorWriteBehindService).handleSensorDeleted(SENSOR_ID);
+        Mockito.verifyNoInteractions(cameraService, motionSensorRepository);
     }
 
     @Test
     void expect_handleDeleteSensor_withNonExistingSensor_throwsSensorNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(List.of());
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorNotFoundException("Sensor not found with id: " + SENSOR_ID));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> motionSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
                 .isInstanceOf(SensorNotFoundException.class)
                 .hasMessageContaining("Sensor not found with id");
 
-        Mockito.verify(motionSensorRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
+    }
+
+    @Test
+    void expect_handleDeleteSensor_withSensorOfOtherType_throwsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenReturn(new SensorMismatchException("Sensor with id: " + SENSOR_ID + " is a " + OTHER_SENSOR_TYPE
+                        + " sensor, not " + SENSOR_TYPE));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> motionSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
+                .isInstanceOf(SensorMismatchException.class)
+                .hasMessageContaining(OTHER_SENSOR_TYPE.name());
+
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleDeleteSensor_withNonExistingCamera_throwsCameraNotFoundException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID))
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE)).thenReturn(0);
+        Mockito.when(sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
                 .thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
 
         // act and assert
@@ -240,23 +368,32 @@ class MotionSensorServiceTest {
                 .isInstanceOf(CameraNotFoundException.class)
                 .hasMessageContaining("Camera not found, cameraId");
 
-        Mockito.verify(motionSensorRepository, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
     }
 
     @Test
     void expect_handleDeleteSensor_withRepositoryError_throwsSensorNotUpdatedException() {
 
         // arrange
-        Mockito.when(cameraService.getCameraById(CAMERA_ID)).thenReturn(camera);
-        Mockito.when(camera.getSensors()).thenReturn(new ArrayList<>(List.of(sensor)));
-        Mockito.doThrow(new RuntimeException("Error occurred while deleting sensor"))
-                .when(motionSensorRepository).delete(sensor);
+        Mockito.when(sensorRepository.deleteSensor(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .thenThrow(new RuntimeException("Error occurred while deleting sensor"));
 
         // act and assert
         Assertions.assertThatThrownBy(() -> motionSensorService.handleDeleteSensor(CAMERA_ID, SENSOR_ID))
                 .isInstanceOf(SensorNotUpdatedException.class)
                 .hasMessageContaining("Error occurred while deleting sensor");
 
-        Mockito.verify(motionSensorRepository).delete(sensor);
+        Mockito.verify(cameraMetricService).incrementSensorDeleteFailure(SENSOR_TYPE.name());
+    }
+
+    private MotionSensor persistedSensor() {
+        MotionSensor persistedSensor = new MotionSensor();
+        persistedSensor.setId(SENSOR_ID);
+        persistedSensor.setName(UPDATED_SENSOR_NAME);
+        persistedSensor.setVersion(SENSOR_VERSION);
+        persistedSensor.setSensorType(SENSOR_TYPE);
+        persistedSensor.setData(UPDATED_SENSOR_DATA);
+        persistedSensor.setReadingValue(READING_VALUE);
+        return persistedSensor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.CacheConfig;
+import com.onboarding.camera.cameraonboarding.converter.SensorDtoConverter;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchItemResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorBatchResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorDto;
+import com.onboarding.camera.cameraonboarding.entity.Camera;
+import com.onboarding.camera.cameraonboarding.entity.LightSensor;
+import com.onboarding.camera.cameraonboarding.entity.MotionSensor;
+import com.onboarding.camera.cameraonboarding.entity.Sensor;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureSensor;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import jakarta.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorBatchServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CAMERA_CACHE);
+
+    private SensorBatchServiceImpl sensorBatchService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SECOND_CAMERA_ID = UUID.randomUUID();
+    private final UUID UNKNOWN_CAMERA_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Sensor 1";
+    private final String SENSOR_VERSION = "v1.0";
+
+    @BeforeEach
+    void setUp() {
+        sensorBatchService = new SensorBatchServiceImpl(sensorRepository, cameraRepository, new SensorDtoConverter(),
+                cameraMetricService, transactionTemplate, Validation.buildDefaultValidatorFactory().getValidator(),
+                new CameraCacheEvictorImpl(cacheManager));
+        ReflectionTestUtils.setField(sensorBatchService, "chunkSize", 2);
+        ReflectionTestUtils.setField(sensorBatchService, "maxBatchSize", 10);
+    }
+
+    @Test
+    void expect_handleCreateSensors_withMixedTypesAndCameras_resolvesCamerasOnceAndSavesInChunks() {
+
+        // arrange
+        List<SensorBatchItemDto> sensorBatchItems = List.of(
+                item(CAMERA_ID, SensorType.LIGHT),
+                item(CAMERA_ID, SensorType.MOTION),
+                item(SECOND_CAMERA_ID, SensorType.TEMPERATURE));
+        Mockito.when(cameraRepository.findCameraIdsByIds(List.of(CAMERA_ID, SECOND_CAMERA_ID)))
+                .thenReturn(List.of(CAMERA_ID, SECOND_CAMERA_ID));
+        Mockito.when(cameraRepository.getReferenceById(ArgumentMatchers.any())).thenAnswer(invocation -> camera(invocation.getArgument(0)));
+        mockTransactionTemplate();
+        mockSaveAll();
+        cacheManager.getCache(CacheConfig.CAMERA_CACHE).put(CAMERA_ID, new Camera());
+
+        // act
+        SensorBatchResponse response = sensorBatchService.handleCreateSensors(sensorBatchItems);
+
+        // assert
+        Assertions.assertThat(response.getTotal()).isEqualTo(3);
+        Assertions.assertThat(response.getSucceeded()).isEqualTo(3);
+        Assertions.assertThat(response.getItems()).extracting(SensorBatchItemResponse::getSensorType)
+                .containsExactly(SensorType.LIGHT, SensorType.MOTION, SensorType.TEMPERATURE);
+        Assertions.assertThat(response.getItems()).allSatisfy(item -> {
+            Assertions.assertThat(item.getStatusCode()).isEqualTo(201);
+            Assertions.assertThat(item.getSensorId()).isNotNull();
+        });
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.CAMERA_CACHE).get(CAMERA_ID)).isNull();
+
+        Mockito.verify(cameraRepository).findCameraIdsByIds(ArgumentMatchers.anyCollection());
+        Mockito.verify(sensorRepository, Mockito.times(2)).saveAll(ArgumentMatchers.anyList());
+        Mockito.verify(cameraMetricService).incrementSensorCreateSuccess(SensorType.LIGHT.name());
+        Mockito.verify(cameraMetricService).incrementSensorCreateSuccess(SensorType.MOTION.name());
+        Mockito.verify(cameraMetricService).incrementSensorCreateSuccess(SensorType.TEMPERATURE.name());
+    }
+
+    @Test
+    void expect_handleCreateSensors_withInvalidItemsAndUnknownCamera_failsOnlyThoseItems() {
+
+        // arrange
+        SensorBatchItemDto blankName = item(CAMERA_ID, SensorType.MOTION);
+        blankName.getSensor().setName("");
+        List<SensorBatchItemDto> sensorBatchItems = List.of(
+                item(CAMERA_ID, SensorType.LIGHT),
+                blankName,
+                item(UNKNOWN_CAMERA_ID, SensorType.TEMPERATURE),
+                new SensorBatchItemDto(null, new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.LIGHT, null)));
+        Mockito.when(cameraRepository.findCameraIdsByIds(List.of(CAMERA_ID, UNKNOWN_CAMERA_ID))).thenReturn(List.of(CAMERA_ID));
+        Mockito.when(cameraRepository.getReferenceById(CAMERA_ID)).thenReturn(camera(CAMERA_ID));
+        mockTransactionTemplate();
+        mockSaveAll();
+
+        // act
+        SensorBatchResponse response = sensorBatchService.handleCreateSensors(sensorBatchItems);
+
+        // assert
+        Assertions.assertThat(response.getSucceeded()).isEqualTo(1);
+        Assertions.assertThat(response.getFailed()).isEqualTo(3);
+        Assertions.assertThat(response.getItems()).extracting(SensorBatchItemResponse::getStatusCode)
+                .containsExactly(201, 400, 404, 400);
+        Assertions.assertThat(response.getItems().get(1).getMessage()).contains("sensor.name");
+
+        Mockito.verify(cameraMetricService).incrementSensorCreateSuccess(SensorType.LIGHT.name());
+        Mockito.verify(cameraMetricService).incrementSensorCreateFailure(SensorType.LIGHT.name());
+        Mockito.verify(cameraMetricService).incrementSensorCreateFailure(SensorType.MOTION.name());
+        Mockito.verify(cameraMetricService).incrementSensorCreateFailure(SensorType.TEMPERATURE.name());
+    }
+
+    @Test
+    void expect_handleCreateSensors_withFailingChunk_returnsServerErrorItems() {
+
+        // arrange
+        List<SensorBatchItemDto> sensorBatchItems = List.of(item(CAMERA_ID, SensorType.LIGHT), item(CAMERA_ID, SensorType.LIGHT));
+        Mockito.when(cameraRepository.findCameraIdsByIds(ArgumentMatchers.anyCollection())).thenReturn(List.of(CAMERA_ID));
+        Mockito.when(cameraRepository.getReferenceById(CAMERA_ID)).thenReturn(camera(CAMERA_ID));
+        mockTransactionTemplate();
+        Mockito.when(sensorRepository.saveAll(ArgumentMatchers.anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        // act
+        SensorBatchResponse response = sensorBatchService.handleCreateSensors(sensorBatchItems);
+
+        // assert
+        Assertions.assertThat(response.getFailed()).isEqualTo(2);
+        Assertions.assertThat(response.getItems()).allSatisfy(item -> {
+            Assertions.assertThat(item.getStatusCode()).isEqualTo(500);
+            Assertions.assertThat(item.getMessage()).contains("constraint violated");
+        });
+
+        Mockito.verify(cameraMetricService, Mockito.times(2)).incrementSensorCreateFailure(SensorType.LIGHT.name());
+        Mockito.verify(cameraMetricService, Mockito.never()).incrementSensorCreateSuccess(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    void expect_handleCreateSensors_forOneCamera_appliesCameraIdToEveryItem() {
+
+        // arrange
+        List<SensorDto> sensorDtos = List.of(
+                new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.MOTION, null),
+                new SensorDto(SENSOR_NAME, SENSOR_VERSION, SensorType.TEMPERATURE, null));
+        Mockito.when(cameraRepository.findCameraIdsByIds(List.of(CAMERA_ID))).thenReturn(List.of(CAMERA_ID));
+        Mockito.when(cameraRepository.getReferenceById(CAMERA_ID)).thenReturn(camera(CAMERA_ID));
+        mockTransactionTemplate();
+        mockSaveAll();
+
+        // act
+        SensorBatchResponse response = sensorBatchService.handleCreateSensors(CAMERA_ID, sensorDtos);
+
+        // assert
+        Assertions.assertThat(response.getSucceeded()).isEqualTo(2);
+        Assertions.assertThat(response.getItems()).extracting(SensorBatchItemResponse::getCameraId).containsOnly(CAMERA_ID);
+
+        Mockito.verify(cameraRepository).getReferenceById(CAMERA_ID);
+    }
+
+    @Test
+    void expect_handleCreateSensors_withEmptyOrOversizedBatch_throwsIllegalArgumentException() {
+
+        // arrange
+        List<SensorBatchItemDto> oversized = new ArrayList<>(Collections.nCopies(11, item(CAMERA_ID, SensorType.LIGHT)));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorBatchService.handleCreateSensors(List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be empty");
+        Assertions.assertThatThrownBy(() -> sensorBatchService.handleCreateSensors(oversized))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than 10");
+
+        Mockito.verifyNoInteractions(cameraRepository, sensorRepository);
+    }
+
+    private SensorBatchItemDto item(UUID cameraId, SensorType sensorType) {
+        return new SensorBatchItemDto(cameraId, new SensorDto(SENSOR_NAME, SENSOR_VERSION, sensorType, null));
+    }
+
+    private Camera camera(UUID cameraId) {
+        Camera camera = new Camera();
+        camera.setCamId(cameraId);
+        return camera;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactionTemplate() {
+        Mockito.when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private void mockSaveAll() {
+        Mockito.when(sensorRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<Sensor> sensors = invocation.getArgument(0);
+            sensors.forEach(sensor -> {
+                Assertions.assertThat(sensor).isInstanceOfAny(LightSensor.class, MotionSensor.class, TemperatureSensor.class);
+                Assertions.assertThat(sensor.getCamera()).isNotNull();
+                sensor.setId(UUID.randomUUID());
+            });
+            return new ArrayList<>(sensors);
+        });
+    }
+}
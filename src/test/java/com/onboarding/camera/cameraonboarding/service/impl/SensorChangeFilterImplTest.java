@@ -0,0 +1,186 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.config.SensorChangeFilterProperties;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorChangeFilterImplTest {
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    private SensorChangeFilterImpl sensorChangeFilter;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Light Sensor 1";
+    private final String SENSOR_VERSION = "v1.0";
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final Duration MAX_SILENCE = Duration.ofMinutes(5);
+
+    @BeforeEach
+    void setUp() {
+        useDeadband(5, 2);
+    }
+
+    @Test
+    void expect_isUnchanged_withinDeadband_suppressesUntilChangeExceedsEitherDelta() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "500");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("504")).isTrue();
+        Assertions.assertThat(isUnchanged("495")).isTrue();
+        Assertions.assertThat(isUnchanged("490")).isFalse();
+        Assertions.assertThat(isUnchanged("506")).isFalse();
+
+        Mockito.verify(cameraMetricService, Mockito.times(2))
+                .incrementSensorChangeFilter(SensorType.LIGHT.name(), SensorChangeFilterImpl.SUPPRESSED);
+        Mockito.verify(cameraMetricService, Mockito.times(2))
+                .incrementSensorChangeFilter(SensorType.LIGHT.name(), SensorChangeFilterImpl.WRITTEN);
+    }
+
+    @Test
+    void expect_isUnchanged_withPercentDeltaBelowAbsoluteDelta_writesChangePastPercentDelta() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "100");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("102")).isTrue();
+        Assertions.assertThat(isUnchanged("103")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_withOnlyAbsoluteDelta_suppressesWithinAbsoluteDelta() {
+
+        // arrange
+        useDeadband(5, 0);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "100");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("105")).isTrue();
+        Assertions.assertThat(isUnchanged("95")).isTrue();
+        Assertions.assertThat(isUnchanged("106")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_withOnlyPercentDelta_suppressesWithinPercentDelta() {
+
+        // arrange
+        useDeadband(0, 10);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "1000");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("1100")).isTrue();
+        Assertions.assertThat(isUnchanged("900")).isTrue();
+        Assertions.assertThat(isUnchanged("1101")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_withoutDeltas_suppressesOnlyRepeatedValue() {
+
+        // arrange
+        useDeadband(0, 0);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "100");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("100")).isTrue();
+        Assertions.assertThat(isUnchanged("101")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_afterMaxSilence_writesUnchangedValue() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW, NOW.plus(MAX_SILENCE).minusSeconds(1), NOW.plus(MAX_SILENCE));
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "500");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("500")).isTrue();
+        Assertions.assertThat(isUnchanged("500")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_withOtherNameOrNonNumericData_comparesExactly() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "bright");
+
+        // act and assert
+        Assertions.assertThat(isUnchanged("bright")).isTrue();
+        Assertions.assertThat(isUnchanged("dark")).isFalse();
+        Assertions.assertThat(sensorChangeFilter.isUnchanged(CAMERA_ID, SENSOR_ID, SensorType.LIGHT,
+                "Light Sensor 2", SENSOR_VERSION, "bright")).isFalse();
+    }
+
+    @Test
+    void expect_isUnchanged_withoutDeadbandOrAfterEvict_writesUpdate() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "500");
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, SENSOR_VERSION, "21");
+
+        // act
+        sensorChangeFilter.evict(SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(isUnchanged("500")).isFalse();
+        Assertions.assertThat(sensorChangeFilter.isUnchanged(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE,
+                SENSOR_NAME, SENSOR_VERSION, "21")).isFalse();
+    }
+
+    @Test
+    void expect_getWrittenData_returnsDataOfLastWrittenUpdateUntilEvict() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorChangeFilter.recordWritten(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, "500");
+
+        // act
+        String writtenData = sensorChangeFilter.getWrittenData(SENSOR_ID);
+        sensorChangeFilter.evict(SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(writtenData).isEqualTo("500");
+        Assertions.assertThat(sensorChangeFilter.getWrittenData(SENSOR_ID)).isNull();
+    }
+
+    private void useDeadband(double absoluteDelta, double percentDelta) {
+        SensorChangeFilterProperties.Deadband deadband = new SensorChangeFilterProperties.Deadband();
+        deadband.setAbsoluteDelta(absoluteDelta);
+        deadband.setPercentDelta(percentDelta);
+        deadband.setMaxSilence(MAX_SILENCE);
+        SensorChangeFilterProperties properties = new SensorChangeFilterProperties();
+        properties.getTypes().put(SensorType.LIGHT, deadband);
+        sensorChangeFilter = new SensorChangeFilterImpl(properties, cameraMetricService, dateTimeFactory);
+    }
+
+    private boolean isUnchanged(String data) {
+        return sensorChangeFilter.isUnchanged(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, SENSOR_VERSION, data);
+    }
+}
@@ -0,0 +1,287 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingBlockRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepositoryCustom;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorLatestReadingServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private SensorReadingRepository sensorReadingRepository;
+
+    @Mock
+    private SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    private SensorLatestReadingServiceImpl sensorLatestReadingService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID SECOND_SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final LocalDateTime NOW = RECORDED_AT.plusMinutes(1);
+
+    @BeforeEach
+    void setUp() {
+        sensorLatestReadingService = new SensorLatestReadingServiceImpl(sensorRepository, cameraRepository,
+                sensorReadingRepository, sensorReadingBlockRepository, cameraMetricService, dateTimeFactory, 4, 8, 60000);
+    }
+
+    @Test
+    void expect_onReadingsPersisted_withReadings_servesLatestFromMemory() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorLatestReadingService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusSeconds(5), 22.0)));
+
+        // act
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isEqualTo(22.0);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT.plusSeconds(5));
+        Assertions.assertThat(latest.getSensorType()).isEqualTo(SensorType.TEMPERATURE);
+        Mockito.verifyNoInteractions(sensorRepository, sensorReadingRepository);
+        Mockito.verify(cameraMetricService, Mockito.never()).incrementSensorLatestReadingRejected(ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withCachedSensorOfOtherCamera_throwsSensorNotFoundException() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorLatestReadingService.onReadingsPersisted(List.of(
+                new SensorReadingRow(OTHER_CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 300.0)));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID))
+                .isInstanceOf(SensorNotFoundException.class);
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withCacheMiss_loadsSensorDataOnce() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Motion Sensor", "v1.0", SensorType.MOTION, "true")));
+
+        // act
+        SensorLatestReadingResponse first = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+        SensorLatestReadingResponse second = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(first.getValue()).isEqualTo(1.0);
+        Assertions.assertThat(first.getRecordedAt()).isNull();
+        Assertions.assertThat(second).isEqualTo(first);
+        Mockito.verify(sensorRepository).findSensorRowById(SENSOR_ID);
+        Mockito.verify(sensorReadingRepository).findLatestReadings(ArgumentMatchers.eq(List.of(SENSOR_ID)),
+                ArgumentMatchers.any(SensorReadingRepositoryCustom.LatestReadingConsumer.class));
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withStoredReading_prefersItOverSensorData() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor", "v1.0", SensorType.TEMPERATURE, "20")));
+        answerLatestReading(SENSOR_ID, RECORDED_AT, 19.0);
+
+        // act
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isEqualTo(19.0);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT);
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withAllReadingsCompacted_returnsLastReadingOfNewestBlock() {
+
+        // arrange
+        LocalDateTime compactedAt = RECORDED_AT.minusHours(2);
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        encoder.add(compactedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), 18.0);
+        encoder.add(compactedAt.plusMinutes(30).toInstant(ZoneOffset.UTC).toEpochMilli(), 18.5);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor", "v1.0", SensorType.TEMPERATURE, "20")));
+        Mockito.when(sensorReadingBlockRepository.findLatestBlocks(List.of(SENSOR_ID))).thenReturn(List.of(
+                new SensorReadingBlockRow(SENSOR_ID, compactedAt, encoder.getCount(), compactedAt,
+                        compactedAt.plusMinutes(30), 0L, encoder.toByteArray())));
+
+        // act
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isEqualTo(18.5);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(compactedAt.plusMinutes(30));
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withExpiredReading_reloadsItFromDatabase() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW, NOW.plusMinutes(2));
+        sensorLatestReadingService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5)));
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor", "v1.0", SensorType.TEMPERATURE, "20")));
+        answerLatestReading(SENSOR_ID, RECORDED_AT.plusSeconds(30), 22.0);
+
+        // act
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isEqualTo(22.0);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT.plusSeconds(30));
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withNonNumericSensorData_returnsEmptyValue() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Light Sensor", "v1.0", SensorType.LIGHT, "not a number")));
+
+        // act
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isNull();
+        Assertions.assertThat(latest.getSensorType()).isEqualTo(SensorType.LIGHT);
+    }
+
+    @Test
+    void expect_handleGetLatestReading_withNonExistingSensor_throwsSensorNotFoundException() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.empty());
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID))
+                .isInstanceOf(SensorNotFoundException.class);
+    }
+
+    @Test
+    void expect_handleSensorUpdated_withNumericData_replacesReadingAndDeleteEvictsIt() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(RECORDED_AT);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.empty());
+
+        // act
+        sensorLatestReadingService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, " 23.5 ");
+        SensorLatestReadingResponse latest = sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID);
+        sensorLatestReadingService.handleSensorDeleted(SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(latest.getValue()).isEqualTo(23.5);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT);
+        Assertions.assertThatThrownBy(() -> sensorLatestReadingService.handleGetLatestReading(CAMERA_ID, SENSOR_ID))
+                .isInstanceOf(SensorNotFoundException.class);
+    }
+
+    @Test
+    void expect_handleGetLatestReadings_withSensors_mergesCachedAndStoredValues() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        sensorLatestReadingService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5)));
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor", "v1.0", SensorType.TEMPERATURE, "20"),
+                new SensorRow(CAMERA_ID, SECOND_SENSOR_ID, "Light Sensor", "v1.0", SensorType.LIGHT, "450")));
+
+        // act
+        List<SensorLatestReadingResponse> latest = sensorLatestReadingService.handleGetLatestReadings(CAMERA_ID);
+
+        // assert
+        Assertions.assertThat(latest).extracting(SensorLatestReadingResponse::getValue).containsExactly(21.5, 450.0);
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    @Test
+    void expect_handleGetLatestReadings_withNonExistingCamera_throwsCameraNotFoundException() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of());
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(false);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorLatestReadingService.handleGetLatestReadings(CAMERA_ID))
+                .isInstanceOf(CameraNotFoundException.class);
+    }
+
+    @Test
+    void expect_onReadingsPersisted_withFullCache_countsRejectedReadings() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        List<SensorReadingRow> readings = List.of(
+                reading(), reading(), reading(), reading(), reading(), reading(), reading(), reading());
+
+        // act
+        sensorLatestReadingService.onReadingsPersisted(readings);
+
+        // assert
+        Mockito.verify(cameraMetricService).incrementSensorLatestReadingRejected(2);
+    }
+
+    private void answerLatestReading(UUID sensorId, LocalDateTime recordedAt, double value) {
+        Mockito.doAnswer(invocation -> {
+            SensorReadingRepositoryCustom.LatestReadingConsumer consumer = invocation.getArgument(1);
+            consumer.accept(sensorId, recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), value);
+            return null;
+        }).when(sensorReadingRepository).findLatestReadings(ArgumentMatchers.eq(List.of(sensorId)),
+                ArgumentMatchers.any(SensorReadingRepositoryCustom.LatestReadingConsumer.class));
+    }
+
+    private SensorReadingRow reading() {
+        return new SensorReadingRow(CAMERA_ID, UUID.randomUUID(), SensorType.LIGHT, RECORDED_AT, 1.0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.CameraSnapshot;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraLookupService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorLookupServiceImplTest {
+
+    @Mock
+    private CameraLookupService cameraLookupService;
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraSnapshot camera;
+
+    @InjectMocks
+    private SensorLookupServiceImpl sensorLookupService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Light Sensor 1";
+    private final SensorType SENSOR_TYPE = SensorType.LIGHT;
+    private final SensorType OTHER_SENSOR_TYPE = SensorType.TEMPERATURE;
+
+    @Test
+    void expect_toSensorLookupException_withNonExistingSensor_returnsSensorNotFoundException() {
+
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(camera);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.empty());
+
+        // act
+        RuntimeException exception = sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE);
+
+        // assert
+        Assertions.assertThat(exception)
+                .isInstanceOf(SensorNotFoundException.class)
+                .hasMessageContaining("Sensor not found with id");
+    }
+
+    @Test
+    void expect_toSensorLookupException_withSensorOfOtherCamera_returnsSensorNotFoundException() {
+
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(camera);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID))
+                .thenReturn(Optional.of(new SensorRow(OTHER_CAMERA_ID, SENSOR_ID, SENSOR_NAME, null, SENSOR_TYPE, null)));
+
+        // act
+        RuntimeException exception = sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE);
+
+        // assert
+        Assertions.assertThat(exception)
+                .isInstanceOf(SensorNotFoundException.class)
+                .hasMessageContaining("Sensor not found with id");
+    }
+
+    @Test
+    void expect_toSensorLookupException_withSensorOfOtherType_returnsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID)).thenReturn(camera);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID))
+                .thenReturn(Optional.of(new SensorRow(CAMERA_ID, SENSOR_ID, SENSOR_NAME, null, OTHER_SENSOR_TYPE, null)));
+
+        // act
+        RuntimeException exception = sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE);
+
+        // assert
+        Assertions.assertThat(exception)
+                .isInstanceOf(SensorMismatchException.class)
+                .hasMessageContaining(OTHER_SENSOR_TYPE.name())
+                .hasMessageContaining("not " + SENSOR_TYPE.name());
+    }
+
+    @Test
+    void expect_toSensorLookupException_withNonExistingCamera_throwsCameraNotFoundException() {
+
+        // arrange
+        Mockito.when(cameraLookupService.getCamera(CAMERA_ID))
+                .thenThrow(new CameraNotFoundException("Camera not found, cameraId:" + CAMERA_ID));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorLookupService.toSensorLookupException(CAMERA_ID, SENSOR_ID, SENSOR_TYPE))
+                .isInstanceOf(CameraNotFoundException.class)
+                .hasMessageContaining("Camera not found");
+
+        Mockito.verifyNoInteractions(sensorRepository);
+    }
+}
@@ -0,0 +1,250 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingBlockRow;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlock;
+import com.onboarding.camera.cameraonboarding.entity.SensorReadingBlockId;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingBlockRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepositoryCustom;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockDecoder;
+import com.onboarding.camera.cameraonboarding.util.GorillaBlockEncoder;
+import com.onboarding.camera.cameraonboarding.util.LttbDownsampler;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorReadingBlockServiceImplTest {
+
+    @Mock
+    private SensorReadingRepository sensorReadingRepository;
+
+    @Mock
+    private SensorReadingBlockRepository sensorReadingBlockRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SensorReadingBlockServiceImpl sensorReadingBlockService;
+
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime WINDOW_START = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 12, 30);
+
+    @BeforeEach
+    void setUp() {
+        sensorReadingBlockService = new SensorReadingBlockServiceImpl(sensorReadingRepository, sensorReadingBlockRepository,
+                cameraMetricService, dateTimeFactory, transactionTemplate);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "enabled", true);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "windowMinutes", 60);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "graceMinutes", 5);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "maxSensorsPerRun", 10);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "maxReadingsPerSensor", 1000);
+        ReflectionTestUtils.setField(sensorReadingBlockService, "blockPageSize", 1);
+    }
+
+    @Test
+    void expect_compact_withReadingsOfTwoWindows_deletesRawAndMergesIntoBlocks() {
+
+        // arrange
+        LocalDateTime cutoff = LocalDateTime.of(2024, 7, 29, 12, 0);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        mockTransactionTemplate();
+        Mockito.when(sensorReadingRepository.findSensorIdsWithReadingsBefore(cutoff, 10)).thenReturn(List.of(SENSOR_ID));
+        Mockito.doAnswer(invocation -> {
+            SensorReadingRepositoryCustom.RawReadingConsumer consumer = invocation.getArgument(3);
+            consumer.accept(1, millis(WINDOW_START.plusMinutes(10)), 20.0);
+            consumer.accept(2, millis(WINDOW_START.plusMinutes(30)), 21.0);
+            consumer.accept(3, millis(WINDOW_START.plusMinutes(70)), 22.0);
+            return null;
+        }).when(sensorReadingRepository).streamReadingsBefore(ArgumentMatchers.eq(SENSOR_ID), ArgumentMatchers.eq(cutoff),
+                ArgumentMatchers.eq(1000), ArgumentMatchers.any());
+        Mockito.when(sensorReadingRepository.deleteReadings(new long[]{1, 2, 3})).thenReturn(3);
+        Mockito.when(sensorReadingBlockRepository.findById(new SensorReadingBlockId(SENSOR_ID, WINDOW_START)))
+                .thenReturn(Optional.of(block(WINDOW_START, WINDOW_START.plusMinutes(20), 25.0)));
+        Mockito.when(sensorReadingBlockRepository.findById(new SensorReadingBlockId(SENSOR_ID, WINDOW_START.plusHours(1))))
+                .thenReturn(Optional.empty());
+        ArgumentCaptor<SensorReadingBlock> captor = ArgumentCaptor.forClass(SensorReadingBlock.class);
+
+        // act
+        int compacted = sensorReadingBlockService.compact();
+
+        // assert
+        Assertions.assertThat(compacted).isEqualTo(3);
+        Mockito.verify(sensorReadingBlockRepository, Mockito.times(2)).save(captor.capture());
+        SensorReadingBlock merged = captor.getAllValues().get(0);
+        Assertions.assertThat(merged.getReadingCount()).isEqualTo(3);
+        Assertions.assertThat(decodeValues(merged)).containsExactly(20.0, 25.0, 21.0);
+        Assertions.assertThat(merged.getFirstRecordedAt()).isEqualTo(WINDOW_START.plusMinutes(10));
+        Assertions.assertThat(merged.getLastRecordedAt()).isEqualTo(WINDOW_START.plusMinutes(30));
+        SensorReadingBlock created = captor.getAllValues().get(1);
+        Assertions.assertThat(created.getBlockStart()).isEqualTo(WINDOW_START.plusHours(1));
+        Assertions.assertThat(decodeValues(created)).containsExactly(22.0);
+
+        Mockito.verify(cameraMetricService).recordSensorReadingBlockCompaction(ArgumentMatchers.eq(3),
+                ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void expect_compact_withReadingsDeletedByAnotherReplica_keepsReadingsRaw() {
+
+        // arrange
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        mockTransactionTemplate();
+        Mockito.when(sensorReadingRepository.findSensorIdsWithReadingsBefore(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(SENSOR_ID));
+        Mockito.doAnswer(invocation -> {
+            SensorReadingRepositoryCustom.RawReadingConsumer consumer = invocation.getArgument(3);
+            consumer.accept(1, millis(WINDOW_START), 20.0);
+            consumer.accept(2, millis(WINDOW_START.plusMinutes(1)), 21.0);
+            return null;
+        }).when(sensorReadingRepository).streamReadingsBefore(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+        Mockito.when(sensorReadingRepository.deleteReadings(ArgumentMatchers.any())).thenReturn(1);
+
+        // act
+        int compacted = sensorReadingBlockService.compact();
+
+        // assert
+        Assertions.assertThat(compacted).isZero();
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingBlockCompactionFailure();
+        Mockito.verify(sensorReadingBlockRepository, Mockito.never()).save(ArgumentMatchers.any());
+    }
+
+    @Test
+    void expect_downsampleReadings_withBlocksAndRawReadings_mergesInTimeOrderWithinRange() {
+
+        // arrange
+        LocalDateTime from = WINDOW_START.plusMinutes(15);
+        LocalDateTime to = WINDOW_START.plusMinutes(90);
+        SensorReadingBlock block = block(WINDOW_START, WINDOW_START.plusMinutes(10), 1.0,
+                WINDOW_START.plusMinutes(20), 2.0, WINDOW_START.plusMinutes(40), 4.0);
+        Mockito.when(sensorReadingBlockRepository.findBlockHeaders(SENSOR_ID, WINDOW_START, from, to))
+                .thenReturn(List.of(header(block)));
+        Mockito.when(sensorReadingBlockRepository.findBlock(SENSOR_ID, WINDOW_START)).thenReturn(Optional.of(row(block)));
+        Mockito.when(sensorReadingBlockRepository.findBlocks(SENSOR_ID, WINDOW_START, from, to, PageRequest.of(0, 1)))
+                .thenReturn(List.of(row(block)));
+        Mockito.when(sensorReadingBlockRepository.findBlocks(SENSOR_ID, WINDOW_START, from, to, PageRequest.of(1, 1)))
+                .thenReturn(List.of());
+        Mockito.when(sensorReadingRepository.countReadings(SENSOR_ID, from, to)).thenReturn(2L);
+        Mockito.doAnswer(invocation -> {
+            SensorReadingRepositoryCustom.ReadingConsumer consumer = invocation.getArgument(4);
+            consumer.accept(millis(WINDOW_START.plusMinutes(30)), 3.0);
+            consumer.accept(millis(WINDOW_START.plusMinutes(80)), 5.0);
+            return null;
+        }).when(sensorReadingRepository).streamReadings(ArgumentMatchers.eq(SENSOR_ID), ArgumentMatchers.eq(from),
+                ArgumentMatchers.eq(to), ArgumentMatchers.eq(2L), ArgumentMatchers.any());
+
+        // act
+        LttbDownsampler downsampler = sensorReadingBlockService.downsampleReadings(SENSOR_ID, from, to, 10);
+
+        // assert
+        Assertions.assertThat(downsampler.getAdded()).isEqualTo(4);
+        Assertions.assertThat(downsampler.values()).containsExactly(2.0, 3.0, 4.0, 5.0);
+        Assertions.assertThat(downsampler.timestamps()).isSorted();
+    }
+
+    @Test
+    void expect_downsampleReadings_withCompactionWhileStreaming_readsRangeAgain() {
+
+        // arrange
+        LocalDateTime from = WINDOW_START.plusMinutes(15);
+        LocalDateTime to = WINDOW_START.plusMinutes(90);
+        SensorReadingBlock block = block(WINDOW_START, WINDOW_START.plusMinutes(30), 3.0);
+        Mockito.when(sensorReadingBlockRepository.findBlockHeaders(SENSOR_ID, WINDOW_START, from, to))
+                .thenReturn(List.of(), List.of(header(block)));
+        Mockito.when(sensorReadingBlockRepository.findBlocks(SENSOR_ID, WINDOW_START, from, to, PageRequest.of(0, 1)))
+                .thenReturn(List.of(), List.of(row(block)));
+        Mockito.when(sensorReadingBlockRepository.findBlocks(SENSOR_ID, WINDOW_START, from, to, PageRequest.of(1, 1)))
+                .thenReturn(List.of());
+        // the reading at 10:30 is compacted between the first count and the first stream
+        Mockito.when(sensorReadingRepository.countReadings(SENSOR_ID, from, to)).thenReturn(2L, 1L);
+        Mockito.doAnswer(invocation -> {
+            SensorReadingRepositoryCustom.ReadingConsumer consumer = invocation.getArgument(4);
+            consumer.accept(millis(WINDOW_START.plusMinutes(80)), 5.0);
+            return null;
+        }).when(sensorReadingRepository).streamReadings(ArgumentMatchers.eq(SENSOR_ID), ArgumentMatchers.eq(from),
+                ArgumentMatchers.eq(to), ArgumentMatchers.anyLong(), ArgumentMatchers.any());
+
+        // act
+        LttbDownsampler downsampler = sensorReadingBlockService.downsampleReadings(SENSOR_ID, from, to, 10);
+
+        // assert
+        Assertions.assertThat(downsampler.getAdded()).isEqualTo(2);
+        Assertions.assertThat(downsampler.values()).containsExactly(3.0, 5.0);
+
+        Mockito.verify(sensorReadingBlockRepository, Mockito.times(3)).findBlockHeaders(SENSOR_ID, WINDOW_START, from, to);
+        Mockito.verify(sensorReadingBlockRepository, Mockito.never()).findBlock(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactionTemplate() {
+        Mockito.when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private SensorReadingBlock block(LocalDateTime blockStart, Object... readings) {
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        for (int i = 0; i < readings.length; i += 2) {
+            encoder.add(millis((LocalDateTime) readings[i]), (Double) readings[i + 1]);
+        }
+        SensorReadingBlock block = new SensorReadingBlock();
+        block.setSensorId(SENSOR_ID);
+        block.setBlockStart(blockStart);
+        block.setReadingCount(encoder.getCount());
+        block.setFirstRecordedAt((LocalDateTime) readings[0]);
+        block.setLastRecordedAt((LocalDateTime) readings[readings.length - 2]);
+        block.setPayload(encoder.toByteArray());
+        block.setVersion(0L);
+        return block;
+    }
+
+    private SensorReadingBlockRow header(SensorReadingBlock block) {
+        return new SensorReadingBlockRow(block.getSensorId(), block.getBlockStart(), block.getReadingCount(),
+                block.getFirstRecordedAt(), block.getLastRecordedAt(), block.getVersion());
+    }
+
+    private SensorReadingBlockRow row(SensorReadingBlock block) {
+        return new SensorReadingBlockRow(block.getSensorId(), block.getBlockStart(), block.getReadingCount(),
+                block.getFirstRecordedAt(), block.getLastRecordedAt(), block.getVersion(), block.getPayload());
+    }
+
+    private List<Double> decodeValues(SensorReadingBlock block) {
+        List<Double> values = new ArrayList<>();
+        GorillaBlockDecoder decoder = new GorillaBlockDecoder(block.getPayload());
+        while (decoder.next()) {
+            values.add(decoder.getValue());
+        }
+        return values;
+    }
+
+    private long millis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
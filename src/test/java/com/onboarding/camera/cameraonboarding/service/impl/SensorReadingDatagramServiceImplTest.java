@@ -0,0 +1,231 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingWriter;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.SensorReadingDatagram;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorReadingDatagramServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private SensorReadingWriter sensorReadingWriter;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    private SensorReadingDatagramServiceImpl sensorReadingDatagramService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID LIGHT_SENSOR_ID = UUID.randomUUID();
+    private final UUID UNKNOWN_SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 9, 59, 30);
+
+    @BeforeEach
+    void setUp() {
+        sensorReadingDatagramService = new SensorReadingDatagramServiceImpl(sensorRepository, sensorReadingWriter,
+                cameraMetricService, dateTimeFactory, "127.0.0.1", 0, 65536, 30000, 100, 2);
+    }
+
+    @Test
+    void expect_handleDatagram_withKnownAndUnknownSensors_offersValidReadings() {
+
+        // arrange
+        mockSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).size());
+        ByteBuffer datagram = datagram(4);
+        SensorReadingDatagram.writeReading(datagram, SENSOR_ID, SensorType.TEMPERATURE, epochMillis(RECORDED_AT), 21.5);
+        SensorReadingDatagram.writeReading(datagram, LIGHT_SENSOR_ID, SensorType.LIGHT, 0, 500.0);
+        SensorReadingDatagram.writeReading(datagram, UNKNOWN_SENSOR_ID, SensorType.LIGHT, 0, 500.0);
+        SensorReadingDatagram.writeReading(datagram, LIGHT_SENSOR_ID, SensorType.MOTION, 0, 1.0);
+
+        // act
+        int accepted = sensorReadingDatagramService.handleDatagram(datagram.flip());
+
+        // assert
+        Assertions.assertThat(accepted).isEqualTo(2);
+        List<SensorReadingRow> rows = offeredRows();
+        Assertions.assertThat(rows).extracting(SensorReadingRow::getSensorId).containsExactly(SENSOR_ID, LIGHT_SENSOR_ID);
+        Assertions.assertThat(rows).extracting(SensorReadingRow::getRecordedAt).containsExactly(RECORDED_AT, NOW);
+        Assertions.assertThat(rows.get(0).getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(rows.get(0).getValue()).isEqualTo(21.5);
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingDatagram();
+        Mockito.verify(cameraMetricService).incrementSensorReadingIngested(SensorType.TEMPERATURE.name(), 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingIngested(SensorType.LIGHT.name(), 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("unknown_sensor", 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("invalid", 1);
+    }
+
+    @Test
+    void expect_handleDatagram_withFullBuffer_countsDroppedReadings() {
+
+        // arrange
+        mockSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenReturn(0);
+        ByteBuffer datagram = datagram(1);
+        SensorReadingDatagram.writeReading(datagram, SENSOR_ID, SensorType.TEMPERATURE, 0, 21.5);
+
+        // act
+        int accepted = sensorReadingDatagramService.handleDatagram(datagram.flip());
+
+        // assert
+        Assertions.assertThat(accepted).isZero();
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("buffer_full", 1);
+    }
+
+    @Test
+    void expect_handleDatagram_withMalformedDatagram_countsDecodeError() {
+
+        // act
+        int accepted = sensorReadingDatagramService.handleDatagram(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+
+        // assert
+        Assertions.assertThat(accepted).isZero();
+        Mockito.verify(cameraMetricService).incrementSensorReadingDatagram();
+        Mockito.verify(cameraMetricService).incrementSensorReadingDatagramDecodeError();
+        Mockito.verifyNoInteractions(sensorRepository, sensorReadingWriter);
+    }
+
+    @Test
+    void expect_handleDatagram_withSameCamera_loadsSensorsOnce() {
+
+        // arrange
+        mockSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenReturn(1);
+
+        // act
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer datagram = datagram(1);
+            SensorReadingDatagram.writeReading(datagram, SENSOR_ID, SensorType.TEMPERATURE, 0, 20.0 + i);
+            sensorReadingDatagramService.handleDatagram(datagram.flip());
+        }
+
+        // assert
+        Mockito.verify(sensorRepository).findSensorRowsByCameraId(CAMERA_ID, null);
+        Mockito.verify(sensorReadingWriter, Mockito.times(3)).offer(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void expect_handleDatagram_withUnknownCamera_loadsSensorsOnce() {
+
+        // arrange
+        UUID unknownCameraId = UUID.randomUUID();
+
+        // act
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer datagram = datagram(unknownCameraId, 1);
+            SensorReadingDatagram.writeReading(datagram, SENSOR_ID, SensorType.TEMPERATURE, 0, 20.0 + i);
+            sensorReadingDatagramService.handleDatagram(datagram.flip());
+        }
+
+        // assert
+        Mockito.verify(sensorRepository).findSensorRowsByCameraId(unknownCameraId, null);
+        Mockito.verify(cameraMetricService, Mockito.times(3)).incrementSensorReadingRejected("unknown_sensor", 1);
+        Mockito.verifyNoInteractions(sensorReadingWriter);
+    }
+
+    @Test
+    void expect_handleDatagram_withMoreUncachedCamerasThanLookups_rejectsThrottledDatagrams() {
+
+        // act
+        for (int i = 0; i < 2; i++) {
+            ByteBuffer datagram = datagram(UUID.randomUUID(), 1);
+            SensorReadingDatagram.writeReading(datagram, SENSOR_ID, SensorType.TEMPERATURE, 0, 20.0);
+            sensorReadingDatagramService.handleDatagram(datagram.flip());
+        }
+        ByteBuffer throttled = datagram(1);
+        SensorReadingDatagram.writeReading(throttled, SENSOR_ID, SensorType.TEMPERATURE, 0, 20.0);
+        int accepted = sensorReadingDatagramService.handleDatagram(throttled.flip());
+
+        // assert
+        Assertions.assertThat(accepted).isZero();
+        Mockito.verify(sensorRepository, Mockito.times(2)).findSensorRowsByCameraId(ArgumentMatchers.any(), ArgumentMatchers.isNull());
+        Mockito.verify(sensorRepository, Mockito.never()).findSensorRowsByCameraId(CAMERA_ID, null);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("lookup_throttled", 1);
+        Mockito.verifyNoInteractions(sensorReadingWriter);
+    }
+
+    @Test
+    void expect_start_withLoopbackDatagram_ingestsReadings() throws Exception {
+
+        // arrange
+        mockSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenReturn(1);
+        sensorReadingDatagramService.start();
+        ByteBuffer datagram = datagram(1);
+        SensorReadingDatagram.writeReading(datagram, LIGHT_SENSOR_ID, SensorType.LIGHT, 0, 500.0);
+
+        // act
+        try (DatagramChannel client = DatagramChannel.open()) {
+            client.send(datagram.flip(), new InetSocketAddress("127.0.0.1", sensorReadingDatagramService.getLocalPort()));
+
+            // assert
+            Mockito.verify(sensorReadingWriter, Mockito.timeout(5000)).offer(ArgumentMatchers.argThat(rows ->
+                    rows.size() == 1 && rows.get(0).getSensorId().equals(LIGHT_SENSOR_ID)));
+        } finally {
+            sensorReadingDatagramService.stop();
+        }
+    }
+
+    private void mockSensors() {
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor 1", "v1.0", SensorType.TEMPERATURE, null),
+                new SensorRow(CAMERA_ID, LIGHT_SENSOR_ID, "Light Sensor 1", "v1.0", SensorType.LIGHT, null)));
+    }
+
+    private ByteBuffer datagram(int readings) {
+        return datagram(CAMERA_ID, readings);
+    }
+
+    private ByteBuffer datagram(UUID cameraId, int readings) {
+        ByteBuffer datagram = ByteBuffer.allocate(SensorReadingDatagram.HEADER_BYTES + readings * SensorReadingDatagram.READING_BYTES);
+        SensorReadingDatagram.writeHeader(datagram, cameraId, readings);
+        return datagram;
+    }
+
+    private List<SensorReadingRow> offeredRows() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SensorReadingRow>> rows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sensorReadingWriter).offer(rows.capture());
+        return rows.getValue();
+    }
+
+    private long epochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,186 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRollupRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.RollupResolution;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRollupRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorReadingRollupServiceImplTest {
+
+    @Mock
+    private SensorReadingRollupRepository sensorReadingRollupRepository;
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    private SensorReadingRollupServiceImpl sensorReadingRollupService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID MOTION_SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 15, 30);
+
+    @BeforeEach
+    void setUp() {
+        sensorReadingRollupService = new SensorReadingRollupServiceImpl(sensorReadingRollupRepository, sensorRepository,
+                cameraMetricService);
+        ReflectionTestUtils.setField(sensorReadingRollupService, "maxBuckets", 100L);
+        ReflectionTestUtils.setField(sensorReadingRollupService, "maxPendingBuckets", 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expect_flush_afterReadings_mergesOneBucketPerResolutionAndSkipsMotion() {
+
+        // arrange
+        sensorReadingRollupService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 20.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusSeconds(10), 24.0),
+                new SensorReadingRow(CAMERA_ID, MOTION_SENSOR_ID, SensorType.MOTION, RECORDED_AT, 1.0)));
+        ArgumentCaptor<Collection<SensorReadingRollupRow>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        // act
+        int flushed = sensorReadingRollupService.flush();
+
+        // assert
+        Assertions.assertThat(flushed).isEqualTo(3);
+        Mockito.verify(sensorReadingRollupRepository).mergeRollups(captor.capture());
+        Assertions.assertThat(captor.getValue()).extracting(SensorReadingRollupRow::getResolution)
+                .containsExactlyInAnyOrder(RollupResolution.MINUTE, RollupResolution.HOUR, RollupResolution.DAY);
+        Assertions.assertThat(captor.getValue()).allSatisfy(rollup -> {
+            Assertions.assertThat(rollup.getSensorId()).isEqualTo(SENSOR_ID);
+            Assertions.assertThat(rollup.getCount()).isEqualTo(2);
+            Assertions.assertThat(rollup.getMin()).isEqualTo(20.0);
+            Assertions.assertThat(rollup.getMax()).isEqualTo(24.0);
+            Assertions.assertThat(rollup.getSum()).isEqualTo(44.0);
+        });
+        Assertions.assertThat(sensorReadingRollupService.flush()).isZero();
+
+        Mockito.verify(cameraMetricService).recordSensorReadingRollupFlush(ArgumentMatchers.eq(3), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void expect_flush_withFailingMerge_keepsAggregatesForNextFlush() {
+
+        // arrange
+        List<Long> mergedCounts = new ArrayList<>();
+        Mockito.doThrow(new DuplicateKeyException("duplicate"))
+                .doAnswer(invocation -> {
+                    invocation.<Collection<SensorReadingRollupRow>>getArgument(0)
+                            .forEach(rollup -> mergedCounts.add(rollup.getCount()));
+                    return null;
+                })
+                .when(sensorReadingRollupRepository).mergeRollups(ArgumentMatchers.anyCollection());
+        sensorReadingRollupService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 300.0)));
+
+        // act
+        int failedFlush = sensorReadingRollupService.flush();
+        sensorReadingRollupService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT.plusSeconds(1), 310.0)));
+        int flushed = sensorReadingRollupService.flush();
+
+        // assert
+        Assertions.assertThat(failedFlush).isZero();
+        Assertions.assertThat(flushed).isEqualTo(3);
+        Assertions.assertThat(mergedCounts).containsOnly(2L);
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingRollupFlushFailure();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expect_onReadingsPersisted_withFullBuckets_dropsReadingsOfNewBucketsAndCountsThem() {
+
+        // arrange
+        ReflectionTestUtils.setField(sensorReadingRollupService, "maxPendingBuckets", 3);
+        sensorReadingRollupService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 300.0)));
+        ArgumentCaptor<Collection<SensorReadingRollupRow>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        // act
+        sensorReadingRollupService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT.plusSeconds(1), 310.0),
+                new SensorReadingRow(CAMERA_ID, UUID.randomUUID(), SensorType.LIGHT, RECORDED_AT, 320.0)));
+        int flushed = sensorReadingRollupService.flush();
+
+        // assert
+        Assertions.assertThat(flushed).isEqualTo(3);
+        Mockito.verify(sensorReadingRollupRepository).mergeRollups(captor.capture());
+        Assertions.assertThat(captor.getValue()).allSatisfy(rollup -> {
+            Assertions.assertThat(rollup.getSensorId()).isEqualTo(SENSOR_ID);
+            Assertions.assertThat(rollup.getCount()).isEqualTo(2);
+        });
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingRollupDropped(3);
+    }
+
+    @Test
+    void expect_handleGetRollups_withSensorOfAnotherCamera_throwsSensorNotFound() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(UUID.randomUUID(), SENSOR_ID, "Sensor", "v1.0", SensorType.TEMPERATURE, null)));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingRollupService.handleGetRollups(CAMERA_ID, SENSOR_ID,
+                        RollupResolution.HOUR, RECORDED_AT, RECORDED_AT.plusHours(5)))
+                .isInstanceOf(SensorNotFoundException.class);
+
+        Mockito.verifyNoInteractions(sensorReadingRollupRepository);
+    }
+
+    @Test
+    void expect_handleGetRollups_withTooManyBuckets_throwsIllegalArgument() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingRollupService.handleGetRollups(CAMERA_ID, SENSOR_ID,
+                        RollupResolution.MINUTE, RECORDED_AT, RECORDED_AT.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(sensorRepository, sensorReadingRollupRepository);
+    }
+
+    @Test
+    void expect_handleGetRollups_withSensorOfCamera_queriesFromBucketStart() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Sensor", "v1.0", SensorType.TEMPERATURE, null)));
+
+        // act
+        sensorReadingRollupService.handleGetRollups(CAMERA_ID, SENSOR_ID, RollupResolution.HOUR,
+                RECORDED_AT, RECORDED_AT.plusHours(5));
+
+        // assert
+        Mockito.verify(sensorReadingRollupRepository).findRollups(SENSOR_ID, RollupResolution.HOUR,
+                LocalDateTime.of(2024, 7, 29, 10, 0), RECORDED_AT.plusHours(5));
+    }
+}
@@ -0,0 +1,230 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingDto;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingHistoryResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingIngestResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.exception.SensorNotFoundException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingBlockService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingWriter;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import com.onboarding.camera.cameraonboarding.util.LttbDownsampler;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorReadingServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private SensorReadingWriter sensorReadingWriter;
+
+    @Mock
+    private SensorReadingBlockService sensorReadingBlockService;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    @InjectMocks
+    private SensorReadingServiceImpl sensorReadingService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID TEMPERATURE_SENSOR_ID = UUID.randomUUID();
+    private final UUID LIGHT_SENSOR_ID = UUID.randomUUID();
+    private final UUID UNKNOWN_SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 9, 59);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sensorReadingService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(sensorReadingService, "defaultMaxPoints", 3);
+        ReflectionTestUtils.setField(sensorReadingService, "maxPointsLimit", 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expect_handleIngestReadings_withMixedReadings_buffersValidReadingsOfCameraSensors() {
+
+        // arrange
+        mockCameraSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        List<SensorReadingDto> readings = List.of(
+                new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT, 21.5),
+                new SensorReadingDto(LIGHT_SENSOR_ID, null, 300.0),
+                new SensorReadingDto(UNKNOWN_SENSOR_ID, RECORDED_AT, 1.0),
+                new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT, Double.NaN),
+                new SensorReadingDto(null, RECORDED_AT, 1.0));
+
+        // act
+        SensorReadingIngestResponse response = sensorReadingService.handleIngestReadings(CAMERA_ID, readings);
+
+        // assert
+        Assertions.assertThat(response.getTotal()).isEqualTo(5);
+        Assertions.assertThat(response.getAccepted()).isEqualTo(2);
+        Assertions.assertThat(response.getInvalid()).isEqualTo(2);
+        Assertions.assertThat(response.getUnknownSensor()).isEqualTo(1);
+        Assertions.assertThat(response.getDropped()).isZero();
+
+        ArgumentCaptor<List<SensorReadingRow>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sensorReadingWriter).offer(captor.capture());
+        Assertions.assertThat(captor.getValue()).extracting(SensorReadingRow::getSensorType)
+                .containsExactly(SensorType.TEMPERATURE, SensorType.LIGHT);
+        Assertions.assertThat(captor.getValue().get(1).getRecordedAt()).isEqualTo(NOW);
+        Assertions.assertThat(captor.getValue()).extracting(SensorReadingRow::getCameraId).containsOnly(CAMERA_ID);
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingIngested(SensorType.TEMPERATURE.name(), 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingIngested(SensorType.LIGHT.name(), 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("invalid", 2);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("unknown_sensor", 1);
+        Mockito.verifyNoInteractions(cameraRepository);
+    }
+
+    @Test
+    void expect_handleIngestReadings_withFullBuffer_reportsDroppedReadings() {
+
+        // arrange
+        mockCameraSensors();
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.when(sensorReadingWriter.offer(ArgumentMatchers.anyList())).thenReturn(1);
+        List<SensorReadingDto> readings = List.of(
+                new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT, 21.5),
+                new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT.plusSeconds(1), 21.6),
+                new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT.plusSeconds(2), 21.7));
+
+        // act
+        SensorReadingIngestResponse response = sensorReadingService.handleIngestReadings(CAMERA_ID, readings);
+
+        // assert
+        Assertions.assertThat(response.getAccepted()).isEqualTo(1);
+        Assertions.assertThat(response.getDropped()).isEqualTo(2);
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingIngested(SensorType.TEMPERATURE.name(), 1);
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("buffer_full", 2);
+    }
+
+    @Test
+    void expect_handleIngestReadings_withNonExistingCamera_throwsCameraNotFoundException() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of());
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(false);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleIngestReadings(CAMERA_ID,
+                        List.of(new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT, 21.5))))
+                .isInstanceOf(CameraNotFoundException.class);
+
+        Mockito.verifyNoInteractions(sensorReadingWriter);
+    }
+
+    @Test
+    void expect_handleIngestReadings_withEmptyOrOversizedBatch_throwsIllegalArgumentException() {
+
+        // arrange
+        List<SensorReadingDto> oversized = Collections.nCopies(11, new SensorReadingDto(TEMPERATURE_SENSOR_ID, RECORDED_AT, 21.5));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleIngestReadings(CAMERA_ID, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleIngestReadings(CAMERA_ID, oversized))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than 10");
+
+        Mockito.verifyNoInteractions(sensorRepository, sensorReadingWriter);
+    }
+
+    @Test
+    void expect_handleGetReadings_withDefaultMaxPoints_returnsDownsampledColumns() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowById(TEMPERATURE_SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, TEMPERATURE_SENSOR_ID, "Sensor", "v1.0", SensorType.TEMPERATURE, null)));
+        LttbDownsampler downsampler = new LttbDownsampler(10, 3);
+        for (int i = 0; i < 10; i++) {
+            downsampler.add(i * 1000L, i == 4 ? 40.0 : 20.0);
+        }
+        downsampler.finish();
+        Mockito.when(sensorReadingBlockService.downsampleReadings(TEMPERATURE_SENSOR_ID, RECORDED_AT, NOW, 3))
+                .thenReturn(downsampler);
+
+        // act
+        SensorReadingHistoryResponse response = sensorReadingService.handleGetReadings(CAMERA_ID, SensorType.TEMPERATURE,
+                TEMPERATURE_SENSOR_ID, RECORDED_AT, NOW, null);
+
+        // assert
+        Assertions.assertThat(response.getRawPoints()).isEqualTo(10);
+        Assertions.assertThat(response.getPoints()).isEqualTo(3);
+        Assertions.assertThat(response.getTimestamps()).containsExactly(0L, 4000L, 9000L);
+        Assertions.assertThat(response.getValues()).containsExactly(20.0, 40.0, 20.0);
+    }
+
+    @Test
+    void expect_handleGetReadings_withSensorOfAnotherCameraOrType_throwsException() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowById(TEMPERATURE_SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, TEMPERATURE_SENSOR_ID, "Sensor", "v1.0", SensorType.TEMPERATURE, null)));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleGetReadings(UUID.randomUUID(), SensorType.TEMPERATURE,
+                        TEMPERATURE_SENSOR_ID, RECORDED_AT, NOW, 10))
+                .isInstanceOf(SensorNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleGetReadings(CAMERA_ID, SensorType.LIGHT,
+                        TEMPERATURE_SENSOR_ID, RECORDED_AT, NOW, 10))
+                .isInstanceOf(SensorMismatchException.class);
+
+        Mockito.verifyNoInteractions(sensorReadingBlockService);
+    }
+
+    @Test
+    void expect_handleGetReadings_withInvalidRangeOrMaxPoints_throwsIllegalArgumentException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleGetReadings(CAMERA_ID, SensorType.TEMPERATURE,
+                        TEMPERATURE_SENSOR_ID, NOW, RECORDED_AT, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> sensorReadingService.handleGetReadings(CAMERA_ID, SensorType.TEMPERATURE,
+                        TEMPERATURE_SENSOR_ID, RECORDED_AT, NOW, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Mockito.verifyNoInteractions(sensorRepository, sensorReadingBlockService);
+    }
+
+    private void mockCameraSensors() {
+        Mockito.when(sensorRepository.findSensorRowsByCameraId(CAMERA_ID, null)).thenReturn(List.of(
+                new SensorRow(CAMERA_ID, TEMPERATURE_SENSOR_ID, "Temperature Sensor", "v1.0", SensorType.TEMPERATURE, null),
+                new SensorRow(CAMERA_ID, LIGHT_SENSOR_ID, "Light Sensor", "v1.0", SensorType.LIGHT, null)));
+    }
+}
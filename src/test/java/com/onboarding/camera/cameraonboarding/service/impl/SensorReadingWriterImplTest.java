@@ -0,0 +1,144 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.SensorReadingRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.SensorReadingListener;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorReadingWriterImplTest {
+
+    @Mock
+    private SensorReadingRepository sensorReadingRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private SensorReadingListener sensorReadingListener;
+
+    private SensorReadingWriterImpl sensorReadingWriter;
+
+    private final int BUFFER_CAPACITY = 5;
+    private final int FLUSH_BATCH_SIZE = 2;
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        sensorReadingWriter = new SensorReadingWriterImpl(sensorReadingRepository, cameraMetricService,
+                List.of(sensorReadingListener), BUFFER_CAPACITY, FLUSH_BATCH_SIZE);
+    }
+
+    @Test
+    void expect_offer_withFullBuffer_acceptsOnlyUpToCapacity() {
+
+        // act
+        int accepted = sensorReadingWriter.offer(readings(7));
+
+        // assert
+        Assertions.assertThat(accepted).isEqualTo(BUFFER_CAPACITY);
+        Assertions.assertThat(sensorReadingWriter.offer(readings(1))).isZero();
+
+        Mockito.verify(cameraMetricService).registerSensorReadingBuffer(ArgumentMatchers.anyCollection());
+        Mockito.verifyNoInteractions(sensorReadingRepository);
+    }
+
+    @Test
+    void expect_flush_withBufferedReadings_insertsInBatchesAndEmptiesBuffer() {
+
+        // arrange
+        List<Integer> batchSizes = new ArrayList<>();
+        Mockito.doAnswer(invocation -> batchSizes.add(invocation.<List<SensorReadingRow>>getArgument(0).size()))
+                .when(sensorReadingRepository).insertReadings(ArgumentMatchers.anyList());
+        sensorReadingWriter.offer(readings(BUFFER_CAPACITY));
+
+        // act
+        int persisted = sensorReadingWriter.flush();
+
+        // assert
+        Assertions.assertThat(persisted).isEqualTo(BUFFER_CAPACITY);
+        Assertions.assertThat(batchSizes).containsExactly(2, 2, 1);
+        Assertions.assertThat(sensorReadingWriter.offer(readings(BUFFER_CAPACITY))).isEqualTo(BUFFER_CAPACITY);
+
+        Mockito.verify(cameraMetricService, Mockito.times(2)).recordSensorReadingFlush(ArgumentMatchers.eq(2), ArgumentMatchers.anyLong());
+        Mockito.verify(cameraMetricService).recordSensorReadingFlush(ArgumentMatchers.eq(1), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void expect_flush_withFailingInsert_dropsBatchAndContinues() {
+
+        // arrange
+        Mockito.doThrow(new QueryTimeoutException("timeout"))
+                .doNothing()
+                .when(sensorReadingRepository).insertReadings(ArgumentMatchers.anyList());
+        sensorReadingWriter.offer(readings(3));
+
+        // act
+        int persisted = sensorReadingWriter.flush();
+
+        // assert
+        Assertions.assertThat(persisted).isEqualTo(1);
+
+        Mockito.verify(cameraMetricService).incrementSensorReadingRejected("flush_failure", 2);
+        Mockito.verify(sensorReadingRepository, Mockito.times(2)).insertReadings(ArgumentMatchers.anyList());
+        Mockito.verify(sensorReadingListener).onReadingsPersisted(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void expect_flush_withFailingListener_stillPersistsEveryBatch() {
+
+        // arrange
+        List<Integer> notifiedSizes = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            notifiedSizes.add(invocation.<List<SensorReadingRow>>getArgument(0).size());
+            throw new IllegalStateException("listener failure");
+        }).when(sensorReadingListener).onReadingsPersisted(ArgumentMatchers.anyList());
+        sensorReadingWriter.offer(readings(3));
+
+        // act
+        int persisted = sensorReadingWriter.flush();
+
+        // assert
+        Assertions.assertThat(persisted).isEqualTo(3);
+        Assertions.assertThat(notifiedSizes).containsExactly(2, 1);
+
+        Mockito.verify(cameraMetricService, Mockito.never()).incrementSensorReadingRejected(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void expect_flush_withEmptyBuffer_doesNotTouchRepository() {
+
+        // act
+        int persisted = sensorReadingWriter.flush();
+
+        // assert
+        Assertions.assertThat(persisted).isZero();
+
+        Mockito.verifyNoInteractions(sensorReadingRepository);
+    }
+
+    private List<SensorReadingRow> readings(int count) {
+        List<SensorReadingRow> readings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            readings.add(new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT.plusSeconds(i), i));
+        }
+        return readings;
+    }
+}
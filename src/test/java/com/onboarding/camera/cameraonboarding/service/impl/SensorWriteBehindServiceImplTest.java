@@ -0,0 +1,157 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraCacheEvictor;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SensorWriteBehindServiceImplTest {
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraCacheEvictor cameraCacheEvictor;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    private SensorWriteBehindServiceImpl sensorWriteBehindService;
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID OTHER_SENSOR_ID = UUID.randomUUID();
+    private final String SENSOR_NAME = "Temperature Sensor 1";
+    private final String SENSOR_VERSION = "v1.0";
+
+    @BeforeEach
+    void setUp() {
+        sensorWriteBehindService = new SensorWriteBehindServiceImpl(sensorRepository, cameraCacheEvictor, cameraMetricService,
+                List.of(SensorType.TEMPERATURE, SensorType.MOTION), 1, 500);
+    }
+
+    @Test
+    void expect_offer_withRepeatedUpdates_writesLatestUpdateOnce() {
+
+        // arrange
+        mockSensor(SENSOR_ID, SensorType.TEMPERATURE);
+        Mockito.when(sensorRepository.updateSensors(ArgumentMatchers.anyList())).thenReturn(new int[]{1});
+
+        // act
+        boolean first = sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, SENSOR_VERSION, "21.5");
+        boolean second = sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, SENSOR_VERSION, "22.0");
+        int written = sensorWriteBehindService.flush();
+
+        // assert
+        Assertions.assertThat(first).isTrue();
+        Assertions.assertThat(second).isTrue();
+        Assertions.assertThat(written).isEqualTo(1);
+        List<SensorRow> sensorRows = writtenRows();
+        Assertions.assertThat(sensorRows).hasSize(1);
+        Assertions.assertThat(sensorRows.get(0).getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(sensorRows.get(0).getData()).isEqualTo("22.0");
+        Assertions.assertThat(sensorWriteBehindService.flush()).isZero();
+
+        Mockito.verify(sensorRepository).findSensorRowById(SENSOR_ID);
+        Mockito.verify(cameraCacheEvictor).evictAll(Set.of(CAMERA_ID));
+        Mockito.verify(cameraMetricService).incrementSensorWriteBehindCoalesced();
+        Mockito.verify(cameraMetricService).recordSensorWriteBehindFlush(ArgumentMatchers.eq(1), ArgumentMatchers.anyLong());
+        Mockito.verify(cameraMetricService).recordSensorWriteBehindLag(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void expect_offer_withDisabledTypeOrWrongCameraOrType_returnsFalse() {
+
+        // arrange
+        mockSensor(SENSOR_ID, SensorType.TEMPERATURE);
+        Mockito.when(sensorRepository.findSensorRowById(OTHER_SENSOR_ID)).thenReturn(Optional.empty());
+
+        // act and assert
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, SENSOR_NAME, null, null)).isFalse();
+        Assertions.assertThat(sensorWriteBehindService.offer(OTHER_CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, null, null)).isFalse();
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.MOTION, SENSOR_NAME, null, null)).isFalse();
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, OTHER_SENSOR_ID, SensorType.MOTION, SENSOR_NAME, null, null)).isFalse();
+        Assertions.assertThat(sensorWriteBehindService.flush()).isZero();
+
+        Mockito.verify(sensorRepository).findSensorRowById(SENSOR_ID);
+        Mockito.verify(sensorRepository, Mockito.never()).updateSensors(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void expect_offer_withFullBuffer_acceptsOnlyPendingSensors() {
+
+        // arrange
+        mockSensor(SENSOR_ID, SensorType.TEMPERATURE);
+        mockSensor(OTHER_SENSOR_ID, SensorType.MOTION);
+
+        // act and assert
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, null, "21.5")).isTrue();
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, OTHER_SENSOR_ID, SensorType.MOTION, SENSOR_NAME, null, "1")).isFalse();
+        Assertions.assertThat(sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, null, "22.0")).isTrue();
+    }
+
+    @Test
+    void expect_flush_withFailingWrite_retriesUpdateWithNextFlush() {
+
+        // arrange
+        mockSensor(SENSOR_ID, SensorType.TEMPERATURE);
+        Mockito.when(sensorRepository.updateSensors(ArgumentMatchers.anyList()))
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenReturn(new int[]{1});
+        sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, null, "21.5");
+
+        // act
+        int failed = sensorWriteBehindService.flush();
+        int retried = sensorWriteBehindService.flush();
+
+        // assert
+        Assertions.assertThat(failed).isZero();
+        Assertions.assertThat(retried).isEqualTo(1);
+        Mockito.verify(cameraMetricService).incrementSensorWriteBehindFlushFailure(1);
+        Mockito.verify(sensorRepository, Mockito.times(2)).updateSensors(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void expect_handleSensorDeleted_withPendingUpdate_dropsUpdate() {
+
+        // arrange
+        mockSensor(SENSOR_ID, SensorType.TEMPERATURE);
+        sensorWriteBehindService.offer(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, SENSOR_NAME, null, "21.5");
+
+        // act
+        sensorWriteBehindService.handleSensorDeleted(SENSOR_ID);
+
+        // assert
+        Assertions.assertThat(sensorWriteBehindService.flush()).isZero();
+        Mockito.verify(sensorRepository, Mockito.never()).updateSensors(ArgumentMatchers.anyList());
+    }
+
+    private void mockSensor(UUID sensorId, SensorType sensorType) {
+        Mockito.when(sensorRepository.findSensorRowById(sensorId))
+                .thenReturn(Optional.of(new SensorRow(CAMERA_ID, sensorId, SENSOR_NAME, SENSOR_VERSION, sensorType, null)));
+    }
+
+    private List<SensorRow> writtenRows() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SensorRow>> sensorRows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sensorRepository).updateSensors(sensorRows.capture());
+        return sensorRows.getValue();
+    }
+}
@@ -0,0 +1,280 @@
+package com.onboarding.camera.cameraonboarding.service.impl;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.dto.SensorRow;
+import com.onboarding.camera.cameraonboarding.dto.TemperatureAlertResponse;
+import com.onboarding.camera.cameraonboarding.entity.TemperatureAlertRule;
+import com.onboarding.camera.cameraonboarding.enums.AlertRuleScope;
+import com.onboarding.camera.cameraonboarding.enums.AlertState;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import com.onboarding.camera.cameraonboarding.exception.AlertRuleNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.CameraNotFoundException;
+import com.onboarding.camera.cameraonboarding.exception.SensorMismatchException;
+import com.onboarding.camera.cameraonboarding.repository.CameraRepository;
+import com.onboarding.camera.cameraonboarding.repository.SensorRepository;
+import com.onboarding.camera.cameraonboarding.repository.TemperatureAlertRuleRepository;
+import com.onboarding.camera.cameraonboarding.service.CameraMetricService;
+import com.onboarding.camera.cameraonboarding.service.TemperatureAlertSink;
+import com.onboarding.camera.cameraonboarding.util.DateTimeFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class TemperatureAlertServiceImplTest {
+
+    @Mock
+    private TemperatureAlertRuleRepository temperatureAlertRuleRepository;
+
+    @Mock
+    private SensorRepository sensorRepository;
+
+    @Mock
+    private CameraRepository cameraRepository;
+
+    @Mock
+    private CameraMetricService cameraMetricService;
+
+    @Mock
+    private DateTimeFactory dateTimeFactory;
+
+    @Mock
+    private TemperatureAlertSink temperatureAlertSink;
+
+    @Mock
+    private TemperatureAlertSink failingSink;
+
+    private TemperatureAlertServiceImpl temperatureAlertService;
+
+    private final UUID RULE_ID = UUID.randomUUID();
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID OTHER_CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID OTHER_SENSOR_ID = UUID.randomUUID();
+    private final double THRESHOLD = 30.0;
+    private final double HYSTERESIS = 2.0;
+    private final int COOLDOWN_SECONDS = 60;
+    private final LocalDateTime NOW = LocalDateTime.of(2024, 7, 29, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        temperatureAlertService = new TemperatureAlertServiceImpl(temperatureAlertRuleRepository, sensorRepository,
+                cameraRepository, cameraMetricService, dateTimeFactory, List.of(failingSink, temperatureAlertSink));
+    }
+
+    @Test
+    void expect_handleSensorUpdated_withHysteresis_raisesOnceAndClearsBelowThresholdMinusHysteresis() {
+
+        // arrange
+        loadRules(rule(AlertRuleScope.SENSOR, CAMERA_ID, SENSOR_ID));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+
+        // act
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "32");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "29");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "27.5");
+
+        // assert
+        List<TemperatureAlertResponse> alerts = sentAlerts(2);
+        Assertions.assertThat(alerts).extracting(TemperatureAlertResponse::getState)
+                .containsExactly(AlertState.RAISED, AlertState.CLEARED);
+        Assertions.assertThat(alerts.get(0).getValue()).isEqualTo(31.0);
+        Assertions.assertThat(alerts.get(0).getRuleId()).isEqualTo(RULE_ID);
+        Assertions.assertThat(alerts.get(1).getValue()).isEqualTo(27.5);
+
+        Mockito.verify(cameraMetricService, Mockito.times(4)).recordTemperatureAlertEvaluation(ArgumentMatchers.anyLong());
+        Mockito.verify(cameraMetricService).incrementTemperatureAlert(AlertState.RAISED.name());
+        Mockito.verify(cameraMetricService).incrementTemperatureAlert(AlertState.CLEARED.name());
+    }
+
+    @Test
+    void expect_handleSensorUpdated_withinCooldown_doesNotRaiseAgain() {
+
+        // arrange
+        loadRules(rule(AlertRuleScope.SENSOR, CAMERA_ID, SENSOR_ID));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW, NOW.plusSeconds(10), NOW.plusSeconds(20),
+                NOW.plusSeconds(COOLDOWN_SECONDS), NOW.plusSeconds(COOLDOWN_SECONDS + 10));
+
+        // act
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "20");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "20");
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+
+        // assert
+        Assertions.assertThat(sentAlerts(3)).extracting(TemperatureAlertResponse::getState)
+                .containsExactly(AlertState.RAISED, AlertState.CLEARED, AlertState.RAISED);
+    }
+
+    @Test
+    void expect_onReadingsPersisted_withCameraAndFleetRules_evaluatesOnlyMatchingTemperatureReadings() {
+
+        // arrange
+        TemperatureAlertRule cameraRule = rule(AlertRuleScope.CAMERA, CAMERA_ID, null);
+        TemperatureAlertRule fleetRule = rule(AlertRuleScope.FLEET, null, null);
+        fleetRule.setId(UUID.randomUUID());
+        fleetRule.setThreshold(40.0);
+        loadRules(cameraRule, fleetRule);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+
+        // act
+        temperatureAlertService.onReadingsPersisted(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, NOW, 35.0),
+                new SensorReadingRow(OTHER_CAMERA_ID, OTHER_SENSOR_ID, SensorType.TEMPERATURE, NOW, 35.0),
+                new SensorReadingRow(CAMERA_ID, OTHER_SENSOR_ID, SensorType.LIGHT, NOW, 500.0),
+                new SensorReadingRow(OTHER_CAMERA_ID, OTHER_SENSOR_ID, SensorType.TEMPERATURE, NOW, 45.0)));
+
+        // assert
+        List<TemperatureAlertResponse> alerts = sentAlerts(2);
+        Assertions.assertThat(alerts.get(0).getRuleId()).isEqualTo(RULE_ID);
+        Assertions.assertThat(alerts.get(0).getSensorId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(alerts.get(0).getRecordedAt()).isEqualTo(NOW);
+        Assertions.assertThat(alerts.get(1).getRuleId()).isEqualTo(fleetRule.getId());
+        Assertions.assertThat(alerts.get(1).getCameraId()).isEqualTo(OTHER_CAMERA_ID);
+    }
+
+    @Test
+    void expect_handleSensorUpdated_withFailingSink_stillDeliversToOtherSinks() {
+
+        // arrange
+        loadRules(rule(AlertRuleScope.FLEET, null, null));
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+        Mockito.doThrow(new IllegalStateException("Sink down")).when(failingSink).send(ArgumentMatchers.any());
+
+        // act
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+
+        // assert
+        Mockito.verify(temperatureAlertSink).send(ArgumentMatchers.any(TemperatureAlertResponse.class));
+        Mockito.verify(cameraMetricService).incrementTemperatureAlertSinkFailure(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    void expect_handleSensorUpdated_withNonNumericData_evaluatesNothing() {
+
+        // arrange
+        loadRules(rule(AlertRuleScope.FLEET, null, null));
+
+        // act
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "warm");
+
+        // assert
+        Mockito.verifyNoInteractions(temperatureAlertSink, dateTimeFactory);
+    }
+
+    @Test
+    void expect_handleCreateRule_withSensorScope_takesCameraOfSensorAndIndexesRule() {
+
+        // arrange
+        TemperatureAlertRule rule = rule(AlertRuleScope.SENSOR, null, SENSOR_ID);
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Temperature Sensor 1", "v1.0", SensorType.TEMPERATURE, null)));
+        Mockito.when(temperatureAlertRuleRepository.save(rule)).thenReturn(rule);
+        Mockito.when(dateTimeFactory.now()).thenReturn(NOW);
+
+        // act
+        TemperatureAlertRule createdRule = temperatureAlertService.handleCreateRule(rule);
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+
+        // assert
+        Assertions.assertThat(createdRule.getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(createdRule.getCreatedAt()).isEqualTo(NOW);
+        Assertions.assertThat(sentAlerts(1).get(0).getState()).isEqualTo(AlertState.RAISED);
+    }
+
+    @Test
+    void expect_handleCreateRule_withNonTemperatureSensor_throwsSensorMismatchException() {
+
+        // arrange
+        Mockito.when(sensorRepository.findSensorRowById(SENSOR_ID)).thenReturn(Optional.of(
+                new SensorRow(CAMERA_ID, SENSOR_ID, "Light Sensor 1", "v1.0", SensorType.LIGHT, null)));
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> temperatureAlertService.handleCreateRule(rule(AlertRuleScope.SENSOR, null, SENSOR_ID)))
+                .isInstanceOf(SensorMismatchException.class);
+
+        Mockito.verify(temperatureAlertRuleRepository, Mockito.never()).save(ArgumentMatchers.any());
+    }
+
+    @Test
+    void expect_handleCreateRule_withIdsNotMatchingScope_throwsException() {
+
+        // arrange
+        Mockito.when(cameraRepository.existsById(CAMERA_ID)).thenReturn(false);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> temperatureAlertService.handleCreateRule(rule(AlertRuleScope.FLEET, CAMERA_ID, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> temperatureAlertService.handleCreateRule(rule(AlertRuleScope.CAMERA, CAMERA_ID, SENSOR_ID)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> temperatureAlertService.handleCreateRule(rule(AlertRuleScope.CAMERA, CAMERA_ID, null)))
+                .isInstanceOf(CameraNotFoundException.class);
+
+        Mockito.verify(temperatureAlertRuleRepository, Mockito.never()).save(ArgumentMatchers.any());
+    }
+
+    @Test
+    void expect_handleDeleteRule_withExistingRule_stopsEvaluatingIt() {
+
+        // arrange
+        loadRules(rule(AlertRuleScope.FLEET, null, null));
+        Mockito.when(temperatureAlertRuleRepository.existsById(RULE_ID)).thenReturn(true);
+
+        // act
+        temperatureAlertService.handleDeleteRule(RULE_ID);
+        temperatureAlertService.handleSensorUpdated(CAMERA_ID, SENSOR_ID, "31");
+
+        // assert
+        Mockito.verify(temperatureAlertRuleRepository).deleteById(RULE_ID);
+        Mockito.verifyNoInteractions(temperatureAlertSink);
+    }
+
+    @Test
+    void expect_handleDeleteRule_withNonExistingRule_throwsAlertRuleNotFoundException() {
+
+        // arrange
+        Mockito.when(temperatureAlertRuleRepository.existsById(RULE_ID)).thenReturn(false);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> temperatureAlertService.handleDeleteRule(RULE_ID))
+                .isInstanceOf(AlertRuleNotFoundException.class);
+
+        Mockito.verify(temperatureAlertRuleRepository, Mockito.never()).deleteById(ArgumentMatchers.any());
+    }
+
+    private void loadRules(TemperatureAlertRule... rules) {
+        Mockito.when(temperatureAlertRuleRepository.findAll()).thenReturn(List.of(rules));
+        temperatureAlertService.refreshRules();
+    }
+
+    private List<TemperatureAlertResponse> sentAlerts(int count) {
+        ArgumentCaptor<TemperatureAlertResponse> alerts = ArgumentCaptor.forClass(TemperatureAlertResponse.class);
+        Mockito.verify(temperatureAlertSink, Mockito.times(count)).send(alerts.capture());
+        return alerts.getAllValues();
+    }
+
+    private TemperatureAlertRule rule(AlertRuleScope scope, UUID cameraId, UUID sensorId) {
+        TemperatureAlertRule rule = new TemperatureAlertRule();
+        rule.setId(RULE_ID);
+        rule.setScope(scope);
+        rule.setCameraId(cameraId);
+        rule.setSensorId(sensorId);
+        rule.setThreshold(THRESHOLD);
+        rule.setHysteresis(HYSTERESIS);
+        rule.setCooldownSeconds(COOLDOWN_SECONDS);
+        return rule;
+    }
+}
@@ -0,0 +1,64 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.exception.ImageRangeNotSatisfiableException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+class ByteRangeTest {
+
+    private final String E_TAG = "\"0x8DCB1F2A3B4C5D6\"";
+    private final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2024, 8, 7, 10, 0, 0, 0, ZoneOffset.UTC);
+    private final long CONTENT_LENGTH = 1000;
+
+    @Test
+    void expect_resolve_withSingleRange_returnsRange() {
+
+        // act
+        ByteRange bounded = ByteRange.resolve("bytes=100-199", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH);
+        ByteRange open = ByteRange.resolve("bytes=900-", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH);
+        ByteRange suffix = ByteRange.resolve("bytes=-50", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH);
+        ByteRange pastEnd = ByteRange.resolve("bytes=990-2000", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH);
+
+        // assert
+        Assertions.assertThat(bounded.getStart()).isEqualTo(100);
+        Assertions.assertThat(bounded.getLength()).isEqualTo(100);
+        Assertions.assertThat(bounded.toContentRange(CONTENT_LENGTH)).isEqualTo("bytes 100-199/1000");
+        Assertions.assertThat(open.toContentRange(CONTENT_LENGTH)).isEqualTo("bytes 900-999/1000");
+        Assertions.assertThat(suffix.toContentRange(CONTENT_LENGTH)).isEqualTo("bytes 950-999/1000");
+        Assertions.assertThat(pastEnd.getEnd()).isEqualTo(999);
+    }
+
+    @Test
+    void expect_resolve_withMatchingIfRange_returnsRange() {
+
+        // act and assert
+        Assertions.assertThat(ByteRange.resolve("bytes=100-", E_TAG, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNotNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=100-", "Wed, 07 Aug 2024 10:00:00 GMT", E_TAG, LAST_MODIFIED, CONTENT_LENGTH))
+                .isNotNull();
+    }
+
+    @Test
+    void expect_resolve_withoutUsableRange_returnsNullForWholeContent() {
+
+        // act and assert
+        Assertions.assertThat(ByteRange.resolve(null, null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=100-", "\"0x8D000000000000\"", E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=100-", "W/" + E_TAG, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=100-", "Thu, 08 Aug 2024 10:00:00 GMT", E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=0-9,20-29", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("bytes=20-10", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+        Assertions.assertThat(ByteRange.resolve("items=0-9", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH)).isNull();
+    }
+
+    @Test
+    void expect_resolve_withRangeAfterEnd_throwsImageRangeNotSatisfiableException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> ByteRange.resolve("bytes=1000-", null, E_TAG, LAST_MODIFIED, CONTENT_LENGTH))
+                .isInstanceOf(ImageRangeNotSatisfiableException.class)
+                .hasMessageContaining("not satisfiable");
+    }
+}
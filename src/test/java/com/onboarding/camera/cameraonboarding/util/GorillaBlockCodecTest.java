@@ -0,0 +1,93 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class GorillaBlockCodecTest {
+
+    private final long START = 1_722_247_200_000L;
+
+    @Test
+    void expect_decode_afterEncode_returnsEveryReadingBitExact() {
+
+        // arrange
+        Random random = new Random(42);
+        long[] timestamps = new long[1000];
+        double[] values = new double[1000];
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        long timestamp = START;
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamp += i == 500 ? 90_000_000_000L : 1000 + random.nextInt(7) - 3;
+            timestamps[i] = timestamp;
+            values[i] = i == 10 ? Double.NaN : i == 11 ? -0.0 : random.nextGaussian() * 1e6;
+            encoder.add(timestamps[i], values[i]);
+        }
+
+        // act
+        GorillaBlockDecoder decoder = new GorillaBlockDecoder(encoder.toByteArray());
+        List<Long> decodedTimestamps = new ArrayList<>();
+        List<Long> decodedValueBits = new ArrayList<>();
+        while (decoder.next()) {
+            decodedTimestamps.add(decoder.getTimestamp());
+            decodedValueBits.add(Double.doubleToRawLongBits(decoder.getValue()));
+        }
+
+        // assert
+        Assertions.assertThat(decoder.getCount()).isEqualTo(1000);
+        Assertions.assertThat(decodedTimestamps).hasSize(1000);
+        for (int i = 0; i < timestamps.length; i++) {
+            Assertions.assertThat(decodedTimestamps.get(i)).isEqualTo(timestamps[i]);
+            Assertions.assertThat(decodedValueBits.get(i)).isEqualTo(Double.doubleToRawLongBits(values[i]));
+        }
+        Assertions.assertThat(encoder.getFirstTimestamp()).isEqualTo(timestamps[0]);
+        Assertions.assertThat(encoder.getLastTimestamp()).isEqualTo(timestamps[999]);
+    }
+
+    @Test
+    void expect_encode_withRegularSlowlyChangingSeries_usesAboutOneByteAndAHalfPerReading() {
+
+        // arrange
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+
+        // act
+        for (int i = 0; i < 3600; i++) {
+            encoder.add(START + i * 1000L, 21.5 + (i / 60) * 0.5);
+        }
+
+        // assert
+        Assertions.assertThat(encoder.toByteArray().length).isLessThan(3600 * 3 / 2);
+    }
+
+    @Test
+    void expect_encode_withReadingBeforePrevious_throwsIllegalArgument() {
+
+        // arrange
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        encoder.add(START, 1.0);
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> encoder.add(START - 1, 2.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expect_decode_withTruncatedPayload_throwsException() {
+
+        // arrange
+        GorillaBlockEncoder encoder = new GorillaBlockEncoder();
+        encoder.add(START, 1.0);
+        encoder.add(START + 1000, 2.0);
+        byte[] payload = encoder.toByteArray();
+        byte[] truncated = new byte[payload.length - 10];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+        GorillaBlockDecoder decoder = new GorillaBlockDecoder(truncated);
+
+        // act and assert
+        Assertions.assertThatThrownBy(decoder::next).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThatThrownBy(() -> new GorillaBlockDecoder(new byte[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LttbDownsamplerTest {
+
+    @Test
+    void expect_downsample_withFewerPointsThanThreshold_keepsEveryPoint() {
+
+        // arrange
+        LttbDownsampler downsampler = new LttbDownsampler(4, 10);
+
+        // act
+        for (int i = 0; i < 4; i++) {
+            downsampler.add(i * 1000L, i);
+        }
+        downsampler.finish();
+
+        // assert
+        Assertions.assertThat(downsampler.timestamps()).containsExactly(0L, 1000L, 2000L, 3000L);
+        Assertions.assertThat(downsampler.values()).containsExactly(0.0, 1.0, 2.0, 3.0);
+    }
+
+    @Test
+    void expect_downsample_withDenseSeries_keepsThresholdPointsIncludingEndsAndPeak() {
+
+        // arrange
+        int total = 10_000;
+        LttbDownsampler downsampler = new LttbDownsampler(total, 100);
+
+        // act
+        for (int i = 0; i < total; i++) {
+            downsampler.add(i * 1000L, i == 5_000 ? 500.0 : Math.sin(i / 100.0));
+        }
+        downsampler.finish();
+
+        // assert
+        long[] timestamps = downsampler.timestamps();
+        Assertions.assertThat(timestamps).hasSize(100);
+        Assertions.assertThat(timestamps[0]).isZero();
+        Assertions.assertThat(timestamps[99]).isEqualTo((total - 1) * 1000L);
+        Assertions.assertThat(timestamps).isSorted();
+        Assertions.assertThat(downsampler.values()).contains(500.0);
+        Assertions.assertThat(downsampler.getAdded()).isEqualTo(total);
+    }
+
+    @Test
+    void expect_downsample_withFewerPointsThanAnnounced_keepsFirstAndLastPoint() {
+
+        // arrange
+        LttbDownsampler downsampler = new LttbDownsampler(1_000, 10);
+
+        // act
+        for (int i = 0; i < 50; i++) {
+            downsampler.add(i, i);
+        }
+        downsampler.finish();
+
+        // assert
+        long[] timestamps = downsampler.timestamps();
+        Assertions.assertThat(timestamps[0]).isZero();
+        Assertions.assertThat(timestamps[timestamps.length - 1]).isEqualTo(49L);
+        Assertions.assertThat(timestamps.length).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void expect_constructor_withThresholdBelowThree_throwsIllegalArgument() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> new LttbDownsampler(100, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,148 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.dto.SensorLatestReadingResponse;
+import com.onboarding.camera.cameraonboarding.dto.SensorReadingRow;
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class OffHeapLatestReadingTableTest {
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 7, 29, 10, 0);
+    private final long RECORDED_AT_MILLIS = RECORDED_AT.toInstant(ZoneOffset.UTC).toEpochMilli();
+    private final long CACHED_AT = RECORDED_AT_MILLIS + 1000;
+
+    @Test
+    void expect_put_withNewSensor_storesReading() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(16, 64);
+
+        // act
+        boolean stored = table.put(CAMERA_ID, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT_MILLIS, 21.5, CACHED_AT);
+
+        // assert
+        Assertions.assertThat(stored).isTrue();
+        SensorLatestReadingResponse latest = table.get(SENSOR_ID, CACHED_AT);
+        Assertions.assertThat(latest.getCameraId()).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(latest.getSensorId()).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(latest.getSensorType()).isEqualTo(SensorType.TEMPERATURE);
+        Assertions.assertThat(latest.getRecordedAt()).isEqualTo(RECORDED_AT);
+        Assertions.assertThat(latest.getValue()).isEqualTo(21.5);
+        Assertions.assertThat(table.get(UUID.randomUUID(), CACHED_AT)).isNull();
+        Assertions.assertThat(table.size()).isEqualTo(1);
+        Assertions.assertThat(table.offHeapBytes()).isEqualTo(16 * 64L);
+    }
+
+    @Test
+    void expect_putAll_withOlderReading_keepsNewerReading() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(16, 64);
+        table.put(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, OffHeapLatestReadingTable.UNKNOWN_TIME, 1.0, CACHED_AT);
+
+        // act
+        int rejected = table.putAll(List.of(
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT.plusSeconds(5), 300.0),
+                new SensorReadingRow(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 200.0)), CACHED_AT);
+
+        // assert
+        Assertions.assertThat(rejected).isZero();
+        Assertions.assertThat(table.get(SENSOR_ID, CACHED_AT).getValue()).isEqualTo(300.0);
+        Assertions.assertThat(table.get(SENSOR_ID, CACHED_AT).getRecordedAt()).isEqualTo(RECORDED_AT.plusSeconds(5));
+        Assertions.assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expect_put_withUnknownTime_returnsNullRecordedAt() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(16, 64);
+
+        // act
+        table.put(CAMERA_ID, SENSOR_ID, SensorType.MOTION, OffHeapLatestReadingTable.UNKNOWN_TIME, 1.0, CACHED_AT);
+
+        // assert
+        Assertions.assertThat(table.get(SENSOR_ID, CACHED_AT).getRecordedAt()).isNull();
+    }
+
+    @Test
+    void expect_get_withReadingCachedBeforeCutoff_returnsNull() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(16, 64);
+        table.put(CAMERA_ID, SENSOR_ID, SensorType.MOTION, OffHeapLatestReadingTable.UNKNOWN_TIME, 1.0, CACHED_AT);
+
+        // act
+        SensorLatestReadingResponse fresh = table.get(SENSOR_ID, CACHED_AT);
+        SensorLatestReadingResponse expired = table.get(SENSOR_ID, CACHED_AT + 1);
+
+        // assert
+        Assertions.assertThat(fresh).isNotNull();
+        Assertions.assertThat(expired).isNull();
+        Assertions.assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expect_remove_withManySensors_keepsOtherSensorsReachable() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(4, 1024);
+        List<UUID> sensorIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID sensorId = UUID.randomUUID();
+            sensorIds.add(sensorId);
+            table.put(CAMERA_ID, sensorId, SensorType.TEMPERATURE, RECORDED_AT_MILLIS + i, i, CACHED_AT);
+        }
+
+        // act
+        for (int i = 0; i < sensorIds.size(); i += 2) {
+            Assertions.assertThat(table.remove(sensorIds.get(i))).isTrue();
+        }
+
+        // assert
+        Assertions.assertThat(table.size()).isEqualTo(250);
+        Assertions.assertThat(table.offHeapBytes()).isEqualTo(1024 * 56L);
+        for (int i = 0; i < sensorIds.size(); i++) {
+            SensorLatestReadingResponse latest = table.get(sensorIds.get(i), CACHED_AT);
+            if (i % 2 == 0) {
+                Assertions.assertThat(latest).isNull();
+            } else {
+                Assertions.assertThat(latest.getValue()).isEqualTo(i);
+            }
+        }
+        Assertions.assertThat(table.remove(sensorIds.get(0))).isFalse();
+    }
+
+    @Test
+    void expect_put_withFullTable_rejectsNewSensorsButUpdatesStoredOnes() {
+
+        // arrange
+        OffHeapLatestReadingTable table = new OffHeapLatestReadingTable(4, 8);
+        for (int i = 0; i < 5; i++) {
+            table.put(CAMERA_ID, UUID.randomUUID(), SensorType.LIGHT, RECORDED_AT_MILLIS, i, CACHED_AT);
+        }
+        table.put(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT_MILLIS, 1.0, CACHED_AT);
+
+        // act
+        boolean newSensorStored = table.put(CAMERA_ID, UUID.randomUUID(), SensorType.LIGHT, RECORDED_AT_MILLIS, 2.0,
+                CACHED_AT);
+        boolean storedSensorUpdated = table.put(CAMERA_ID, SENSOR_ID, SensorType.LIGHT, RECORDED_AT_MILLIS + 1, 3.0,
+                CACHED_AT);
+
+        // assert
+        Assertions.assertThat(newSensorStored).isFalse();
+        Assertions.assertThat(storedSensorUpdated).isTrue();
+        Assertions.assertThat(table.size()).isEqualTo(6);
+        Assertions.assertThat(table.offHeapBytes()).isEqualTo(8 * 64L);
+        Assertions.assertThat(table.get(SENSOR_ID, CACHED_AT).getValue()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SensorPayloadSchemaTest {
+
+    @Test
+    void expect_normalize_withTemperatureInEveryUnit_returnsCelsius() {
+
+        // act and assert
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.TEMPERATURE, " 22.50 ")).isEqualTo("22.5");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "22.5 C")).isEqualTo("22.5");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "72.5F")).isEqualTo("22.5");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "300 K")).isEqualTo("26.85");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.TEMPERATURE, null)).isNull();
+    }
+
+    @Test
+    void expect_normalize_withLightAndMotion_returnsCanonicalData() {
+
+        // act and assert
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.LIGHT, "350 lux")).isEqualTo("350");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.LIGHT, "1200lx")).isEqualTo("1200");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.MOTION, "Detected 0.870")).isEqualTo("true 0.87");
+        Assertions.assertThat(SensorPayloadSchema.normalize(SensorType.MOTION, "cleared")).isEqualTo("false");
+    }
+
+    @Test
+    void expect_normalize_withDataNotFollowingSchema_throwsIllegalArgumentException() {
+
+        // act and assert
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "warm"))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "-300"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("absolute zero");
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.TEMPERATURE, "20 lx"))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.LIGHT, "-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.MOTION, "true 1.5"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 0 and 1");
+        Assertions.assertThatThrownBy(() -> SensorPayloadSchema.normalize(SensorType.MOTION, "1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expect_toPayload_withCanonicalData_returnsTypedValues() {
+
+        // act
+        SensorPayload temperature = SensorPayloadSchema.toPayload(SensorType.TEMPERATURE, "22.5");
+        SensorPayload light = SensorPayloadSchema.toPayload(SensorType.LIGHT, "350");
+        SensorPayload motion = SensorPayloadSchema.toPayload(SensorType.MOTION, "true 0.87");
+
+        // assert
+        Assertions.assertThat(temperature.getValue()).isEqualTo(22.5);
+        Assertions.assertThat(temperature.getUnit()).isEqualTo(SensorPayloadSchema.CELSIUS);
+        Assertions.assertThat(light.getValue()).isEqualTo(350.0);
+        Assertions.assertThat(light.getUnit()).isEqualTo(SensorPayloadSchema.LUX);
+        Assertions.assertThat(motion.getValue()).isEqualTo(1.0);
+        Assertions.assertThat(motion.getUnit()).isNull();
+        Assertions.assertThat(motion.getConfidence()).isEqualTo(0.87);
+        Assertions.assertThat(SensorDataParser.toValue(SensorType.MOTION, "true 0.87")).isEqualTo(1.0);
+    }
+
+    @Test
+    void expect_toPayload_withDataAsSent_returnsCanonicalValues() {
+
+        // act
+        SensorPayload temperature = SensorPayloadSchema.toPayload(SensorType.TEMPERATURE, "72.5 F");
+        SensorPayload light = SensorPayloadSchema.toPayload(SensorType.LIGHT, "350 lux");
+        SensorPayload motion = SensorPayloadSchema.toPayload(SensorType.MOTION, "Detected 0.870");
+
+        // assert
+        Assertions.assertThat(temperature.getValue()).isEqualTo(22.5);
+        Assertions.assertThat(temperature.getUnit()).isEqualTo(SensorPayloadSchema.CELSIUS);
+        Assertions.assertThat(light.getValue()).isEqualTo(350.0);
+        Assertions.assertThat(motion.getValue()).isEqualTo(1.0);
+        Assertions.assertThat(motion.getConfidence()).isEqualTo(0.87);
+        Assertions.assertThat(SensorDataParser.toValue(SensorType.TEMPERATURE, "300 K")).isEqualTo(26.85);
+        Assertions.assertThat(SensorDataParser.toValue(SensorType.LIGHT, "Sensor data")).isNull();
+    }
+
+    @Test
+    void expect_toPayload_withDataStoredBeforeSchema_returnsEmptyPayload() {
+
+        // act and assert
+        Assertions.assertThat(SensorPayloadSchema.toPayload(SensorType.LIGHT, "Sensor data")).isSameAs(SensorPayload.EMPTY);
+        Assertions.assertThat(SensorPayloadSchema.toPayload(SensorType.MOTION, null)).isSameAs(SensorPayload.EMPTY);
+        Assertions.assertThat(SensorPayloadSchema.toPayload(null, "22.5")).isSameAs(SensorPayload.EMPTY);
+    }
+}
@@ -0,0 +1,84 @@
+package com.onboarding.camera.cameraonboarding.util;
+
+import com.onboarding.camera.cameraonboarding.enums.SensorType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+class SensorReadingDatagramTest {
+
+    private final UUID CAMERA_ID = UUID.randomUUID();
+    private final UUID SENSOR_ID = UUID.randomUUID();
+    private final UUID OTHER_SENSOR_ID = UUID.randomUUID();
+    private final long RECORDED_AT = 1722247200000L;
+
+    @Test
+    void expect_reset_withWrittenDatagram_decodesEveryReading() {
+
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(SensorReadingDatagram.HEADER_BYTES + 2 * SensorReadingDatagram.READING_BYTES);
+        SensorReadingDatagram.writeHeader(buffer, CAMERA_ID, 2);
+        SensorReadingDatagram.writeReading(buffer, SENSOR_ID, SensorType.TEMPERATURE, RECORDED_AT, 21.5);
+        SensorReadingDatagram.writeReading(buffer, OTHER_SENSOR_ID, SensorType.MOTION, 0, 1.0);
+        buffer.flip();
+        SensorReadingDatagram datagram = new SensorReadingDatagram();
+
+        // act and assert
+        Assertions.assertThat(datagram.reset(buffer)).isTrue();
+        Assertions.assertThat(new UUID(datagram.getCameraMsb(), datagram.getCameraLsb())).isEqualTo(CAMERA_ID);
+        Assertions.assertThat(datagram.getRemaining()).isEqualTo(2);
+
+        Assertions.assertThat(datagram.next()).isTrue();
+        Assertions.assertThat(new UUID(datagram.getSensorMsb(), datagram.getSensorLsb())).isEqualTo(SENSOR_ID);
+        Assertions.assertThat(datagram.getSensorType()).isEqualTo(SensorType.TEMPERATURE);
+        Assertions.assertThat(datagram.getRecordedAt()).isEqualTo(RECORDED_AT);
+        Assertions.assertThat(datagram.getValue()).isEqualTo(21.5);
+
+        Assertions.assertThat(datagram.next()).isTrue();
+        Assertions.assertThat(new UUID(datagram.getSensorMsb(), datagram.getSensorLsb())).isEqualTo(OTHER_SENSOR_ID);
+        Assertions.assertThat(datagram.getSensorType()).isEqualTo(SensorType.MOTION);
+        Assertions.assertThat(datagram.getRecordedAt()).isZero();
+
+        Assertions.assertThat(datagram.next()).isFalse();
+    }
+
+    @Test
+    void expect_reset_withTruncatedOrUnknownVersionDatagram_returnsFalse() {
+
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(SensorReadingDatagram.HEADER_BYTES + SensorReadingDatagram.READING_BYTES);
+        SensorReadingDatagram.writeHeader(buffer, CAMERA_ID, 1);
+        SensorReadingDatagram.writeReading(buffer, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 500.0);
+        buffer.flip();
+        SensorReadingDatagram datagram = new SensorReadingDatagram();
+
+        // act and assert
+        Assertions.assertThat(datagram.reset(buffer.duplicate().limit(buffer.limit() - 1))).isFalse();
+        Assertions.assertThat(datagram.next()).isFalse();
+        buffer.put(0, (byte) 2);
+        Assertions.assertThat(datagram.reset(buffer)).isFalse();
+        Assertions.assertThat(datagram.reset(ByteBuffer.allocate(3))).isFalse();
+    }
+
+    @Test
+    void expect_next_withUnknownTypeCode_returnsNullType() {
+
+        // arrange
+        ByteBuffer buffer = ByteBuffer.allocate(SensorReadingDatagram.HEADER_BYTES + SensorReadingDatagram.READING_BYTES);
+        SensorReadingDatagram.writeHeader(buffer, CAMERA_ID, 1);
+        SensorReadingDatagram.writeReading(buffer, SENSOR_ID, SensorType.LIGHT, RECORDED_AT, 500.0);
+        buffer.put(SensorReadingDatagram.HEADER_BYTES + 16, (byte) 9);
+        buffer.flip();
+        SensorReadingDatagram datagram = new SensorReadingDatagram();
+
+        // act
+        datagram.reset(buffer);
+        datagram.next();
+
+        // assert
+        Assertions.assertThat(datagram.getSensorType()).isNull();
+        Assertions.assertThat(datagram.getValue()).isEqualTo(500.0);
+    }
+}